@@ -9,6 +9,7 @@ import org.springframework.security.authentication.AuthenticationCredentialsNotF
 import org.springframework.security.core.Authentication;
 
 import java.util.Optional;
+import java.util.UUID;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -47,6 +48,19 @@ public abstract class AbstractAuthorizationHandler {
         return getAuthenticatedUser(userPrincipal, requestedAction);
     }
 
+    /**
+     * The ID of the authenticated user, read from the principal without a database lookup.
+     * Falls back to loading the user when the principal carries no ID.
+     */
+    public UUID getAuthenticatedUserId(Authentication authentication, String requestedAction) {
+        UserPrincipal userPrincipal = getUserPrincipal(authentication);
+        if (userPrincipal.getUserId() == null) {
+            return getAuthenticatedUser(userPrincipal, requestedAction).getId();
+        }
+        log.debug("User [{}] has requested to {}.", userPrincipal.getUsername(), requestedAction);
+        return userPrincipal.getUserId();
+    }
+
     public boolean isAdmin(Authentication authentication) {
         UserPrincipal userPrincipal = getUserPrincipal(authentication);
         return userPrincipal.isAdmin();
@@ -123,6 +123,30 @@ public class GlobalExceptionHandler {
         return responseFacilitator.notFound(request, List.of(ex.getMessage()));
     }
 
+    @ExceptionHandler(dev.hr.rezaei.buildflow.quote.QuoteNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleQuoteNotFoundException(dev.hr.rezaei.buildflow.quote.QuoteNotFoundException ex, HttpServletRequest request) {
+        log.warn("Quote not found exception: {}", ex.getMessage());
+        return responseFacilitator.notFound(request, List.of(ex.getMessage()));
+    }
+
+    @ExceptionHandler(dev.hr.rezaei.buildflow.workitem.WorkItemCategoryNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleWorkItemCategoryNotFoundException(dev.hr.rezaei.buildflow.workitem.WorkItemCategoryNotFoundException ex, HttpServletRequest request) {
+        log.warn("Work item category not found exception: {}", ex.getMessage());
+        return responseFacilitator.notFound(request, List.of(ex.getMessage()));
+    }
+
+    @ExceptionHandler(dev.hr.rezaei.buildflow.estimate.EstimateTemplateNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleEstimateTemplateNotFoundException(dev.hr.rezaei.buildflow.estimate.EstimateTemplateNotFoundException ex, HttpServletRequest request) {
+        log.warn("Estimate template not found exception: {}", ex.getMessage());
+        return responseFacilitator.notFound(request, List.of(ex.getMessage()));
+    }
+
+    @ExceptionHandler(org.springframework.dao.ConcurrencyFailureException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrencyFailureException(org.springframework.dao.ConcurrencyFailureException ex, HttpServletRequest request) {
+        log.warn("Concurrency failure exception: {}", ex.getMessage());
+        return responseFacilitator.conflict(request, List.of(ex.getMessage()));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex, HttpServletRequest request) {
         log.error("Unexpected error occurred", ex);
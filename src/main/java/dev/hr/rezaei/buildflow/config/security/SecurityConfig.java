@@ -1,5 +1,6 @@
 package dev.hr.rezaei.buildflow.config.security;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
@@ -89,6 +90,8 @@ public class SecurityConfig {
             http.authorizeHttpRequests(auth -> {
                         // Public routes - accessible without authentication
                         auth.requestMatchers(PUBLIC_URLS.toArray(new String[0])).permitAll();
+                        // Streamed responses resume on an async dispatch of a request that was already authorized
+                        auth.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll();
                         // All other requests require authentication
                         auth.anyRequest().authenticated();
                     })
@@ -131,6 +134,7 @@ public class SecurityConfig {
             http.authorizeHttpRequests(auth -> {
                         auth.requestMatchers(PUBLIC_URLS.toArray(new String[0])).permitAll();
                         auth.requestMatchers("/h2-console/**").permitAll();
+                        auth.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll();
                         auth.anyRequest().authenticated();
                     })
                     .sessionManagement(session -> session
@@ -9,6 +9,7 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
@@ -20,6 +21,7 @@ import java.util.stream.Collectors;
 @SuperBuilder
 public class UserPrincipal implements UserDetails {
 
+    private final UUID userId;
     private final String username;
     private final String email;
     private final String password;
@@ -32,6 +34,7 @@ public class UserPrincipal implements UserDetails {
 
     public static UserPrincipal create(User user, UserAuthentication userAuth, Role role) {
         return builder()
+                .userId(user.getId())
                 .username(user.getUsername())
                 .email(user.getEmail())
                 .password(userAuth.getPasswordHash())
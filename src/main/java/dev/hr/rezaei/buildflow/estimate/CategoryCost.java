@@ -0,0 +1,24 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * The cost of an estimate's lines under one work item category, subcategories included.
+ */
+@Schema(description = "Estimate cost rolled up to a work item category and its subcategories")
+public record CategoryCost(
+        @Schema(description = "ID of the category")
+        UUID categoryId,
+        @Schema(description = "Name of the category", example = "Framing")
+        String name,
+        @Schema(description = "ID of the parent category, null for a root category")
+        UUID parentId,
+        @Schema(description = "Sum of the computed costs of the lines under the category", example = "18250.00")
+        BigDecimal totalCost,
+        @Schema(description = "Number of lines under the category", example = "12")
+        long lineCount
+) {
+}
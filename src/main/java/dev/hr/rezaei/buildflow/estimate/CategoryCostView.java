@@ -0,0 +1,19 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Projection of the estimate line costs rolled up to one work item category.
+ */
+public interface CategoryCostView {
+    UUID getCategoryId();
+
+    String getName();
+
+    UUID getParentId();
+
+    BigDecimal getTotalCost();
+
+    long getLineCount();
+}
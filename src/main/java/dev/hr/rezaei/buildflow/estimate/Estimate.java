@@ -5,6 +5,7 @@ import dev.hr.rezaei.buildflow.project.Project;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -24,6 +25,12 @@ public class Estimate extends UpdatableEntity {
     @Column(nullable = false, updatable = false)
     private UUID id;
 
+    // Optimistic concurrency: incremented on every update, a stale version fails the update
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     @NonNull
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", nullable = false, foreignKey = @ForeignKey(name = "fk_estimates_project"))
@@ -46,6 +53,7 @@ public class Estimate extends UpdatableEntity {
                 "id=" + id +
                 ", createdAt=" + getCreatedAt() +
                 ", lastUpdatedAt=" + getLastUpdatedAt() +
+                ", version=" + version +
                 ", project.id=" + project.getId() +
                 ", overallMultiplier=" + overallMultiplier +
                 ", groups.size=" + groups.size() +
@@ -1,36 +1,34 @@
 package dev.hr.rezaei.buildflow.estimate;
 
 import dev.hr.rezaei.buildflow.config.mvc.AbstractAuthorizationHandler;
-import dev.hr.rezaei.buildflow.project.Project;
-import dev.hr.rezaei.buildflow.project.ProjectRepository;
-import dev.hr.rezaei.buildflow.user.User;
+import dev.hr.rezaei.buildflow.project.ProjectAccessIndex;
 import dev.hr.rezaei.buildflow.user.UserService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
-import java.util.Optional;
 import java.util.UUID;
 
 /**
  * EstimateAuthService handles authorization for estimate operations.
  * Mirrors the pattern used in ProjectParticipantAuthService.
+ * Checks are answered by the in-memory {@link ProjectAccessIndex}, without touching the database.
  */
 @Slf4j
 @Component
 public class EstimateAuthService extends AbstractAuthorizationHandler {
 
-    private final ProjectRepository projectRepository;
+    private final ProjectAccessIndex projectAccessIndex;
 
-    public EstimateAuthService(UserService userService, ProjectRepository projectRepository) {
+    public EstimateAuthService(UserService userService, ProjectAccessIndex projectAccessIndex) {
         super(userService);
-        this.projectRepository = projectRepository;
+        this.projectAccessIndex = projectAccessIndex;
     }
 
     /**
      * Check if the current user is authorized to view estimates for a given project.
-     * Admin users can always view. Non-admin users can only view estimates for their own projects.
+     * Admin users can always view. Non-admin users can view estimates for projects they own or participate in.
      */
     public boolean isViewEstimatesAuthorized(UUID projectId) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -38,20 +36,9 @@ public class EstimateAuthService extends AbstractAuthorizationHandler {
             return true;
         }
 
-        User user = getAuthenticatedUser(authentication, "view project estimates");
-        UUID authenticatedUserId = user.getId();
-
-        // Check if the project belongs to the authenticated user
-        Optional<Project> project = projectRepository.findById(projectId);
-        if (project.isEmpty()) {
-            log.debug("Project [{}] not found.", projectId);
-            return false;
-        }
-
-        UUID projectOwnerId = project.get().getUser().getId();
-        if (!authenticatedUserId.equals(projectOwnerId)) {
-            log.debug("User [{}] is not authorized to view estimates for project [{}] owned by [{}].", 
-                    authenticatedUserId, projectId, projectOwnerId);
+        UUID authenticatedUserId = getAuthenticatedUserId(authentication, "view project estimates");
+        if (!projectAccessIndex.canView(authenticatedUserId, projectId)) {
+            log.debug("User [{}] is not authorized to view estimates for project [{}].", authenticatedUserId, projectId);
             return false;
         }
         return true;
@@ -62,7 +49,7 @@ public class EstimateAuthService extends AbstractAuthorizationHandler {
      * Admin users can always create. Non-admin users can only create estimates for their own projects.
      */
     public boolean isCreateEstimateAuthorized(UUID projectId) {
-        return isViewEstimatesAuthorized(projectId);
+        return isOwnerAuthorized(projectId, "create project estimates");
     }
 
     /**
@@ -70,7 +57,7 @@ public class EstimateAuthService extends AbstractAuthorizationHandler {
      * Admin users can always modify. Non-admin users can only modify estimates for their own projects.
      */
     public boolean isModifyEstimateAuthorized(UUID projectId) {
-        return isViewEstimatesAuthorized(projectId);
+        return isOwnerAuthorized(projectId, "modify project estimates");
     }
 
     /**
@@ -78,6 +65,21 @@ public class EstimateAuthService extends AbstractAuthorizationHandler {
      * Admin users can always delete. Non-admin users can only delete estimates for their own projects.
      */
     public boolean isDeleteEstimateAuthorized(UUID projectId) {
-        return isViewEstimatesAuthorized(projectId);
+        return isOwnerAuthorized(projectId, "delete project estimates");
+    }
+
+    private boolean isOwnerAuthorized(UUID projectId, String requestedAction) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (isAdmin(authentication)) {
+            return true;
+        }
+
+        UUID authenticatedUserId = getAuthenticatedUserId(authentication, requestedAction);
+        if (!projectAccessIndex.isOwner(authenticatedUserId, projectId)) {
+            log.debug("User [{}] is not authorized to {} for project [{}] they do not own.",
+                    authenticatedUserId, requestedAction, projectId);
+            return false;
+        }
+        return true;
     }
 }
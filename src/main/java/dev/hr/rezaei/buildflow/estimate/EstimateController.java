@@ -1,6 +1,7 @@
 package dev.hr.rezaei.buildflow.estimate;
 
 import dev.hr.rezaei.buildflow.config.mvc.PaginationHelper;
+import dev.hr.rezaei.buildflow.project.ProjectVariableDto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -11,6 +12,10 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -41,6 +46,10 @@ public class EstimateController {
     @SuppressWarnings("unused")
     private final EstimateAuthService estimateAuthService;
     private final EstimateService estimateService;
+    private final EstimateTemplateService estimateTemplateService;
+    private final QuantityFormulaService quantityFormulaService;
+    private final EstimateLineMergeService estimateLineMergeService;
+    private final EstimateHistoryService estimateHistoryService;
 
     // Pagination helper configured with estimate-specific sort fields
     private final PaginationHelper paginationHelper = new PaginationHelper(
@@ -80,6 +89,28 @@ public class EstimateController {
         return build(estimateDtoPage, "/api/v1/projects/" + projectId + "/estimates");
     }
 
+    @Operation(summary = "Suggest work items", description = "Suggests work items that usually appear in the same estimates as the chosen ones, most frequent first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = WorkItemRecommendation.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid limit"),
+            @ApiResponse(responseCode = "404", description = "Project not found")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PreAuthorize("hasAuthority('VIEW_PROJECT') and @estimateAuthService.isViewEstimatesAuthorized(#projectId)")
+    @GetMapping("/recommendations")
+    public ResponseEntity<List<WorkItemRecommendation>> recommendWorkItems(
+            @Parameter(description = "ID of the project")
+            @PathVariable UUID projectId,
+            @Parameter(description = "IDs of the work items already chosen; repeat the parameter for several")
+            @RequestParam("workItemId") List<UUID> workItemIds,
+            @Parameter(description = "Maximum number of suggestions (1-" + EstimateService.MAX_RECOMMENDATION_LIMIT + ")")
+            @RequestParam(defaultValue = "" + EstimateService.DEFAULT_RECOMMENDATION_LIMIT) int limit
+    ) {
+        log.info("Recommending work items for project ID: {} from {} chosen work items", projectId, workItemIds.size());
+        return ResponseEntity.ok(estimateService.recommendWorkItems(projectId, workItemIds, limit));
+    }
+
     @Operation(summary = "Get a specific estimate", description = "Retrieves a specific estimate by ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Estimate retrieved successfully",
@@ -108,6 +139,48 @@ public class EstimateController {
         return ResponseEntity.ok(EstimateDtoMapper.fromModel(estimate));
     }
 
+    @Operation(summary = "Find similar estimates", description = "Finds estimates of the owner's projects whose work items are most similar to those of the given estimate, by Jaccard similarity")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Similar estimates retrieved successfully",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = SimilarEstimate.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid limit or estimate belongs to a different project"),
+            @ApiResponse(responseCode = "404", description = "Estimate not found")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PreAuthorize("hasAuthority('VIEW_PROJECT') and @estimateAuthService.isViewEstimatesAuthorized(#projectId)")
+    @GetMapping("/{estimateId}/similar")
+    public ResponseEntity<List<SimilarEstimate>> findSimilarEstimates(
+            @Parameter(description = "ID of the project")
+            @PathVariable UUID projectId,
+            @Parameter(description = "ID of the estimate to compare")
+            @PathVariable UUID estimateId,
+            @Parameter(description = "Maximum number of estimates (1-" + EstimateService.MAX_SIMILAR_LIMIT + ")")
+            @RequestParam(defaultValue = "" + EstimateService.DEFAULT_SIMILAR_LIMIT) int limit
+    ) {
+        log.info("Finding estimates similar to estimate ID: {} of project ID: {}", estimateId, projectId);
+        return ResponseEntity.ok(estimateService.findSimilarEstimates(projectId, estimateId, limit));
+    }
+
+    @Operation(summary = "Get estimate cost per category", description = "Rolls the estimate's line costs up to every work item category, each category including its subcategories; lines of uncategorized work items are left out")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Category costs retrieved successfully",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = CategoryCost.class)))),
+            @ApiResponse(responseCode = "400", description = "Estimate belongs to a different project"),
+            @ApiResponse(responseCode = "404", description = "Estimate not found")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PreAuthorize("hasAuthority('VIEW_PROJECT') and @estimateAuthService.isViewEstimatesAuthorized(#projectId)")
+    @GetMapping("/{estimateId}/category-costs")
+    public ResponseEntity<List<CategoryCost>> getCategoryCosts(
+            @Parameter(description = "ID of the project")
+            @PathVariable UUID projectId,
+            @Parameter(description = "ID of the estimate")
+            @PathVariable UUID estimateId
+    ) {
+        log.info("Getting category costs of estimate ID: {} for project ID: {}", estimateId, projectId);
+        return ResponseEntity.ok(estimateService.getCategoryCosts(projectId, estimateId));
+    }
+
     @Operation(summary = "Create a new estimate", description = "Adds a new estimate to the project")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Estimate created successfully",
@@ -133,11 +206,222 @@ public class EstimateController {
         return ResponseEntity.status(HttpStatus.CREATED).body(EstimateDtoMapper.fromModel(estimate));
     }
 
+    @Operation(summary = "List estimate templates", description = "Lists the templates of the project owner with their group and line counts, ordered by name")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Templates retrieved successfully",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = EstimateTemplateSummary.class))))
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PreAuthorize("hasAuthority('VIEW_PROJECT') and @estimateAuthService.isViewEstimatesAuthorized(#projectId)")
+    @GetMapping("/templates")
+    public ResponseEntity<List<EstimateTemplateSummary>> getTemplates(
+            @Parameter(description = "ID of the project")
+            @PathVariable UUID projectId
+    ) {
+        log.info("Getting estimate templates for project ID: {}", projectId);
+        return ResponseEntity.ok(estimateTemplateService.getTemplates(projectId));
+    }
+
+    @Operation(summary = "Save an estimate as a template", description = "Copies the groups and grouped lines of the estimate into a new template of the project owner; computed costs are not copied")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Template created successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = EstimateTemplateSummary.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid name or estimate belongs to a different project"),
+            @ApiResponse(responseCode = "404", description = "Estimate not found")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PreAuthorize("hasAuthority('CREATE_PROJECT') and @estimateAuthService.isModifyEstimateAuthorized(#projectId)")
+    @PostMapping("/{estimateId}/templates")
+    public ResponseEntity<EstimateTemplateSummary> createTemplate(
+            @Parameter(description = "ID of the project")
+            @PathVariable UUID projectId,
+            @Parameter(description = "ID of the estimate to capture")
+            @PathVariable UUID estimateId,
+            @Parameter(description = "Template creation request")
+            @Valid @RequestBody CreateEstimateTemplateRequest request
+    ) {
+        log.info("Saving estimate ID: {} of project ID: {} as template '{}'", estimateId, projectId, request.name());
+        EstimateTemplateSummary template = estimateTemplateService.createTemplate(projectId, estimateId, request.name());
+        return ResponseEntity.status(HttpStatus.CREATED).body(template);
+    }
+
+    @Operation(summary = "Instantiate an estimate template", description = "Creates a new estimate in the project with the template's multiplier, groups and unpriced lines")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Estimate created successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = EstimateDto.class))),
+            @ApiResponse(responseCode = "400", description = "Template belongs to another user"),
+            @ApiResponse(responseCode = "404", description = "Template not found")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PreAuthorize("hasAuthority('CREATE_PROJECT') and @estimateAuthService.isCreateEstimateAuthorized(#projectId)")
+    @PostMapping("/templates/{templateId}/instantiate")
+    public ResponseEntity<EstimateDto> instantiateTemplate(
+            @Parameter(description = "ID of the project")
+            @PathVariable UUID projectId,
+            @Parameter(description = "ID of the template to instantiate")
+            @PathVariable UUID templateId
+    ) {
+        log.info("Instantiating estimate template ID: {} into project ID: {}", templateId, projectId);
+        Estimate estimate = estimateTemplateService.instantiateTemplate(projectId, templateId);
+        log.info("Successfully created estimate with ID: {} from template ID: {}", estimate.getId(), templateId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(EstimateDtoMapper.fromModel(estimate));
+    }
+
+    @Operation(summary = "List project variables", description = "Lists the named project values that line quantity formulas refer to, ordered by name")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Variables retrieved successfully",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ProjectVariableDto.class)))),
+            @ApiResponse(responseCode = "404", description = "Project not found")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PreAuthorize("hasAuthority('VIEW_PROJECT') and @estimateAuthService.isViewEstimatesAuthorized(#projectId)")
+    @GetMapping("/variables")
+    public ResponseEntity<List<ProjectVariableDto>> getVariables(
+            @Parameter(description = "ID of the project")
+            @PathVariable UUID projectId
+    ) {
+        log.info("Getting variables for project ID: {}", projectId);
+        return ResponseEntity.ok(quantityFormulaService.getVariables(projectId));
+    }
+
+    @Operation(summary = "Set a project variable", description = "Creates or changes a project variable and re-evaluates the formula lines of the project's estimates that depend on it")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Variable set successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProjectVariableDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid name or value, or a dependent line would get an invalid quantity"),
+            @ApiResponse(responseCode = "404", description = "Project not found")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PreAuthorize("hasAuthority('UPDATE_PROJECT') and @estimateAuthService.isModifyEstimateAuthorized(#projectId)")
+    @PutMapping("/variables/{name}")
+    public ResponseEntity<ProjectVariableDto> setVariable(
+            @Parameter(description = "ID of the project")
+            @PathVariable UUID projectId,
+            @Parameter(description = "Name of the variable, e.g. wall_area")
+            @PathVariable String name,
+            @Parameter(description = "Variable value request")
+            @Valid @RequestBody SetProjectVariableRequest request
+    ) {
+        log.info("Setting variable '{}' of project ID: {} to {}", name, projectId, request.value());
+        return ResponseEntity.ok(quantityFormulaService.setVariable(projectId, name, request.value()));
+    }
+
+    @Operation(summary = "Set the quantity of an estimate line", description = "Names the line and sets its quantity literally or as a formula over project variables and other named lines (@name), then re-evaluates the lines depending on it")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Line quantity set successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = EstimateLineDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid name or formula, unknown reference, reference cycle, or line not in the estimate")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PreAuthorize("hasAuthority('UPDATE_PROJECT') and @estimateAuthService.isModifyEstimateAuthorized(#projectId)")
+    @PutMapping("/{estimateId}/lines/{lineId}/quantity")
+    public ResponseEntity<EstimateLineDto> setLineQuantity(
+            @Parameter(description = "ID of the project")
+            @PathVariable UUID projectId,
+            @Parameter(description = "ID of the estimate")
+            @PathVariable UUID estimateId,
+            @Parameter(description = "ID of the estimate line")
+            @PathVariable UUID lineId,
+            @Parameter(description = "Line quantity request")
+            @Valid @RequestBody SetLineQuantityRequest request
+    ) {
+        log.info("Setting quantity of line ID: {} in estimate ID: {} with request: {}", lineId, estimateId, request);
+        EstimateLine line = quantityFormulaService.setLineQuantity(projectId, estimateId, lineId,
+                request.name(), request.formula(), request.quantity());
+        return ResponseEntity.ok(EstimateLineDtoMapper.fromEstimateLine(line));
+    }
+
+    @Operation(summary = "Merge edits of estimate lines", description = "Applies each line edit made against the line's current version and reports the others as conflicts with the current line; edits of different lines by different editors never conflict")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "All edits applied",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = EstimateLineMergeResult.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid edit; no edit is applied"),
+            @ApiResponse(responseCode = "409", description = "Some lines changed since they were read; the other edits are applied",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = EstimateLineMergeResult.class)))
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PreAuthorize("hasAuthority('UPDATE_PROJECT') and @estimateAuthService.isModifyEstimateAuthorized(#projectId)")
+    @PatchMapping("/{estimateId}/lines")
+    public ResponseEntity<EstimateLineMergeResult> mergeLines(
+            @Parameter(description = "ID of the project")
+            @PathVariable UUID projectId,
+            @Parameter(description = "ID of the estimate")
+            @PathVariable UUID estimateId,
+            @Parameter(description = "Line edits to merge")
+            @Valid @RequestBody MergeEstimateLinesRequest request
+    ) {
+        log.info("Merging {} line edits into estimate ID: {} of project ID: {}", request.lines().size(), estimateId, projectId);
+        EstimateLineMergeResult result = estimateLineMergeService.mergeLines(projectId, estimateId, request.lines());
+        return ResponseEntity.status(result.hasConflicts() ? HttpStatus.CONFLICT : HttpStatus.OK).body(result);
+    }
+
+    @Operation(summary = "Get the undo history of an estimate", description = "Counts the journaled edits of the estimate that can be undone and redone")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "History retrieved successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = EstimateHistory.class))),
+            @ApiResponse(responseCode = "404", description = "Estimate not found")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PreAuthorize("hasAuthority('VIEW_PROJECT') and @estimateAuthService.isViewEstimatesAuthorized(#projectId)")
+    @GetMapping("/{estimateId}/history")
+    public ResponseEntity<EstimateHistory> getHistory(
+            @Parameter(description = "ID of the project")
+            @PathVariable UUID projectId,
+            @Parameter(description = "ID of the estimate")
+            @PathVariable UUID estimateId
+    ) {
+        log.info("Getting history of estimate ID: {} for project ID: {}", estimateId, projectId);
+        return ResponseEntity.ok(estimateHistoryService.getHistory(projectId, estimateId));
+    }
+
+    @Operation(summary = "Undo the last edit of an estimate", description = "Reverts the latest journaled edit of the estimate or its lines by applying the old values of its field changes")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Edit undone",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = EstimateDto.class))),
+            @ApiResponse(responseCode = "400", description = "Nothing to undo"),
+            @ApiResponse(responseCode = "404", description = "Estimate not found"),
+            @ApiResponse(responseCode = "409", description = "A field of the edit was changed since")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PreAuthorize("hasAuthority('UPDATE_PROJECT') and @estimateAuthService.isModifyEstimateAuthorized(#projectId)")
+    @PostMapping("/{estimateId}/undo")
+    public ResponseEntity<EstimateDto> undo(
+            @Parameter(description = "ID of the project")
+            @PathVariable UUID projectId,
+            @Parameter(description = "ID of the estimate")
+            @PathVariable UUID estimateId
+    ) {
+        log.info("Undoing last edit of estimate ID: {} for project ID: {}", estimateId, projectId);
+        return ResponseEntity.ok(EstimateDtoMapper.fromModel(estimateHistoryService.undo(projectId, estimateId)));
+    }
+
+    @Operation(summary = "Redo an undone edit of an estimate", description = "Re-applies the earliest undone edit of the estimate; a new edit discards the undone ones")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Edit redone",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = EstimateDto.class))),
+            @ApiResponse(responseCode = "400", description = "Nothing to redo"),
+            @ApiResponse(responseCode = "404", description = "Estimate not found"),
+            @ApiResponse(responseCode = "409", description = "A field of the edit was changed since it was undone")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PreAuthorize("hasAuthority('UPDATE_PROJECT') and @estimateAuthService.isModifyEstimateAuthorized(#projectId)")
+    @PostMapping("/{estimateId}/redo")
+    public ResponseEntity<EstimateDto> redo(
+            @Parameter(description = "ID of the project")
+            @PathVariable UUID projectId,
+            @Parameter(description = "ID of the estimate")
+            @PathVariable UUID estimateId
+    ) {
+        log.info("Redoing edit of estimate ID: {} for project ID: {}", estimateId, projectId);
+        return ResponseEntity.ok(EstimateDtoMapper.fromModel(estimateHistoryService.redo(projectId, estimateId)));
+    }
+
     @Operation(summary = "Update an estimate", description = "Updates an existing estimate")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Estimate updated successfully",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = EstimateDto.class))),
-            @ApiResponse(responseCode = "404", description = "Estimate not found")
+            @ApiResponse(responseCode = "404", description = "Estimate not found"),
+            @ApiResponse(responseCode = "409", description = "Estimate was changed since the given version")
     })
     @SecurityRequirement(name = "bearerAuth")
     @PreAuthorize("hasAuthority('UPDATE_PROJECT') and @estimateAuthService.isModifyEstimateAuthorized(#projectId)")
@@ -162,7 +446,8 @@ public class EstimateController {
         
         Estimate updated = estimateService.updateEstimate(
                 estimateId, 
-                request.overallMultiplier()
+                request.overallMultiplier(),
+                request.version()
         );
         
         log.info("Successfully updated estimate ID: {}", estimateId);
@@ -208,12 +493,60 @@ public class EstimateController {
             double overallMultiplier
     ) {}
 
+    /**
+     * Request DTO for saving an estimate as a template.
+     */
+    @Schema(description = "Request object for saving an estimate as a template")
+    public record CreateEstimateTemplateRequest(
+            @Schema(description = "Name of the template", example = "Two-storey house")
+            @NotBlank(message = "Name is required and cannot be blank")
+            @Size(max = EstimateTemplateService.MAX_NAME_LENGTH, message = "Name must be at most 100 characters")
+            String name
+    ) {}
+
+    /**
+     * Request DTO for setting a project variable.
+     */
+    @Schema(description = "Request object for setting a project variable")
+    public record SetProjectVariableRequest(
+            @Schema(description = "Value of the variable", example = "182.5")
+            @NotNull(message = "Value is required")
+            Double value
+    ) {}
+
+    /**
+     * Request DTO for setting the quantity of an estimate line.
+     */
+    @Schema(description = "Request object for setting the quantity of an estimate line, literally or as a formula")
+    public record SetLineQuantityRequest(
+            @Schema(description = "Name other lines refer to this line by as @name; omit for none", example = "drywall")
+            @Size(max = QuantityFormulaService.MAX_NAME_LENGTH, message = "Name must be at most 50 characters")
+            String name,
+            @Schema(description = "Quantity formula over project variables and @named lines; omit for a literal quantity", example = "ceil(wall_area * 1.1 / 32)")
+            @Size(max = QuantityFormula.MAX_LENGTH, message = "Formula must be at most 500 characters")
+            String formula,
+            @Schema(description = "Literal quantity, required when there is no formula", example = "12.0")
+            Double quantity
+    ) {}
+
     /**
      * Request DTO for updating an estimate.
      */
     @Schema(description = "Request object for updating an estimate")
     public record UpdateEstimateRequest(
             @Schema(description = "Overall multiplier for the estimate", example = "1.0")
-            double overallMultiplier
+            double overallMultiplier,
+            @Schema(description = "Version of the estimate the update was made against; omit to overwrite unconditionally", example = "2")
+            Long version
+    ) {}
+
+    /**
+     * Request DTO for merging concurrent edits of estimate lines.
+     */
+    @Schema(description = "Request object for merging edits of estimate lines, each against the version of the line it was made on")
+    public record MergeEstimateLinesRequest(
+            @NotEmpty(message = "At least one line edit is required")
+            @Size(max = EstimateLineMergeService.MAX_EDITS, message = "At most 500 line edits are allowed")
+            List<@Valid EstimateLineEdit> lines
     ) {}
 }
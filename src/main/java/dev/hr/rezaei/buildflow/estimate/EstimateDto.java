@@ -17,6 +17,7 @@ import java.util.UUID;
 @SuperBuilder
 public class EstimateDto extends UpdatableEntityDto implements Dto<Estimate> {
     private UUID id;
+    private long version;
     private UUID projectId;
     private double overallMultiplier;
     
@@ -18,6 +18,7 @@ public class EstimateDtoMapper {
         if (estimate == null) return null;
         return EstimateDto.builder()
                 .id(estimate.getId())
+                .version(estimate.getVersion())
                 .projectId(estimate.getProject().getId())
                 .overallMultiplier(estimate.getOverallMultiplier())
                 .groupDtos(estimate.getGroups().stream()
@@ -39,6 +40,7 @@ public class EstimateDtoMapper {
     private static Estimate map(@NonNull EstimateDto dto, Project project, Map<UUID, Set<WorkItem>> workItemsByGroupId) {
         Estimate estimate = Estimate.builder()
                 .id(dto.getId())
+                .version(dto.getVersion())
                 .project(project)
                 .overallMultiplier(dto.getOverallMultiplier())
                 .build();
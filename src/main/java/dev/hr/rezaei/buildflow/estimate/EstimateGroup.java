@@ -2,6 +2,7 @@ package dev.hr.rezaei.buildflow.estimate;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -21,12 +22,22 @@ public class EstimateGroup {
     @Column(nullable = false, updatable = false)
     private UUID id;
 
+    // Optimistic concurrency: incremented on every update, a stale version fails the update
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     @Column(length = 100, nullable = false)
     private String name;
 
     @Column(length = 500)
     private String description;
 
+    // The template group this group was instantiated from, used to attach the copied lines
+    @Column(name = "template_group_id", updatable = false)
+    private UUID templateGroupId;
+
     // Bidirectional relationship: Many EstimateGroups belong to one Estimate.
     // Table: estimate_groups, Foreign Key: estimate_id
     @NonNull
@@ -45,6 +56,7 @@ public class EstimateGroup {
     public String toString() {
         return "EstimateGroup{" +
                 "id=" + id +
+                ", version=" + version +
                 ", name='" + name + '\'' +
                 ", description='" + description + '\'' +
                 ", estimate.id=" + estimate.getId() +
@@ -13,6 +13,7 @@ import java.util.UUID;
 @SuperBuilder
 public class EstimateGroupDto implements Dto<EstimateGroup> {
     private UUID id;
+    private long version;
     private UUID workItemId;
     private String name;
     private String description;
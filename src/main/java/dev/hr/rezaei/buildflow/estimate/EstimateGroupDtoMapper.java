@@ -16,6 +16,7 @@ public class EstimateGroupDtoMapper {
         if (estimateGroup == null) return null;
         return EstimateGroupDto.builder()
                 .id(estimateGroup.getId())
+                .version(estimateGroup.getVersion())
                 .name(estimateGroup.getName())
                 .description(estimateGroup.getDescription())
                 .estimateLineDtos(estimateGroup.getEstimateLines().stream()
@@ -42,6 +43,7 @@ public class EstimateGroupDtoMapper {
     private static EstimateGroup map(@NonNull EstimateGroupDto dto, @NonNull Set<WorkItem> workItems) {
         EstimateGroup estimateGroup = EstimateGroup.builder()
                 .id(dto.getId())
+                .version(dto.getVersion())
                 .name(dto.getName())
                 .description(dto.getDescription())
                 .build();
@@ -0,0 +1,15 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * How many journaled edits of an estimate can be undone and redone.
+ */
+@Schema(description = "Number of edits of an estimate that can be undone and redone")
+public record EstimateHistory(
+        @Schema(description = "Edits that can be undone, most recent first", example = "3")
+        long undoSteps,
+        @Schema(description = "Undone edits that can be redone", example = "1")
+        long redoSteps
+) {
+}
@@ -0,0 +1,217 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+import dev.hr.rezaei.buildflow.project.ProjectSummaryService;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static dev.hr.rezaei.buildflow.estimate.EstimateJournal.encode;
+
+/**
+ * Multi-step undo and redo of estimate edits from the {@link EstimateJournal}.
+ * <p>
+ * Undo applies the old values of the latest step's operations in reverse order, redo the new values of the
+ * earliest undone step in order; nothing else of the estimate is read or written. A step is only replayed when
+ * the fields it sets still hold the values it left, otherwise someone changed them since and the replay is
+ * rejected as a conflict. Derived values are not checked: a computed cost is only restored when it was not
+ * re-priced since, and formula lines depending on a replayed line are re-evaluated.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EstimateHistoryService {
+
+    private final EstimateRepository estimateRepository;
+    private final EstimateLineRepository estimateLineRepository;
+    private final EstimateOperationRepository estimateOperationRepository;
+    private final QuantityFormulaService quantityFormulaService;
+    private final EstimateJournal estimateJournal;
+    private final EstimateLocks estimateLocks;
+    private final ProjectSummaryService projectSummaryService;
+
+    private record Target(UUID lineId, EstimateOperationField field) {
+    }
+
+    /**
+     * Count the steps of the estimate that can be undone and redone.
+     */
+    @Transactional(readOnly = true)
+    public EstimateHistory getHistory(@NonNull UUID projectId, @NonNull UUID estimateId) {
+        requireEstimate(projectId, estimateId);
+        return new EstimateHistory(
+                estimateOperationRepository.countSteps(estimateId, false),
+                estimateOperationRepository.countSteps(estimateId, true));
+    }
+
+    /**
+     * Revert the estimate's latest edit that is not undone yet.
+     * @throws IllegalArgumentException when there is nothing to undo
+     * @throws ObjectOptimisticLockingFailureException when a field of the edit was changed since
+     */
+    @Transactional
+    public Estimate undo(@NonNull UUID projectId, @NonNull UUID estimateId) {
+        return replay(projectId, estimateId, true);
+    }
+
+    /**
+     * Re-apply the estimate's earliest undone edit.
+     * @throws IllegalArgumentException when there is nothing to redo
+     * @throws ObjectOptimisticLockingFailureException when a field of the edit was changed since it was undone
+     */
+    @Transactional
+    public Estimate redo(@NonNull UUID projectId, @NonNull UUID estimateId) {
+        return replay(projectId, estimateId, false);
+    }
+
+    private Estimate replay(UUID projectId, UUID estimateId, boolean undo) {
+        String action = undo ? "undo" : "redo";
+        estimateLocks.lockUntilCompletion(estimateId);
+        Estimate estimate = requireEstimate(projectId, estimateId);
+        Integer step = undo ? estimateOperationRepository.findLastDoneStep(estimateId)
+                : estimateOperationRepository.findFirstUndoneStep(estimateId);
+        if (step == null) {
+            throw new IllegalArgumentException("Nothing to " + action + " in estimate " + estimateId + ".");
+        }
+        List<EstimateOperation> operations = new ArrayList<>(
+                estimateOperationRepository.findByEstimateIdAndStepOrderByIdAsc(estimateId, step));
+        if (undo) {
+            Collections.reverse(operations);
+        }
+        Set<UUID> lineIds = operations.stream()
+                .map(EstimateOperation::getLineId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<UUID, EstimateLine> lines = estimateLineRepository.findAllById(lineIds).stream()
+                .filter(line -> line.getEstimate().getId().equals(estimateId))
+                .collect(Collectors.toMap(EstimateLine::getId, Function.identity()));
+
+        // Each field must still hold the value the step left it with, i.e. the first value replay expects
+        Map<Target, String> expected = new LinkedHashMap<>();
+        for (EstimateOperation operation : operations) {
+            expected.putIfAbsent(new Target(operation.getLineId(), operation.getField()),
+                    undo ? operation.getNewValue() : operation.getOldValue());
+        }
+        Set<UUID> unchangedCosts = new HashSet<>();
+        for (Map.Entry<Target, String> entry : expected.entrySet()) {
+            Target target = entry.getKey();
+            EstimateLine line = lines.get(target.lineId());
+            if (target.lineId() != null && line == null) {
+                throw new ObjectOptimisticLockingFailureException("Cannot " + action + ": line " + target.lineId()
+                        + " of estimate " + estimateId + " was removed since.", null);
+            }
+            boolean unchanged = Objects.equals(encode(current(estimate, line, target.field())), entry.getValue());
+            if (target.field() == EstimateOperationField.COMPUTED_COST) {
+                if (unchanged) {
+                    unchangedCosts.add(target.lineId());
+                }
+            } else if (!unchanged && !isDerived(line, target.field())) {
+                throw new ObjectOptimisticLockingFailureException("Cannot " + action + ": " + label(target)
+                        + " of estimate " + estimateId + " was changed since.", null);
+            }
+        }
+        checkNames(projectId, estimateId, operations, undo);
+
+        estimateJournal.suspend();
+        Instant now = Instant.now();
+        Set<UUID> quantityLines = new LinkedHashSet<>();
+        for (EstimateOperation operation : operations) {
+            String value = undo ? operation.getOldValue() : operation.getNewValue();
+            EstimateLine line = lines.get(operation.getLineId());
+            switch (operation.getField()) {
+                case OVERALL_MULTIPLIER -> estimate.setOverallMultiplier(Double.parseDouble(value));
+                case NAME -> line.setName(value);
+                case QUANTITY_FORMULA -> line.setQuantityFormula(value);
+                case QUANTITY -> line.setQuantity(Double.parseDouble(value));
+                case MULTIPLIER -> line.setMultiplier(Double.parseDouble(value));
+                case ESTIMATE_STRATEGY -> line.setEstimateStrategy(EstimateLineStrategy.valueOf(value));
+                case COMPUTED_COST -> {
+                    if (unchangedCosts.contains(line.getId())) {
+                        line.setComputedCost(value == null ? null : new BigDecimal(value));
+                    }
+                }
+            }
+            switch (operation.getField()) {
+                case NAME, QUANTITY_FORMULA, QUANTITY -> quantityLines.add(line.getId());
+                default -> {
+                }
+            }
+            if (line != null) {
+                line.setLastUpdatedAt(now);
+            } else {
+                estimate.setLastUpdatedAt(now);
+            }
+        }
+        int reevaluated = quantityLines.isEmpty() ? 0
+                : quantityFormulaService.reevaluateLines(projectId, quantityLines, now);
+        estimateOperationRepository.markStep(estimateId, step, undo);
+        projectSummaryService.refreshBeforeCommit(projectId);
+        estimateRepository.flush();
+
+        log.info("Replayed {} of step {} of estimate {}: {} operations, {} formula lines re-evaluated",
+                action, step, estimateId, operations.size(), reevaluated);
+        return estimate;
+    }
+
+    /**
+     * Reject a replay that would give a line a name another line of the estimate took since.
+     */
+    private void checkNames(UUID projectId, UUID estimateId, List<EstimateOperation> operations, boolean undo) {
+        Map<String, UUID> names = new HashMap<>();
+        for (EstimateOperation operation : operations) {
+            String name = undo ? operation.getOldValue() : operation.getNewValue();
+            if (operation.getField() == EstimateOperationField.NAME && name != null) {
+                names.put(name, operation.getLineId());
+            }
+        }
+        if (names.isEmpty()) {
+            return;
+        }
+        for (EstimateLineQuantityView view : estimateLineRepository.findQuantityViewsByProjectId(projectId)) {
+            UUID renamed = names.get(view.getName());
+            if (renamed != null && view.getEstimateId().equals(estimateId) && !view.getId().equals(renamed)) {
+                throw new ObjectOptimisticLockingFailureException("Cannot " + (undo ? "undo" : "redo")
+                        + ": another line of estimate " + estimateId + " is now named '" + view.getName() + "'.", null);
+            }
+        }
+    }
+
+    private static Object current(Estimate estimate, EstimateLine line, EstimateOperationField field) {
+        return switch (field) {
+            case OVERALL_MULTIPLIER -> estimate.getOverallMultiplier();
+            case NAME -> line.getName();
+            case QUANTITY_FORMULA -> line.getQuantityFormula();
+            case QUANTITY -> line.getQuantity();
+            case MULTIPLIER -> line.getMultiplier();
+            case ESTIMATE_STRATEGY -> line.getEstimateStrategy();
+            case COMPUTED_COST -> line.getComputedCost();
+        };
+    }
+
+    // The quantity of a formula line follows from the formula and may have been re-evaluated since
+    private static boolean isDerived(EstimateLine line, EstimateOperationField field) {
+        return field == EstimateOperationField.QUANTITY && line.getQuantityFormula() != null;
+    }
+
+    private static String label(Target target) {
+        String field = target.field().name().toLowerCase(Locale.ROOT).replace('_', ' ');
+        return target.lineId() == null ? "the " + field : "the " + field + " of line " + target.lineId();
+    }
+
+    private Estimate requireEstimate(UUID projectId, UUID estimateId) {
+        Estimate estimate = estimateRepository.findWithLinesById(estimateId)
+                .orElseThrow(() -> new EstimateNotFoundException("Estimate with ID " + estimateId + " does not exist."));
+        if (!estimate.getProject().getId().equals(projectId)) {
+            throw new IllegalArgumentException("Estimate " + estimateId + " does not belong to project " + projectId);
+        }
+        return estimate;
+    }
+}
@@ -0,0 +1,23 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the work item co-occurrence matrix and the estimate similarity index from all estimate lines at startup.
+ */
+@Component
+@RequiredArgsConstructor
+@Order(5) // Runs after the work item search index (4)
+public class EstimateIndexInitializer implements ApplicationRunner {
+
+    private final EstimateLineService estimateLineService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        estimateLineService.rebuildIndexes();
+    }
+}
@@ -0,0 +1,124 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import static dev.hr.rezaei.buildflow.util.TransactionUtil.afterCompletion;
+
+/**
+ * Append-only journal of field changes of estimates and their lines, read back by {@link EstimateHistoryService}.
+ * <p>
+ * All changes of one estimate in a transaction form one step. The first step of a transaction discards the undone
+ * steps, which can no longer be redone, and every {@value #CHECKPOINT_INTERVAL} steps the journal is checkpointed:
+ * steps older than the last {@value #MAX_UNDO_STEPS} are dropped, the estimate rows themselves being the state
+ * the remaining steps undo from. Callers hold the estimate's {@link EstimateLocks} stripe, so steps of one
+ * estimate are numbered without gaps or duplicates.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EstimateJournal {
+
+    public static final int MAX_UNDO_STEPS = 100;
+    static final int CHECKPOINT_INTERVAL = 50;
+
+    private final EstimateOperationRepository estimateOperationRepository;
+
+    // Journal state of a transaction, bound to it as a resource keyed by this journal
+    private static final class TransactionState {
+        private final Map<UUID, Integer> steps = new HashMap<>();
+        private boolean suspended;
+    }
+
+    /**
+     * Journal a change of a field of the estimate, unless the value is unchanged.
+     */
+    public void recordEstimate(@NonNull Estimate estimate, @NonNull EstimateOperationField field,
+                               Object oldValue, Object newValue) {
+        record(estimate, null, field, oldValue, newValue);
+    }
+
+    /**
+     * Journal a change of a field of the line, unless the value is unchanged.
+     */
+    public void recordLine(@NonNull EstimateLine line, @NonNull EstimateOperationField field,
+                           Object oldValue, Object newValue) {
+        record(line.getEstimate(), line.getId(), field, oldValue, newValue);
+    }
+
+    /**
+     * Stop journaling changes for the rest of the current transaction, while it replays journaled steps.
+     */
+    void suspend() {
+        state().suspended = true;
+    }
+
+    private void record(Estimate estimate, UUID lineId, EstimateOperationField field, Object oldValue, Object newValue) {
+        String oldText = encode(oldValue);
+        String newText = encode(newValue);
+        TransactionState state = state();
+        if (state.suspended || Objects.equals(oldText, newText)) {
+            return;
+        }
+        int step = state.steps.computeIfAbsent(estimate.getId(), this::startStep);
+        estimateOperationRepository.save(EstimateOperation.builder()
+                .estimate(estimate)
+                .step(step)
+                .lineId(lineId)
+                .field(field)
+                .oldValue(oldText)
+                .newValue(newText)
+                .createdAt(Instant.now())
+                .build());
+    }
+
+    private int startStep(UUID estimateId) {
+        estimateOperationRepository.deleteUndone(estimateId);
+        Integer last = estimateOperationRepository.findLastStep(estimateId);
+        int step = last == null ? 1 : last + 1;
+        if (step % CHECKPOINT_INTERVAL == 0 && step > MAX_UNDO_STEPS) {
+            int dropped = estimateOperationRepository.deleteUpToStep(estimateId, step - MAX_UNDO_STEPS);
+            log.debug("Checkpointed journal of estimate {} at step {}: {} operations dropped", estimateId, step, dropped);
+        }
+        return step;
+    }
+
+    private TransactionState state() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("The estimate journal records the changes of a transaction and needs an active transaction.");
+        }
+        TransactionState state = (TransactionState) TransactionSynchronizationManager.getResource(this);
+        if (state == null) {
+            state = new TransactionState();
+            TransactionSynchronizationManager.bindResource(this, state);
+            afterCompletion(() -> TransactionSynchronizationManager.unbindResourceIfPossible(this));
+        }
+        return state;
+    }
+
+    /**
+     * The journaled text of a field value.
+     */
+    static String encode(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.stripTrailingZeros().toPlainString();
+        }
+        if (value instanceof Enum<?> constant) {
+            return constant.name();
+        }
+        return value.toString();
+    }
+}
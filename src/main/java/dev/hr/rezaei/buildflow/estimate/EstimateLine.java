@@ -1,12 +1,15 @@
 package dev.hr.rezaei.buildflow.estimate;
 
 import dev.hr.rezaei.buildflow.base.UpdatableEntity;
+import dev.hr.rezaei.buildflow.quote.QuoteUnit;
 import dev.hr.rezaei.buildflow.workitem.WorkItem;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
+import java.util.Currency;
 import java.util.UUID;
 
 @EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = false)
@@ -15,7 +18,9 @@ import java.util.UUID;
 @AllArgsConstructor
 @SuperBuilder
 @Entity
-@Table(name = "estimate_lines")
+@Table(name = "estimate_lines", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_estimate_lines_estimate_name", columnNames = {"estimate_id", "name"})
+})
 public class EstimateLine extends UpdatableEntity {
     @EqualsAndHashCode.Include
     @Id
@@ -23,6 +28,12 @@ public class EstimateLine extends UpdatableEntity {
     @Column(nullable = false, updatable = false)
     private UUID id;
 
+    // Optimistic concurrency: incremented on every update, a stale version fails the update
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     @NonNull
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "estimate_id", nullable = false, foreignKey = @ForeignKey(name = "fk_estimate_lines_estimate"))
@@ -36,6 +47,14 @@ public class EstimateLine extends UpdatableEntity {
     @Column(nullable = false)
     private double quantity;
 
+    // Name other lines of the estimate refer to this line's quantity by, as @name in their formulas
+    @Column(length = 50)
+    private String name;
+
+    // When set, quantity is computed from this formula and kept up to date by QuantityFormulaService
+    @Column(name = "quantity_formula", length = QuantityFormula.MAX_LENGTH)
+    private String quantityFormula;
+
     @Enumerated(EnumType.STRING)
     @Column(length = 30, nullable = false)
     private EstimateLineStrategy estimateStrategy;
@@ -44,6 +63,14 @@ public class EstimateLine extends UpdatableEntity {
     @Column(nullable = false)
     private double multiplier = 1.0;
 
+    // Unit and currency of the quotes the line is priced from; a line without both keeps its computed cost as given
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30)
+    private QuoteUnit unit;
+
+    @Column(length = 3)
+    private Currency currency;
+
     @Column(precision = 17, scale = 2)
     private BigDecimal computedCost;
 
@@ -71,13 +98,18 @@ public class EstimateLine extends UpdatableEntity {
     public String toString() {
         return "EstimateLine{" +
                 "id=" + id +
+                ", version=" + version +
                 ", createdAt=" + getCreatedAt() +
                 ", lastUpdatedAt=" + getLastUpdatedAt() +
                 ", estimate.id=" + estimate.getId() +
                 ", workItem.id=" + workItem.getId() +
                 ", quantity=" + quantity +
+                ", name='" + name + '\'' +
+                ", quantityFormula='" + quantityFormula + '\'' +
                 ", estimateStrategy=" + estimateStrategy +
                 ", multiplier=" + multiplier +
+                ", unit=" + unit +
+                ", currency=" + currency +
                 ", computedCost=" + computedCost +
                 ", group=" + (group == null ? null : group.getId()) +
                 '}';
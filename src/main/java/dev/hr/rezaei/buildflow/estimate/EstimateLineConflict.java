@@ -0,0 +1,19 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.UUID;
+
+/**
+ * A line edit that was not applied because someone else changed or deleted the line first.
+ */
+@Schema(description = "Line edit rejected because the line changed since the editor read it")
+public record EstimateLineConflict(
+        @Schema(description = "ID of the line")
+        UUID lineId,
+        @Schema(description = "Version the edit was made against", example = "3")
+        long expectedVersion,
+        @Schema(description = "The line as it is now, or null when it was deleted")
+        EstimateLineDto current
+) {
+}
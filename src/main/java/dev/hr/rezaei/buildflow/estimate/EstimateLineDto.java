@@ -16,10 +16,15 @@ import java.util.UUID;
 @SuperBuilder
 public class EstimateLineDto extends UpdatableEntityDto implements Dto<EstimateLine> {
     private UUID id;
+    private long version;
     private UUID workItemId;
     private double quantity;
+    private String name;
+    private String quantityFormula;
     private String estimateStrategy;
     private double multiplier;
+    private String unit;
+    private String currency;
     private BigDecimal computedCost;
 }
 
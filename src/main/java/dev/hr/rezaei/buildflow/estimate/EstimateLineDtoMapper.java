@@ -2,9 +2,12 @@ package dev.hr.rezaei.buildflow.estimate;
 
 import dev.hr.rezaei.buildflow.dto.DtoMappingException;
 import dev.hr.rezaei.buildflow.base.UpdatableEntityDtoMapper;
+import dev.hr.rezaei.buildflow.quote.QuoteUnit;
 import dev.hr.rezaei.buildflow.workitem.WorkItem;
 import lombok.NonNull;
 
+import java.util.Currency;
+
 import static dev.hr.rezaei.buildflow.util.EnumUtil.fromString;
 
 public class EstimateLineDtoMapper {
@@ -13,10 +16,15 @@ public class EstimateLineDtoMapper {
         if (estimateLine == null) return null;
         return EstimateLineDto.builder()
                 .id(estimateLine.getId())
+                .version(estimateLine.getVersion())
                 .workItemId(estimateLine.getWorkItem().getId())
                 .quantity(estimateLine.getQuantity())
+                .name(estimateLine.getName())
+                .quantityFormula(estimateLine.getQuantityFormula())
                 .estimateStrategy(estimateLine.getEstimateStrategy().name())
                 .multiplier(estimateLine.getMultiplier())
+                .unit(estimateLine.getUnit() != null ? estimateLine.getUnit().name() : null)
+                .currency(estimateLine.getCurrency() != null ? estimateLine.getCurrency().getCurrencyCode() : null)
                 .computedCost(estimateLine.getComputedCost())
                 .createdAt(UpdatableEntityDtoMapper.toString(estimateLine.getCreatedAt()))
                 .lastUpdatedAt(UpdatableEntityDtoMapper.toString(estimateLine.getLastUpdatedAt()))
@@ -34,10 +42,15 @@ public class EstimateLineDtoMapper {
     private static EstimateLine map(@NonNull EstimateLineDto dto, WorkItem workItem) {
         return EstimateLine.builder()
                 .id(dto.getId())
+                .version(dto.getVersion())
                 .workItem(workItem)
                 .quantity(dto.getQuantity())
+                .name(dto.getName())
+                .quantityFormula(dto.getQuantityFormula())
                 .estimateStrategy(fromString(EstimateLineStrategy.class, dto.getEstimateStrategy()))
                 .multiplier(dto.getMultiplier())
+                .unit(fromString(QuoteUnit.class, dto.getUnit()))
+                .currency(dto.getCurrency() != null ? Currency.getInstance(dto.getCurrency()) : null)
                 .computedCost(dto.getComputedCost())
                 .createdAt(UpdatableEntityDtoMapper.fromString(dto.getCreatedAt()))
                 .lastUpdatedAt(UpdatableEntityDtoMapper.fromString(dto.getLastUpdatedAt()))
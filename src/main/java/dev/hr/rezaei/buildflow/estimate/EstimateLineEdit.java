@@ -0,0 +1,26 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+/**
+ * An edit of one estimate line, made against the version of the line the editor read.
+ */
+@Schema(description = "Edit of one estimate line against the version the editor read; omitted fields are left unchanged")
+public record EstimateLineEdit(
+        @Schema(description = "ID of the line")
+        @NotNull(message = "Line ID is required")
+        UUID id,
+        @Schema(description = "Version of the line the edit was made against", example = "3")
+        @NotNull(message = "Version is required")
+        Long version,
+        @Schema(description = "New literal quantity; not allowed for formula lines", example = "12.0")
+        Double quantity,
+        @Schema(description = "New line multiplier", example = "1.1")
+        Double multiplier,
+        @Schema(description = "New pricing strategy", example = "LOWEST")
+        String estimateStrategy
+) {
+}
@@ -0,0 +1,20 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Outcome of merging a batch of line edits: the lines changed and the edits rejected as conflicting.
+ */
+@Schema(description = "Lines changed by a batch of edits, with their new versions, and the edits rejected as conflicting")
+public record EstimateLineMergeResult(
+        @Schema(description = "Lines the edits were applied to")
+        List<EstimateLineDto> applied,
+        @Schema(description = "Edits rejected because their line changed since it was read")
+        List<EstimateLineConflict> conflicts
+) {
+    public boolean hasConflicts() {
+        return !conflicts.isEmpty();
+    }
+}
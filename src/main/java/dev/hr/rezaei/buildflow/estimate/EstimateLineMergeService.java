@@ -0,0 +1,142 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+import dev.hr.rezaei.buildflow.project.ProjectSummaryService;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static dev.hr.rezaei.buildflow.estimate.EstimateOperationField.*;
+import static dev.hr.rezaei.buildflow.util.EnumUtil.fromString;
+
+/**
+ * Merges concurrent edits of an estimate's lines.
+ * <p>
+ * Every edit names the version of the line it was made against. Edits of lines nobody else changed are applied,
+ * and each line's version moves on; edits of lines changed or deleted since are returned as conflicts with the
+ * current line, so editors working on different lines of one estimate never overwrite or block each other.
+ * Merges of one estimate are serialized in-process by its {@link EstimateLocks} stripe; concurrent commits from
+ * other instances are still caught by the {@code @Version} check at flush. Applied edits are journaled by
+ * {@link EstimateJournal} as one undo step.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EstimateLineMergeService {
+
+    public static final int MAX_EDITS = 500;
+
+    private final EstimateRepository estimateRepository;
+    private final EstimateLineRepository estimateLineRepository;
+    private final QuantityFormulaService quantityFormulaService;
+    private final EstimateLineService estimateLineService;
+    private final EstimateLocks estimateLocks;
+    private final EstimateJournal estimateJournal;
+    private final ProjectSummaryService projectSummaryService;
+
+    /**
+     * Apply the non-conflicting edits to the estimate's lines.
+     * @throws IllegalArgumentException when an edit is invalid; no edit is applied then
+     */
+    @Transactional
+    public EstimateLineMergeResult mergeLines(@NonNull UUID projectId, @NonNull UUID estimateId,
+                                              @NonNull List<EstimateLineEdit> edits) {
+        if (edits.isEmpty() || edits.size() > MAX_EDITS) {
+            throw new IllegalArgumentException("A merge must contain 1 to " + MAX_EDITS + " line edits.");
+        }
+        Set<UUID> lineIds = new HashSet<>();
+        for (EstimateLineEdit edit : edits) {
+            validate(edit);
+            if (!lineIds.add(edit.id())) {
+                throw new IllegalArgumentException("Line " + edit.id() + " is edited more than once.");
+            }
+        }
+
+        estimateLocks.lockUntilCompletion(estimateId);
+        Estimate estimate = estimateRepository.findById(estimateId)
+                .orElseThrow(() -> new EstimateNotFoundException("Estimate with ID " + estimateId + " does not exist."));
+        if (!estimate.getProject().getId().equals(projectId)) {
+            throw new IllegalArgumentException("Estimate " + estimateId + " does not belong to project " + projectId);
+        }
+        Map<UUID, EstimateLine> lines = estimateLineRepository.findAllById(lineIds).stream()
+                .filter(line -> line.getEstimate().getId().equals(estimateId))
+                .collect(Collectors.toMap(EstimateLine::getId, Function.identity()));
+
+        Instant now = Instant.now();
+        List<EstimateLine> applied = new ArrayList<>();
+        List<EstimateLineConflict> conflicts = new ArrayList<>();
+        for (EstimateLineEdit edit : edits) {
+            EstimateLine line = lines.get(edit.id());
+            if (line == null || line.getVersion() != edit.version()) {
+                conflicts.add(new EstimateLineConflict(edit.id(), edit.version(),
+                        EstimateLineDtoMapper.fromEstimateLine(line)));
+                continue;
+            }
+            if (edit.quantity() != null && line.getQuantityFormula() != null) {
+                throw new IllegalArgumentException("Line " + edit.id() + " takes its quantity from a formula; set the formula instead.");
+            }
+            apply(projectId, estimateId, line, edit, now);
+            applied.add(line);
+        }
+        // Flush so the returned lines carry their new versions
+        estimateLineRepository.flush();
+        projectSummaryService.refreshBeforeCommit(projectId);
+
+        log.info("Merged {} line edits into estimate {}: {} applied, {} conflicts",
+                edits.size(), estimateId, applied.size(), conflicts.size());
+        return new EstimateLineMergeResult(
+                applied.stream().map(EstimateLineDtoMapper::fromEstimateLine).toList(),
+                conflicts);
+    }
+
+    private void apply(UUID projectId, UUID estimateId, EstimateLine line, EstimateLineEdit edit, Instant now) {
+        double oldMultiplier = line.getMultiplier();
+        EstimateLineStrategy oldStrategy = line.getEstimateStrategy();
+        BigDecimal oldCost = line.getComputedCost();
+        if (edit.multiplier() != null) {
+            estimateLineService.applyMultiplier(line, edit.multiplier());
+        }
+        if (edit.estimateStrategy() != null) {
+            // Priced under the old strategy; the line is priced again
+            estimateLineService.applyStrategy(line, fromString(EstimateLineStrategy.class, edit.estimateStrategy()));
+        }
+        estimateJournal.recordLine(line, MULTIPLIER, oldMultiplier, line.getMultiplier());
+        estimateJournal.recordLine(line, ESTIMATE_STRATEGY, oldStrategy, line.getEstimateStrategy());
+        estimateJournal.recordLine(line, COMPUTED_COST, oldCost, line.getComputedCost());
+        if (edit.quantity() != null) {
+            if (line.getName() != null) {
+                // Other lines may refer to this one; re-evaluate them too. Journals the quantity change itself
+                quantityFormulaService.setLineQuantity(projectId, estimateId, line.getId(), line.getName(), null, edit.quantity());
+            } else {
+                double oldQuantity = line.getQuantity();
+                BigDecimal costBefore = line.getComputedCost();
+                estimateLineService.applyQuantity(line, edit.quantity(), now);
+                estimateJournal.recordLine(line, QUANTITY, oldQuantity, line.getQuantity());
+                estimateJournal.recordLine(line, COMPUTED_COST, costBefore, line.getComputedCost());
+            }
+        }
+        line.setLastUpdatedAt(now);
+    }
+
+    private static void validate(EstimateLineEdit edit) {
+        if (edit.id() == null || edit.version() == null) {
+            throw new IllegalArgumentException("Every line edit needs the line ID and the version it was made against.");
+        }
+        if (edit.quantity() != null && (!Double.isFinite(edit.quantity()) || edit.quantity() < 0)) {
+            throw new IllegalArgumentException("Quantity of line " + edit.id() + " must be a finite number greater than or equal to zero.");
+        }
+        if (edit.multiplier() != null && (!Double.isFinite(edit.multiplier()) || edit.multiplier() < 0)) {
+            throw new IllegalArgumentException("Multiplier of line " + edit.id() + " must be a finite number greater than or equal to zero.");
+        }
+        if (edit.estimateStrategy() != null && fromString(EstimateLineStrategy.class, edit.estimateStrategy()) == null) {
+            throw new IllegalArgumentException("Invalid estimate strategy: " + edit.estimateStrategy());
+        }
+    }
+}
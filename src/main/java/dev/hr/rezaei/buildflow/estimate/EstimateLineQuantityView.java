@@ -0,0 +1,18 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+import java.util.UUID;
+
+/**
+ * Projection of a named or formula estimate line onto what quantity formula evaluation needs.
+ */
+public interface EstimateLineQuantityView {
+    UUID getId();
+
+    UUID getEstimateId();
+
+    String getName();
+
+    String getQuantityFormula();
+
+    double getQuantity();
+}
@@ -1,11 +1,88 @@
 package dev.hr.rezaei.buildflow.estimate;
 
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface EstimateLineRepository extends JpaRepository<EstimateLine, UUID> {
-}
 
+    /**
+     * Stream the estimate, project, project owner, work item, work item owner and domain of every estimate line.
+     * Must be consumed inside a transaction and closed.
+     */
+    @Query("""
+            select e.id as estimateId,
+                   p.id as projectId,
+                   p.user.id as projectOwnerId,
+                   w.id as workItemId,
+                   w.user.id as ownerId,
+                   w.domain as domain
+              from EstimateLine l
+              join l.estimate e
+              join e.project p
+              join l.workItem w
+            """)
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    Stream<EstimateLineWorkItemView> streamWorkItemViews();
+
+    /**
+     * The estimate, project, project owner, work item, work item owner and domain of the lines of one estimate.
+     */
+    @Query("""
+            select e.id as estimateId,
+                   p.id as projectId,
+                   p.user.id as projectOwnerId,
+                   w.id as workItemId,
+                   w.user.id as ownerId,
+                   w.domain as domain
+              from EstimateLine l
+              join l.estimate e
+              join e.project p
+              join l.workItem w
+             where e.id = :estimateId
+            """)
+    List<EstimateLineWorkItemView> findWorkItemViewsByEstimateId(@Param("estimateId") UUID estimateId);
+
+    /**
+     * Roll the estimate's line costs up to every category containing their work items, directly or through a
+     * subcategory, by one join on the category closure table. Lines of uncategorized work items are left out.
+     */
+    @Query("""
+            select c.id as categoryId,
+                   c.name as name,
+                   c.parentId as parentId,
+                   coalesce(sum(l.computedCost), 0) as totalCost,
+                   count(l) as lineCount
+              from EstimateLine l
+              join l.workItem w
+              join WorkItemCategoryClosure cc on cc.descendantId = w.category.id
+              join WorkItemCategory c on c.id = cc.ancestorId
+             where l.estimate.id = :estimateId
+             group by c.id, c.name, c.parentId
+             order by c.name
+            """)
+    List<CategoryCostView> sumCostByCategory(@Param("estimateId") UUID estimateId);
+
+    /**
+     * The named and formula lines of all estimates of the project, the nodes of its quantity dependency graph.
+     */
+    @Query("""
+            select l.id as id,
+                   l.estimate.id as estimateId,
+                   l.name as name,
+                   l.quantityFormula as quantityFormula,
+                   l.quantity as quantity
+              from EstimateLine l
+             where l.estimate.project.id = :projectId
+               and (l.name is not null or l.quantityFormula is not null)
+            """)
+    List<EstimateLineQuantityView> findQuantityViewsByProjectId(@Param("projectId") UUID projectId);
+}
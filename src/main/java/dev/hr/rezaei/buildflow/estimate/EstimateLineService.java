@@ -1,8 +1,205 @@
 package dev.hr.rezaei.buildflow.estimate;
 
+import dev.hr.rezaei.buildflow.project.Project;
+import dev.hr.rezaei.buildflow.project.ProjectSummaryService;
+import dev.hr.rezaei.buildflow.quote.PackedPriceTable;
+import dev.hr.rezaei.buildflow.quote.QuotePriceTableService;
+import dev.hr.rezaei.buildflow.quote.QuoteUnit;
+import dev.hr.rezaei.buildflow.workitem.WorkItem;
+import dev.hr.rezaei.buildflow.workitem.WorkItemDomain;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static dev.hr.rezaei.buildflow.util.TransactionUtil.afterCommit;
 
 @Service
+@RequiredArgsConstructor
 public class EstimateLineService {
-}
 
+    private final QuotePriceTableService quotePriceTableService;
+    private final EstimateLineRepository estimateLineRepository;
+    private final WorkItemCooccurrenceIndex workItemCooccurrenceIndex;
+    private final EstimateSimilarityIndex estimateSimilarityIndex;
+    private final ProjectSummaryService projectSummaryService;
+
+    /**
+     * Save a new estimate line and count it in the co-occurrence matrix and similarity index after commit.
+     * A line with a unit and currency is priced from the valid quotes first, see {@link #priceLine}.
+     */
+    @Transactional
+    public EstimateLine addLine(@NonNull EstimateLine line) {
+        if (line.getUnit() != null && line.getCurrency() != null) {
+            priceLine(line);
+        }
+        EstimateLine saved = estimateLineRepository.save(line);
+        WorkItemCooccurrenceIndex.LineItem lineItem = toLineItem(saved);
+        EstimateSimilarityIndex.EstimateRef estimateRef = toEstimateRef(saved.getEstimate());
+        projectSummaryService.refreshBeforeCommit(estimateRef.projectId());
+        afterCommit(() -> {
+            workItemCooccurrenceIndex.addLine(lineItem);
+            estimateSimilarityIndex.addLine(estimateRef, lineItem.workItemId());
+        });
+        return saved;
+    }
+
+    /**
+     * Delete an estimate line and uncount it from the co-occurrence matrix and similarity index after commit.
+     */
+    @Transactional
+    public void removeLine(@NonNull EstimateLine line) {
+        if (line.getGroup() != null) {
+            line.getGroup().getEstimateLines().remove(line);
+        }
+        estimateLineRepository.delete(line);
+        projectSummaryService.refreshBeforeCommit(line.getEstimate().getProject().getId());
+        UUID estimateId = line.getEstimate().getId();
+        UUID workItemId = line.getWorkItem().getId();
+        afterCommit(() -> {
+            workItemCooccurrenceIndex.removeLine(estimateId, workItemId);
+            estimateSimilarityIndex.removeLine(estimateId, workItemId);
+        });
+    }
+
+    /**
+     * Rebuild the co-occurrence matrix and the estimate similarity index from all estimate lines.
+     */
+    @Transactional(readOnly = true)
+    public void rebuildIndexes() {
+        try (Stream<EstimateLineWorkItemView> views = estimateLineRepository.streamWorkItemViews()) {
+            workItemCooccurrenceIndex.rebuild(views.map(EstimateLineService::toLineItem));
+        }
+        try (Stream<EstimateLineWorkItemView> views = estimateLineRepository.streamWorkItemViews()) {
+            estimateSimilarityIndex.rebuild(views.map(EstimateLineService::toSimilarityLine));
+        }
+    }
+
+    /**
+     * Count the lines of an estimate that were written in bulk, bypassing {@link #addLine}, in the co-occurrence
+     * matrix and similarity index after commit.
+     */
+    @Transactional(readOnly = true)
+    public void indexEstimateLines(@NonNull UUID estimateId) {
+        List<EstimateLineWorkItemView> views = estimateLineRepository.findWorkItemViewsByEstimateId(estimateId);
+        List<WorkItemCooccurrenceIndex.LineItem> lineItems = views.stream().map(EstimateLineService::toLineItem).toList();
+        List<EstimateSimilarityIndex.Line> lines = views.stream().map(EstimateLineService::toSimilarityLine).toList();
+        afterCommit(() -> {
+            lineItems.forEach(workItemCooccurrenceIndex::addLine);
+            lines.forEach(line -> estimateSimilarityIndex.addLine(line.estimate(), line.workItemId()));
+        });
+    }
+
+    /**
+     * Unit price of a work item under an estimate strategy, read from the packed price table. Only quotes in the
+     * given unit and currency count, so prices per unit and per square meter are never mixed.
+     * @return price in minor units (cents), or {@link PackedPriceTable#NO_PRICE} when no valid quote matches
+     */
+    public long unitPriceMinor(@NonNull UUID workItemId, @NonNull EstimateLineStrategy strategy, @NonNull QuoteUnit unit,
+                               @NonNull Currency currency) {
+        return switch (strategy) {
+            case AVERAGE -> quotePriceTableService.averagePriceMinor(workItemId, unit, currency);
+            case LATEST -> quotePriceTableService.latestPriceMinor(workItemId, unit, currency);
+            case LOWEST -> quotePriceTableService.lowestPriceMinor(workItemId, unit, currency);
+        };
+    }
+
+    /**
+     * Price an estimate line from the valid quotes of its work item in the line's unit and currency, and store the
+     * result as its computed cost. The cost is unit price × quantity × multiplier, and is cleared when the line has
+     * no unit or currency, or no valid quote matches them. A caller saving the line also refreshes the project
+     * summary through {@link ProjectSummaryService#refreshBeforeCommit}.
+     * @param line the estimate line to price
+     * @return the computed cost, or null when no valid quote matches
+     */
+    public BigDecimal priceLine(@NonNull EstimateLine line) {
+        long minor = line.getUnit() == null || line.getCurrency() == null ? PackedPriceTable.NO_PRICE
+                : unitPriceMinor(line.getWorkItem().getId(), line.getEstimateStrategy(), line.getUnit(), line.getCurrency());
+        BigDecimal cost = minor == PackedPriceTable.NO_PRICE ? null
+                : QuotePriceTableService.fromMinor(minor)
+                .multiply(BigDecimal.valueOf(line.getQuantity() * line.getMultiplier()))
+                .setScale(2, RoundingMode.HALF_UP);
+        line.setComputedCost(cost);
+        return cost;
+    }
+
+    /**
+     * Set a line's quantity, rescaling its computed cost to the same unit price. A line whose previous quantity was
+     * zero has no unit price to rescale and is priced again through {@link #priceLine}.
+     */
+    void applyQuantity(@NonNull EstimateLine line, double quantity, @NonNull Instant now) {
+        double previous = line.getQuantity();
+        if (previous == quantity) {
+            return;
+        }
+        line.setQuantity(quantity);
+        line.setLastUpdatedAt(now);
+        rescaleOrPrice(line, previous, quantity);
+    }
+
+    /**
+     * Set a line's multiplier, rescaling its computed cost to the same unit price. A line whose previous multiplier
+     * was zero has no unit price to rescale and is priced again through {@link #priceLine}.
+     */
+    void applyMultiplier(@NonNull EstimateLine line, double multiplier) {
+        double previous = line.getMultiplier();
+        if (previous == multiplier) {
+            return;
+        }
+        line.setMultiplier(multiplier);
+        rescaleOrPrice(line, previous, multiplier);
+    }
+
+    /**
+     * Set a line's estimate strategy and price it again under the new strategy through {@link #priceLine}. A line
+     * without a unit or currency cannot be priced from quotes and keeps its cost.
+     */
+    void applyStrategy(@NonNull EstimateLine line, @NonNull EstimateLineStrategy strategy) {
+        if (strategy == line.getEstimateStrategy()) {
+            return;
+        }
+        line.setEstimateStrategy(strategy);
+        if (line.getUnit() != null && line.getCurrency() != null) {
+            priceLine(line);
+        }
+    }
+
+    private void rescaleOrPrice(EstimateLine line, double previous, double current) {
+        BigDecimal cost = line.getComputedCost();
+        if (previous == 0) {
+            priceLine(line);
+        } else if (cost != null) {
+            line.setComputedCost(cost.multiply(BigDecimal.valueOf(current / previous)).setScale(2, RoundingMode.HALF_UP));
+        }
+    }
+
+    private static EstimateSimilarityIndex.EstimateRef toEstimateRef(Estimate estimate) {
+        Project project = estimate.getProject();
+        return new EstimateSimilarityIndex.EstimateRef(estimate.getId(), project.getId(), project.getUser().getId());
+    }
+
+    private static WorkItemCooccurrenceIndex.LineItem toLineItem(EstimateLineWorkItemView view) {
+        return new WorkItemCooccurrenceIndex.LineItem(view.getEstimateId(), view.getWorkItemId(), view.getOwnerId(),
+                view.getDomain() == WorkItemDomain.PUBLIC);
+    }
+
+    private static EstimateSimilarityIndex.Line toSimilarityLine(EstimateLineWorkItemView view) {
+        return new EstimateSimilarityIndex.Line(
+                new EstimateSimilarityIndex.EstimateRef(view.getEstimateId(), view.getProjectId(), view.getProjectOwnerId()),
+                view.getWorkItemId());
+    }
+
+    private static WorkItemCooccurrenceIndex.LineItem toLineItem(EstimateLine line) {
+        WorkItem workItem = line.getWorkItem();
+        return new WorkItemCooccurrenceIndex.LineItem(line.getEstimate().getId(), workItem.getId(),
+                workItem.getUser().getId(), workItem.getDomain() == WorkItemDomain.PUBLIC);
+    }
+}
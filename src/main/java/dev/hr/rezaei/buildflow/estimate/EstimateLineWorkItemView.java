@@ -0,0 +1,23 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+import dev.hr.rezaei.buildflow.workitem.WorkItemDomain;
+
+import java.util.UUID;
+
+/**
+ * Projection of an estimate line onto its estimate, project and work item, used to build the co-occurrence
+ * matrix and the estimate similarity index.
+ */
+public interface EstimateLineWorkItemView {
+    UUID getEstimateId();
+
+    UUID getProjectId();
+
+    UUID getProjectOwnerId();
+
+    UUID getWorkItemId();
+
+    UUID getOwnerId();
+
+    WorkItemDomain getDomain();
+}
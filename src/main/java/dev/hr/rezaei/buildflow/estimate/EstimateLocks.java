@@ -0,0 +1,74 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+import dev.hr.rezaei.buildflow.util.StripedLocks;
+import lombok.NonNull;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static dev.hr.rezaei.buildflow.util.TransactionUtil.afterCompletion;
+
+/**
+ * In-process locks of estimates, striped by estimate ID.
+ * <p>
+ * Edits and recomputations of one estimate run one at a time, so each reads what the previous one committed and
+ * reports a version conflict instead of failing at commit. Edits of different estimates take different stripes and
+ * proceed in parallel. A lock is held until the surrounding transaction completes; the database versions still
+ * guard against other application instances.
+ */
+@Component
+public class EstimateLocks {
+
+    static final int STRIPES = 256;
+    static final long TIMEOUT_SECONDS = 30;
+
+    private final StripedLocks locks = new StripedLocks(STRIPES);
+
+    /**
+     * Lock the estimate until the current transaction completes.
+     * @throws CannotAcquireLockException when the estimate stays locked for {@value #TIMEOUT_SECONDS} seconds
+     */
+    public void lockUntilCompletion(@NonNull UUID estimateId) {
+        lockAllUntilCompletion(List.of(estimateId));
+    }
+
+    /**
+     * Lock the estimates until the current transaction completes, taking their stripes in a fixed order.
+     * @throws CannotAcquireLockException when an estimate stays locked for {@value #TIMEOUT_SECONDS} seconds
+     */
+    public void lockAllUntilCompletion(@NonNull Collection<UUID> estimateIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Estimate locks are held until transaction completion and need an active transaction.");
+        }
+        List<ReentrantLock> stripes = locks.getAll(estimateIds);
+        int acquired = 0;
+        try {
+            for (ReentrantLock stripe : stripes) {
+                if (!stripe.tryLock(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    throw new CannotAcquireLockException("Timed out waiting for concurrent edits of the estimate to finish.");
+                }
+                acquired++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CannotAcquireLockException("Interrupted while waiting for concurrent edits of the estimate to finish.", e);
+        } finally {
+            if (acquired < stripes.size()) {
+                unlock(stripes.subList(0, acquired));
+            }
+        }
+        afterCompletion(() -> unlock(stripes));
+    }
+
+    private static void unlock(List<ReentrantLock> stripes) {
+        for (int i = stripes.size() - 1; i >= 0; i--) {
+            stripes.get(i).unlock();
+        }
+    }
+}
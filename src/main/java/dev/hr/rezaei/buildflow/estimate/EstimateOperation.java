@@ -0,0 +1,85 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One field change of an estimate or one of its lines, journaled for undo and redo.
+ * <p>
+ * Operations are append-only and hold only the changed field with its old and new value, so the journal grows
+ * with the number of edits rather than with the size of the estimate. The operations of one edit share a step.
+ */
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "estimate_operations",
+        indexes = @Index(name = "idx_estimate_operations_estimate_step", columnList = "estimate_id, step"))
+public class EstimateOperation {
+
+    public static final int MAX_VALUE_LENGTH = 500;
+
+    @EqualsAndHashCode.Include
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(nullable = false, updatable = false)
+    private Long id;
+
+    // Unidirectional relationship: Many EstimateOperations belong to one Estimate, removed with it.
+    // Table: estimate_operations, Foreign Key: estimate_id
+    @NonNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "estimate_id", nullable = false, updatable = false,
+            foreignKey = @ForeignKey(name = "fk_estimate_operations_estimate"))
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Estimate estimate;
+
+    // Edit the operation belongs to, increasing per estimate
+    @Column(nullable = false, updatable = false)
+    private int step;
+
+    // Changed line, or null for a field of the estimate itself; no foreign key, lines may be removed later
+    @Column(name = "line_id", updatable = false)
+    private UUID lineId;
+
+    @NonNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30, updatable = false)
+    private EstimateOperationField field;
+
+    @Column(name = "old_value", length = MAX_VALUE_LENGTH, updatable = false)
+    private String oldValue;
+
+    @Column(name = "new_value", length = MAX_VALUE_LENGTH, updatable = false)
+    private String newValue;
+
+    // Set while the step is undone; undone steps are discarded by the next edit
+    @Column(nullable = false)
+    private boolean undone;
+
+    @NonNull
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Override
+    public String toString() {
+        return "EstimateOperation{" +
+                "id=" + id +
+                ", estimate.id=" + (estimate == null ? null : estimate.getId()) +
+                ", step=" + step +
+                ", lineId=" + lineId +
+                ", field=" + field +
+                ", oldValue='" + oldValue + '\'' +
+                ", newValue='" + newValue + '\'' +
+                ", undone=" + undone +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
@@ -0,0 +1,14 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+/**
+ * Field of an estimate or estimate line changed by an {@link EstimateOperation}.
+ */
+public enum EstimateOperationField {
+    OVERALL_MULTIPLIER,
+    NAME,
+    QUANTITY_FORMULA,
+    QUANTITY,
+    MULTIPLIER,
+    ESTIMATE_STRATEGY,
+    COMPUTED_COST,
+}
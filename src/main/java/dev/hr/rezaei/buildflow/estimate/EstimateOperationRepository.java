@@ -0,0 +1,52 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface EstimateOperationRepository extends JpaRepository<EstimateOperation, Long> {
+
+    List<EstimateOperation> findByEstimateIdAndStepOrderByIdAsc(UUID estimateId, int step);
+
+    @Query("select max(o.step) from EstimateOperation o where o.estimate.id = :estimateId")
+    Integer findLastStep(@Param("estimateId") UUID estimateId);
+
+    /**
+     * The step an undo reverts, or null when there is nothing to undo.
+     */
+    @Query("select max(o.step) from EstimateOperation o where o.estimate.id = :estimateId and o.undone = false")
+    Integer findLastDoneStep(@Param("estimateId") UUID estimateId);
+
+    /**
+     * The step a redo re-applies, or null when there is nothing to redo.
+     */
+    @Query("select min(o.step) from EstimateOperation o where o.estimate.id = :estimateId and o.undone = true")
+    Integer findFirstUndoneStep(@Param("estimateId") UUID estimateId);
+
+    @Query("select count(distinct o.step) from EstimateOperation o where o.estimate.id = :estimateId and o.undone = :undone")
+    long countSteps(@Param("estimateId") UUID estimateId, @Param("undone") boolean undone);
+
+    @Modifying
+    @Query("update EstimateOperation o set o.undone = :undone where o.estimate.id = :estimateId and o.step = :step")
+    int markStep(@Param("estimateId") UUID estimateId, @Param("step") int step, @Param("undone") boolean undone);
+
+    /**
+     * Discard the undone steps, which can no longer be redone once a new edit is made.
+     */
+    @Modifying
+    @Query("delete from EstimateOperation o where o.estimate.id = :estimateId and o.undone = true")
+    int deleteUndone(@Param("estimateId") UUID estimateId);
+
+    /**
+     * Discard the steps up to a checkpoint, which can no longer be undone.
+     */
+    @Modifying
+    @Query("delete from EstimateOperation o where o.estimate.id = :estimateId and o.step <= :step")
+    int deleteUpToStep(@Param("estimateId") UUID estimateId, @Param("step") int step);
+}
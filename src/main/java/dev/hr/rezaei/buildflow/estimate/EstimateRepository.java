@@ -4,6 +4,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 
@@ -24,5 +26,14 @@ public interface EstimateRepository extends JpaRepository<Estimate, UUID> {
     @EntityGraph(attributePaths = {"groups"})
     @Override
     Optional<Estimate> findById(@NonNull UUID id);
+
+    /**
+     * Find an estimate with its groups and their lines loaded, for mapping outside the transaction.
+     */
+    @EntityGraph(attributePaths = {"groups", "groups.estimateLines"})
+    Optional<Estimate> findWithLinesById(UUID id);
+
+    @Query("select e.id from Estimate e where e.project.id = :projectId")
+    List<UUID> findIdsByProjectId(@Param("projectId") UUID projectId);
 }
 
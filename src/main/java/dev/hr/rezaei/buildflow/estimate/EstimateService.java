@@ -1,22 +1,29 @@
 package dev.hr.rezaei.buildflow.estimate;
 
+import dev.hr.rezaei.buildflow.project.ProjectDeletedEvent;
 import dev.hr.rezaei.buildflow.project.ProjectNotFoundException;
 import dev.hr.rezaei.buildflow.project.Project;
 import dev.hr.rezaei.buildflow.project.ProjectRepository;
+import dev.hr.rezaei.buildflow.project.ProjectSummaryService;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import static dev.hr.rezaei.buildflow.util.TransactionUtil.afterCommit;
+
 /**
  * EstimateService providing business logic for estimate management operations.
  * Operates on entities, not DTOs, following the same pattern as ProjectParticipantService.
@@ -25,21 +32,44 @@ import java.util.UUID;
 @Service
 public class EstimateService {
 
+    public static final int DEFAULT_RECOMMENDATION_LIMIT = 10;
+    public static final int MAX_RECOMMENDATION_LIMIT = 50;
+    public static final int DEFAULT_SIMILAR_LIMIT = 10;
+    public static final int MAX_SIMILAR_LIMIT = 50;
+
     private final EstimateRepository estimateRepository;
+    private final EstimateLineRepository estimateLineRepository;
     private final ProjectRepository projectRepository;
+    private final WorkItemCooccurrenceIndex workItemCooccurrenceIndex;
+    private final EstimateSimilarityIndex estimateSimilarityIndex;
+    private final EstimateLocks estimateLocks;
+    private final EstimateJournal estimateJournal;
+    private final ProjectSummaryService projectSummaryService;
 
     public EstimateService(EstimateRepository estimateRepository,
-                           ProjectRepository projectRepository) {
+                           EstimateLineRepository estimateLineRepository,
+                           ProjectRepository projectRepository,
+                           WorkItemCooccurrenceIndex workItemCooccurrenceIndex,
+                           EstimateSimilarityIndex estimateSimilarityIndex,
+                           EstimateLocks estimateLocks,
+                           EstimateJournal estimateJournal,
+                           ProjectSummaryService projectSummaryService) {
         this.estimateRepository = estimateRepository;
+        this.estimateLineRepository = estimateLineRepository;
         this.projectRepository = projectRepository;
+        this.workItemCooccurrenceIndex = workItemCooccurrenceIndex;
+        this.estimateSimilarityIndex = estimateSimilarityIndex;
+        this.estimateLocks = estimateLocks;
+        this.estimateJournal = estimateJournal;
+        this.projectSummaryService = projectSummaryService;
     }
 
     /**
-     * Find estimate by ID.
+     * Find estimate by ID, with its groups and their lines loaded for mapping.
      */
     @Transactional(readOnly = true)
     public Optional<Estimate> findById(@NonNull UUID id) {
-        return estimateRepository.findById(id);
+        return estimateRepository.findWithLinesById(id);
     }
 
     /**
@@ -88,6 +118,7 @@ public class EstimateService {
                 .build();
 
         Estimate saved = estimateRepository.save(estimate);
+        projectSummaryService.refreshBeforeCommit(projectId);
         log.info("Created estimate with ID {} for project ID {} with multiplier {}", saved.getId(), projectId, overallMultiplier);
         return saved;
     }
@@ -97,14 +128,32 @@ public class EstimateService {
      */
     @Transactional
     public Estimate updateEstimate(@NonNull UUID estimateId, double overallMultiplier) {
-        Estimate estimate = estimateRepository.findById(estimateId)
+        return updateEstimate(estimateId, overallMultiplier, null);
+    }
+
+    /**
+     * Update an existing estimate that the caller read at the given version. Line edits do not change the
+     * estimate's version, so they never conflict with this update.
+     * @param expectedVersion the version the caller read, or null to overwrite unconditionally
+     * @throws ObjectOptimisticLockingFailureException when the estimate was changed since that version
+     */
+    @Transactional
+    public Estimate updateEstimate(@NonNull UUID estimateId, double overallMultiplier, Long expectedVersion) {
+        estimateLocks.lockUntilCompletion(estimateId);
+        Estimate estimate = estimateRepository.findWithLinesById(estimateId)
                 .orElseThrow(() -> new EstimateNotFoundException("Estimate with ID " + estimateId + " does not exist."));
+        if (expectedVersion != null && expectedVersion != estimate.getVersion()) {
+            throw new ObjectOptimisticLockingFailureException("Estimate " + estimateId + " was changed by someone else: version "
+                    + estimate.getVersion() + ", expected " + expectedVersion + ".", null);
+        }
 
+        estimateJournal.recordEstimate(estimate, EstimateOperationField.OVERALL_MULTIPLIER,
+                estimate.getOverallMultiplier(), overallMultiplier);
         estimate.setOverallMultiplier(overallMultiplier);
         Instant now = Instant.now();
         estimate.setLastUpdatedAt(now);
 
-        Estimate updated = estimateRepository.save(estimate);
+        Estimate updated = estimateRepository.saveAndFlush(estimate);
         log.info("Updated estimate ID {} with multiplier {}", estimateId, overallMultiplier);
         return updated;
     }
@@ -114,13 +163,84 @@ public class EstimateService {
      */
     @Transactional
     public void deleteEstimate(@NonNull UUID estimateId) {
-        if (!estimateRepository.existsById(estimateId)) {
-            throw new EstimateNotFoundException("Estimate with ID " + estimateId + " does not exist.");
-        }
-        estimateRepository.deleteById(estimateId);
+        Estimate estimate = estimateRepository.findById(estimateId)
+                .orElseThrow(() -> new EstimateNotFoundException("Estimate with ID " + estimateId + " does not exist."));
+        estimateRepository.delete(estimate);
+        projectSummaryService.refreshBeforeCommit(estimate.getProject().getId());
+        afterCommit(() -> {
+            workItemCooccurrenceIndex.removeEstimate(estimateId);
+            estimateSimilarityIndex.removeEstimate(estimateId);
+        });
         log.info("Deleted estimate with ID {}", estimateId);
     }
 
+    /**
+     * Drop the estimates of a deleted project from the co-occurrence matrix and similarity index once the
+     * deletion commits.
+     */
+    @TransactionalEventListener
+    public void onProjectDeleted(ProjectDeletedEvent event) {
+        for (UUID estimateId : event.estimateIds()) {
+            workItemCooccurrenceIndex.removeEstimate(estimateId);
+            estimateSimilarityIndex.removeEstimate(estimateId);
+        }
+    }
+
+    /**
+     * Suggest work items that usually appear in the same estimates as the chosen ones.
+     * Suggestions come from the in-memory co-occurrence matrix and are limited to PUBLIC work items
+     * and those of the project owner.
+     * @param workItemIds the work items already chosen, e.g. the lines of the group being edited
+     * @param limit maximum number of suggestions (1-{@value #MAX_RECOMMENDATION_LIMIT})
+     */
+    @Transactional(readOnly = true)
+    public List<WorkItemRecommendation> recommendWorkItems(@NonNull UUID projectId, @NonNull Collection<UUID> workItemIds,
+                                                           int limit) {
+        if (limit < 1 || limit > MAX_RECOMMENDATION_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_RECOMMENDATION_LIMIT + ".");
+        }
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new ProjectNotFoundException("Project with ID " + projectId + " does not exist."));
+        return workItemCooccurrenceIndex.recommend(workItemIds, project.getUser().getId(), limit);
+    }
+
+    /**
+     * Find estimates of the project owner's projects that use a similar mix of work items, from the in-memory
+     * MinHash index rather than by comparing every estimate.
+     * @param limit maximum number of estimates (1-{@value #MAX_SIMILAR_LIMIT})
+     * @return similar estimates, most similar first
+     */
+    @Transactional(readOnly = true)
+    public List<SimilarEstimate> findSimilarEstimates(@NonNull UUID projectId, @NonNull UUID estimateId, int limit) {
+        if (limit < 1 || limit > MAX_SIMILAR_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SIMILAR_LIMIT + ".");
+        }
+        Estimate estimate = estimateRepository.findById(estimateId)
+                .orElseThrow(() -> new EstimateNotFoundException("Estimate with ID " + estimateId + " does not exist."));
+        Project project = estimate.getProject();
+        if (!project.getId().equals(projectId)) {
+            throw new IllegalArgumentException("Estimate " + estimateId + " does not belong to project " + projectId);
+        }
+        return estimateSimilarityIndex.similar(estimateId, project.getUser().getId(), limit);
+    }
+
+    /**
+     * Roll the estimate's line costs up the owner's work item category tree.
+     * @return one entry per category with lines under it, subcategories included, ordered by name
+     */
+    @Transactional(readOnly = true)
+    public List<CategoryCost> getCategoryCosts(@NonNull UUID projectId, @NonNull UUID estimateId) {
+        Estimate estimate = estimateRepository.findById(estimateId)
+                .orElseThrow(() -> new EstimateNotFoundException("Estimate with ID " + estimateId + " does not exist."));
+        if (!estimate.getProject().getId().equals(projectId)) {
+            throw new IllegalArgumentException("Estimate " + estimateId + " does not belong to project " + projectId);
+        }
+        return estimateLineRepository.sumCostByCategory(estimateId).stream()
+                .map(view -> new CategoryCost(view.getCategoryId(), view.getName(), view.getParentId(),
+                        view.getTotalCost(), view.getLineCount()))
+                .toList();
+    }
+
     /**
      * Ensures that the pageable has default sorting by lastUpdatedAt DESC if no sort is provided.
      */
@@ -0,0 +1,238 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+import dev.hr.rezaei.buildflow.util.LongIntHashMap;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * MinHash locality-sensitive hashing index of estimates by their set of work items.
+ * <p>
+ * Each estimate keeps the 64-bit hashes of its distinct work items and a MinHash signature of
+ * {@value #SIGNATURE_LENGTH} values. The signature is cut into {@value #BANDS} bands of
+ * {@value #ROWS} rows; estimates sharing any whole band land in the same bucket, so two estimates
+ * become candidates with high probability once their Jaccard similarity passes roughly
+ * {@code (1 / BANDS)^(1 / ROWS)}, about 0.42. A query only compares the estimate with its bucket
+ * mates, using the exact Jaccard similarity of the work item sets, instead of with every estimate.
+ * <p>
+ * A signature is recomputed when a work item enters or leaves an estimate, not for further lines
+ * of a work item the estimate already has.
+ */
+@Slf4j
+@Component
+public class EstimateSimilarityIndex {
+
+    static final int BANDS = 32;
+    static final int ROWS = 4;
+    static final int SIGNATURE_LENGTH = BANDS * ROWS;
+
+    /**
+     * The estimate a line belongs to, with the project it belongs to and the project's owner.
+     */
+    public record EstimateRef(UUID estimateId, UUID projectId, UUID ownerId) {
+    }
+
+    /**
+     * One estimate line, reduced to its estimate and work item.
+     */
+    public record Line(EstimateRef estimate, UUID workItemId) {
+    }
+
+    private static final long[] SEEDS = new SplittableRandom(0x5EED_CAFE_F00DL).longs(SIGNATURE_LENGTH).toArray();
+
+    private static final class Entry {
+        final EstimateRef ref;
+        final LongIntHashMap workItems = new LongIntHashMap(8);
+        long[] bandKeys;
+
+        Entry(EstimateRef ref) {
+            this.ref = ref;
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private final Map<Long, Set<UUID>> buckets = new HashMap<>();
+
+    /**
+     * Replace the index with the given estimate lines.
+     */
+    public void rebuild(@NonNull Stream<Line> lines) {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            buckets.clear();
+            lines.forEach(line -> entries.computeIfAbsent(line.estimate().estimateId(), id -> new Entry(line.estimate()))
+                    .workItems.addTo(workItemKey(line.workItemId()), 1));
+            entries.values().forEach(this::bucket);
+            log.info("Built estimate similarity index: {} estimates, {} buckets", entries.size(), buckets.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Count a line of the work item added to the estimate.
+     */
+    public void addLine(@NonNull EstimateRef estimate, @NonNull UUID workItemId) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.computeIfAbsent(estimate.estimateId(), id -> new Entry(estimate));
+            if (entry.workItems.addTo(workItemKey(workItemId), 1) == 1) {
+                unbucket(entry);
+                bucket(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Uncount a line of the work item removed from the estimate.
+     */
+    public void removeLine(@NonNull UUID estimateId, @NonNull UUID workItemId) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.get(estimateId);
+            long key = workItemKey(workItemId);
+            if (entry == null || !entry.workItems.containsKey(key)) {
+                return;
+            }
+            if (entry.workItems.addTo(key, -1) == 0) {
+                unbucket(entry);
+                if (entry.workItems.isEmpty()) {
+                    entries.remove(estimateId);
+                } else {
+                    bucket(entry);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop a deleted estimate.
+     */
+    public void removeEstimate(@NonNull UUID estimateId) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.remove(estimateId);
+            if (entry != null) {
+                unbucket(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Estimates of the owner's projects whose work items are most similar to those of the given estimate.
+     * @param ownerId owner of the projects to search
+     * @param limit maximum number of estimates
+     * @return similar estimates, most similar first; empty when the estimate has no lines
+     */
+    public List<SimilarEstimate> similar(@NonNull UUID estimateId, @NonNull UUID ownerId, int limit) {
+        lock.readLock().lock();
+        try {
+            Entry entry = entries.get(estimateId);
+            if (entry == null || limit <= 0) {
+                return List.of();
+            }
+            Set<UUID> candidates = new HashSet<>();
+            for (long bandKey : entry.bandKeys) {
+                candidates.addAll(buckets.getOrDefault(bandKey, Set.of()));
+            }
+            candidates.remove(estimateId);
+            List<SimilarEstimate> similar = new ArrayList<>(candidates.size());
+            for (UUID candidateId : candidates) {
+                Entry candidate = entries.get(candidateId);
+                if (ownerId.equals(candidate.ref.ownerId())) {
+                    similar.add(new SimilarEstimate(candidateId, candidate.ref.projectId(),
+                            jaccard(entry.workItems, candidate.workItems)));
+                }
+            }
+            similar.sort(Comparator.comparingDouble(SimilarEstimate::similarity).reversed()
+                    .thenComparing(SimilarEstimate::estimateId));
+            return similar.size() > limit ? List.copyOf(similar.subList(0, limit)) : similar;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * MinHash signature of a set of work item keys: per seed, the minimum of the seeded hash over the set.
+     */
+    static long[] signature(LongIntHashMap workItems) {
+        long[] signature = new long[SIGNATURE_LENGTH];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        workItems.forEach((key, lineCount) -> {
+            for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+                long hash = mix(key ^ SEEDS[i]);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        });
+        return signature;
+    }
+
+    private void bucket(Entry entry) {
+        long[] signature = signature(entry.workItems);
+        long[] bandKeys = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long key = mix(band + 1L);
+            for (int row = 0; row < ROWS; row++) {
+                key = mix(key ^ signature[band * ROWS + row]);
+            }
+            bandKeys[band] = key;
+            buckets.computeIfAbsent(key, k -> new HashSet<>()).add(entry.ref.estimateId());
+        }
+        entry.bandKeys = bandKeys;
+    }
+
+    private void unbucket(Entry entry) {
+        if (entry.bandKeys == null) {
+            return;
+        }
+        for (long bandKey : entry.bandKeys) {
+            Set<UUID> bucket = buckets.get(bandKey);
+            if (bucket != null && bucket.remove(entry.ref.estimateId()) && bucket.isEmpty()) {
+                buckets.remove(bandKey);
+            }
+        }
+        entry.bandKeys = null;
+    }
+
+    private static double jaccard(LongIntHashMap left, LongIntHashMap right) {
+        LongIntHashMap smaller = left.size() <= right.size() ? left : right;
+        LongIntHashMap larger = smaller == left ? right : left;
+        int[] shared = {0};
+        smaller.forEach((key, lineCount) -> {
+            if (larger.containsKey(key)) {
+                shared[0]++;
+            }
+        });
+        return (double) shared[0] / (left.size() + right.size() - shared[0]);
+    }
+
+    private static long workItemKey(UUID workItemId) {
+        return mix(workItemId.getMostSignificantBits() ^ Long.rotateLeft(workItemId.getLeastSignificantBits(), 32));
+    }
+
+    /**
+     * MurmurHash3 64-bit finalizer.
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
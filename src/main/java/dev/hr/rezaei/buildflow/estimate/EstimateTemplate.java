@@ -0,0 +1,62 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+import dev.hr.rezaei.buildflow.base.UpdatableEntity;
+import dev.hr.rezaei.buildflow.user.User;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A reusable group and line structure, captured from an estimate and instantiated into new estimates.
+ */
+@EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = false)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+@Entity
+@Table(name = "estimate_templates",
+        indexes = @Index(name = "idx_estimate_templates_user", columnList = "user_id"))
+public class EstimateTemplate extends UpdatableEntity {
+    @EqualsAndHashCode.Include
+    @Id
+    @GeneratedValue
+    @Column(nullable = false, updatable = false)
+    private UUID id;
+
+    @NonNull
+    @Column(length = 100, nullable = false)
+    private String name;
+
+    @NonNull
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false, updatable = false,
+            foreignKey = @ForeignKey(name = "fk_estimate_templates_user"))
+    private User user;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private double overallMultiplier = 1.0;
+
+    // Bidirectional relationship: One EstimateTemplate has many EstimateTemplateGroups.
+    // Table: estimate_template_groups, Foreign Key: template_id
+    @NonNull
+    @Builder.Default
+    @OneToMany(mappedBy = "template", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    private Set<EstimateTemplateGroup> groups = new HashSet<>();
+
+    @Override
+    public String toString() {
+        return "EstimateTemplate{" +
+                "id=" + id +
+                ", createdAt=" + getCreatedAt() +
+                ", lastUpdatedAt=" + getLastUpdatedAt() +
+                ", name='" + name + '\'' +
+                ", overallMultiplier=" + overallMultiplier +
+                '}';
+    }
+}
@@ -0,0 +1,58 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity
+@Table(name = "estimate_template_groups",
+        indexes = @Index(name = "idx_estimate_template_groups_template", columnList = "template_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EstimateTemplateGroup {
+    @EqualsAndHashCode.Include
+    @Id
+    @GeneratedValue
+    @Column(nullable = false, updatable = false)
+    private UUID id;
+
+    @Column(length = 100, nullable = false)
+    private String name;
+
+    @Column(length = 500)
+    private String description;
+
+    // The estimate group this group was captured from, used to attach the captured lines
+    @Column(name = "source_group_id", updatable = false)
+    private UUID sourceGroupId;
+
+    // Bidirectional relationship: Many EstimateTemplateGroups belong to one EstimateTemplate.
+    // Table: estimate_template_groups, Foreign Key: template_id
+    @NonNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "template_id", nullable = false, foreignKey = @ForeignKey(name = "fk_estimate_template_groups_template"))
+    private EstimateTemplate template;
+
+    // Bidirectional relationship: One EstimateTemplateGroup has many EstimateTemplateLines.
+    // Table: estimate_template_lines, Foreign Key: group_id
+    @NonNull
+    @Builder.Default
+    @OneToMany(mappedBy = "group", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    private Set<EstimateTemplateLine> lines = new HashSet<>();
+
+    @Override
+    public String toString() {
+        return "EstimateTemplateGroup{" +
+                "id=" + id +
+                ", name='" + name + '\'' +
+                ", description='" + description + '\'' +
+                ", template.id=" + template.getId() +
+                '}';
+    }
+}
@@ -0,0 +1,76 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+import dev.hr.rezaei.buildflow.quote.QuoteUnit;
+import dev.hr.rezaei.buildflow.workitem.WorkItem;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.Currency;
+import java.util.UUID;
+
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity
+@Table(name = "estimate_template_lines",
+        indexes = @Index(name = "idx_estimate_template_lines_group", columnList = "group_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EstimateTemplateLine {
+    @EqualsAndHashCode.Include
+    @Id
+    @GeneratedValue
+    @Column(nullable = false, updatable = false)
+    private UUID id;
+
+    @NonNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "group_id", nullable = false, foreignKey = @ForeignKey(name = "fk_estimate_template_lines_group"))
+    private EstimateTemplateGroup group;
+
+    @NonNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "work_item_id", nullable = false, foreignKey = @ForeignKey(name = "fk_estimate_template_lines_work_item"))
+    private WorkItem workItem;
+
+    @Column(nullable = false)
+    private double quantity;
+
+    // Name and formula are copied as is; the quantity is the formula's last result and is re-evaluated on instantiation
+    @Column(length = 50)
+    private String name;
+
+    @Column(name = "quantity_formula", length = QuantityFormula.MAX_LENGTH)
+    private String quantityFormula;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30, nullable = false)
+    private EstimateLineStrategy estimateStrategy;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private double multiplier = 1.0;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30)
+    private QuoteUnit unit;
+
+    @Column(length = 3)
+    private Currency currency;
+
+    @Override
+    public String toString() {
+        return "EstimateTemplateLine{" +
+                "id=" + id +
+                ", group.id=" + group.getId() +
+                ", workItem.id=" + workItem.getId() +
+                ", quantity=" + quantity +
+                ", name='" + name + '\'' +
+                ", quantityFormula='" + quantityFormula + '\'' +
+                ", estimateStrategy=" + estimateStrategy +
+                ", multiplier=" + multiplier +
+                ", unit=" + unit +
+                ", currency=" + currency +
+                '}';
+    }
+}
@@ -0,0 +1,15 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+public class EstimateTemplateNotFoundException extends RuntimeException {
+    public EstimateTemplateNotFoundException(String message) {
+        super(message);
+    }
+
+    public EstimateTemplateNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public EstimateTemplateNotFoundException(Throwable cause) {
+        super(cause);
+    }
+}
@@ -0,0 +1,95 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Estimate templates, with the set-based statements that copy groups and lines between estimates and templates.
+ * <p>
+ * Each copy is two {@code INSERT ... SELECT} statements: the groups first, each remembering the group it was
+ * copied from, then the lines, joined to their new group through that column. Lines without a group are not copied.
+ */
+@Repository
+public interface EstimateTemplateRepository extends JpaRepository<EstimateTemplate, UUID> {
+
+    /**
+     * Templates of a user with their group and line counts, ordered by name.
+     */
+    @Query("""
+            select t.id as id,
+                   t.name as name,
+                   t.overallMultiplier as overallMultiplier,
+                   count(distinct g.id) as groupCount,
+                   count(l.id) as lineCount
+              from EstimateTemplate t
+              left join t.groups g
+              left join g.lines l
+             where t.user.id = :userId
+             group by t.id, t.name, t.overallMultiplier
+             order by t.name
+            """)
+    List<EstimateTemplateSummaryView> findSummariesByUserId(@Param("userId") UUID userId);
+
+    /**
+     * @return number of groups copied from the estimate into the template
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO estimate_template_groups (id, template_id, name, description, source_group_id)
+            SELECT RANDOM_UUID(), :templateId, g.name, g.description, g.id
+              FROM estimate_groups g
+             WHERE g.estimate_id = :estimateId
+            """)
+    int copyGroupsToTemplate(@Param("estimateId") UUID estimateId, @Param("templateId") UUID templateId);
+
+    /**
+     * @return number of grouped lines copied from the estimate into the template's groups
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO estimate_template_lines (id, group_id, work_item_id, quantity, name, quantity_formula,
+                                                 estimate_strategy, multiplier, unit, currency)
+            SELECT RANDOM_UUID(), tg.id, l.work_item_id, l.quantity, l.name, l.quantity_formula,
+                   l.estimate_strategy, l.multiplier, l.unit, l.currency
+              FROM estimate_lines l
+              JOIN estimate_template_groups tg ON tg.source_group_id = l.group_id
+             WHERE tg.template_id = :templateId
+            """)
+    int copyLinesToTemplate(@Param("templateId") UUID templateId);
+
+    /**
+     * @return number of groups copied from the template into the estimate
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO estimate_groups (id, estimate_id, name, description, template_group_id)
+            SELECT RANDOM_UUID(), :estimateId, tg.name, tg.description, tg.id
+              FROM estimate_template_groups tg
+             WHERE tg.template_id = :templateId
+            """)
+    int copyGroupsToEstimate(@Param("templateId") UUID templateId, @Param("estimateId") UUID estimateId);
+
+    /**
+     * Clears the persistence context, so the estimate is read back with its copied groups.
+     * @return number of lines copied from the template into the estimate's groups, unpriced and with the quantities
+     * captured in the template
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(nativeQuery = true, value = """
+            INSERT INTO estimate_lines (id, estimate_id, group_id, work_item_id, quantity, name, quantity_formula,
+                                        estimate_strategy, multiplier, unit, currency, created_at, last_updated_at)
+            SELECT RANDOM_UUID(), g.estimate_id, g.id, tl.work_item_id, tl.quantity, tl.name, tl.quantity_formula,
+                   tl.estimate_strategy, tl.multiplier, tl.unit, tl.currency, :now, :now
+              FROM estimate_template_lines tl
+              JOIN estimate_groups g ON g.template_group_id = tl.group_id
+             WHERE g.estimate_id = :estimateId
+            """)
+    int copyLinesToEstimate(@Param("estimateId") UUID estimateId, @Param("now") Instant now);
+}
@@ -0,0 +1,144 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+import dev.hr.rezaei.buildflow.project.Project;
+import dev.hr.rezaei.buildflow.project.ProjectNotFoundException;
+import dev.hr.rezaei.buildflow.project.ProjectRepository;
+import dev.hr.rezaei.buildflow.project.ProjectSummaryService;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Captures the group and line structure of an estimate as a reusable template, and instantiates templates
+ * into new estimates.
+ * <p>
+ * Both directions copy the structure with set-based {@code INSERT ... SELECT} statements in one transaction,
+ * so a template of hundreds of lines costs four statements instead of loading the entity graph and saving every
+ * group and line through the persistence context.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EstimateTemplateService {
+
+    public static final int MAX_NAME_LENGTH = 100;
+
+    private final EstimateTemplateRepository estimateTemplateRepository;
+    private final EstimateRepository estimateRepository;
+    private final ProjectRepository projectRepository;
+    private final EstimateLineService estimateLineService;
+    private final QuantityFormulaService quantityFormulaService;
+    private final ProjectSummaryService projectSummaryService;
+
+    /**
+     * Save the groups and grouped lines of an estimate as a template of the project owner.
+     * Lines keep their work item, quantity, name, quantity formula, strategy, multiplier, unit and currency;
+     * computed costs are not copied.
+     */
+    @Transactional
+    public EstimateTemplateSummary createTemplate(@NonNull UUID projectId, @NonNull UUID estimateId, @NonNull String name) {
+        if (name.isBlank() || name.length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("Template name must be 1 to " + MAX_NAME_LENGTH + " characters.");
+        }
+        Estimate estimate = estimateRepository.findById(estimateId)
+                .orElseThrow(() -> new EstimateNotFoundException("Estimate with ID " + estimateId + " does not exist."));
+        Project project = estimate.getProject();
+        if (!project.getId().equals(projectId)) {
+            throw new IllegalArgumentException("Estimate " + estimateId + " does not belong to project " + projectId);
+        }
+
+        Instant now = Instant.now();
+        EstimateTemplate template = estimateTemplateRepository.saveAndFlush(EstimateTemplate.builder()
+                .name(name.trim())
+                .user(project.getUser())
+                .overallMultiplier(estimate.getOverallMultiplier())
+                .createdAt(now)
+                .lastUpdatedAt(now)
+                .build());
+        int groupCount = estimateTemplateRepository.copyGroupsToTemplate(estimateId, template.getId());
+        int lineCount = estimateTemplateRepository.copyLinesToTemplate(template.getId());
+        log.info("Created estimate template {} from estimate {}: {} groups, {} lines",
+                template.getId(), estimateId, groupCount, lineCount);
+        return new EstimateTemplateSummary(template.getId(), template.getName(), template.getOverallMultiplier(),
+                groupCount, lineCount);
+    }
+
+    /**
+     * Templates available to a project, i.e. those of its owner, ordered by name.
+     */
+    @Transactional(readOnly = true)
+    public List<EstimateTemplateSummary> getTemplates(@NonNull UUID projectId) {
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new ProjectNotFoundException("Project with ID " + projectId + " does not exist."));
+        return estimateTemplateRepository.findSummariesByUserId(project.getUser().getId()).stream()
+                .map(view -> new EstimateTemplateSummary(view.getId(), view.getName(), view.getOverallMultiplier(),
+                        view.getGroupCount(), view.getLineCount()))
+                .toList();
+    }
+
+    /**
+     * Create a new estimate in the project with the template's multiplier, groups and lines. Formula lines are
+     * re-evaluated against the project's variables; when a formula cannot be evaluated there, for example because
+     * a variable is not defined yet, the lines keep the quantities captured in the template until the variable is
+     * set. Lines with a unit and currency are priced from the valid quotes, the others are unpriced.
+     * @throws IllegalArgumentException when the template belongs to another user than the project owner
+     */
+    @Transactional
+    public Estimate instantiateTemplate(@NonNull UUID projectId, @NonNull UUID templateId) {
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new ProjectNotFoundException("Project with ID " + projectId + " does not exist."));
+        EstimateTemplate template = estimateTemplateRepository.findById(templateId)
+                .orElseThrow(() -> new EstimateTemplateNotFoundException("Estimate template with ID " + templateId + " does not exist."));
+        if (!template.getUser().getId().equals(project.getUser().getId())) {
+            throw new IllegalArgumentException("Estimate template " + templateId + " belongs to another user.");
+        }
+
+        Instant now = Instant.now();
+        Estimate estimate = estimateRepository.saveAndFlush(Estimate.builder()
+                .project(project)
+                .overallMultiplier(template.getOverallMultiplier())
+                .createdAt(now)
+                .lastUpdatedAt(now)
+                .build());
+        UUID estimateId = estimate.getId();
+        int groupCount = estimateTemplateRepository.copyGroupsToEstimate(templateId, estimateId);
+        int lineCount = estimateTemplateRepository.copyLinesToEstimate(estimateId, now);
+        estimateLineService.indexEstimateLines(estimateId);
+
+        // The copy bypassed the persistence context, which the last copy cleared, so read the estimate back
+        Estimate copy = estimateRepository.findWithLinesById(estimateId).orElseThrow();
+        List<EstimateLine> lines = copy.getGroups().stream()
+                .flatMap(group -> group.getEstimateLines().stream())
+                .toList();
+        reevaluateFormulaLines(projectId, lines, now);
+        lines.stream()
+                .filter(line -> line.getUnit() != null && line.getCurrency() != null)
+                .forEach(estimateLineService::priceLine);
+        projectSummaryService.refreshBeforeCommit(projectId);
+        log.info("Instantiated estimate template {} into estimate {} of project {}: {} groups, {} lines",
+                templateId, estimateId, projectId, groupCount, lineCount);
+        return copy;
+    }
+
+    private void reevaluateFormulaLines(UUID projectId, List<EstimateLine> lines, Instant now) {
+        List<UUID> formulaLineIds = lines.stream()
+                .filter(line -> line.getQuantityFormula() != null)
+                .map(EstimateLine::getId)
+                .toList();
+        if (formulaLineIds.isEmpty()) {
+            return;
+        }
+        try {
+            quantityFormulaService.reevaluateLines(projectId, formulaLineIds, now);
+        } catch (IllegalArgumentException e) {
+            // Nothing is written when evaluation fails; setting the missing variable re-evaluates these lines
+            log.info("Kept template quantities of estimate lines in project {}: {}", projectId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.UUID;
+
+/**
+ * An estimate template with the size of its structure.
+ */
+@Schema(description = "Estimate template with its group and line counts")
+public record EstimateTemplateSummary(
+        @Schema(description = "ID of the template")
+        UUID id,
+        @Schema(description = "Name of the template", example = "Two-storey house")
+        String name,
+        @Schema(description = "Overall multiplier given to instantiated estimates", example = "1.0")
+        double overallMultiplier,
+        @Schema(description = "Number of groups", example = "8")
+        long groupCount,
+        @Schema(description = "Number of lines", example = "140")
+        long lineCount
+) {
+}
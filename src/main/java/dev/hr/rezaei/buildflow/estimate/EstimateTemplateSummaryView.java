@@ -0,0 +1,18 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+import java.util.UUID;
+
+/**
+ * Projection of an estimate template with its group and line counts.
+ */
+public interface EstimateTemplateSummaryView {
+    UUID getId();
+
+    String getName();
+
+    double getOverallMultiplier();
+
+    long getGroupCount();
+
+    long getLineCount();
+}
@@ -0,0 +1,102 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+import lombok.NonNull;
+
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A compiled estimate line quantity formula such as {@code ceil(wall_area * 1.1 / @sheet_area)}.
+ * <p>
+ * Bare identifiers name project variables and {@code @name} refers to the quantity of another named line of the
+ * same estimate. Formulas support {@code + - * / ^}, unary minus, parentheses and the functions
+ * {@code min, max, abs, ceil, floor, round}.
+ * <p>
+ * The source is parsed once into a tree of closures with constant sub-expressions folded. Every distinct
+ * reference gets a slot, so evaluation only reads an array of values and never looks at the source again.
+ * Instances are immutable and shared through {@link QuantityFormulaCache}.
+ */
+public final class QuantityFormula {
+
+    public static final int MAX_LENGTH = 500;
+
+    public enum SymbolKind {
+        VARIABLE,
+        LINE
+    }
+
+    /**
+     * A reference of the formula: a project variable, or another line of the estimate by name.
+     */
+    public record Symbol(SymbolKind kind, String name) {
+        @Override
+        public String toString() {
+            return kind == SymbolKind.LINE ? "@" + name : name;
+        }
+    }
+
+    /**
+     * Compiled expression node, reading references from the slot array.
+     */
+    @FunctionalInterface
+    interface Node {
+        double eval(double[] values);
+    }
+
+    private final String source;
+    private final List<Symbol> symbols;
+    private final Node root;
+
+    QuantityFormula(String source, List<Symbol> symbols, Node root) {
+        this.source = source;
+        this.symbols = List.copyOf(symbols);
+        this.root = root;
+    }
+
+    /**
+     * Parse and compile a formula. Prefer {@link QuantityFormulaCache#compile} so each distinct formula is
+     * compiled once.
+     * @throws IllegalArgumentException when the formula is not valid
+     */
+    public static QuantityFormula compile(@NonNull String source) {
+        return QuantityFormulaParser.parse(source);
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Distinct references of the formula, in slot order.
+     */
+    public List<Symbol> getSymbols() {
+        return symbols;
+    }
+
+    /**
+     * Evaluate the formula with the values of its references, aligned with {@link #getSymbols()}.
+     */
+    public double evaluate(double @NonNull [] values) {
+        if (values.length != symbols.size()) {
+            throw new IllegalArgumentException("Formula '" + source + "' expects " + symbols.size()
+                    + " values but got " + values.length);
+        }
+        return root.eval(values);
+    }
+
+    /**
+     * Evaluate the formula, resolving each reference once.
+     */
+    public double evaluate(@NonNull ToDoubleFunction<Symbol> resolver) {
+        double[] values = new double[symbols.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = resolver.applyAsDouble(symbols.get(i));
+        }
+        return root.eval(values);
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+}
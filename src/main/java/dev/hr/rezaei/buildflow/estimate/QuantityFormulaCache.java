@@ -0,0 +1,52 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+import lombok.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least-recently-used cache of compiled {@link QuantityFormula}s keyed by their source text.
+ * <p>
+ * Lines usually share a handful of formulas, so evaluating a project's lines parses each distinct formula once
+ * per {@value #MAX_ENTRIES} formulas seen instead of once per line per evaluation. Compilation happens outside the
+ * lock; two threads compiling the same new formula both succeed and one result wins.
+ */
+@Component
+public class QuantityFormulaCache {
+
+    static final int MAX_ENTRIES = 10_000;
+
+    private final Map<String, QuantityFormula> formulas = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, QuantityFormula> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * The compiled form of the formula, compiling and caching it on first use.
+     * @throws IllegalArgumentException when the formula is not valid
+     */
+    public QuantityFormula compile(@NonNull String source) {
+        String key = source.strip();
+        synchronized (formulas) {
+            QuantityFormula cached = formulas.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        QuantityFormula compiled = QuantityFormula.compile(key);
+        synchronized (formulas) {
+            formulas.putIfAbsent(key, compiled);
+        }
+        return compiled;
+    }
+
+    int size() {
+        synchronized (formulas) {
+            return formulas.size();
+        }
+    }
+}
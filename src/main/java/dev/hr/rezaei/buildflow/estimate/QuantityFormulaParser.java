@@ -0,0 +1,272 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+import dev.hr.rezaei.buildflow.estimate.QuantityFormula.Node;
+import dev.hr.rezaei.buildflow.estimate.QuantityFormula.Symbol;
+import dev.hr.rezaei.buildflow.estimate.QuantityFormula.SymbolKind;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Recursive-descent compiler of {@link QuantityFormula} sources.
+ * <pre>
+ * expression := term (('+' | '-') term)*
+ * term       := unary (('*' | '/') unary)*
+ * unary      := ('-' | '+') unary | power
+ * power      := primary ('^' unary)?
+ * primary    := number | '(' expression ')' | '@' identifier | identifier ('(' expression (',' expression)* ')')?
+ * </pre>
+ */
+final class QuantityFormulaParser {
+
+    static final int MAX_DEPTH = 50;
+
+    private record Constant(double value) implements Node {
+        @Override
+        public double eval(double[] values) {
+            return value;
+        }
+    }
+
+    private final String source;
+    private final Map<Symbol, Integer> slots = new LinkedHashMap<>();
+    private int pos;
+    private int depth;
+
+    private QuantityFormulaParser(String source) {
+        this.source = source;
+    }
+
+    static QuantityFormula parse(String source) {
+        if (source.isBlank()) {
+            throw new IllegalArgumentException("Formula must not be blank.");
+        }
+        if (source.length() > QuantityFormula.MAX_LENGTH) {
+            throw new IllegalArgumentException("Formula must be at most " + QuantityFormula.MAX_LENGTH + " characters.");
+        }
+        QuantityFormulaParser parser = new QuantityFormulaParser(source);
+        Node root = parser.expression();
+        parser.skipWhitespace();
+        if (parser.pos < source.length()) {
+            throw parser.error("unexpected '" + source.charAt(parser.pos) + "'");
+        }
+        return new QuantityFormula(source.strip(), new ArrayList<>(parser.slots.keySet()), root);
+    }
+
+    private Node expression() {
+        if (++depth > MAX_DEPTH) {
+            throw error("formula is nested too deeply");
+        }
+        Node node = term();
+        while (true) {
+            if (accept('+')) {
+                node = binary(node, term(), Double::sum);
+            } else if (accept('-')) {
+                node = binary(node, term(), (a, b) -> a - b);
+            } else {
+                depth--;
+                return node;
+            }
+        }
+    }
+
+    private Node term() {
+        Node node = unary();
+        while (true) {
+            if (accept('*')) {
+                node = binary(node, unary(), (a, b) -> a * b);
+            } else if (accept('/')) {
+                node = binary(node, unary(), (a, b) -> a / b);
+            } else {
+                return node;
+            }
+        }
+    }
+
+    private Node unary() {
+        if (accept('-')) {
+            return unary(unaryOperand(), a -> -a);
+        }
+        if (accept('+')) {
+            return unaryOperand();
+        }
+        return power();
+    }
+
+    private Node unaryOperand() {
+        if (++depth > MAX_DEPTH) {
+            throw error("formula is nested too deeply");
+        }
+        Node node = unary();
+        depth--;
+        return node;
+    }
+
+    private Node power() {
+        Node base = primary();
+        if (accept('^')) {
+            return binary(base, unaryOperand(), Math::pow);
+        }
+        return base;
+    }
+
+    private Node primary() {
+        skipWhitespace();
+        if (pos == source.length()) {
+            throw error("unexpected end of formula");
+        }
+        char c = source.charAt(pos);
+        if (c == '(') {
+            pos++;
+            Node node = expression();
+            expect(')');
+            return node;
+        }
+        if (c == '@') {
+            pos++;
+            if (pos == source.length() || !isIdentifierStart(source.charAt(pos))) {
+                throw error("expected a line name after '@'");
+            }
+            return reference(SymbolKind.LINE, identifier());
+        }
+        if (Character.isDigit(c) || c == '.') {
+            return new Constant(number());
+        }
+        if (isIdentifierStart(c)) {
+            int start = pos;
+            String name = identifier();
+            skipWhitespace();
+            if (pos < source.length() && source.charAt(pos) == '(') {
+                pos++;
+                return function(name, start);
+            }
+            return reference(SymbolKind.VARIABLE, name);
+        }
+        throw error("unexpected '" + c + "'");
+    }
+
+    private Node function(String name, int start) {
+        List<Node> args = new ArrayList<>();
+        args.add(expression());
+        while (accept(',')) {
+            args.add(expression());
+        }
+        expect(')');
+        return switch (name) {
+            case "abs" -> unary(single(name, args, start), Math::abs);
+            case "ceil" -> unary(single(name, args, start), Math::ceil);
+            case "floor" -> unary(single(name, args, start), Math::floor);
+            case "round" -> unary(single(name, args, start), a -> (double) Math.round(a));
+            case "min" -> fold(args, Math::min);
+            case "max" -> fold(args, Math::max);
+            default -> throw new IllegalArgumentException(
+                    "Invalid formula at position " + (start + 1) + ": unknown function '" + name + "'");
+        };
+    }
+
+    private static Node single(String name, List<Node> args, int start) {
+        if (args.size() != 1) {
+            throw new IllegalArgumentException("Invalid formula at position " + (start + 1) + ": function '" + name
+                    + "' takes one argument");
+        }
+        return args.get(0);
+    }
+
+    private static Node fold(List<Node> args, DoubleBinaryOperator op) {
+        Node node = args.get(0);
+        for (int i = 1; i < args.size(); i++) {
+            node = binary(node, args.get(i), op);
+        }
+        return node;
+    }
+
+    private Node reference(SymbolKind kind, String name) {
+        int slot = slots.computeIfAbsent(new Symbol(kind, name), s -> slots.size());
+        return values -> values[slot];
+    }
+
+    private static Node unary(Node operand, DoubleUnaryOperator op) {
+        if (operand instanceof Constant constant) {
+            return new Constant(op.applyAsDouble(constant.value()));
+        }
+        return values -> op.applyAsDouble(operand.eval(values));
+    }
+
+    private static Node binary(Node left, Node right, DoubleBinaryOperator op) {
+        if (left instanceof Constant l && right instanceof Constant r) {
+            return new Constant(op.applyAsDouble(l.value(), r.value()));
+        }
+        return values -> op.applyAsDouble(left.eval(values), right.eval(values));
+    }
+
+    private double number() {
+        int start = pos;
+        while (pos < source.length() && (Character.isDigit(source.charAt(pos)) || source.charAt(pos) == '.')) {
+            pos++;
+        }
+        String text = source.substring(start, pos);
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            pos = start;
+            throw error("invalid number '" + text + "'");
+        }
+    }
+
+    private String identifier() {
+        int start = pos;
+        while (pos < source.length() && isIdentifierPart(source.charAt(pos))) {
+            pos++;
+        }
+        return source.substring(start, pos);
+    }
+
+    static boolean isIdentifier(String name) {
+        if (name == null || name.isEmpty() || !isIdentifierStart(name.charAt(0))) {
+            return false;
+        }
+        for (int i = 1; i < name.length(); i++) {
+            if (!isIdentifierPart(name.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isIdentifierStart(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_';
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return isIdentifierStart(c) || (c >= '0' && c <= '9');
+    }
+
+    private boolean accept(char c) {
+        skipWhitespace();
+        if (pos < source.length() && source.charAt(pos) == c) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char c) {
+        if (!accept(c)) {
+            throw error(pos == source.length() ? "expected '" + c + "' before end of formula" : "expected '" + c + "'");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (pos < source.length() && Character.isWhitespace(source.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Invalid formula at position " + (pos + 1) + ": " + message);
+    }
+}
@@ -0,0 +1,249 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+import dev.hr.rezaei.buildflow.project.Project;
+import dev.hr.rezaei.buildflow.project.ProjectNotFoundException;
+import dev.hr.rezaei.buildflow.project.ProjectSummaryService;
+import dev.hr.rezaei.buildflow.project.ProjectRepository;
+import dev.hr.rezaei.buildflow.project.ProjectVariable;
+import dev.hr.rezaei.buildflow.project.ProjectVariableDto;
+import dev.hr.rezaei.buildflow.project.ProjectVariableRepository;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.*;
+
+import static dev.hr.rezaei.buildflow.estimate.EstimateOperationField.*;
+
+/**
+ * Keeps formula-based estimate line quantities up to date.
+ * <p>
+ * A line with a {@link EstimateLine#getQuantityFormula() quantity formula} stores the last evaluated result as its
+ * quantity, so reads never evaluate anything. Formulas are compiled once through {@link QuantityFormulaCache}.
+ * When a project variable or a line changes, the project's {@link QuantityGraph} is assembled from the compiled
+ * formulas of its named and formula lines, and only the lines depending on the change are re-evaluated, in
+ * topological order, and written back.
+ * <p>
+ * Updates hold the {@link EstimateLocks} of the estimates they may change until they commit. Changes of the line
+ * being set are journaled by {@link EstimateJournal}; the re-evaluated lines are not, they follow from it.
+ * <p>
+ * A re-evaluated line keeps its unit price: its computed cost is rescaled by the change of quantity. A line whose
+ * previous quantity was zero is priced again from the valid quotes, see {@link EstimateLineService#applyQuantity}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class QuantityFormulaService {
+
+    public static final int MAX_NAME_LENGTH = 50;
+
+    private final ProjectRepository projectRepository;
+    private final ProjectVariableRepository projectVariableRepository;
+    private final EstimateRepository estimateRepository;
+    private final EstimateLineRepository estimateLineRepository;
+    private final QuantityFormulaCache quantityFormulaCache;
+    private final EstimateLocks estimateLocks;
+    private final EstimateJournal estimateJournal;
+    private final EstimateLineService estimateLineService;
+    private final ProjectSummaryService projectSummaryService;
+
+    /**
+     * The variables of the project, ordered by name.
+     */
+    @Transactional(readOnly = true)
+    public List<ProjectVariableDto> getVariables(@NonNull UUID projectId) {
+        requireProject(projectId);
+        return projectVariableRepository.findByProjectIdOrderByName(projectId).stream()
+                .map(ProjectVariableDto::fromModel)
+                .toList();
+    }
+
+    /**
+     * Create or change a project variable and re-evaluate the formula lines depending on it.
+     * @throws IllegalArgumentException when the name or value is invalid, or a dependent line would get an invalid
+     * quantity; nothing is changed then
+     */
+    @Transactional
+    public ProjectVariableDto setVariable(@NonNull UUID projectId, @NonNull String name, double value) {
+        validateName(name, "Variable");
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException("Variable value must be a finite number.");
+        }
+        Project project = requireProject(projectId);
+        estimateLocks.lockAllUntilCompletion(estimateRepository.findIdsByProjectId(projectId));
+        Instant now = Instant.now();
+        ProjectVariable variable = projectVariableRepository.findByProjectIdAndName(projectId, name)
+                .orElseGet(() -> ProjectVariable.builder()
+                        .project(project)
+                        .name(name)
+                        .createdAt(now)
+                        .build());
+        variable.setValue(value);
+        variable.setLastUpdatedAt(now);
+        projectVariableRepository.save(variable);
+
+        List<EstimateLineQuantityView> views = estimateLineRepository.findQuantityViewsByProjectId(projectId);
+        QuantityGraph graph = buildGraph(views, null);
+        int updated = reevaluate(projectId, graph, graph.affectedByVariable(name), quantities(views), now);
+        projectSummaryService.refreshBeforeCommit(projectId);
+        log.info("Set variable '{}' of project {} to {}: {} dependent lines updated", name, projectId, value, updated);
+        return ProjectVariableDto.fromModel(variable);
+    }
+
+    /**
+     * Name a line and set its quantity, either literally or as a formula, then re-evaluate the formula lines
+     * depending on it.
+     * @param name the name other lines refer to the line by, or null for none
+     * @param formula the quantity formula, or null to use the literal quantity
+     * @param quantity the literal quantity, required when there is no formula
+     * @throws IllegalArgumentException when the name or formula is invalid, the formula refers to unknown
+     * variables or lines or creates a cycle, or a line would get an invalid quantity
+     */
+    @Transactional
+    public EstimateLine setLineQuantity(@NonNull UUID projectId, @NonNull UUID estimateId, @NonNull UUID lineId,
+                                        String name, String formula, Double quantity) {
+        estimateLocks.lockUntilCompletion(estimateId);
+        EstimateLine line = estimateLineRepository.findById(lineId)
+                .filter(l -> l.getEstimate().getId().equals(estimateId))
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Estimate line " + lineId + " does not exist in estimate " + estimateId));
+        if (!line.getEstimate().getProject().getId().equals(projectId)) {
+            throw new IllegalArgumentException("Estimate " + estimateId + " does not belong to project " + projectId);
+        }
+        if (name != null) {
+            validateName(name, "Line");
+        }
+        String source = formula == null || formula.isBlank() ? null : formula.strip();
+        if (source == null && (quantity == null || !Double.isFinite(quantity) || quantity < 0)) {
+            throw new IllegalArgumentException("Quantity must be a finite number greater than or equal to zero when there is no formula.");
+        }
+
+        List<EstimateLineQuantityView> views = estimateLineRepository.findQuantityViewsByProjectId(projectId);
+        if (!Objects.equals(line.getName(), name) && buildGraph(views, null).hasDependents(lineId)) {
+            throw new IllegalArgumentException("Line '" + line.getName() + "' is referred to by other lines and cannot be renamed.");
+        }
+        QuantityGraph.Line changed = new QuantityGraph.Line(lineId, estimateId, name,
+                source == null ? null : quantityFormulaCache.compile(source));
+        QuantityGraph graph = buildGraph(views, changed);
+
+        String oldName = line.getName();
+        String oldFormula = line.getQuantityFormula();
+        double oldQuantity = line.getQuantity();
+        BigDecimal oldCost = line.getComputedCost();
+        Instant now = Instant.now();
+        Map<UUID, Double> quantities = quantities(views);
+        if (source == null) {
+            quantities.put(lineId, quantity);
+            estimateLineService.applyQuantity(line, quantity, now);
+        }
+        line.setName(name);
+        line.setQuantityFormula(source);
+        line.setLastUpdatedAt(now);
+        int updated = reevaluate(projectId, graph, graph.affectedByLine(lineId), quantities, now);
+        estimateJournal.recordLine(line, NAME, oldName, name);
+        estimateJournal.recordLine(line, QUANTITY_FORMULA, oldFormula, source);
+        estimateJournal.recordLine(line, QUANTITY, oldQuantity, line.getQuantity());
+        estimateJournal.recordLine(line, COMPUTED_COST, oldCost, line.getComputedCost());
+        projectSummaryService.refreshBeforeCommit(projectId);
+        log.info("Set quantity of line {} in estimate {}: {} formula lines updated", lineId, estimateId, updated);
+        return line;
+    }
+
+    /**
+     * Re-evaluate the lines among the given ones that have a formula, and the formula lines depending on any of
+     * them, after their names, formulas or quantities were changed in place.
+     * @return the number of lines written
+     * @throws IllegalArgumentException when the lines no longer form a valid graph or evaluate to invalid quantities
+     */
+    int reevaluateLines(@NonNull UUID projectId, @NonNull Collection<UUID> lineIds, @NonNull Instant now) {
+        List<EstimateLineQuantityView> views = estimateLineRepository.findQuantityViewsByProjectId(projectId);
+        QuantityGraph graph = buildGraph(views, null);
+        return reevaluate(projectId, graph, graph.affectedByLines(lineIds), quantities(views), now);
+    }
+
+    /**
+     * Evaluate the affected lines in order against the project variables and the current line quantities,
+     * then write back the lines whose quantity changed.
+     * @return the number of lines written
+     */
+    private int reevaluate(UUID projectId, QuantityGraph graph, List<QuantityGraph.Line> affected,
+                           Map<UUID, Double> quantities, Instant now) {
+        if (affected.isEmpty()) {
+            return 0;
+        }
+        Map<String, Double> variables = new HashMap<>();
+        for (ProjectVariable variable : projectVariableRepository.findByProjectIdOrderByName(projectId)) {
+            variables.put(variable.getName(), variable.getValue());
+        }
+        Map<UUID, Double> changed = new HashMap<>();
+        for (QuantityGraph.Line line : affected) {
+            double value = line.formula().evaluate(symbol -> switch (symbol.kind()) {
+                case VARIABLE -> {
+                    Double variable = variables.get(symbol.name());
+                    if (variable == null) {
+                        throw new IllegalArgumentException("Line " + line.label() + " refers to undefined variable '"
+                                + symbol.name() + "'.");
+                    }
+                    yield variable;
+                }
+                case LINE -> {
+                    UUID source = graph.resolve(line.estimateId(), symbol.name());
+                    if (source == null) {
+                        throw new IllegalArgumentException("Line " + line.label() + " refers to unknown line " + symbol + ".");
+                    }
+                    yield quantities.getOrDefault(source, 0.0);
+                }
+            });
+            if (!Double.isFinite(value) || value < 0) {
+                throw new IllegalArgumentException("Formula '" + line.formula() + "' of line " + line.label()
+                        + " evaluates to " + value + "; quantities must be finite and greater than or equal to zero.");
+            }
+            Double previous = quantities.put(line.id(), value);
+            if (previous == null || previous != value) {
+                changed.put(line.id(), value);
+            }
+        }
+        for (EstimateLine line : estimateLineRepository.findAllById(changed.keySet())) {
+            estimateLineService.applyQuantity(line, changed.get(line.getId()), now);
+        }
+        return changed.size();
+    }
+
+    private QuantityGraph buildGraph(List<EstimateLineQuantityView> views, QuantityGraph.Line replacement) {
+        List<QuantityGraph.Line> lines = new ArrayList<>(views.size() + 1);
+        for (EstimateLineQuantityView view : views) {
+            if (replacement == null || !replacement.id().equals(view.getId())) {
+                lines.add(new QuantityGraph.Line(view.getId(), view.getEstimateId(), view.getName(),
+                        view.getQuantityFormula() == null ? null : quantityFormulaCache.compile(view.getQuantityFormula())));
+            }
+        }
+        if (replacement != null) {
+            lines.add(replacement);
+        }
+        return new QuantityGraph(lines);
+    }
+
+    private static Map<UUID, Double> quantities(List<EstimateLineQuantityView> views) {
+        Map<UUID, Double> quantities = new HashMap<>();
+        for (EstimateLineQuantityView view : views) {
+            quantities.put(view.getId(), view.getQuantity());
+        }
+        return quantities;
+    }
+
+    private Project requireProject(UUID projectId) {
+        return projectRepository.findById(projectId)
+                .orElseThrow(() -> new ProjectNotFoundException("Project with ID " + projectId + " does not exist."));
+    }
+
+    private static void validateName(String name, String kind) {
+        if (name.length() > MAX_NAME_LENGTH || !QuantityFormulaParser.isIdentifier(name)) {
+            throw new IllegalArgumentException(kind + " name must be 1 to " + MAX_NAME_LENGTH
+                    + " letters, digits or underscores, not starting with a digit.");
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+import dev.hr.rezaei.buildflow.estimate.QuantityFormula.Symbol;
+import dev.hr.rezaei.buildflow.estimate.QuantityFormula.SymbolKind;
+
+import java.util.*;
+
+/**
+ * Dependency graph of the formula lines of a project.
+ * <p>
+ * An edge runs from a named line to every formula line of the same estimate referring to it, and each project
+ * variable keeps the formula lines using it. Lines are ranked once in topological order (Kahn's algorithm),
+ * which rejects reference cycles, so a change re-evaluates exactly the lines reachable from it, each after
+ * everything it depends on.
+ */
+final class QuantityGraph {
+
+    /**
+     * A named or formula line.
+     * @param name the name other lines refer to it by, or null
+     * @param formula the compiled quantity formula, or null for a literal quantity
+     */
+    record Line(UUID id, UUID estimateId, String name, QuantityFormula formula) {
+        String label() {
+            return name != null ? "@" + name : id.toString();
+        }
+    }
+
+    private final Map<UUID, Line> lines = new HashMap<>();
+    private final Map<UUID, Map<String, UUID>> namesByEstimate = new HashMap<>();
+    private final Map<String, List<UUID>> variableDependents = new HashMap<>();
+    private final Map<UUID, List<UUID>> lineDependents = new HashMap<>();
+    private final Map<UUID, Integer> rank = new HashMap<>();
+
+    /**
+     * @throws IllegalArgumentException when two lines of an estimate share a name, or lines refer to each other
+     * in a cycle
+     */
+    QuantityGraph(Collection<Line> lines) {
+        for (Line line : lines) {
+            this.lines.put(line.id(), line);
+            if (line.name() != null) {
+                UUID existing = namesByEstimate.computeIfAbsent(line.estimateId(), id -> new HashMap<>())
+                        .putIfAbsent(line.name(), line.id());
+                if (existing != null && !existing.equals(line.id())) {
+                    throw new IllegalArgumentException("Another line of the estimate is already named '" + line.name() + "'.");
+                }
+            }
+        }
+        Map<UUID, Integer> inDegree = new HashMap<>();
+        for (Line line : lines) {
+            if (line.formula() == null) {
+                continue;
+            }
+            for (Symbol symbol : line.formula().getSymbols()) {
+                if (symbol.kind() == SymbolKind.VARIABLE) {
+                    variableDependents.computeIfAbsent(symbol.name(), n -> new ArrayList<>()).add(line.id());
+                } else {
+                    UUID source = resolve(line.estimateId(), symbol.name());
+                    if (source != null) {
+                        lineDependents.computeIfAbsent(source, id -> new ArrayList<>()).add(line.id());
+                        inDegree.merge(line.id(), 1, Integer::sum);
+                    }
+                }
+            }
+        }
+        rankTopologically(inDegree);
+    }
+
+    /**
+     * The line of the estimate with the name, or null when there is none.
+     */
+    UUID resolve(UUID estimateId, String name) {
+        return namesByEstimate.getOrDefault(estimateId, Map.of()).get(name);
+    }
+
+    Line get(UUID lineId) {
+        return lines.get(lineId);
+    }
+
+    /**
+     * Whether any formula line refers to the line.
+     */
+    boolean hasDependents(UUID lineId) {
+        return !lineDependents.getOrDefault(lineId, List.of()).isEmpty();
+    }
+
+    /**
+     * Formula lines depending on the variable directly or through other lines, in evaluation order.
+     */
+    List<Line> affectedByVariable(String name) {
+        return affected(variableDependents.getOrDefault(name, List.of()));
+    }
+
+    /**
+     * The line itself when it has a formula, followed by the formula lines depending on it, in evaluation order.
+     */
+    List<Line> affectedByLine(UUID lineId) {
+        return affectedByLines(List.of(lineId));
+    }
+
+    /**
+     * The lines with a formula among them, followed by the formula lines depending on any of them, in evaluation
+     * order.
+     */
+    List<Line> affectedByLines(Collection<UUID> lineIds) {
+        List<UUID> seeds = new ArrayList<>();
+        for (UUID lineId : lineIds) {
+            seeds.addAll(lineDependents.getOrDefault(lineId, List.of()));
+            Line line = lines.get(lineId);
+            if (line != null && line.formula() != null) {
+                seeds.add(lineId);
+            }
+        }
+        return affected(seeds);
+    }
+
+    private List<Line> affected(Collection<UUID> seeds) {
+        Set<UUID> reached = new HashSet<>(seeds);
+        Deque<UUID> pending = new ArrayDeque<>(seeds);
+        while (!pending.isEmpty()) {
+            for (UUID dependent : lineDependents.getOrDefault(pending.pop(), List.of())) {
+                if (reached.add(dependent)) {
+                    pending.push(dependent);
+                }
+            }
+        }
+        return reached.stream()
+                .sorted(Comparator.comparing(rank::get))
+                .map(lines::get)
+                .toList();
+    }
+
+    private void rankTopologically(Map<UUID, Integer> inDegree) {
+        Deque<UUID> ready = new ArrayDeque<>();
+        for (UUID id : lines.keySet()) {
+            if (!inDegree.containsKey(id)) {
+                ready.add(id);
+            }
+        }
+        while (!ready.isEmpty()) {
+            UUID id = ready.poll();
+            rank.put(id, rank.size());
+            for (UUID dependent : lineDependents.getOrDefault(id, List.of())) {
+                if (inDegree.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        if (rank.size() < lines.size()) {
+            List<String> cycle = lines.values().stream()
+                    .filter(line -> !rank.containsKey(line.id()))
+                    .map(Line::label)
+                    .sorted()
+                    .toList();
+            throw new IllegalArgumentException("Line formulas refer to each other in a cycle: " + String.join(", ", cycle));
+        }
+    }
+}
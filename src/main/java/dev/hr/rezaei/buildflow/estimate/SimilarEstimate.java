@@ -0,0 +1,19 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.UUID;
+
+/**
+ * An estimate whose work items resemble those of another estimate.
+ */
+@Schema(description = "Estimate with a similar mix of work items")
+public record SimilarEstimate(
+        @Schema(description = "ID of the similar estimate")
+        UUID estimateId,
+        @Schema(description = "ID of the project of the similar estimate")
+        UUID projectId,
+        @Schema(description = "Jaccard similarity of the two estimates' work item sets, from 0 to 1", example = "0.75")
+        double similarity
+) {
+}
@@ -0,0 +1,268 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+import dev.hr.rezaei.buildflow.util.LongIntHashMap;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Sparse co-occurrence matrix of work items over estimates.
+ * <p>
+ * Work items are interned to dense int ids. Each estimate keeps a primitive basket of its work items
+ * with their line counts, and the matrix keeps, per unordered pair of work items packed into one
+ * {@code long}, the number of estimates containing both. Every work item also keeps the ids of its
+ * non-zero neighbours, so suggestions for a work item only visit its own row. Adding a work item's
+ * first line to an estimate touches one cell per other work item of that estimate; removing its last
+ * line does the reverse.
+ * <p>
+ * Owner and domain are captured when a work item is first seen, and refreshed whenever one of its
+ * lines is added or the matrix is rebuilt.
+ */
+@Slf4j
+@Component
+public class WorkItemCooccurrenceIndex {
+
+    /**
+     * One estimate line, reduced to what the matrix needs.
+     * @param ownerId owner of the work item
+     * @param isPublic whether the work item is in the PUBLIC domain
+     */
+    public record LineItem(UUID estimateId, UUID workItemId, UUID ownerId, boolean isPublic) {
+    }
+
+    private static final int[] NO_NEIGHBOURS = new int[0];
+
+    private static final class Item {
+        final UUID id;
+        UUID ownerId;
+        boolean isPublic;
+        int[] neighbours = NO_NEIGHBOURS;
+        int degree;
+
+        Item(UUID id) {
+            this.id = id;
+        }
+
+        void addNeighbour(int neighbour) {
+            if (degree == neighbours.length) {
+                neighbours = Arrays.copyOf(neighbours, Math.max(4, degree * 2));
+            }
+            neighbours[degree++] = neighbour;
+        }
+
+        void removeNeighbour(int neighbour) {
+            for (int i = 0; i < degree; i++) {
+                if (neighbours[i] == neighbour) {
+                    neighbours[i] = neighbours[--degree];
+                    return;
+                }
+            }
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> itemIds = new HashMap<>();
+    private final List<Item> items = new ArrayList<>();
+    private final Map<UUID, LongIntHashMap> baskets = new HashMap<>();
+    private final LongIntHashMap cells = new LongIntHashMap(1024);
+
+    /**
+     * Replace the matrix with the given estimate lines.
+     */
+    public void rebuild(@NonNull Stream<LineItem> lines) {
+        lock.writeLock().lock();
+        try {
+            itemIds.clear();
+            items.clear();
+            baskets.clear();
+            cells.clear();
+            lines.forEach(this::add);
+            log.info("Built work item co-occurrence matrix: {} work items, {} estimates, {} pairs",
+                    items.size(), baskets.size(), cells.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Count a line added to an estimate.
+     */
+    public void addLine(@NonNull LineItem line) {
+        lock.writeLock().lock();
+        try {
+            add(line);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Uncount a line removed from an estimate.
+     */
+    public void removeLine(@NonNull UUID estimateId, @NonNull UUID workItemId) {
+        lock.writeLock().lock();
+        try {
+            Integer item = itemIds.get(workItemId);
+            LongIntHashMap basket = baskets.get(estimateId);
+            if (item == null || basket == null || !basket.containsKey(item)) {
+                return;
+            }
+            if (basket.addTo(item, -1) == 0) {
+                basket.forEach((other, lineCount) -> decrement(item, (int) other));
+                if (basket.isEmpty()) {
+                    baskets.remove(estimateId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Uncount all lines of a deleted estimate.
+     */
+    public void removeEstimate(@NonNull UUID estimateId) {
+        lock.writeLock().lock();
+        try {
+            LongIntHashMap basket = baskets.remove(estimateId);
+            if (basket == null) {
+                return;
+            }
+            int[] members = new int[basket.size()];
+            int[] count = {0};
+            basket.forEach((item, lineCount) -> members[count[0]++] = (int) item);
+            for (int i = 0; i < members.length; i++) {
+                for (int j = i + 1; j < members.length; j++) {
+                    decrement(members[i], members[j]);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Work items that most often share an estimate with the given ones, by number of shared estimates.
+     * The given work items are excluded, and only PUBLIC work items and those of the user are suggested.
+     * @param workItemIds the work items already chosen
+     * @param userId the user whose own work items may be suggested, or null for PUBLIC only
+     * @param limit maximum number of suggestions
+     */
+    public List<WorkItemRecommendation> recommend(@NonNull Collection<UUID> workItemIds, UUID userId, int limit) {
+        lock.readLock().lock();
+        try {
+            Set<Integer> chosen = new HashSet<>();
+            for (UUID workItemId : workItemIds) {
+                Integer item = itemIds.get(workItemId);
+                if (item != null) {
+                    chosen.add(item);
+                }
+            }
+            LongIntHashMap scores = new LongIntHashMap();
+            for (int item : chosen) {
+                Item row = items.get(item);
+                for (int i = 0; i < row.degree; i++) {
+                    int neighbour = row.neighbours[i];
+                    if (!chosen.contains(neighbour) && isVisible(items.get(neighbour), userId)) {
+                        scores.addTo(neighbour, cells.get(pairKey(item, neighbour)));
+                    }
+                }
+            }
+            return top(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of estimates containing both work items.
+     */
+    public int count(@NonNull UUID workItemId, @NonNull UUID otherWorkItemId) {
+        lock.readLock().lock();
+        try {
+            Integer item = itemIds.get(workItemId);
+            Integer other = itemIds.get(otherWorkItemId);
+            return item == null || other == null || item.equals(other) ? 0 : cells.get(pairKey(item, other));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(LineItem line) {
+        int item = intern(line);
+        LongIntHashMap basket = baskets.computeIfAbsent(line.estimateId(), id -> new LongIntHashMap(8));
+        if (basket.addTo(item, 1) == 1) {
+            basket.forEach((other, lineCount) -> {
+                if (other != item) {
+                    increment(item, (int) other);
+                }
+            });
+        }
+    }
+
+    private int intern(LineItem line) {
+        Integer existing = itemIds.get(line.workItemId());
+        int item;
+        if (existing != null) {
+            item = existing;
+        } else {
+            item = items.size();
+            items.add(new Item(line.workItemId()));
+            itemIds.put(line.workItemId(), item);
+        }
+        Item row = items.get(item);
+        row.ownerId = line.ownerId();
+        row.isPublic = line.isPublic();
+        return item;
+    }
+
+    private void increment(int item, int other) {
+        if (cells.addTo(pairKey(item, other), 1) == 1) {
+            items.get(item).addNeighbour(other);
+            items.get(other).addNeighbour(item);
+        }
+    }
+
+    private void decrement(int item, int other) {
+        if (cells.addTo(pairKey(item, other), -1) == 0) {
+            items.get(item).removeNeighbour(other);
+            items.get(other).removeNeighbour(item);
+        }
+    }
+
+    private List<WorkItemRecommendation> top(LongIntHashMap scores, int limit) {
+        if (limit <= 0 || scores.isEmpty()) {
+            return List.of();
+        }
+        // Min-heap of the best candidates so far, as score in the high and inverted id in the low bits
+        PriorityQueue<Long> heap = new PriorityQueue<>(limit + 1);
+        scores.forEach((item, score) -> {
+            heap.add(((long) score << 32) | (~item & 0xFFFFFFFFL));
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        });
+        List<WorkItemRecommendation> result = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            long entry = heap.poll();
+            int item = ~(int) entry;
+            result.add(new WorkItemRecommendation(items.get(item).id, (int) (entry >>> 32)));
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    private static boolean isVisible(Item item, UUID userId) {
+        return item.isPublic || (userId != null && userId.equals(item.ownerId));
+    }
+
+    private static long pairKey(int item, int other) {
+        int low = Math.min(item, other);
+        int high = Math.max(item, other);
+        return ((long) low << 32) | (high & 0xFFFFFFFFL);
+    }
+}
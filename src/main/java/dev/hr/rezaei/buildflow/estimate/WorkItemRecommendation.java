@@ -0,0 +1,17 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.UUID;
+
+/**
+ * A work item suggested for an estimate because it often appears alongside the chosen ones.
+ */
+@Schema(description = "Work item suggested from historical estimates")
+public record WorkItemRecommendation(
+        @Schema(description = "ID of the suggested work item")
+        UUID workItemId,
+        @Schema(description = "Number of estimates in which the suggested work item appears alongside the chosen ones", example = "12")
+        int score
+) {
+}
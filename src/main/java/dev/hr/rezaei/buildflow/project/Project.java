@@ -5,8 +5,10 @@ import dev.hr.rezaei.buildflow.user.User;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.lang.NonNull;
 
+import java.math.BigDecimal;
 import java.util.UUID;
 
 /**
@@ -27,6 +29,10 @@ import java.util.UUID;
 @Entity
 @Table(name = "projects", uniqueConstraints = {
     @UniqueConstraint(name = "uk_projects_location_id", columnNames = "location_id")
+}, indexes = {
+    @Index(name = "idx_projects_user_estimate_count", columnList = "user_id, estimate_count"),
+    @Index(name = "idx_projects_user_estimate_total", columnList = "user_id, estimate_total"),
+    @Index(name = "idx_projects_user_participant_count", columnList = "user_id, participant_count")
 })
 public class Project extends UpdatableEntity {
     @EqualsAndHashCode.Include
@@ -54,6 +60,24 @@ public class Project extends UpdatableEntity {
     @JoinColumn(name = "location_id", nullable = false, foreignKey = @ForeignKey(name = "fk_projects_location"))
     private ProjectLocation location = new ProjectLocation();
 
+    // Denormalized summary, written only by ProjectSummaryService when estimates, lines or participants change,
+    // so project lists sort and filter on it without aggregating
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "estimate_count", nullable = false, insertable = false, updatable = false)
+    private int estimateCount = 0;
+
+    // Sum of the computed costs of the lines of all the project's estimates
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "estimate_total", nullable = false, precision = 19, scale = 2, insertable = false, updatable = false)
+    private BigDecimal estimateTotal = BigDecimal.ZERO;
+
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "participant_count", nullable = false, insertable = false, updatable = false)
+    private int participantCount = 0;
+
     @Override
     public String toString() {
         return "Project{" +
@@ -63,6 +87,9 @@ public class Project extends UpdatableEntity {
                 ", user.id=" + (user != null ? user.getId() : "null") +
                 ", role=" + role +
                 ", location.id=" + location.getId() +
+                ", estimateCount=" + estimateCount +
+                ", estimateTotal=" + estimateTotal +
+                ", participantCount=" + participantCount +
                 '}';
     }
 }
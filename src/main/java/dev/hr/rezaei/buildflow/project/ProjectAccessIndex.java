@@ -0,0 +1,191 @@
+package dev.hr.rezaei.buildflow.project;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of the projects each user may see, for authorization checks without a database round trip.
+ * <p>
+ * Every project gets a dense {@code int} ordinal, and each user has two Roaring bitmaps of ordinals: the projects
+ * they own and the projects their contact participates in. A check is a hash lookup of the project ordinal and a
+ * bitmap probe. Ordinals are never reused, so a deleted project only drops its ordinal; the bits it leaves in
+ * participant bitmaps can no longer be reached and disappear at the next {@link #rebuild}.
+ * <p>
+ * Projects unknown to the index are treated as not visible, the same as projects that do not exist.
+ */
+@Slf4j
+@Component
+public class ProjectAccessIndex {
+
+    /**
+     * A user's access to a project, as owner or participant.
+     */
+    public record Grant(UUID projectId, UUID userId) {
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    private final Map<UUID, UUID> owners = new HashMap<>();
+    private final Map<UUID, RoaringBitmap> owned = new HashMap<>();
+    private final Map<UUID, RoaringBitmap> participating = new HashMap<>();
+    private int nextOrdinal;
+
+    /**
+     * Replace the index with the given owners and participations.
+     */
+    public void rebuild(@NonNull Stream<Grant> ownerGrants, @NonNull Stream<Grant> participantGrants) {
+        lock.writeLock().lock();
+        try {
+            ordinals.clear();
+            owners.clear();
+            owned.clear();
+            participating.clear();
+            nextOrdinal = 0;
+            ownerGrants.forEach(grant -> putOwnerLocked(grant.projectId(), grant.userId()));
+            participantGrants.forEach(grant -> bitmap(participating, grant.userId()).add(ordinal(grant.projectId())));
+            owned.values().forEach(RoaringBitmap::runOptimize);
+            participating.values().forEach(RoaringBitmap::runOptimize);
+            log.info("Built project access index: {} projects, {} owners, {} participants",
+                    ordinals.size(), owned.size(), participating.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Record the owner of a project, replacing its previous owner.
+     */
+    public void putOwner(@NonNull UUID projectId, @NonNull UUID userId) {
+        lock.writeLock().lock();
+        try {
+            putOwnerLocked(projectId, userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Let the user see the project as a participant.
+     */
+    public void grantParticipant(@NonNull UUID projectId, @NonNull UUID userId) {
+        lock.writeLock().lock();
+        try {
+            bitmap(participating, userId).add(ordinal(projectId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Withdraw the user's participant access to the project. Ownership is not affected.
+     */
+    public void revokeParticipant(@NonNull UUID projectId, @NonNull UUID userId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(projectId);
+            RoaringBitmap projects = participating.get(userId);
+            if (ordinal != null && projects != null) {
+                projects.remove(ordinal);
+                if (projects.isEmpty()) {
+                    participating.remove(userId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop a deleted project.
+     */
+    public void removeProject(@NonNull UUID projectId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(projectId);
+            UUID owner = owners.remove(projectId);
+            if (ordinal != null && owner != null) {
+                removeBit(owned, owner, ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return true if the user owns the project
+     */
+    public boolean isOwner(@NonNull UUID userId, @NonNull UUID projectId) {
+        lock.readLock().lock();
+        try {
+            Integer ordinal = ordinals.get(projectId);
+            return ordinal != null && contains(owned, userId, ordinal);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return true if the user owns the project or their contact participates in it
+     */
+    public boolean canView(@NonNull UUID userId, @NonNull UUID projectId) {
+        lock.readLock().lock();
+        try {
+            Integer ordinal = ordinals.get(projectId);
+            return ordinal != null && (contains(owned, userId, ordinal) || contains(participating, userId, ordinal));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of projects in the index
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void putOwnerLocked(UUID projectId, UUID userId) {
+        int ordinal = ordinal(projectId);
+        UUID previous = owners.put(projectId, userId);
+        if (previous != null && !previous.equals(userId)) {
+            removeBit(owned, previous, ordinal);
+        }
+        bitmap(owned, userId).add(ordinal);
+    }
+
+    private int ordinal(UUID projectId) {
+        return ordinals.computeIfAbsent(projectId, id -> nextOrdinal++);
+    }
+
+    private static RoaringBitmap bitmap(Map<UUID, RoaringBitmap> bitmaps, UUID userId) {
+        return bitmaps.computeIfAbsent(userId, id -> new RoaringBitmap());
+    }
+
+    private static boolean contains(Map<UUID, RoaringBitmap> bitmaps, UUID userId, int ordinal) {
+        RoaringBitmap projects = bitmaps.get(userId);
+        return projects != null && projects.contains(ordinal);
+    }
+
+    private static void removeBit(Map<UUID, RoaringBitmap> bitmaps, UUID userId, int ordinal) {
+        RoaringBitmap projects = bitmaps.get(userId);
+        if (projects != null) {
+            projects.remove(ordinal);
+            if (projects.isEmpty()) {
+                bitmaps.remove(userId);
+            }
+        }
+    }
+}
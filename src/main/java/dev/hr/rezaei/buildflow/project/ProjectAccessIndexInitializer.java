@@ -0,0 +1,23 @@
+package dev.hr.rezaei.buildflow.project;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the project access index from all project owners and participants at startup.
+ * <p>
+ * Runs once every singleton is created, before the web server starts in the lifecycle phase, so no request is
+ * ever authorized against an empty index. Application runners, such as the address token backfill, run later.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProjectAccessIndexInitializer implements SmartInitializingSingleton {
+
+    private final ProjectAccessService projectAccessService;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        projectAccessService.rebuildIndex();
+    }
+}
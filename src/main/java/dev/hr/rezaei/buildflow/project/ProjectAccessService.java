@@ -0,0 +1,92 @@
+package dev.hr.rezaei.buildflow.project;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static dev.hr.rezaei.buildflow.util.TransactionUtil.afterCommit;
+
+/**
+ * Keeps the {@link ProjectAccessIndex} in step with project owners and participants.
+ * <p>
+ * Services writing projects or participants report the change here inside their transaction; the affected
+ * users are resolved there, and the index is updated once the transaction commits, so rolled back writes never
+ * grant access.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProjectAccessService {
+
+    private final ProjectRepository projectRepository;
+    private final ProjectParticipantRepository participantRepository;
+    private final ProjectAccessIndex projectAccessIndex;
+
+    /**
+     * Replace the access index with the owners and participants of all projects.
+     */
+    @Transactional(readOnly = true)
+    public void rebuildIndex() {
+        try (Stream<ProjectAccessView> owners = projectRepository.streamOwnerAccess();
+             Stream<ProjectAccessView> participants = participantRepository.streamParticipantAccess()) {
+            projectAccessIndex.rebuild(owners.map(ProjectAccessService::toGrant), participants.map(ProjectAccessService::toGrant));
+        }
+    }
+
+    /**
+     * Record the owner of a created or updated project in the access index after commit.
+     */
+    public void projectSaved(@NonNull Project project) {
+        UUID projectId = project.getId();
+        UUID userId = project.getUser().getId();
+        afterCommit(() -> projectAccessIndex.putOwner(projectId, userId));
+    }
+
+    /**
+     * Grant or withdraw participant access to the project for the users of the given contacts after commit,
+     * according to whether each contact still participates in the project once this transaction's writes apply.
+     * Contacts that belong to no user are ignored.
+     */
+    @Transactional
+    public void participantsChanged(@NonNull UUID projectId, @NonNull Collection<UUID> contactIds) {
+        if (contactIds.isEmpty()) {
+            return;
+        }
+        List<UUID> userIds = participantRepository.findUserIdsByContactIds(contactIds);
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Set<UUID> participating = new HashSet<>(participantRepository.findParticipatingUserIds(projectId, contactIds));
+        afterCommit(() -> {
+            for (UUID userId : userIds) {
+                if (participating.contains(userId)) {
+                    projectAccessIndex.grantParticipant(projectId, userId);
+                } else {
+                    projectAccessIndex.revokeParticipant(projectId, userId);
+                }
+            }
+        });
+    }
+
+    /**
+     * Drop a deleted project from the access index once the deletion commits.
+     */
+    @TransactionalEventListener
+    public void onProjectDeleted(ProjectDeletedEvent event) {
+        projectAccessIndex.removeProject(event.projectId());
+    }
+
+    private static ProjectAccessIndex.Grant toGrant(ProjectAccessView view) {
+        return new ProjectAccessIndex.Grant(view.getProjectId(), view.getUserId());
+    }
+}
@@ -0,0 +1,13 @@
+package dev.hr.rezaei.buildflow.project;
+
+import java.util.UUID;
+
+/**
+ * A project with a user who may see it, as owner or participant, for building the {@link ProjectAccessIndex}.
+ */
+public interface ProjectAccessView {
+
+    UUID getProjectId();
+
+    UUID getUserId();
+}
@@ -3,7 +3,6 @@ package dev.hr.rezaei.buildflow.project;
 import dev.hr.rezaei.buildflow.base.UserNotAuthorizedException;
 import dev.hr.rezaei.buildflow.config.mvc.AbstractAuthorizationHandler;
 import dev.hr.rezaei.buildflow.project.dto.CreateProjectRequest;
-import dev.hr.rezaei.buildflow.user.User;
 import dev.hr.rezaei.buildflow.user.UserService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
@@ -16,8 +15,11 @@ import java.util.UUID;
 @Component
 public class ProjectAuthService extends AbstractAuthorizationHandler {
 
-    public ProjectAuthService(UserService userService) {
+    private final ProjectAccessIndex projectAccessIndex;
+
+    public ProjectAuthService(UserService userService, ProjectAccessIndex projectAccessIndex) {
         super(userService);
+        this.projectAccessIndex = projectAccessIndex;
     }
 
     public boolean isCreateRequestAuthorized(CreateProjectRequest request) {
@@ -26,8 +28,7 @@ public class ProjectAuthService extends AbstractAuthorizationHandler {
             return true;
         }
 
-        User user = getAuthenticatedUser(authentication, "create a project");
-        UUID authenticatedUserId = user.getId();
+        UUID authenticatedUserId = getAuthenticatedUserId(authentication, "create a project");
         UUID requestorId = request.getUserId();
         if (!authenticatedUserId.equals(requestorId)) {
             log.debug("User [{}] is not authorized to create project for another user [{}].", authenticatedUserId, requestorId);
@@ -42,8 +43,7 @@ public class ProjectAuthService extends AbstractAuthorizationHandler {
             return true;
         }
 
-        User user = getAuthenticatedUser(authentication, "view user projects");
-        UUID requestorId = user.getId();
+        UUID requestorId = getAuthenticatedUserId(authentication, "view user projects");
 
         if (!requestorId.equals(requestedId)) {
             log.debug("User [{}] is not authorized to view projects for another user [{}].", requestorId, requestedId);
@@ -58,19 +58,19 @@ public class ProjectAuthService extends AbstractAuthorizationHandler {
             return true;
         }
 
-        User user = getAuthenticatedUser(authentication, "view project");
-        UUID requestorId = user.getId();
-        
-        // Note: In a real implementation, you would fetch the project and check if the user
-        // is associated with it. For now, we'll assume any authenticated user can view projects.
-        // This should be enhanced to check project ownership/participation.
+        UUID requestorId = getAuthenticatedUserId(authentication, "view project");
+        if (!projectAccessIndex.canView(requestorId, projectId)) {
+            log.debug("User [{}] is not authorized to view project [{}].", requestorId, projectId);
+            return false;
+        }
         log.debug("User [{}] is authorized to view project [{}].", requestorId, projectId);
         return true;
     }
 
     /**
      * Post-authorization check: Verifies if the authenticated user is authorized to view the given project.
-     * This is called AFTER the project is retrieved to check actual ownership.
+     * This is called AFTER the project is retrieved to check actual ownership or participation: the owner and
+     * users whose contact participates in the project may view it.
      * Throws UserNotAuthorizedException if the user is not authorized.
      * 
      * @param project The project to check authorization for
@@ -82,17 +82,21 @@ public class ProjectAuthService extends AbstractAuthorizationHandler {
             return;
         }
 
-        User user = getAuthenticatedUser(authentication, "view project");
-        UUID requestorId = user.getId();
+        UUID requestorId = getAuthenticatedUserId(authentication, "view project");
         UUID projectUserId = project.getUser().getId();
 
-        if (!requestorId.equals(projectUserId)) {
+        if (requestorId.equals(projectUserId)) {
+            log.debug("User [{}] is authorized to view their own project [{}].", requestorId, project.getId());
+            return;
+        }
+
+        if (!projectAccessIndex.canView(requestorId, project.getId())) {
             log.warn("User [{}] is not authorized to view project [{}] owned by user [{}].", 
                     requestorId, project.getId(), projectUserId);
             throw new UserNotAuthorizedException("You are not authorized to view this project");
         }
 
-        log.debug("User [{}] is authorized to view their own project [{}].", requestorId, project.getId());
+        log.debug("User [{}] is authorized to view project [{}] as a participant.", requestorId, project.getId());
     }
 
 }
@@ -23,6 +23,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
 
@@ -69,7 +70,7 @@ public class ProjectController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
-    @Operation(summary = "Get projects by user ID", description = "Retrieves all projects for a specific user with pagination and optional date filtering support")
+    @Operation(summary = "Get projects by user ID", description = "Retrieves all projects for a specific user with pagination, optional date filtering and filtering by estimate count, estimate total and participant count")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Projects retrieved successfully",
                     content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ProjectDto.class))))
@@ -84,7 +85,7 @@ public class ProjectController {
             @RequestParam(required = false) Integer page,
             @Parameter(description = "Page size (default: 25)")
             @RequestParam(required = false) Integer size,
-            @Parameter(description = "Sort specification (e.g., 'lastUpdatedAt,DESC')")
+            @Parameter(description = "Sort specification (e.g., 'lastUpdatedAt,DESC' or 'estimateTotal,DESC')")
             @RequestParam(required = false) String[] sort,
             @Parameter(description = "Order by field (alternative to sort)")
             @RequestParam(required = false) String orderBy,
@@ -97,7 +98,19 @@ public class ProjectController {
             @Parameter(description = "Filter projects updated after this date (ISO 8601 format, e.g., '2024-11-01T00:00:00Z')")
             @RequestParam(required = false) String updatedAfter,
             @Parameter(description = "Filter projects updated before this date (ISO 8601 format)")
-            @RequestParam(required = false) String updatedBefore
+            @RequestParam(required = false) String updatedBefore,
+            @Parameter(description = "Filter projects with at least this many estimates")
+            @RequestParam(required = false) Integer minEstimateCount,
+            @Parameter(description = "Filter projects with at most this many estimates")
+            @RequestParam(required = false) Integer maxEstimateCount,
+            @Parameter(description = "Filter projects whose estimate lines total at least this amount")
+            @RequestParam(required = false) BigDecimal minEstimateTotal,
+            @Parameter(description = "Filter projects whose estimate lines total at most this amount")
+            @RequestParam(required = false) BigDecimal maxEstimateTotal,
+            @Parameter(description = "Filter projects with at least this many participants")
+            @RequestParam(required = false) Integer minParticipantCount,
+            @Parameter(description = "Filter projects with at most this many participants")
+            @RequestParam(required = false) Integer maxParticipantCount
     ) {
         log.info("Getting projects for user ID: {} with pagination and date filters", userId);
         
@@ -105,13 +118,149 @@ public class ProjectController {
         DateFilter dateFilter = DateFilterHelper.createDateFilter(
             createdAfter, createdBefore, updatedAfter, updatedBefore
         );
+        ProjectSummaryFilter summaryFilter = ProjectSummaryFilter.builder()
+                .minEstimateCount(minEstimateCount)
+                .maxEstimateCount(maxEstimateCount)
+                .minEstimateTotal(minEstimateTotal)
+                .maxEstimateTotal(maxEstimateTotal)
+                .minParticipantCount(minParticipantCount)
+                .maxParticipantCount(maxParticipantCount)
+                .build();
         
-        Page<Project> projectPage = projectService.getProjectsByUserId(userId, pageable, dateFilter);
+        Page<Project> projectPage = projectService.getProjectsByUserId(userId, pageable, dateFilter, summaryFilter);
         Page<ProjectDto> projectDtoPage = projectPage.map(ProjectDtoMapper::toProjectDto);
         
         return build(projectDtoPage, "/api/v1/projects/user/" + userId);
     }
 
+    @Operation(summary = "Search projects by address", description = "Searches the user's projects by street, city or postal code prefixes with pagination and optional date filtering")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching projects retrieved successfully",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ProjectDto.class)))),
+            @ApiResponse(responseCode = "400", description = "No search term, or too many search words")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PreAuthorize("hasAuthority('VIEW_PROJECT') and @projectAuthService.isViewProjectsAuthorized(#userId)")
+    @GetMapping("/user/{userId}/search")
+    public ResponseEntity<List<ProjectDto>> searchProjectsByUserId(
+            @Parameter(description = "ID of the user whose projects to search")
+            @PathVariable UUID userId,
+            @Parameter(description = "Words matched by prefix against any address field (e.g., '12 maple')")
+            @RequestParam(required = false) String q,
+            @Parameter(description = "Words matched by prefix against the city (e.g., 'tor')")
+            @RequestParam(required = false) String city,
+            @Parameter(description = "Prefix of the postal or zip code, spaces and dashes ignored (e.g., 'M5V 3')")
+            @RequestParam(required = false) String postalCode,
+            @Parameter(description = "Page number (0-based, default: 0)")
+            @RequestParam(required = false) Integer page,
+            @Parameter(description = "Page size (default: 25)")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Sort specification (e.g., 'lastUpdatedAt,DESC')")
+            @RequestParam(required = false) String[] sort,
+            @Parameter(description = "Order by field (alternative to sort)")
+            @RequestParam(required = false) String orderBy,
+            @Parameter(description = "Sort direction (ASC or DESC, used with orderBy)")
+            @RequestParam(required = false) String direction,
+            @Parameter(description = "Filter projects created after this date (ISO 8601 format, e.g., '2024-01-01T00:00:00Z')")
+            @RequestParam(required = false) String createdAfter,
+            @Parameter(description = "Filter projects created before this date (ISO 8601 format, e.g., '2024-12-31T23:59:59Z')")
+            @RequestParam(required = false) String createdBefore,
+            @Parameter(description = "Filter projects updated after this date (ISO 8601 format, e.g., '2024-11-01T00:00:00Z')")
+            @RequestParam(required = false) String updatedAfter,
+            @Parameter(description = "Filter projects updated before this date (ISO 8601 format)")
+            @RequestParam(required = false) String updatedBefore
+    ) {
+        log.info("Searching projects of user ID: {} by address", userId);
+
+        Pageable pageable = PAGINATION_HELPER.createPageable(page, size, sort, orderBy, direction);
+        DateFilter dateFilter = DateFilterHelper.createDateFilter(
+            createdAfter, createdBefore, updatedAfter, updatedBefore
+        );
+        ProjectLocationFilter locationFilter = ProjectLocationFilter.builder()
+                .query(q)
+                .city(city)
+                .postalCode(postalCode)
+                .build();
+
+        Page<Project> projectPage = projectService.searchProjectsByUserId(userId, pageable, dateFilter, locationFilter);
+        Page<ProjectDto> projectDtoPage = projectPage.map(ProjectDtoMapper::toProjectDto);
+
+        return build(projectDtoPage, "/api/v1/projects/user/" + userId + "/search");
+    }
+
+    @Operation(summary = "Get project summaries by user ID", description = "Retrieves the user's projects with their estimate count, estimate total, participant count and last activity in one query, for dashboards")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Project summaries retrieved successfully",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ProjectSummaryDto.class))))
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PreAuthorize("hasAuthority('VIEW_PROJECT') and @projectAuthService.isViewProjectsAuthorized(#userId)")
+    @GetMapping("/user/{userId}/summary")
+    public ResponseEntity<List<ProjectSummaryDto>> getProjectSummariesByUserId(
+            @Parameter(description = "ID of the user whose projects to summarize")
+            @PathVariable UUID userId,
+            @Parameter(description = "Page number (0-based, default: 0)")
+            @RequestParam(required = false) Integer page,
+            @Parameter(description = "Page size (default: 25)")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Sort specification (e.g., 'lastUpdatedAt,DESC' or 'estimateTotal,DESC')")
+            @RequestParam(required = false) String[] sort,
+            @Parameter(description = "Order by field (alternative to sort)")
+            @RequestParam(required = false) String orderBy,
+            @Parameter(description = "Sort direction (ASC or DESC, used with orderBy)")
+            @RequestParam(required = false) String direction
+    ) {
+        log.info("Getting project summaries for user ID: {}", userId);
+
+        Pageable pageable = PAGINATION_HELPER.createPageable(page, size, sort, orderBy, direction);
+        Page<ProjectSummaryDto> summaryPage = projectService.getProjectSummariesByUserId(userId, pageable);
+
+        return build(summaryPage, "/api/v1/projects/user/" + userId + "/summary");
+    }
+
+    @Operation(summary = "Get projects the user participates in", description = "Retrieves the projects where the user's contact is a participant, with pagination and optional date filtering")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Projects retrieved successfully",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ProjectDto.class))))
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PreAuthorize("hasAuthority('VIEW_PROJECT') and @projectAuthService.isViewProjectsAuthorized(#userId)")
+    @GetMapping("/user/{userId}/participating")
+    public ResponseEntity<List<ProjectDto>> getParticipatingProjectsByUserId(
+            @Parameter(description = "ID of the user whose participations to retrieve")
+            @PathVariable UUID userId,
+            @Parameter(description = "Page number (0-based, default: 0)")
+            @RequestParam(required = false) Integer page,
+            @Parameter(description = "Page size (default: 25)")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Sort specification (e.g., 'lastUpdatedAt,DESC')")
+            @RequestParam(required = false) String[] sort,
+            @Parameter(description = "Order by field (alternative to sort)")
+            @RequestParam(required = false) String orderBy,
+            @Parameter(description = "Sort direction (ASC or DESC, used with orderBy)")
+            @RequestParam(required = false) String direction,
+            @Parameter(description = "Filter projects created after this date (ISO 8601 format, e.g., '2024-01-01T00:00:00Z')")
+            @RequestParam(required = false) String createdAfter,
+            @Parameter(description = "Filter projects created before this date (ISO 8601 format, e.g., '2024-12-31T23:59:59Z')")
+            @RequestParam(required = false) String createdBefore,
+            @Parameter(description = "Filter projects updated after this date (ISO 8601 format, e.g., '2024-11-01T00:00:00Z')")
+            @RequestParam(required = false) String updatedAfter,
+            @Parameter(description = "Filter projects updated before this date (ISO 8601 format)")
+            @RequestParam(required = false) String updatedBefore
+    ) {
+        log.info("Getting projects user ID: {} participates in", userId);
+
+        Pageable pageable = PAGINATION_HELPER.createPageable(page, size, sort, orderBy, direction);
+        DateFilter dateFilter = DateFilterHelper.createDateFilter(
+            createdAfter, createdBefore, updatedAfter, updatedBefore
+        );
+
+        Page<Project> projectPage = projectService.getParticipatingProjectsByUserId(userId, pageable, dateFilter);
+        Page<ProjectDto> projectDtoPage = projectPage.map(ProjectDtoMapper::toProjectDto);
+
+        return build(projectDtoPage, "/api/v1/projects/user/" + userId + "/participating");
+    }
+
     @Operation(summary = "Get project by ID", description = "Retrieves a single project by its unique identifier")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Project retrieved successfully",
@@ -157,7 +306,7 @@ public class ProjectController {
             @RequestParam(required = false) Integer page,
             @Parameter(description = "Page size (default: 25)")
             @RequestParam(required = false) Integer size,
-            @Parameter(description = "Sort specification (e.g., 'lastUpdatedAt,DESC')")
+            @Parameter(description = "Sort specification (e.g., 'lastUpdatedAt,DESC' or 'estimateTotal,DESC')")
             @RequestParam(required = false) String[] sort,
             @Parameter(description = "Order by field (alternative to sort)")
             @RequestParam(required = false) String orderBy,
@@ -170,7 +319,19 @@ public class ProjectController {
             @Parameter(description = "Filter projects updated after this date (ISO 8601 format, e.g., '2024-11-01T00:00:00Z')")
             @RequestParam(required = false) String updatedAfter,
             @Parameter(description = "Filter projects updated before this date (ISO 8601 format)")
-            @RequestParam(required = false) String updatedBefore
+            @RequestParam(required = false) String updatedBefore,
+            @Parameter(description = "Filter projects with at least this many estimates")
+            @RequestParam(required = false) Integer minEstimateCount,
+            @Parameter(description = "Filter projects with at most this many estimates")
+            @RequestParam(required = false) Integer maxEstimateCount,
+            @Parameter(description = "Filter projects whose estimate lines total at least this amount")
+            @RequestParam(required = false) BigDecimal minEstimateTotal,
+            @Parameter(description = "Filter projects whose estimate lines total at most this amount")
+            @RequestParam(required = false) BigDecimal maxEstimateTotal,
+            @Parameter(description = "Filter projects with at least this many participants")
+            @RequestParam(required = false) Integer minParticipantCount,
+            @Parameter(description = "Filter projects with at most this many participants")
+            @RequestParam(required = false) Integer maxParticipantCount
     ) {
         log.info("Admin getting all projects with pagination and date filters");
         
@@ -178,8 +339,16 @@ public class ProjectController {
         DateFilter dateFilter = DateFilterHelper.createDateFilter(
             createdAfter, createdBefore, updatedAfter, updatedBefore
         );
+        ProjectSummaryFilter summaryFilter = ProjectSummaryFilter.builder()
+                .minEstimateCount(minEstimateCount)
+                .maxEstimateCount(maxEstimateCount)
+                .minEstimateTotal(minEstimateTotal)
+                .maxEstimateTotal(maxEstimateTotal)
+                .minParticipantCount(minParticipantCount)
+                .maxParticipantCount(maxParticipantCount)
+                .build();
         
-        Page<Project> projectPage = projectService.getAllProjects(pageable, dateFilter);
+        Page<Project> projectPage = projectService.getAllProjects(pageable, dateFilter, summaryFilter);
         Page<ProjectDto> projectDtoPage = projectPage.map(ProjectDtoMapper::toProjectDto);
         
         return build(projectDtoPage, "/api/v1/projects");
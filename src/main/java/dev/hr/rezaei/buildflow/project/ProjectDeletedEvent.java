@@ -0,0 +1,12 @@
+package dev.hr.rezaei.buildflow.project;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published when {@link ProjectDeletionService} deletes a project, so in-memory state about the project and its
+ * estimates can be dropped once the deletion commits.
+ * @param estimateIds the IDs of the estimates deleted with the project
+ */
+public record ProjectDeletedEvent(UUID projectId, List<UUID> estimateIds) {
+}
@@ -0,0 +1,76 @@
+package dev.hr.rezaei.buildflow.project;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Deletes a project with everything under it using set-based statements instead of entity cascades.
+ * <p>
+ * Rows are deleted bottom-up along the foreign keys: the project's estimates are taken
+ * {@value #ESTIMATE_CHUNK_SIZE} at a time, and for each chunk their journal operations, lines, groups and the
+ * estimates themselves are removed with one {@code DELETE ... WHERE ... IN} each. Participants, variables and
+ * address tokens follow by project, then the project and its location. No child entity is loaded, so memory
+ * stays flat however large the project is, and the whole deletion is one transaction.
+ * <p>
+ * The project row is locked first, so concurrent summary refreshes of the project wait and then find it gone.
+ * A {@link ProjectDeletedEvent} lets in-memory indexes drop the deleted estimates after commit. Participant
+ * contacts are kept; they may be shared with other projects.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProjectDeletionService {
+
+    static final int ESTIMATE_CHUNK_SIZE = 500;
+
+    private final ProjectRepository projectRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    /**
+     * Delete the project, its estimates with their groups, lines and journals, its participants, variables,
+     * address tokens and location.
+     * @throws ProjectNotFoundException when the project does not exist
+     */
+    @Transactional
+    public void deleteProject(@NonNull UUID projectId) {
+        if (projectRepository.lockById(projectId).isEmpty()) {
+            throw new ProjectNotFoundException("Project with ID " + projectId + " does not exist.");
+        }
+        UUID locationId = projectRepository.findLocationId(projectId).orElse(null);
+
+        List<UUID> estimateIds = new ArrayList<>();
+        int lines = 0;
+        List<UUID> chunk;
+        do {
+            chunk = projectRepository.findEstimateIds(projectId, PageRequest.of(0, ESTIMATE_CHUNK_SIZE));
+            if (!chunk.isEmpty()) {
+                projectRepository.deleteEstimateOperations(chunk);
+                lines += projectRepository.deleteEstimateLines(chunk);
+                projectRepository.deleteEstimateGroups(chunk);
+                projectRepository.deleteEstimates(chunk);
+                estimateIds.addAll(chunk);
+            }
+        } while (chunk.size() == ESTIMATE_CHUNK_SIZE);
+
+        int participants = projectRepository.deleteParticipants(projectId);
+        projectRepository.deleteVariables(projectId);
+        projectRepository.deleteLocationTokens(projectId);
+        projectRepository.deleteProjectRow(projectId);
+        if (locationId != null) {
+            projectRepository.deleteLocation(locationId);
+        }
+
+        applicationEventPublisher.publishEvent(new ProjectDeletedEvent(projectId, List.copyOf(estimateIds)));
+        log.info("Deleted project {} with {} estimates, {} estimate lines and {} participants",
+                projectId, estimateIds.size(), lines, participants);
+    }
+}
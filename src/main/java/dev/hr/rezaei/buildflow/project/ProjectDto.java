@@ -7,6 +7,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 
+import java.math.BigDecimal;
 import java.util.UUID;
 
 /**
@@ -39,4 +40,13 @@ public class ProjectDto extends UpdatableEntityDto implements Dto<Project> {
     @JsonProperty("location")
     @Schema(description = "Location information for the project")
     private ProjectLocationDto locationDto;
+
+    @Schema(description = "Number of estimates of the project", example = "2")
+    private int estimateCount;
+
+    @Schema(description = "Sum of the computed costs of the lines of all the project's estimates", example = "15250.00")
+    private BigDecimal estimateTotal;
+
+    @Schema(description = "Number of participants of the project", example = "3")
+    private int participantCount;
 }
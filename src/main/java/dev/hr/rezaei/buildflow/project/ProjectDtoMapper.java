@@ -17,6 +17,9 @@ public class ProjectDtoMapper {
                 .userId(user != null ? user.getId() : null)
                 .role(project.getRole() != null ? project.getRole().name() : null)
                 .locationDto(ProjectLocationDtoMapper.toProjectLocationDto(project.getLocation()))
+                .estimateCount(project.getEstimateCount())
+                .estimateTotal(project.getEstimateTotal())
+                .participantCount(project.getParticipantCount())
                 .createdAt(UpdatableEntityDtoMapper.toString(project.getCreatedAt()))
                 .lastUpdatedAt(UpdatableEntityDtoMapper.toString(project.getLastUpdatedAt()))
                 .build();
@@ -0,0 +1,13 @@
+package dev.hr.rezaei.buildflow.project;
+
+/**
+ * The address field of a {@link ProjectLocation} an indexed {@link ProjectLocationToken} was taken from.
+ */
+public enum ProjectLocationField {
+    UNIT_NUMBER,
+    STREET,
+    CITY,
+    STATE_OR_PROVINCE,
+    POSTAL_CODE,
+    COUNTRY
+}
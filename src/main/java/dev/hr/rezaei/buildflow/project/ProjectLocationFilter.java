@@ -0,0 +1,88 @@
+package dev.hr.rezaei.buildflow.project;
+
+import jakarta.persistence.criteria.*;
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Optional address search terms matched by prefix against the {@link ProjectLocationToken address tokens} of
+ * projects. Every term must match: each word of {@code query} some token of any address field, each word of
+ * {@code city} a city token, and {@code postalCode}, without spaces or dashes, a postal code token.
+ */
+@Data
+@Builder
+public class ProjectLocationFilter {
+
+    public static final int MAX_TERMS = 8;
+
+    private final String query;
+    private final String city;
+    private final String postalCode;
+
+    /**
+     * Check if any search terms are given.
+     * @return true if at least one term has a word to match, false otherwise
+     */
+    public boolean hasFilters() {
+        return !ProjectLocationTokenService.words(query).isEmpty()
+            || !ProjectLocationTokenService.words(city).isEmpty()
+            || !ProjectLocationTokenService.compact(postalCode).isEmpty();
+    }
+
+    /**
+     * Create an empty ProjectLocationFilter with no search terms.
+     * @return ProjectLocationFilter with all fields null
+     */
+    public static ProjectLocationFilter empty() {
+        return ProjectLocationFilter.builder().build();
+    }
+
+    /**
+     * Creates a Specification requiring an indexed prefix match for every search term. Each term is an
+     * {@code EXISTS} probe of the token indexes, so it combines with the user and date predicates on projects.
+     * @param filter the search terms (may be null or empty)
+     * @return Specification for querying (returns conjunction/true if no terms)
+     * @throws IllegalArgumentException when there are more than {@value #MAX_TERMS} words to match
+     */
+    public static Specification<Project> toSpecification(ProjectLocationFilter filter) {
+        List<Term> terms = new ArrayList<>();
+        if (filter != null) {
+            ProjectLocationTokenService.words(filter.query).forEach(word -> terms.add(new Term(null, word)));
+            ProjectLocationTokenService.words(filter.city).forEach(word -> terms.add(new Term(ProjectLocationField.CITY, word)));
+            String postalCode = ProjectLocationTokenService.compact(filter.postalCode);
+            if (!postalCode.isEmpty()) {
+                terms.add(new Term(ProjectLocationField.POSTAL_CODE, postalCode));
+            }
+        }
+        if (terms.size() > MAX_TERMS) {
+            throw new IllegalArgumentException("Address search accepts at most " + MAX_TERMS + " words.");
+        }
+        return (root, query, cb) -> {
+            if (terms.isEmpty()) {
+                return cb.conjunction();
+            }
+            List<Predicate> predicates = new ArrayList<>();
+            for (Term term : terms) {
+                Subquery<Integer> subquery = query.subquery(Integer.class);
+                Root<ProjectLocationToken> token = subquery.from(ProjectLocationToken.class);
+                List<Predicate> matches = new ArrayList<>();
+                matches.add(cb.equal(token.get("projectId"), root.get("id")));
+                if (term.field() != null) {
+                    matches.add(cb.equal(token.get("field"), term.field()));
+                }
+                // Tokens are letters and digits only, so the prefix needs no escaping
+                matches.add(cb.like(token.get("token"), term.prefix() + "%"));
+                subquery.select(cb.literal(1)).where(matches.toArray(new Predicate[0]));
+                predicates.add(cb.exists(subquery));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private record Term(ProjectLocationField field, String prefix) {
+    }
+}
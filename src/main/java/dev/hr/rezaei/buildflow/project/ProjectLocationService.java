@@ -3,6 +3,7 @@ package dev.hr.rezaei.buildflow.project;
 import lombok.NonNull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -20,10 +21,16 @@ import java.util.UUID;
 @Service
 public class ProjectLocationService {
     private final ProjectLocationRepository projectLocationRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectLocationTokenService projectLocationTokenService;
 
     @Autowired
-    public ProjectLocationService(ProjectLocationRepository projectLocationRepository) {
+    public ProjectLocationService(ProjectLocationRepository projectLocationRepository,
+                                  ProjectRepository projectRepository,
+                                  ProjectLocationTokenService projectLocationTokenService) {
         this.projectLocationRepository = projectLocationRepository;
+        this.projectRepository = projectRepository;
+        this.projectLocationTokenService = projectLocationTokenService;
     }
 
     /**
@@ -35,14 +42,17 @@ public class ProjectLocationService {
     }
 
     /**
-     * Update an already persisted ProjectLocation.
+     * Update an already persisted ProjectLocation and re-index the address of its project for search.
      * Throws IllegalArgumentException if the location is not persisted.
      */
+    @Transactional
     public ProjectLocation update(ProjectLocation location) {
         if (location.getId() == null || !projectLocationRepository.existsById(location.getId())) {
             throw new IllegalArgumentException("ProjectLocation must be already persisted.");
         }
-        return projectLocationRepository.save(location);
+        ProjectLocation saved = projectLocationRepository.save(location);
+        projectRepository.findByLocationId(saved.getId()).ifPresent(projectLocationTokenService::index);
+        return saved;
     }
 
     public boolean existsById(@NonNull UUID id) {
@@ -0,0 +1,65 @@
+package dev.hr.rezaei.buildflow.project;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * One normalized, lower-cased token of a project's address, for address search.
+ * <p>
+ * The primary key leads with the project, so checking a project's tokens is an index range scan; the
+ * field-token index serves prefix matches on one field, such as the postal code or city, and the token
+ * index serves prefix matches on any field. Tokens are removed with their project.
+ */
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@IdClass(ProjectLocationToken.Key.class)
+@Table(name = "project_location_tokens", indexes = {
+        @Index(name = "idx_project_location_tokens_field_token", columnList = "field, token, project_id"),
+        @Index(name = "idx_project_location_tokens_token", columnList = "token, project_id")
+})
+public class ProjectLocationToken {
+
+    public static final int MAX_TOKEN_LENGTH = 100;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID projectId;
+        private ProjectLocationField field;
+        private String token;
+    }
+
+    @EqualsAndHashCode.Include
+    @Id
+    @Column(name = "project_id", nullable = false, updatable = false)
+    private UUID projectId;
+
+    @EqualsAndHashCode.Include
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false, length = 20)
+    private ProjectLocationField field;
+
+    @EqualsAndHashCode.Include
+    @Id
+    @Column(nullable = false, updatable = false, length = MAX_TOKEN_LENGTH)
+    private String token;
+
+    // Only maps the foreign key, so tokens are deleted with their project
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "project_id", insertable = false, updatable = false,
+            foreignKey = @ForeignKey(name = "fk_project_location_tokens_project"))
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Project project;
+}
@@ -0,0 +1,23 @@
+package dev.hr.rezaei.buildflow.project;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Indexes the addresses of projects created before address search at startup; already indexed projects are skipped.
+ */
+@Component
+@RequiredArgsConstructor
+@Order(6) // Runs after the estimate indexes (5)
+public class ProjectLocationTokenInitializer implements ApplicationRunner {
+
+    private final ProjectLocationTokenService projectLocationTokenService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        projectLocationTokenService.indexUnindexedProjects();
+    }
+}
@@ -0,0 +1,28 @@
+package dev.hr.rezaei.buildflow.project;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ProjectLocationTokenRepository extends JpaRepository<ProjectLocationToken, ProjectLocationToken.Key> {
+
+    List<ProjectLocationToken> findByProjectId(UUID projectId);
+
+    /**
+     * Projects after the given ID without any address token, such as those created before address search
+     * existed, in ID order.
+     */
+    @Query("""
+            select p from Project p join fetch p.location
+             where p.id > :afterId
+               and not exists (select t from ProjectLocationToken t where t.projectId = p.id)
+             order by p.id
+            """)
+    List<Project> findUnindexedProjects(@Param("afterId") UUID afterId, Pageable pageable);
+}
@@ -0,0 +1,140 @@
+package dev.hr.rezaei.buildflow.project;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the {@link ProjectLocationToken address tokens} of projects in step with their locations.
+ * <p>
+ * Every address field is split into words, lower-cased and stripped of accents, so "Rue Saint-Édouard" is indexed
+ * as {@code rue}, {@code saint} and {@code edouard}. The postal code is also indexed as one compact token without
+ * spaces or dashes, so "M5V 3L9" matches a search for "m5v3" as well as for "m5v 3l".
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProjectLocationTokenService {
+
+    static final int BACKFILL_BATCH_SIZE = 500;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ProjectLocationTokenRepository projectLocationTokenRepository;
+
+    /**
+     * Replace the address tokens of the project with those of its current location, writing only the difference.
+     */
+    @Transactional
+    public void index(@NonNull Project project) {
+        Set<ProjectLocationToken> tokens = tokens(project.getId(), project.getLocation());
+        List<ProjectLocationToken> stale = new ArrayList<>();
+        for (ProjectLocationToken existing : projectLocationTokenRepository.findByProjectId(project.getId())) {
+            if (!tokens.remove(existing)) {
+                stale.add(existing);
+            }
+        }
+        projectLocationTokenRepository.deleteAll(stale);
+        projectLocationTokenRepository.saveAll(tokens);
+    }
+
+    /**
+     * Index the projects that have no address tokens yet, in batches.
+     * @return the number of projects indexed
+     */
+    @Transactional
+    public int indexUnindexedProjects() {
+        int indexed = 0;
+        UUID afterId = new UUID(0, 0);
+        List<Project> batch;
+        do {
+            batch = projectLocationTokenRepository.findUnindexedProjects(afterId, PageRequest.of(0, BACKFILL_BATCH_SIZE));
+            for (Project project : batch) {
+                projectLocationTokenRepository.saveAll(tokens(project.getId(), project.getLocation()));
+                afterId = project.getId();
+            }
+            projectLocationTokenRepository.flush();
+            indexed += batch.size();
+        } while (batch.size() == BACKFILL_BATCH_SIZE);
+        if (indexed > 0) {
+            log.info("Indexed the addresses of {} projects for search", indexed);
+        }
+        return indexed;
+    }
+
+    static Set<ProjectLocationToken> tokens(UUID projectId, ProjectLocation location) {
+        Set<ProjectLocationToken> tokens = new HashSet<>();
+        if (location == null) {
+            return tokens;
+        }
+        addWords(tokens, projectId, ProjectLocationField.UNIT_NUMBER, location.getUnitNumber());
+        addWords(tokens, projectId, ProjectLocationField.STREET, location.getStreetNumberAndName());
+        addWords(tokens, projectId, ProjectLocationField.CITY, location.getCity());
+        addWords(tokens, projectId, ProjectLocationField.STATE_OR_PROVINCE, location.getStateOrProvince());
+        addWords(tokens, projectId, ProjectLocationField.POSTAL_CODE, location.getPostalOrZipCode());
+        String postalCode = compact(location.getPostalOrZipCode());
+        if (!postalCode.isEmpty()) {
+            tokens.add(token(projectId, ProjectLocationField.POSTAL_CODE, postalCode));
+        }
+        addWords(tokens, projectId, ProjectLocationField.COUNTRY, location.getCountry());
+        return tokens;
+    }
+
+    /**
+     * The lower-cased words of the text without accents, in order, each cut to the maximum token length.
+     */
+    static List<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> words = new ArrayList<>();
+        for (String word : SEPARATORS.split(fold(text))) {
+            if (!word.isEmpty()) {
+                words.add(truncate(word));
+            }
+        }
+        return words;
+    }
+
+    /**
+     * The text lower-cased without accents, spaces or punctuation, cut to the maximum token length.
+     */
+    static String compact(String text) {
+        if (text == null) {
+            return "";
+        }
+        return truncate(SEPARATORS.matcher(fold(text)).replaceAll(""));
+    }
+
+    private static void addWords(Set<ProjectLocationToken> tokens, UUID projectId, ProjectLocationField field,
+                                 String text) {
+        for (String word : words(text)) {
+            tokens.add(token(projectId, field, word));
+        }
+    }
+
+    private static ProjectLocationToken token(UUID projectId, ProjectLocationField field, String token) {
+        return ProjectLocationToken.builder()
+                .projectId(projectId)
+                .field(field)
+                .token(token)
+                .build();
+    }
+
+    private static String fold(String text) {
+        return DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static String truncate(String token) {
+        return token.length() > ProjectLocationToken.MAX_TOKEN_LENGTH
+                ? token.substring(0, ProjectLocationToken.MAX_TOKEN_LENGTH) : token;
+    }
+}
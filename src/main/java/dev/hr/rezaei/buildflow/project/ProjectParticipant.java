@@ -22,7 +22,9 @@ import java.util.UUID;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "project_participants")
+@Table(name = "project_participants", indexes = {
+        @Index(name = "idx_project_participants_contact_project", columnList = "contact_id, project_id")
+})
 public class ProjectParticipant {
     @EqualsAndHashCode.Include
     @Id
@@ -1,34 +1,33 @@
 package dev.hr.rezaei.buildflow.project;
 
 import dev.hr.rezaei.buildflow.config.mvc.AbstractAuthorizationHandler;
-import dev.hr.rezaei.buildflow.user.User;
 import dev.hr.rezaei.buildflow.user.UserService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
-import java.util.Optional;
 import java.util.UUID;
 
 /**
  * ProjectParticipantAuthService handles authorization for participant operations.
  * Mirrors the pattern used in ProjectAuthService.
+ * Checks are answered by the in-memory {@link ProjectAccessIndex}, without touching the database.
  */
 @Slf4j
-@Component
+@Component("participantAuthService")
 public class ProjectParticipantAuthService extends AbstractAuthorizationHandler {
 
-    private final ProjectRepository projectRepository;
+    private final ProjectAccessIndex projectAccessIndex;
 
-    public ProjectParticipantAuthService(UserService userService, ProjectRepository projectRepository) {
+    public ProjectParticipantAuthService(UserService userService, ProjectAccessIndex projectAccessIndex) {
         super(userService);
-        this.projectRepository = projectRepository;
+        this.projectAccessIndex = projectAccessIndex;
     }
 
     /**
      * Check if the current user is authorized to view participants for a given project.
-     * Admin users can always view. Non-admin users can only view participants for their own projects.
+     * Admin users can always view. Non-admin users can view participants of projects they own or participate in.
      */
     public boolean isViewParticipantsAuthorized(UUID projectId) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -36,20 +35,9 @@ public class ProjectParticipantAuthService extends AbstractAuthorizationHandler
             return true;
         }
 
-        User user = getAuthenticatedUser(authentication, "view project participants");
-        UUID authenticatedUserId = user.getId();
-
-        // Check if the project belongs to the authenticated user
-        Optional<Project> project = projectRepository.findById(projectId);
-        if (project.isEmpty()) {
-            log.debug("Project [{}] not found.", projectId);
-            return false;
-        }
-
-        UUID projectOwnerId = project.get().getUser().getId();
-        if (!authenticatedUserId.equals(projectOwnerId)) {
-            log.debug("User [{}] is not authorized to view participants for project [{}] owned by [{}].", 
-                    authenticatedUserId, projectId, projectOwnerId);
+        UUID authenticatedUserId = getAuthenticatedUserId(authentication, "view project participants");
+        if (!projectAccessIndex.canView(authenticatedUserId, projectId)) {
+            log.debug("User [{}] is not authorized to view participants for project [{}].", authenticatedUserId, projectId);
             return false;
         }
         return true;
@@ -60,7 +48,7 @@ public class ProjectParticipantAuthService extends AbstractAuthorizationHandler
      * Admin users can always create. Non-admin users can only create participants for their own projects.
      */
     public boolean isCreateParticipantAuthorized(UUID projectId) {
-        return isViewParticipantsAuthorized(projectId);
+        return isOwnerAuthorized(projectId, "create project participants");
     }
 
     /**
@@ -68,7 +56,7 @@ public class ProjectParticipantAuthService extends AbstractAuthorizationHandler
      * Admin users can always modify. Non-admin users can only modify participants for their own projects.
      */
     public boolean isModifyParticipantAuthorized(UUID projectId) {
-        return isViewParticipantsAuthorized(projectId);
+        return isOwnerAuthorized(projectId, "modify project participants");
     }
 
     /**
@@ -76,6 +64,21 @@ public class ProjectParticipantAuthService extends AbstractAuthorizationHandler
      * Admin users can always delete. Non-admin users can only delete participants for their own projects.
      */
     public boolean isDeleteParticipantAuthorized(UUID projectId) {
-        return isViewParticipantsAuthorized(projectId);
+        return isOwnerAuthorized(projectId, "delete project participants");
+    }
+
+    private boolean isOwnerAuthorized(UUID projectId, String requestedAction) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (isAdmin(authentication)) {
+            return true;
+        }
+
+        UUID authenticatedUserId = getAuthenticatedUserId(authentication, requestedAction);
+        if (!projectAccessIndex.isOwner(authenticatedUserId, projectId)) {
+            log.debug("User [{}] is not authorized to {} for project [{}] they do not own.",
+                    authenticatedUserId, requestedAction, projectId);
+            return false;
+        }
+        return true;
     }
 }
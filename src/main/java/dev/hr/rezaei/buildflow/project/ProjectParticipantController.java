@@ -1,6 +1,7 @@
 package dev.hr.rezaei.buildflow.project;
 
 import dev.hr.rezaei.buildflow.project.dto.CreateProjectParticipantRequest;
+import dev.hr.rezaei.buildflow.project.dto.CreateProjectParticipantsRequest;
 import dev.hr.rezaei.buildflow.user.Contact;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -122,6 +123,36 @@ public class ProjectParticipantController {
         return ResponseEntity.status(HttpStatus.CREATED).body(toProjectParticipantDto(participant));
     }
 
+    @Operation(summary = "Create many participants", description = "Adds many participants to the project at once, reusing existing contacts with the same email")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Participants created successfully",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ProjectParticipantDto.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid role, repeated email or too many participants"),
+            @ApiResponse(responseCode = "404", description = "Project not found")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PreAuthorize("hasAuthority('CREATE_PROJECT') and @participantAuthService.isCreateParticipantAuthorized(#projectId)")
+    @PostMapping("/bulk")
+    public ResponseEntity<List<ProjectParticipantDto>> createParticipants(
+            @Parameter(description = "ID of the project")
+            @PathVariable UUID projectId,
+            @Parameter(description = "Participants creation request")
+            @Valid @RequestBody CreateProjectParticipantsRequest request
+    ) {
+        log.info("Creating {} participants for project ID: {}", request.getParticipants().size(), projectId);
+
+        List<ProjectParticipantService.NewParticipant> newParticipants = request.getParticipants().stream()
+                .map(p -> new ProjectParticipantService.NewParticipant(toContactEntity(p.getContactRequestDto()), p.getRole()))
+                .toList();
+
+        List<ProjectParticipantDto> participantDtos = participantService.createParticipants(projectId, newParticipants).stream()
+                .map(ProjectParticipantDtoMapper::toProjectParticipantDto)
+                .collect(Collectors.toList());
+
+        log.info("Successfully created {} participants for project ID: {}", participantDtos.size(), projectId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(participantDtos);
+    }
+
     @Operation(summary = "Update a participant", description = "Updates an existing participant")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Participant updated successfully",
@@ -1,10 +1,14 @@
 package dev.hr.rezaei.buildflow.project;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository for ProjectParticipant entity.
@@ -17,4 +21,30 @@ public interface ProjectParticipantRepository extends JpaRepository<ProjectParti
     long countByProjectId(UUID projectId);
     List<ProjectParticipant> findByContactId(UUID contactId);
     List<ProjectParticipant> findByRole(ProjectRole role);
+
+    /**
+     * Check if the contact participates in the project, with one probe of the contact-project index.
+     */
+    boolean existsByProjectIdAndContactId(UUID projectId, UUID contactId);
+
+    /**
+     * Every project with each user whose contact participates in it, for building the access index.
+     */
+    @Query("select distinct pp.project.id as projectId, u.id as userId from ProjectParticipant pp join User u on u.contact = pp.contact")
+    Stream<ProjectAccessView> streamParticipantAccess();
+
+    /**
+     * The users owning the given contacts.
+     */
+    @Query("select u.id from User u where u.contact.id in :contactIds")
+    List<UUID> findUserIdsByContactIds(@Param("contactIds") Collection<UUID> contactIds);
+
+    /**
+     * The users whose contact, among the given ones, participates in the project.
+     */
+    @Query("""
+            select distinct u.id from ProjectParticipant pp join User u on u.contact = pp.contact
+             where pp.project.id = :projectId and pp.contact.id in :contactIds
+            """)
+    List<UUID> findParticipatingUserIds(@Param("projectId") UUID projectId, @Param("contactIds") Collection<UUID> contactIds);
 }
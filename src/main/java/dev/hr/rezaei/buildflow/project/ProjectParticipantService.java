@@ -7,7 +7,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -21,16 +23,24 @@ import java.util.UUID;
 @Service
 public class ProjectParticipantService {
 
+    public static final int MAX_BULK_PARTICIPANTS = 100;
+
     private final ProjectParticipantRepository participantRepository;
     private final ProjectRepository projectRepository;
     private final ContactService contactService;
+    private final ProjectSummaryService projectSummaryService;
+    private final ProjectAccessService projectAccessService;
 
     public ProjectParticipantService(ProjectParticipantRepository participantRepository,
                                      ProjectRepository projectRepository,
-                                     ContactService contactService) {
+                                     ContactService contactService,
+                                     ProjectSummaryService projectSummaryService,
+                                     ProjectAccessService projectAccessService) {
         this.participantRepository = participantRepository;
         this.projectRepository = projectRepository;
         this.contactService = contactService;
+        this.projectSummaryService = projectSummaryService;
+        this.projectAccessService = projectAccessService;
     }
 
     /**
@@ -84,10 +94,60 @@ public class ProjectParticipantService {
                 .build();
 
         ProjectParticipant saved = participantRepository.save(participant);
+        projectSummaryService.refreshBeforeCommit(projectId);
+        projectAccessService.participantsChanged(projectId, List.of(contact.getId()));
         log.info("Created participant with ID {} for project ID {} with role {}", saved.getId(), projectId, role);
         return saved;
     }
 
+    /**
+     * Add many participants to a project at once.
+     * Contacts are matched by email: an existing contact is reused as stored, and the missing ones are created.
+     * The project is checked once, stored contacts are found with one IN query, and new contacts and the
+     * participants are saved together, so their inserts are JDBC-batched.
+     * Throws IllegalArgumentException for an empty or oversized list, an invalid role or a repeated email.
+     */
+    @Transactional
+    public List<ProjectParticipant> createParticipants(@NonNull UUID projectId, @NonNull List<NewParticipant> newParticipants) {
+        if (newParticipants.isEmpty()) {
+            throw new IllegalArgumentException("At least one participant is required.");
+        }
+        if (newParticipants.size() > MAX_BULK_PARTICIPANTS) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_PARTICIPANTS + " participants can be added at once.");
+        }
+        verifyProjectExists(projectId);
+
+        // Validate all roles before writing anything
+        List<ProjectRole> roles = new ArrayList<>(newParticipants.size());
+        for (NewParticipant newParticipant : newParticipants) {
+            try {
+                roles.add(ProjectRole.valueOf(newParticipant.role()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid role: " + newParticipant.role() + ". Must be BUILDER or OWNER.");
+            }
+        }
+
+        Map<String, Contact> contacts = contactService.findOrCreateByEmail(
+                newParticipants.stream().map(NewParticipant::contact).toList());
+
+        Project project = projectRepository.getReferenceById(projectId);
+        List<ProjectParticipant> participants = new ArrayList<>(newParticipants.size());
+        for (int i = 0; i < newParticipants.size(); i++) {
+            participants.add(ProjectParticipant.builder()
+                    .project(project)
+                    .contact(contacts.get(newParticipants.get(i).contact().getEmail()))
+                    .role(roles.get(i))
+                    .build());
+        }
+
+        List<ProjectParticipant> saved = participantRepository.saveAll(participants);
+        projectSummaryService.refreshBeforeCommit(projectId);
+        projectAccessService.participantsChanged(projectId,
+                contacts.values().stream().map(Contact::getId).toList());
+        log.info("Created {} participants for project ID {}", saved.size(), projectId);
+        return saved;
+    }
+
     /**
      * Update an existing participant.
      * Similar to createParticipant(), this method receives Contact object and saves it.
@@ -108,10 +168,13 @@ public class ProjectParticipantService {
         // Save the contact (similar to UserService pattern)
         contact = contactService.save(contact);
 
+        UUID previousContactId = participant.getContact().getId();
         participant.setContact(contact);
         participant.setRole(role);
 
         ProjectParticipant updated = participantRepository.save(participant);
+        projectAccessService.participantsChanged(participant.getProject().getId(),
+                List.of(previousContactId, contact.getId()));
         log.info("Updated participant ID {} with contact ID {} and role {}", participantId, contact.getId(), role);
         return updated;
     }
@@ -121,13 +184,21 @@ public class ProjectParticipantService {
      */
     @Transactional
     public void deleteParticipant(@NonNull UUID participantId) {
-        if (!participantRepository.existsById(participantId)) {
-            throw new ParticipantNotFoundException("Participant with ID " + participantId + " does not exist.");
-        }
-        participantRepository.deleteById(participantId);
+        ProjectParticipant participant = participantRepository.findById(participantId)
+                .orElseThrow(() -> new ParticipantNotFoundException("Participant with ID " + participantId + " does not exist."));
+        participantRepository.delete(participant);
+        projectSummaryService.refreshBeforeCommit(participant.getProject().getId());
+        projectAccessService.participantsChanged(participant.getProject().getId(),
+                List.of(participant.getContact().getId()));
         log.info("Deleted participant with ID {}", participantId);
     }
 
+    /**
+     * Contact and role of a participant to add with {@link #createParticipants(UUID, List)}.
+     */
+    public record NewParticipant(@NonNull Contact contact, @NonNull String role) {
+    }
+
     /**
      * Verify that a project exists.
      */
@@ -40,10 +40,14 @@ public final class ProjectQueryConfig {
     /**
      * Fields that are allowed for sorting in project queries.
      * Prevents SQL injection by whitelisting valid sort fields.
+     * The summary fields are denormalized, indexed columns, so sorting by them needs no aggregation.
      */
     public static final Set<String> SORTABLE_FIELDS = Set.of(
         "lastUpdatedAt",
-        "createdAt"
+        "createdAt",
+        "estimateCount",
+        "estimateTotal",
+        "participantCount"
     );
     
     /**
@@ -75,6 +79,11 @@ public final class ProjectQueryConfig {
     // Date Filtering Configuration
     // ========================================
     
+    /**
+     * Note: Summary filtering (estimate count, estimate total, participant count) is handled through
+     * ProjectSummaryFilter, on the columns kept up to date by ProjectSummaryService.
+     */
+
     /**
      * Note: Date filtering is handled through UpdatableEntitySpecification.
      * No additional configuration needed here as filtering uses the standard
@@ -5,11 +5,17 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, UUID>, JpaSpecificationExecutor<Project> {
@@ -27,6 +33,12 @@ public interface ProjectRepository extends JpaRepository<Project, UUID>, JpaSpec
     @EntityGraph(attributePaths = {"location"})
     Page<Project> findByUserId(UUID userId, Pageable pageable);
     
+    /**
+     * Find the project at the given location.
+     */
+    @EntityGraph(attributePaths = {"location"})
+    Optional<Project> findByLocationId(UUID locationId);
+
     /**
      * Count projects by user ID without loading entities.
      */
@@ -40,5 +52,100 @@ public interface ProjectRepository extends JpaRepository<Project, UUID>, JpaSpec
     @EntityGraph(attributePaths = {"location"})
     @NonNull
     Page<Project> findAll(@NonNull Pageable pageable);
-}
 
+    /**
+     * Page the user's projects with the latest update of their estimates and estimate lines, in one query.
+     * Counts and totals come from the project's denormalized summary columns; the location is fetched with it.
+     */
+    @Query(value = """
+            select p as project,
+                   (select max(e.lastUpdatedAt) from Estimate e where e.project = p) as lastEstimateUpdatedAt,
+                   (select max(l.lastUpdatedAt) from EstimateLine l where l.estimate.project = p) as lastLineUpdatedAt
+              from Project p join fetch p.location
+             where p.user.id = :userId
+            """,
+            countQuery = "select count(p) from Project p where p.user.id = :userId")
+    Page<ProjectSummaryView> findSummariesByUserId(@Param("userId") UUID userId, Pageable pageable);
+
+    /**
+     * Lock the project row until the transaction ends, so the statements that follow see every summary change
+     * committed before.
+     */
+    @Query(nativeQuery = true, value = "SELECT id FROM projects WHERE id = :projectId FOR UPDATE")
+    Optional<UUID> lockById(@Param("projectId") UUID projectId);
+
+    /**
+     * Recompute the denormalized estimate count, estimate total and participant count of the project.
+     */
+    @Modifying
+    @Query("""
+            update Project p
+               set p.estimateCount = (select count(e) from Estimate e where e.project.id = :projectId),
+                   p.estimateTotal = (select coalesce(sum(l.computedCost), 0)
+                                        from EstimateLine l join l.estimate e
+                                       where e.project.id = :projectId),
+                   p.participantCount = (select count(pp) from ProjectParticipant pp where pp.project.id = :projectId)
+             where p.id = :projectId
+            """)
+    int refreshSummary(@Param("projectId") UUID projectId);
+
+    // ========================================
+    // Set-based deletion, see ProjectDeletionService
+    // ========================================
+
+    /**
+     * A chunk of the IDs of the project's estimates. Deleted estimates drop out, so the first page is always the
+     * next chunk.
+     */
+    @Query("select e.id from Estimate e where e.project.id = :projectId order by e.id")
+    List<UUID> findEstimateIds(@Param("projectId") UUID projectId, Pageable pageable);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from EstimateOperation o where o.estimate.id in :estimateIds")
+    int deleteEstimateOperations(@Param("estimateIds") Collection<UUID> estimateIds);
+
+    @Modifying
+    @Query("delete from EstimateLine l where l.estimate.id in :estimateIds")
+    int deleteEstimateLines(@Param("estimateIds") Collection<UUID> estimateIds);
+
+    @Modifying
+    @Query("delete from EstimateGroup g where g.estimate.id in :estimateIds")
+    int deleteEstimateGroups(@Param("estimateIds") Collection<UUID> estimateIds);
+
+    @Modifying
+    @Query("delete from Estimate e where e.id in :estimateIds")
+    int deleteEstimates(@Param("estimateIds") Collection<UUID> estimateIds);
+
+    @Modifying
+    @Query("delete from ProjectParticipant pp where pp.project.id = :projectId")
+    int deleteParticipants(@Param("projectId") UUID projectId);
+
+    @Modifying
+    @Query("delete from ProjectVariable v where v.project.id = :projectId")
+    int deleteVariables(@Param("projectId") UUID projectId);
+
+    @Modifying
+    @Query("delete from ProjectLocationToken t where t.projectId = :projectId")
+    int deleteLocationTokens(@Param("projectId") UUID projectId);
+
+    /**
+     * Delete the project row and clear the persistence context, so no stale entity of the project or its
+     * children is flushed afterwards.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Project p where p.id = :projectId")
+    int deleteProjectRow(@Param("projectId") UUID projectId);
+
+    @Modifying
+    @Query("delete from ProjectLocation l where l.id = :locationId")
+    int deleteLocation(@Param("locationId") UUID locationId);
+
+    @Query("select p.location.id from Project p where p.id = :projectId")
+    Optional<UUID> findLocationId(@Param("projectId") UUID projectId);
+
+    /**
+     * Every project with its owner, for building the access index.
+     */
+    @Query("select p.id as projectId, p.user.id as userId from Project p")
+    Stream<ProjectAccessView> streamOwnerAccess();
+}
@@ -5,6 +5,8 @@ import dev.hr.rezaei.buildflow.config.mvc.UpdatableEntitySpecification;
 import dev.hr.rezaei.buildflow.user.User;
 import dev.hr.rezaei.buildflow.user.UserNotFoundException;
 import dev.hr.rezaei.buildflow.user.UserService;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -34,11 +36,20 @@ public class ProjectService {
 
     private final ProjectRepository projectRepository;
     private final UserService userService;
+    private final ProjectLocationTokenService projectLocationTokenService;
+    private final ProjectDeletionService projectDeletionService;
+    private final ProjectAccessService projectAccessService;
 
     public ProjectService(ProjectRepository projectRepository,
-                          UserService userService) {
+                          UserService userService,
+                          ProjectLocationTokenService projectLocationTokenService,
+                          ProjectDeletionService projectDeletionService,
+                          ProjectAccessService projectAccessService) {
         this.projectRepository = projectRepository;
         this.userService = userService;
+        this.projectLocationTokenService = projectLocationTokenService;
+        this.projectDeletionService = projectDeletionService;
+        this.projectAccessService = projectAccessService;
     }
 
     public void validate(UUID userId, String roleStr, ProjectLocation location) {
@@ -65,6 +76,7 @@ public class ProjectService {
     }
 
     @SuppressWarnings("OptionalGetWithoutIsPresent")
+    @Transactional
     public Project createProject(@NonNull UUID userId, @NonNull String roleStr, @NonNull ProjectLocation location) {
         validate(userId, roleStr, location);
 
@@ -82,9 +94,13 @@ public class ProjectService {
 
         log.info("Persisting new project for user ID [{}] with role [{}] at location: {}",
                 userId, role, location);
-        return projectRepository.save(project);
+        Project saved = projectRepository.save(project);
+        projectLocationTokenService.index(saved);
+        projectAccessService.projectSaved(saved);
+        return saved;
     }
 
+    @Transactional
     public Project update(@NonNull Project project) {
         if (!isPersisted(project)) {
             throw new IllegalArgumentException("Project must be already persisted.");
@@ -92,14 +108,21 @@ public class ProjectService {
 
         Instant now = Instant.now();
         project.setLastUpdatedAt(now);
-        return projectRepository.save(project);
+        Project saved = projectRepository.save(project);
+        projectLocationTokenService.index(saved);
+        projectAccessService.projectSaved(saved);
+        return saved;
     }
 
+    /**
+     * Delete a project with its estimates, participants, variables and location.
+     * Uses set-based deletes through {@link ProjectDeletionService}, so no child entity is loaded.
+     */
     public void delete(@NonNull Project project) {
         if (!isPersisted(project)) {
             throw new IllegalArgumentException("Project must be already persisted.");
         }
-        projectRepository.delete(project);
+        projectDeletionService.deleteProject(project.getId());
     }
 
     public boolean isPersisted(@NonNull Project project) {
@@ -157,6 +180,22 @@ public class ProjectService {
      */
     @Transactional(readOnly = true)
     public Page<Project> getProjectsByUserId(@NonNull UUID userId, @NonNull Pageable pageable, DateFilter dateFilter) {
+        return getProjectsByUserId(userId, pageable, dateFilter, null);
+    }
+
+    /**
+     * Find projects by user ID with pagination, date filtering and summary filtering support.
+     * Summary bounds apply to the denormalized estimate count, estimate total and participant count columns.
+     *
+     * @param userId User ID to filter projects
+     * @param pageable Pagination and sorting parameters
+     * @param dateFilter Optional date filter (createdAfter, createdBefore, updatedAfter, updatedBefore)
+     * @param summaryFilter Optional bounds on the estimate count, estimate total and participant count
+     * @return Paginated filtered projects
+     */
+    @Transactional(readOnly = true)
+    public Page<Project> getProjectsByUserId(@NonNull UUID userId, @NonNull Pageable pageable, DateFilter dateFilter,
+                                             ProjectSummaryFilter summaryFilter) {
         // Verify user exists and is persisted
         Optional<User> persistedUser = userService.findById(userId);
         if (persistedUser.isEmpty()) {
@@ -169,6 +208,54 @@ public class ProjectService {
         
         Specification<Project> combinedSpec = userSpec.and(
             UpdatableEntitySpecification.withDateFilter(dateFilter)
+        ).and(ProjectSummaryFilter.toSpecification(summaryFilter));
+
+        return projectRepository.findAll(combinedSpec, pageable);
+    }
+
+    /**
+     * Summaries of the user's projects for the dashboard, with pagination support.
+     * One query returns each project with its counts, estimate total and last activity.
+     *
+     * @param userId User ID to summarize projects of
+     * @param pageable Pagination and sorting parameters
+     * @return Paginated project summaries
+     */
+    @Transactional(readOnly = true)
+    public Page<ProjectSummaryDto> getProjectSummariesByUserId(@NonNull UUID userId, @NonNull Pageable pageable) {
+        if (!userService.existsById(userId)) {
+            throw new UserNotFoundException("User with ID " + userId + " does not exist.");
+        }
+        return projectRepository.findSummariesByUserId(userId, pageable).map(ProjectSummaryDto::fromView);
+    }
+
+    /**
+     * Get the projects the user participates in through their contact, with pagination and date filtering support.
+     * Projects are matched with an {@code IN} subquery on the contact-project index of the participants, so the
+     * page is read in one query and a project is listed once even when the contact has several roles in it.
+     *
+     * @param userId User ID whose participations to list
+     * @param pageable Pagination and sorting parameters
+     * @param dateFilter Optional date filter (createdAfter, createdBefore, updatedAfter, updatedBefore)
+     * @return Paginated projects the user participates in
+     */
+    @Transactional(readOnly = true)
+    public Page<Project> getParticipatingProjectsByUserId(@NonNull UUID userId, @NonNull Pageable pageable,
+                                                          DateFilter dateFilter) {
+        User user = userService.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User with ID " + userId + " does not exist."));
+        UUID contactId = user.getContact().getId();
+
+        Specification<Project> participantSpec = (root, query, cb) -> {
+            Subquery<UUID> participations = query.subquery(UUID.class);
+            Root<ProjectParticipant> participant = participations.from(ProjectParticipant.class);
+            participations.select(participant.get("project").get("id"))
+                    .where(cb.equal(participant.get("contact").get("id"), contactId));
+            return root.get("id").in(participations);
+        };
+
+        Specification<Project> combinedSpec = participantSpec.and(
+            UpdatableEntitySpecification.withDateFilter(dateFilter)
         );
 
         return projectRepository.findAll(combinedSpec, pageable);
@@ -196,7 +283,52 @@ public class ProjectService {
      */
     @Transactional(readOnly = true)
     public Page<Project> getAllProjects(@NonNull Pageable pageable, DateFilter dateFilter) {
-        Specification<Project> spec = UpdatableEntitySpecification.withDateFilter(dateFilter);
+        return getAllProjects(pageable, dateFilter, null);
+    }
+
+    /**
+     * Get all projects with pagination, date filtering and summary filtering support (admin only).
+     *
+     * @param pageable Pagination and sorting parameters
+     * @param dateFilter Optional date filter (createdAfter, createdBefore, updatedAfter, updatedBefore)
+     * @param summaryFilter Optional bounds on the estimate count, estimate total and participant count
+     * @return Paginated filtered projects
+     */
+    @Transactional(readOnly = true)
+    public Page<Project> getAllProjects(@NonNull Pageable pageable, DateFilter dateFilter, ProjectSummaryFilter summaryFilter) {
+        Specification<Project> spec = UpdatableEntitySpecification.<Project>withDateFilter(dateFilter)
+                .and(ProjectSummaryFilter.toSpecification(summaryFilter));
         return projectRepository.findAll(spec, pageable);
     }
+
+    /**
+     * Search the user's projects by address with pagination and date filtering support.
+     * Every search term is matched by prefix against the project's indexed address tokens.
+     *
+     * @param userId User ID to search projects of
+     * @param pageable Pagination and sorting parameters
+     * @param dateFilter Optional date filter (createdAfter, createdBefore, updatedAfter, updatedBefore)
+     * @param locationFilter Address search terms; at least one is required
+     * @return Paginated matching projects
+     * @throws IllegalArgumentException when no search term is given
+     */
+    @Transactional(readOnly = true)
+    public Page<Project> searchProjectsByUserId(@NonNull UUID userId, @NonNull Pageable pageable, DateFilter dateFilter,
+                                                @NonNull ProjectLocationFilter locationFilter) {
+        if (!locationFilter.hasFilters()) {
+            throw new IllegalArgumentException("At least one address search term is required.");
+        }
+        if (!userService.existsById(userId)) {
+            throw new UserNotFoundException("User with ID " + userId + " does not exist.");
+        }
+
+        Specification<Project> userSpec = (root, query, cb) ->
+            cb.equal(root.get("user").get("id"), userId);
+
+        Specification<Project> combinedSpec = userSpec.and(
+            UpdatableEntitySpecification.withDateFilter(dateFilter)
+        ).and(ProjectLocationFilter.toSpecification(locationFilter));
+
+        return projectRepository.findAll(combinedSpec, pageable);
+    }
 }
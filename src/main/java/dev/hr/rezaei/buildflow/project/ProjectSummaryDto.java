@@ -0,0 +1,52 @@
+package dev.hr.rezaei.buildflow.project;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import dev.hr.rezaei.buildflow.base.UpdatableEntityDtoMapper;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Dashboard summary of a project: its location, counts, estimate total and last activity.
+ */
+@Schema(description = "Dashboard summary of a project")
+public record ProjectSummaryDto(
+        @Schema(description = "Unique identifier of the project", example = "123e4567-e89b-12d3-a456-426614174000")
+        UUID id,
+        @Schema(description = "Role of the main user in the project", example = "BUILDER")
+        String role,
+        @JsonProperty("location")
+        @Schema(description = "Location information for the project")
+        ProjectLocationDto locationDto,
+        @Schema(description = "Number of estimates of the project", example = "2")
+        int estimateCount,
+        @Schema(description = "Sum of the computed costs of the lines of all the project's estimates", example = "15250.00")
+        BigDecimal estimateTotal,
+        @Schema(description = "Number of participants of the project", example = "3")
+        int participantCount,
+        @Schema(description = "Creation timestamp of the project", example = "2024-01-01T00:00:00Z")
+        String createdAt,
+        @Schema(description = "Latest update of the project, its estimates or their lines", example = "2024-03-15T10:30:00Z")
+        String lastActivityAt
+) {
+    public static ProjectSummaryDto fromView(ProjectSummaryView view) {
+        Project project = view.getProject();
+        Instant lastActivity = Stream.of(project.getLastUpdatedAt(), view.getLastEstimateUpdatedAt(), view.getLastLineUpdatedAt())
+                .filter(Objects::nonNull)
+                .max(Instant::compareTo)
+                .orElse(null);
+        return new ProjectSummaryDto(
+                project.getId(),
+                project.getRole() != null ? project.getRole().name() : null,
+                ProjectLocationDtoMapper.toProjectLocationDto(project.getLocation()),
+                project.getEstimateCount(),
+                project.getEstimateTotal(),
+                project.getParticipantCount(),
+                project.getCreatedAt() != null ? UpdatableEntityDtoMapper.toString(project.getCreatedAt()) : null,
+                lastActivity != null ? UpdatableEntityDtoMapper.toString(lastActivity) : null);
+    }
+}
@@ -0,0 +1,88 @@
+package dev.hr.rezaei.buildflow.project;
+
+import jakarta.persistence.criteria.Predicate;
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Optional bounds on the denormalized summary columns of {@link Project}, all inclusive.
+ * Filters compare plain columns, so they never aggregate estimates or participants per request.
+ */
+@Data
+@Builder
+public class ProjectSummaryFilter {
+    private final Integer minEstimateCount;
+    private final Integer maxEstimateCount;
+    private final BigDecimal minEstimateTotal;
+    private final BigDecimal maxEstimateTotal;
+    private final Integer minParticipantCount;
+    private final Integer maxParticipantCount;
+
+    /**
+     * Check if any bounds are applied.
+     * @return true if at least one bound is set, false otherwise
+     */
+    public boolean hasFilters() {
+        return minEstimateCount != null || maxEstimateCount != null
+            || minEstimateTotal != null || maxEstimateTotal != null
+            || minParticipantCount != null || maxParticipantCount != null;
+    }
+
+    /**
+     * Create an empty ProjectSummaryFilter with no bounds applied.
+     * @return ProjectSummaryFilter with all fields null
+     */
+    public static ProjectSummaryFilter empty() {
+        return ProjectSummaryFilter.builder().build();
+    }
+
+    /**
+     * Creates a Specification applying the bounds of the filter.
+     * @param filter the summary bounds (may be null or empty)
+     * @return Specification for querying (returns conjunction/true if no bounds)
+     * @throws IllegalArgumentException when a minimum exceeds its maximum
+     */
+    public static Specification<Project> toSpecification(ProjectSummaryFilter filter) {
+        if (filter != null) {
+            checkRange("estimate count", filter.minEstimateCount, filter.maxEstimateCount);
+            checkRange("estimate total", filter.minEstimateTotal, filter.maxEstimateTotal);
+            checkRange("participant count", filter.minParticipantCount, filter.maxParticipantCount);
+        }
+        return (root, query, cb) -> {
+            if (filter == null || !filter.hasFilters()) {
+                return cb.conjunction();
+            }
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.minEstimateCount != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("estimateCount"), filter.minEstimateCount));
+            }
+            if (filter.maxEstimateCount != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("estimateCount"), filter.maxEstimateCount));
+            }
+            if (filter.minEstimateTotal != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("estimateTotal"), filter.minEstimateTotal));
+            }
+            if (filter.maxEstimateTotal != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("estimateTotal"), filter.maxEstimateTotal));
+            }
+            if (filter.minParticipantCount != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("participantCount"), filter.minParticipantCount));
+            }
+            if (filter.maxParticipantCount != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("participantCount"), filter.maxParticipantCount));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static <T extends Comparable<T>> void checkRange(String name, T min, T max) {
+        if (min != null && max != null && min.compareTo(max) > 0) {
+            throw new IllegalArgumentException("Minimum " + name + " must not exceed the maximum.");
+        }
+    }
+}
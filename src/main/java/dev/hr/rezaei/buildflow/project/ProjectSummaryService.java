@@ -0,0 +1,76 @@
+package dev.hr.rezaei.buildflow.project;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Keeps the denormalized summary columns of {@link Project} (estimate count, estimate total, participant count)
+ * in step with its estimates, estimate lines and participants.
+ * <p>
+ * Services changing those call {@link #refreshBeforeCommit(UUID)}. Just before the transaction commits, each
+ * marked project row is locked, in ID order, and its summary recomputed by one statement from the project's own
+ * rows, in the same transaction as the change. Taking the row lock first makes concurrent transactions refresh one
+ * after the other, each seeing the changes committed before it, so the columns never drift the way incremental
+ * deltas could. Project lists then sort and filter on plain indexed columns.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProjectSummaryService {
+
+    private final ProjectRepository projectRepository;
+
+    /**
+     * Refresh the project's summary when the current transaction commits, or now when no transaction is active.
+     */
+    public void refreshBeforeCommit(@NonNull UUID projectId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh(List.of(projectId));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<UUID> pending = (Set<UUID>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<UUID> projectIds = new TreeSet<>();
+            pending = projectIds;
+            TransactionSynchronizationManager.bindResource(this, projectIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    refresh(projectIds);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ProjectSummaryService.this);
+                }
+            });
+        }
+        pending.add(projectId);
+    }
+
+    /**
+     * Recompute the summaries of the projects now, locking their rows in the given order.
+     */
+    @Transactional
+    public void refresh(@NonNull Iterable<UUID> projectIds) {
+        // Write pending changes first so the recomputation sees them
+        projectRepository.flush();
+        for (UUID projectId : projectIds) {
+            if (projectRepository.lockById(projectId).isPresent()) {
+                projectRepository.refreshSummary(projectId);
+                log.debug("Refreshed summary of project {}", projectId);
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package dev.hr.rezaei.buildflow.project;
+
+import java.time.Instant;
+
+/**
+ * Projection of a project with the latest change of its estimates and estimate lines, for the dashboard summary.
+ */
+public interface ProjectSummaryView {
+    Project getProject();
+
+    /**
+     * The latest update of any of the project's estimates, or null when it has none.
+     */
+    Instant getLastEstimateUpdatedAt();
+
+    /**
+     * The latest update of any line of the project's estimates, or null when it has none.
+     */
+    Instant getLastLineUpdatedAt();
+}
@@ -0,0 +1,58 @@
+package dev.hr.rezaei.buildflow.project;
+
+import dev.hr.rezaei.buildflow.base.UpdatableEntity;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.util.UUID;
+
+/**
+ * Named value of a project, such as {@code wall_area}, that estimate line quantity formulas refer to.
+ */
+@EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = false)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+@Entity
+@Table(name = "project_variables", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_project_variables_project_name", columnNames = {"project_id", "name"})
+})
+public class ProjectVariable extends UpdatableEntity {
+    @EqualsAndHashCode.Include
+    @Id
+    @GeneratedValue
+    @Column(nullable = false, updatable = false)
+    private UUID id;
+
+    // Unidirectional relationship: Many ProjectVariables belong to one Project, removed with it.
+    // Table: project_variables, Foreign Key: project_id
+    @NonNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "project_id", nullable = false, foreignKey = @ForeignKey(name = "fk_project_variables_project"))
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Project project;
+
+    @NonNull
+    @Column(nullable = false, length = 50)
+    private String name;
+
+    // VALUE is a reserved word in H2 and standard SQL
+    @Column(name = "variable_value", nullable = false)
+    private double value;
+
+    @Override
+    public String toString() {
+        return "ProjectVariable{" +
+                "id=" + id +
+                ", createdAt=" + getCreatedAt() +
+                ", lastUpdatedAt=" + getLastUpdatedAt() +
+                ", project.id=" + (project == null ? null : project.getId()) +
+                ", name='" + name + '\'' +
+                ", value=" + value +
+                '}';
+    }
+}
@@ -0,0 +1,18 @@
+package dev.hr.rezaei.buildflow.project;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * A named project value that estimate line quantity formulas refer to.
+ */
+@Schema(description = "Named project value referenced by estimate line quantity formulas")
+public record ProjectVariableDto(
+        @Schema(description = "Name of the variable", example = "wall_area")
+        String name,
+        @Schema(description = "Value of the variable", example = "182.5")
+        double value
+) {
+    public static ProjectVariableDto fromModel(ProjectVariable variable) {
+        return new ProjectVariableDto(variable.getName(), variable.getValue());
+    }
+}
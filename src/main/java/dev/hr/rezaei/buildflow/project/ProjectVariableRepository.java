@@ -0,0 +1,16 @@
+package dev.hr.rezaei.buildflow.project;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ProjectVariableRepository extends JpaRepository<ProjectVariable, UUID> {
+
+    List<ProjectVariable> findByProjectIdOrderByName(UUID projectId);
+
+    Optional<ProjectVariable> findByProjectIdAndName(UUID projectId, String name);
+}
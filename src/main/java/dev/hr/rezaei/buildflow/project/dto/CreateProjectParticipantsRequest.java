@@ -0,0 +1,35 @@
+package dev.hr.rezaei.buildflow.project.dto;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * CreateProjectParticipantsRequest representing request object for adding many participants to a project at once.
+ * <p>
+ * Note: Remember to update the documentation when making changes to this class.
+ * <ol>
+ *     <li>Project package documentation: "ProjectDtos.md"</li>
+ *     <li>Base package documentation: "../Dtos.md"</li>
+ * </ol>
+ * Instructions for updating the documentation: src/test/resources/instructions/*
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request object for adding many participants to a project at once")
+public class CreateProjectParticipantsRequest {
+
+    @ArraySchema(arraySchema = @Schema(description = "Participants to add, each with a distinct contact email (at most 100)"))
+    @NotEmpty(message = "At least one participant is required")
+    @Valid
+    private List<CreateProjectParticipantRequest> participants;
+}
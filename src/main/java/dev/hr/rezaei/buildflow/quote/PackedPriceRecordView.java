@@ -0,0 +1,25 @@
+package dev.hr.rezaei.buildflow.quote;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.UUID;
+
+/**
+ * Projection of the pricing fields of a valid quote, streamed into the {@link PackedPriceTable}.
+ */
+public interface PackedPriceRecordView {
+    UUID getId();
+
+    UUID getWorkItemId();
+
+    UUID getSupplierId();
+
+    QuoteUnit getUnit();
+
+    Currency getCurrency();
+
+    BigDecimal getUnitPrice();
+
+    Instant getLastUpdatedAt();
+}
@@ -0,0 +1,300 @@
+package dev.hr.rezaei.buildflow.quote;
+
+import lombok.NonNull;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Off-heap table of the pricing fields of valid quotes.
+ * <p>
+ * Every quote is a fixed-width record in a direct {@link ByteBuffer} segment, so millions of quotes
+ * add no objects to the Java heap. Records are reached through per work item postings of record
+ * slots held in primitive {@code int} arrays; slots of removed quotes are reused. Work item, supplier
+ * and currency identities are interned to small integers once.
+ * <p>
+ * Writers are serialized by a {@link StampedLock}. Price reads are optimistic, allocate nothing and
+ * retry under the read lock when a write raced with them.
+ * <p>
+ * Record layout (48 bytes):
+ * <pre>
+ *  0 int   work item index      16 long price in minor units
+ *  4 int   supplier index       24 long last updated, epoch millis
+ *  8 short unit ordinal         32 long quote ID, most significant bits
+ * 10 short currency index       40 long quote ID, least significant bits
+ * 12 int   flags
+ * </pre>
+ */
+public final class PackedPriceTable {
+
+    /**
+     * Returned by the price reads when no live record matches.
+     */
+    public static final long NO_PRICE = -1L;
+
+    static final int RECORD_BYTES = 48;
+    private static final int SEGMENT_SHIFT = 16;
+    private static final int SEGMENT_RECORDS = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = SEGMENT_RECORDS - 1;
+
+    private static final int WORK_ITEM = 0;
+    private static final int SUPPLIER = 4;
+    private static final int UNIT = 8;
+    private static final int CURRENCY = 10;
+    private static final int FLAGS = 12;
+    private static final int PRICE = 16;
+    private static final int TIMESTAMP = 24;
+    private static final int QUOTE_MSB = 32;
+    private static final int QUOTE_LSB = 40;
+
+    private static final int LIVE = 1;
+    private static final int ANY_UNIT = -1;
+
+    private static final int LOWEST = 0;
+    private static final int LATEST = 1;
+    private static final int AVERAGE = 2;
+
+    private final StampedLock lock = new StampedLock();
+    private final Map<UUID, Integer> workItemIndex = new ConcurrentHashMap<>();
+    private final Map<UUID, Integer> supplierIndex = new ConcurrentHashMap<>();
+    private final Map<Currency, Integer> currencyIndex = new ConcurrentHashMap<>();
+
+    private ByteBuffer[] segments = new ByteBuffer[0];
+    private int allocatedSlots;
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int[][] postings = new int[16][];
+    private int[] postingSizes = new int[16];
+    private int liveCount;
+
+    /**
+     * Add the pricing record of a valid quote.
+     * @param priceMinor unit price in minor units (cents)
+     * @param updatedAtMillis last update time of the quote, epoch millis
+     */
+    public void put(@NonNull UUID quoteId, @NonNull UUID workItemId, @NonNull UUID supplierId, @NonNull QuoteUnit unit,
+                    @NonNull Currency currency, long priceMinor, long updatedAtMillis) {
+        long stamp = lock.writeLock();
+        try {
+            int workItem = intern(workItemIndex, workItemId);
+            int slot = allocateSlot();
+            ByteBuffer segment = segments[slot >>> SEGMENT_SHIFT];
+            int offset = (slot & SEGMENT_MASK) * RECORD_BYTES;
+            segment.putInt(offset + WORK_ITEM, workItem);
+            segment.putInt(offset + SUPPLIER, intern(supplierIndex, supplierId));
+            segment.putShort(offset + UNIT, (short) unit.ordinal());
+            segment.putShort(offset + CURRENCY, (short) intern(currencyIndex, currency));
+            segment.putInt(offset + FLAGS, LIVE);
+            segment.putLong(offset + PRICE, priceMinor);
+            segment.putLong(offset + TIMESTAMP, updatedAtMillis);
+            segment.putLong(offset + QUOTE_MSB, quoteId.getMostSignificantBits());
+            segment.putLong(offset + QUOTE_LSB, quoteId.getLeastSignificantBits());
+            addPosting(workItem, slot);
+            liveCount++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Remove the record of a quote, if present, and release its slot.
+     * @return true if a record was removed
+     */
+    public boolean remove(@NonNull UUID quoteId, @NonNull UUID workItemId) {
+        long stamp = lock.writeLock();
+        try {
+            Integer workItem = workItemIndex.get(workItemId);
+            if (workItem == null || workItem >= postingSizes.length) {
+                return false;
+            }
+            int[] slots = postings[workItem];
+            int size = postingSizes[workItem];
+            for (int i = 0; i < size; i++) {
+                int slot = slots[i];
+                ByteBuffer segment = segments[slot >>> SEGMENT_SHIFT];
+                int offset = (slot & SEGMENT_MASK) * RECORD_BYTES;
+                if (segment.getLong(offset + QUOTE_MSB) == quoteId.getMostSignificantBits()
+                        && segment.getLong(offset + QUOTE_LSB) == quoteId.getLeastSignificantBits()) {
+                    segment.putInt(offset + FLAGS, 0);
+                    slots[i] = slots[size - 1];
+                    postingSizes[workItem] = size - 1;
+                    releaseSlot(slot);
+                    liveCount--;
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Lowest unit price of a work item's live quotes in minor units, or {@link #NO_PRICE}.
+     * @param unit unit to match, or null for any unit
+     */
+    public long lowestPriceMinor(@NonNull UUID workItemId, QuoteUnit unit, @NonNull Currency currency) {
+        return read(workItemId, unit, currency, LOWEST);
+    }
+
+    /**
+     * Unit price of a work item's most recently updated live quote in minor units, or {@link #NO_PRICE}.
+     * @param unit unit to match, or null for any unit
+     */
+    public long latestPriceMinor(@NonNull UUID workItemId, QuoteUnit unit, @NonNull Currency currency) {
+        return read(workItemId, unit, currency, LATEST);
+    }
+
+    /**
+     * Average unit price of a work item's live quotes in minor units, rounded half up, or {@link #NO_PRICE}.
+     * @param unit unit to match, or null for any unit
+     */
+    public long averagePriceMinor(@NonNull UUID workItemId, QuoteUnit unit, @NonNull Currency currency) {
+        return read(workItemId, unit, currency, AVERAGE);
+    }
+
+    /**
+     * Number of live records.
+     */
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return liveCount;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Off-heap bytes reserved by the record segments.
+     */
+    public long reservedBytes() {
+        long stamp = lock.readLock();
+        try {
+            return (long) segments.length * SEGMENT_RECORDS * RECORD_BYTES;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private long read(UUID workItemId, QuoteUnit unit, Currency currency, int mode) {
+        Integer workItem = workItemIndex.get(workItemId);
+        Integer currencyIdx = currencyIndex.get(currency);
+        if (workItem == null || currencyIdx == null) {
+            return NO_PRICE;
+        }
+        int unitOrdinal = unit == null ? ANY_UNIT : unit.ordinal();
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                long result = scan(workItem, unitOrdinal, currencyIdx, mode);
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (IndexOutOfBoundsException | NullPointerException e) {
+                // A concurrent write moved the postings; fall through to the locked read.
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return scan(workItem, unitOrdinal, currencyIdx, mode);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private long scan(int workItem, int unitOrdinal, int currencyIdx, int mode) {
+        int[] sizes = postingSizes;
+        int[][] lists = postings;
+        ByteBuffer[] segs = segments;
+        if (workItem >= sizes.length) {
+            return NO_PRICE;
+        }
+        int[] slots = lists[workItem];
+        int size = sizes[workItem];
+        long lowest = Long.MAX_VALUE;
+        long latestPrice = NO_PRICE;
+        long latestAt = Long.MIN_VALUE;
+        long sum = 0L;
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int slot = slots[i];
+            ByteBuffer segment = segs[slot >>> SEGMENT_SHIFT];
+            int offset = (slot & SEGMENT_MASK) * RECORD_BYTES;
+            if ((segment.getInt(offset + FLAGS) & LIVE) == 0
+                    || segment.getShort(offset + CURRENCY) != currencyIdx
+                    || (unitOrdinal != ANY_UNIT && segment.getShort(offset + UNIT) != unitOrdinal)) {
+                continue;
+            }
+            long price = segment.getLong(offset + PRICE);
+            count++;
+            sum += price;
+            if (price < lowest) {
+                lowest = price;
+            }
+            long at = segment.getLong(offset + TIMESTAMP);
+            if (at >= latestAt) {
+                latestAt = at;
+                latestPrice = price;
+            }
+        }
+        if (count == 0) {
+            return NO_PRICE;
+        }
+        return switch (mode) {
+            case LOWEST -> lowest;
+            case LATEST -> latestPrice;
+            default -> Math.floorDiv(sum * 2 + count, 2L * count);
+        };
+    }
+
+    private static <K> int intern(Map<K, Integer> index, K key) {
+        return index.computeIfAbsent(key, k -> index.size());
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        int slot = allocatedSlots++;
+        if ((slot >>> SEGMENT_SHIFT) >= segments.length) {
+            ByteBuffer[] grown = Arrays.copyOf(segments, segments.length + 1);
+            grown[segments.length] = ByteBuffer.allocateDirect(SEGMENT_RECORDS * RECORD_BYTES)
+                    .order(ByteOrder.nativeOrder());
+            segments = grown;
+        }
+        return slot;
+    }
+
+    private void releaseSlot(int slot) {
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    private void addPosting(int workItem, int slot) {
+        if (workItem >= postingSizes.length) {
+            int capacity = Math.max(postingSizes.length * 2, workItem + 1);
+            postings = Arrays.copyOf(postings, capacity);
+            postingSizes = Arrays.copyOf(postingSizes, capacity);
+        }
+        int[] slots = postings[workItem];
+        int size = postingSizes[workItem];
+        if (slots == null) {
+            slots = new int[4];
+            postings[workItem] = slots;
+        } else if (size == slots.length) {
+            slots = Arrays.copyOf(slots, size * 2);
+            postings[workItem] = slots;
+        }
+        slots[size] = slot;
+        postingSizes[workItem] = size + 1;
+    }
+}
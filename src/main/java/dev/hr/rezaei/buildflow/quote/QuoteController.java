@@ -2,6 +2,7 @@ package dev.hr.rezaei.buildflow.quote;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -11,15 +12,21 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
-import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+import static dev.hr.rezaei.buildflow.config.mvc.PagedResponseBuilder.build;
+import static dev.hr.rezaei.buildflow.quote.QuoteQueryConfig.LEADERBOARD_PAGINATION_HELPER;
+import static dev.hr.rezaei.buildflow.quote.QuoteQueryConfig.PAGINATION_HELPER;
+import static dev.hr.rezaei.buildflow.util.EnumUtil.fromString;
+
 @Slf4j
 @RestController
 @RequestMapping("/api/v1/quotes")
@@ -28,39 +35,104 @@ import java.util.UUID;
 public class QuoteController {
 
     private final QuoteService quoteService;
+    private final QuotePriceHistoryService quotePriceHistoryService;
+    private final SupplierPriceIndexService supplierPriceIndexService;
+    private final RegionalPriceIndexService regionalPriceIndexService;
 
-    @Operation(summary = "Get quotes by creator", description = "Retrieves all quotes created by a specific user with pagination")
+    @Operation(summary = "Get quotes by creator or supplier",
+            description = "Retrieves quotes created by (createdById) or supplied by (supplierId) a specific user with pagination. "
+                    + "Equivalent to /creator/{userId} and /supplier/{userId}.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Quotes retrieved successfully",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class))),
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = QuoteDto.class)))),
             @ApiResponse(responseCode = "400", description = "Invalid request parameters"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping
-    public ResponseEntity<Page<Quote>> getQuotesByCreator(
+    public ResponseEntity<List<QuoteDto>> getQuotesByCreator(
             @Parameter(description = "ID of the user who created the quotes")
             @RequestParam(required = false) UUID createdById,
             @Parameter(description = "ID of the supplier user")
             @RequestParam(required = false) UUID supplierId,
-            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable
+            @Parameter(description = "Page number (0-based, default: 0)")
+            @RequestParam(required = false) Integer page,
+            @Parameter(description = "Page size (default: 25)")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Sort specification (e.g., 'createdAt,DESC')")
+            @RequestParam(required = false) String[] sort,
+            @Parameter(description = "Order by field (alternative to sort)")
+            @RequestParam(required = false) String orderBy,
+            @Parameter(description = "Sort direction (ASC or DESC, used with orderBy)")
+            @RequestParam(required = false) String direction
     ) {
         if (createdById != null) {
-            log.info("Getting quotes created by user ID: {} with pagination: {}", createdById, pageable);
-            Page<Quote> quotes = quoteService.getQuotesByCreator(createdById, pageable);
-            log.info("Found {} quotes created by user ID: {}", quotes.getTotalElements(), createdById);
-            return ResponseEntity.ok(quotes);
+            return getQuotesCreatedBy(createdById, page, size, sort, orderBy, direction);
         } else if (supplierId != null) {
-            log.info("Getting quotes supplied by user ID: {} with pagination: {}", supplierId, pageable);
-            Page<Quote> quotes = quoteService.getQuotesBySupplier(supplierId, pageable);
-            log.info("Found {} quotes supplied by user ID: {}", quotes.getTotalElements(), supplierId);
-            return ResponseEntity.ok(quotes);
+            return getQuotesSuppliedBy(supplierId, page, size, sort, orderBy, direction);
         } else {
             log.warn("getQuotesByCreator called without createdById or supplierId parameter");
             return ResponseEntity.badRequest().build();
         }
     }
 
-    @Operation(summary = "Get quote counts by user", description = "Returns the count of quotes created and supplied by a specific user")
+    @Operation(summary = "Get quotes created by a user", description = "Retrieves quotes created by a specific user with pagination")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Quotes retrieved successfully",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = QuoteDto.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid request parameters")
+    })
+    @GetMapping("/creator/{userId}")
+    public ResponseEntity<List<QuoteDto>> getQuotesCreatedBy(
+            @Parameter(description = "ID of the user who created the quotes")
+            @PathVariable UUID userId,
+            @Parameter(description = "Page number (0-based, default: 0)")
+            @RequestParam(required = false) Integer page,
+            @Parameter(description = "Page size (default: 25)")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Sort specification (e.g., 'createdAt,DESC')")
+            @RequestParam(required = false) String[] sort,
+            @Parameter(description = "Order by field (alternative to sort)")
+            @RequestParam(required = false) String orderBy,
+            @Parameter(description = "Sort direction (ASC or DESC, used with orderBy)")
+            @RequestParam(required = false) String direction
+    ) {
+        Pageable pageable = PAGINATION_HELPER.createPageable(page, size, sort, orderBy, direction);
+        log.info("Getting quotes created by user ID: {} with pagination: {}", userId, pageable);
+        Page<QuoteDto> quotes = quoteService.getQuoteDtosByCreator(userId, pageable);
+        log.info("Found {} quotes created by user ID: {}", quotes.getTotalElements(), userId);
+        return build(quotes, "/api/v1/quotes/creator/" + userId);
+    }
+
+    @Operation(summary = "Get quotes supplied by a user", description = "Retrieves quotes supplied by a specific user with pagination")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Quotes retrieved successfully",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = QuoteDto.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid request parameters")
+    })
+    @GetMapping("/supplier/{userId}")
+    public ResponseEntity<List<QuoteDto>> getQuotesSuppliedBy(
+            @Parameter(description = "ID of the supplier user")
+            @PathVariable UUID userId,
+            @Parameter(description = "Page number (0-based, default: 0)")
+            @RequestParam(required = false) Integer page,
+            @Parameter(description = "Page size (default: 25)")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Sort specification (e.g., 'createdAt,DESC')")
+            @RequestParam(required = false) String[] sort,
+            @Parameter(description = "Order by field (alternative to sort)")
+            @RequestParam(required = false) String orderBy,
+            @Parameter(description = "Sort direction (ASC or DESC, used with orderBy)")
+            @RequestParam(required = false) String direction
+    ) {
+        Pageable pageable = PAGINATION_HELPER.createPageable(page, size, sort, orderBy, direction);
+        log.info("Getting quotes supplied by user ID: {} with pagination: {}", userId, pageable);
+        Page<QuoteDto> quotes = quoteService.getQuoteDtosBySupplier(userId, pageable);
+        log.info("Found {} quotes supplied by user ID: {}", quotes.getTotalElements(), userId);
+        return build(quotes, "/api/v1/quotes/supplier/" + userId);
+    }
+
+    @Operation(summary = "Get quote counts by user",
+            description = "Returns the number of quotes created and supplied by a specific user, plus valid and per-domain counts of created quotes")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Counts retrieved successfully"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
@@ -71,16 +143,129 @@ public class QuoteController {
             @PathVariable UUID userId
     ) {
         log.info("Getting quote counts for user ID: {}", userId);
-        
-        long createdCount = quoteService.countQuotesByCreator(userId);
-        long suppliedCount = quoteService.countQuotesBySupplier(userId);
-        
-        Map<String, Long> counts = new HashMap<>();
-        counts.put("createdCount", createdCount);
-        counts.put("suppliedCount", suppliedCount);
-        
-        log.info("User {} has created {} quotes and supplied {} quotes", userId, createdCount, suppliedCount);
-        
+        Map<String, Long> counts = quoteService.getQuoteCounts(userId);
+        log.info("User {} quote counts: {}", userId, counts);
         return ResponseEntity.ok(counts);
     }
+
+    @Operation(summary = "Get daily price history of a work item",
+            description = "Returns one min/avg/max/count point per day for a work item, unit and currency, "
+                    + "optionally narrowed to a supplier and region. Invalidated and deleted quotes remain in the history.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Price history retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid request parameters"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/price-history")
+    public ResponseEntity<List<QuotePricePointDto>> getPriceHistory(
+            @Parameter(description = "ID of the work item")
+            @RequestParam UUID workItemId,
+            @Parameter(description = "Unit of the quoted price", example = "SQUARE_METER")
+            @RequestParam String unit,
+            @Parameter(description = "ISO 4217 currency code", example = "CAD")
+            @RequestParam String currency,
+            @Parameter(description = "Inclusive start day (ISO date), defaults to one year before 'to'")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Inclusive end day (ISO date), defaults to today")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Optional supplier filter")
+            @RequestParam(required = false) UUID supplierId,
+            @Parameter(description = "Optional country filter")
+            @RequestParam(required = false) String country,
+            @Parameter(description = "Optional state or province filter")
+            @RequestParam(required = false) String stateOrProvince
+    ) {
+        QuoteUnit quoteUnit = fromString(QuoteUnit.class, unit);
+        if (quoteUnit == null) {
+            throw new IllegalArgumentException("Invalid quote unit: " + unit);
+        }
+        Currency quoteCurrency = Currency.getInstance(currency.trim().toUpperCase());
+
+        log.info("Getting price history for work item ID: {} in {} {} from {} to {}", workItemId, quoteUnit, quoteCurrency, from, to);
+        List<QuotePricePointDto> points = quotePriceHistoryService.getDailySeries(workItemId, quoteUnit, quoteCurrency,
+                from, to, supplierId, country, stateOrProvince);
+        log.info("Found {} price points for work item ID: {}", points.size(), workItemId);
+        return ResponseEntity.ok(points);
+    }
+
+    @Operation(summary = "Get supplier price leaderboard of a work item",
+            description = "Ranks suppliers of a work item by their valid quotes: latest price, average, quote count and price variance. "
+                    + "Sorted by average price ascending unless another sort is given.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Leaderboard retrieved successfully",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = SupplierPriceIndexDto.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid request parameters")
+    })
+    @GetMapping("/work-items/{workItemId}/suppliers")
+    public ResponseEntity<List<SupplierPriceIndexDto>> getSupplierLeaderboard(
+            @Parameter(description = "ID of the work item")
+            @PathVariable UUID workItemId,
+            @Parameter(description = "Optional unit filter", example = "SQUARE_METER")
+            @RequestParam(required = false) String unit,
+            @Parameter(description = "Optional ISO 4217 currency filter", example = "CAD")
+            @RequestParam(required = false) String currency,
+            @Parameter(description = "Page number (0-based, default: 0)")
+            @RequestParam(required = false) Integer page,
+            @Parameter(description = "Page size (default: 25)")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Sort specification (e.g., 'priceVariance,ASC')")
+            @RequestParam(required = false) String[] sort,
+            @Parameter(description = "Order by field (alternative to sort)")
+            @RequestParam(required = false) String orderBy,
+            @Parameter(description = "Sort direction (ASC or DESC, used with orderBy)")
+            @RequestParam(required = false) String direction
+    ) {
+        QuoteUnit quoteUnit = null;
+        if (unit != null) {
+            quoteUnit = fromString(QuoteUnit.class, unit);
+            if (quoteUnit == null) {
+                throw new IllegalArgumentException("Invalid quote unit: " + unit);
+            }
+        }
+        Currency quoteCurrency = currency != null ? Currency.getInstance(currency.trim().toUpperCase()) : null;
+        Pageable pageable = LEADERBOARD_PAGINATION_HELPER.createPageable(page, size, sort, orderBy, direction);
+
+        log.info("Getting supplier leaderboard for work item ID: {} with pagination: {}", workItemId, pageable);
+        Page<SupplierPriceIndex> leaderboard = supplierPriceIndexService.getLeaderboard(workItemId, quoteUnit, quoteCurrency, pageable);
+        return build(leaderboard, SupplierPriceIndexDtoMapper::fromSupplierPriceIndex,
+                "/api/v1/quotes/work-items/" + workItemId + "/suppliers");
+    }
+
+    @Operation(summary = "Get regional market price of a work item",
+            description = "Returns the average, minimum and maximum of valid quotes for a work item in the most specific "
+                    + "matching region: city, then state/province, then country.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Regional price found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = RegionalPriceDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request parameters"),
+            @ApiResponse(responseCode = "404", description = "No valid quotes in any matching region")
+    })
+    @GetMapping("/work-items/{workItemId}/regional-price")
+    public ResponseEntity<RegionalPriceDto> getRegionalPrice(
+            @Parameter(description = "ID of the work item")
+            @PathVariable UUID workItemId,
+            @Parameter(description = "Unit of the quoted price", example = "SQUARE_METER")
+            @RequestParam String unit,
+            @Parameter(description = "ISO 4217 currency code", example = "CAD")
+            @RequestParam String currency,
+            @Parameter(description = "Country", example = "Canada")
+            @RequestParam String country,
+            @Parameter(description = "Optional state or province", example = "ON")
+            @RequestParam(required = false) String stateOrProvince,
+            @Parameter(description = "Optional city", example = "Toronto")
+            @RequestParam(required = false) String city
+    ) {
+        QuoteUnit quoteUnit = fromString(QuoteUnit.class, unit);
+        if (quoteUnit == null) {
+            throw new IllegalArgumentException("Invalid quote unit: " + unit);
+        }
+        Currency quoteCurrency = Currency.getInstance(currency.trim().toUpperCase());
+
+        return regionalPriceIndexService.lookup(workItemId, quoteUnit, quoteCurrency, country, stateOrProvince, city)
+                .map(match -> ResponseEntity.ok(RegionalPriceDtoMapper.fromMatch(workItemId, match)))
+                .orElseGet(() -> {
+                    log.info("No regional price for work item ID: {} in {}/{}/{}", workItemId, country, stateOrProvince, city);
+                    return ResponseEntity.notFound().build();
+                });
+    }
 }
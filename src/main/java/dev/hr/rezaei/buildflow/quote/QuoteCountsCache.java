@@ -0,0 +1,66 @@
+package dev.hr.rezaei.buildflow.quote;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Short-lived per-user cache of dashboard quote counters.
+ * <p>
+ * Entries expire after {@link #TTL} and are evicted eagerly by quote writes for the creator and
+ * supplier involved, so a user sees their own changes immediately while repeated dashboard loads
+ * are served from memory.
+ */
+@Slf4j
+@Component
+public class QuoteCountsCache {
+
+    public static final Duration TTL = Duration.ofSeconds(30);
+
+    /**
+     * Above this many entries, expired entries are purged on insert.
+     */
+    public static final int PURGE_THRESHOLD = 10_000;
+
+    private final ConcurrentHashMap<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    public Map<String, Long> get(UUID userId, Function<UUID, Map<String, Long>> loader) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(userId);
+        if (entry != null && entry.expiresAt - now > 0) {
+            return entry.counts;
+        }
+
+        Map<String, Long> counts = Map.copyOf(loader.apply(userId));
+        if (entries.size() >= PURGE_THRESHOLD) {
+            purgeExpired(now);
+        }
+        entries.put(userId, new Entry(counts, now + TTL.toNanos()));
+        return counts;
+    }
+
+    public void evict(UUID... userIds) {
+        for (UUID userId : userIds) {
+            if (userId != null) {
+                entries.remove(userId);
+            }
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private void purgeExpired(long now) {
+        entries.values().removeIf(entry -> entry.expiresAt - now <= 0);
+        log.debug("Purged expired quote count entries, {} remaining", entries.size());
+    }
+
+    private record Entry(Map<String, Long> counts, long expiresAt) {
+    }
+}
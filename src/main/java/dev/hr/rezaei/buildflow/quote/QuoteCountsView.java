@@ -0,0 +1,17 @@
+package dev.hr.rezaei.buildflow.quote;
+
+/**
+ * Projection of all dashboard quote counters for one user, computed by a single grouped query.
+ * Sums are {@code null} when the user has no quotes at all.
+ */
+public interface QuoteCountsView {
+    Long getCreatedCount();
+
+    Long getSuppliedCount();
+
+    Long getValidCount();
+
+    Long getPublicCount();
+
+    Long getPrivateCount();
+}
@@ -30,6 +30,31 @@ public class QuoteDtoMapper {
                 .build();
     }
 
+    public static QuoteDto fromQuoteView(QuoteView view) {
+        if (view == null) return null;
+        return QuoteDto.builder()
+                .id(view.getId())
+                .workItemId(view.getWorkItemId())
+                .createdByUserId(view.getCreatedById())
+                .supplierId(view.getSupplierId())
+                .quoteUnit(view.getUnit().name())
+                .unitPrice(view.getUnitPrice())
+                .currency(view.getCurrency().getCurrencyCode())
+                .quoteDomain(view.getDomain().name())
+                .locationDto(QuoteLocationDto.builder()
+                        .id(view.getLocationId())
+                        .unitNumber(view.getUnitNumber())
+                        .streetNumberAndName(view.getStreetNumberAndName())
+                        .city(view.getCity())
+                        .stateOrProvince(view.getStateOrProvince())
+                        .postalOrZipCode(view.getPostalOrZipCode())
+                        .country(view.getCountry())
+                        .build())
+                .valid(view.isValid())
+                .createdAt(UpdatableEntityDtoMapper.toString(view.getCreatedAt()))
+                .lastUpdatedAt(UpdatableEntityDtoMapper.toString(view.getLastUpdatedAt()))
+                .build();
+    }
 
     public static Quote toQuote(@NonNull QuoteDto dto, WorkItem workItem, User createdBy, User supplier) {
         try {
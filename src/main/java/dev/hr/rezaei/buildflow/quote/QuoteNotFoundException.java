@@ -0,0 +1,15 @@
+package dev.hr.rezaei.buildflow.quote;
+
+public class QuoteNotFoundException extends RuntimeException {
+    public QuoteNotFoundException(String message) {
+        super(message);
+    }
+
+    public QuoteNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public QuoteNotFoundException(Throwable cause) {
+        super(cause);
+    }
+}
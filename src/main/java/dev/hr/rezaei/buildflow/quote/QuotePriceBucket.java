@@ -0,0 +1,19 @@
+package dev.hr.rezaei.buildflow.quote;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Projection of {@link QuotePriceHistory} rows rolled up to one point per day.
+ */
+public interface QuotePriceBucket {
+    LocalDate getBucketDate();
+
+    BigDecimal getMinPrice();
+
+    BigDecimal getMaxPrice();
+
+    BigDecimal getPriceSum();
+
+    Long getSampleCount();
+}
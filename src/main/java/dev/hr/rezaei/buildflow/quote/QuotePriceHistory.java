@@ -0,0 +1,78 @@
+package dev.hr.rezaei.buildflow.quote;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.UUID;
+
+/**
+ * One daily price bucket for a work item, unit and currency, split by supplier and region.
+ * <p>
+ * Buckets are append-only aggregates of every valid quote price observed on that day. They
+ * reference work items and suppliers by plain ids (no foreign keys) so the history survives
+ * quote invalidation and deletion.
+ */
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "quote_price_history",
+        uniqueConstraints = @UniqueConstraint(name = "uk_quote_price_history_bucket",
+                columnNames = {"work_item_id", "unit", "currency", "bucket_date", "supplier_id", "country", "state_or_province"}),
+        indexes = @Index(name = "idx_quote_price_history_series", columnList = "work_item_id, unit, currency, bucket_date"))
+public class QuotePriceHistory {
+    @EqualsAndHashCode.Include
+    @Id
+    @GeneratedValue
+    @Column(nullable = false, updatable = false)
+    private UUID id;
+
+    @NonNull
+    @Column(name = "work_item_id", nullable = false, updatable = false)
+    private UUID workItemId;
+
+    @NonNull
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30, nullable = false, updatable = false)
+    private QuoteUnit unit;
+
+    @NonNull
+    @Column(nullable = false, updatable = false)
+    private Currency currency;
+
+    @NonNull
+    @Column(name = "bucket_date", nullable = false, updatable = false)
+    private LocalDate bucketDate;
+
+    @NonNull
+    @Column(name = "supplier_id", nullable = false, updatable = false)
+    private UUID supplierId;
+
+    // Empty string when the quote location has no country, so the unique key stays comparable.
+    @NonNull
+    @Builder.Default
+    @Column(length = 100, nullable = false, updatable = false)
+    private String country = "";
+
+    @NonNull
+    @Builder.Default
+    @Column(name = "state_or_province", length = 100, nullable = false, updatable = false)
+    private String stateOrProvince = "";
+
+    @Column(precision = 17, scale = 2, nullable = false)
+    private BigDecimal minPrice;
+
+    @Column(precision = 17, scale = 2, nullable = false)
+    private BigDecimal maxPrice;
+
+    @Column(precision = 24, scale = 2, nullable = false)
+    private BigDecimal priceSum;
+
+    @Column(nullable = false)
+    private long sampleCount;
+}
@@ -0,0 +1,86 @@
+package dev.hr.rezaei.buildflow.quote;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface QuotePriceHistoryRepository extends JpaRepository<QuotePriceHistory, UUID> {
+
+    /**
+     * Folds one observed price into its daily bucket, creating the bucket on first use. A single
+     * MERGE, so concurrent writers of the same bucket never race on {@code uk_quote_price_history_bucket}.
+     * @return number of buckets written (always 1)
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            MERGE INTO quote_price_history h
+            USING (VALUES (CAST(:workItemId AS UUID), CAST(:unit AS VARCHAR(30)), CAST(:currency AS VARCHAR(3)),
+                           CAST(:bucketDate AS DATE), CAST(:supplierId AS UUID), CAST(:country AS VARCHAR(100)),
+                           CAST(:stateOrProvince AS VARCHAR(100)), CAST(:price AS DECIMAL(17, 2))))
+                  AS s(work_item_id, unit, currency, bucket_date, supplier_id, country, state_or_province, price)
+               ON h.work_item_id = s.work_item_id
+              AND h.unit = s.unit
+              AND h.currency = s.currency
+              AND h.bucket_date = s.bucket_date
+              AND h.supplier_id = s.supplier_id
+              AND h.country = s.country
+              AND h.state_or_province = s.state_or_province
+            WHEN MATCHED THEN UPDATE SET
+                   min_price = LEAST(h.min_price, s.price),
+                   max_price = GREATEST(h.max_price, s.price),
+                   price_sum = h.price_sum + s.price,
+                   sample_count = h.sample_count + 1
+            WHEN NOT MATCHED THEN INSERT
+                   (id, work_item_id, unit, currency, bucket_date, supplier_id, country, state_or_province,
+                    min_price, max_price, price_sum, sample_count)
+                   VALUES (RANDOM_UUID(), s.work_item_id, s.unit, s.currency, s.bucket_date, s.supplier_id,
+                           s.country, s.state_or_province, s.price, s.price, s.price, 1)
+            """)
+    int upsertBucket(@Param("workItemId") UUID workItemId,
+                     @Param("unit") String unit,
+                     @Param("currency") String currency,
+                     @Param("bucketDate") LocalDate bucketDate,
+                     @Param("supplierId") UUID supplierId,
+                     @Param("country") String country,
+                     @Param("stateOrProvince") String stateOrProvince,
+                     @Param("price") BigDecimal price);
+
+    /**
+     * Rolls daily buckets up to one point per day for a work item series, optionally narrowed
+     * to a supplier and/or region. Reads at most one row per bucket in the requested range.
+     */
+    @Query("""
+            select h.bucketDate as bucketDate,
+                   min(h.minPrice) as minPrice,
+                   max(h.maxPrice) as maxPrice,
+                   sum(h.priceSum) as priceSum,
+                   sum(h.sampleCount) as sampleCount
+              from QuotePriceHistory h
+             where h.workItemId = :workItemId
+               and h.unit = :unit
+               and h.currency = :currency
+               and h.bucketDate between :from and :to
+               and (:supplierId is null or h.supplierId = :supplierId)
+               and (:country is null or h.country = :country)
+               and (:stateOrProvince is null or h.stateOrProvince = :stateOrProvince)
+             group by h.bucketDate
+             order by h.bucketDate
+            """)
+    List<QuotePriceBucket> findDailySeries(@Param("workItemId") UUID workItemId,
+                                           @Param("unit") QuoteUnit unit,
+                                           @Param("currency") Currency currency,
+                                           @Param("from") LocalDate from,
+                                           @Param("to") LocalDate to,
+                                           @Param("supplierId") UUID supplierId,
+                                           @Param("country") String country,
+                                           @Param("stateOrProvince") String stateOrProvince);
+}
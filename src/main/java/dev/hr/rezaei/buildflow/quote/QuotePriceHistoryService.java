@@ -0,0 +1,111 @@
+package dev.hr.rezaei.buildflow.quote;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Maintains the daily price history of quotes and serves chart series from it.
+ * <p>
+ * Every valid quote write is folded into a (work item, unit, currency, supplier, region, day)
+ * bucket. Buckets are never decremented, so invalidating or deleting a quote keeps its price in
+ * the history.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class QuotePriceHistoryService {
+
+    /**
+     * Maximum span of a chart request, in days. Keeps a series at a few hundred points.
+     */
+    public static final int MAX_RANGE_DAYS = 731;
+
+    /**
+     * Span used when the caller does not provide a start date.
+     */
+    public static final int DEFAULT_RANGE_DAYS = 365;
+
+    private final QuotePriceHistoryRepository quotePriceHistoryRepository;
+
+    /**
+     * Records the price of a valid quote in the bucket of the day it was last written.
+     * Invalid quotes are ignored.
+     */
+    @Transactional
+    public void record(@NonNull Quote quote) {
+        if (!quote.isValid() || quote.getUnitPrice() == null || quote.getUnit() == null) {
+            return;
+        }
+        Instant observedAt = quote.getLastUpdatedAt() != null ? quote.getLastUpdatedAt() : Instant.now();
+        LocalDate bucketDate = LocalDate.ofInstant(observedAt, ZoneOffset.UTC);
+        UUID workItemId = quote.getWorkItem().getId();
+        UUID supplierId = quote.getSupplier().getId();
+        String country = regionKey(quote.getLocation() != null ? quote.getLocation().getCountry() : null);
+        String stateOrProvince = regionKey(quote.getLocation() != null ? quote.getLocation().getStateOrProvince() : null);
+        BigDecimal price = quote.getUnitPrice();
+
+        quotePriceHistoryRepository.upsertBucket(workItemId, quote.getUnit().name(),
+                quote.getCurrency().getCurrencyCode(), bucketDate, supplierId, country, stateOrProvince, price);
+        log.debug("Recorded price {} {} for work item {} on {}", price, quote.getCurrency(), workItemId, bucketDate);
+    }
+
+    /**
+     * Returns one min/avg/max/count point per day for a work item series.
+     * @param from inclusive start day, defaults to {@link #DEFAULT_RANGE_DAYS} before {@code to}
+     * @param to inclusive end day, defaults to today (UTC)
+     * @param supplierId optional supplier filter
+     * @param country optional region filter
+     * @param stateOrProvince optional region filter
+     */
+    @Transactional(readOnly = true)
+    public List<QuotePricePointDto> getDailySeries(@NonNull UUID workItemId, @NonNull QuoteUnit unit,
+                                                   @NonNull Currency currency, LocalDate from, LocalDate to,
+                                                   UUID supplierId, String country, String stateOrProvince) {
+        LocalDate end = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS);
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("'from' date must not be after 'to' date.");
+        }
+        if (ChronoUnit.DAYS.between(start, end) > MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Price history range must not exceed " + MAX_RANGE_DAYS + " days.");
+        }
+
+        return quotePriceHistoryRepository.findDailySeries(workItemId, unit, currency, start, end, supplierId,
+                        country != null ? regionKey(country) : null,
+                        stateOrProvince != null ? regionKey(stateOrProvince) : null)
+                .stream()
+                .map(QuotePriceHistoryService::toPricePoint)
+                .toList();
+    }
+
+    private static QuotePricePointDto toPricePoint(QuotePriceBucket bucket) {
+        long count = bucket.getSampleCount() != null ? bucket.getSampleCount() : 0L;
+        BigDecimal avg = count == 0
+                ? null
+                : bucket.getPriceSum().divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+        return QuotePricePointDto.builder()
+                .date(bucket.getBucketDate())
+                .minPrice(bucket.getMinPrice())
+                .avgPrice(avg)
+                .maxPrice(bucket.getMaxPrice())
+                .count(count)
+                .build();
+    }
+
+    private static String regionKey(String value) {
+        return value == null ? "" : value.trim();
+    }
+}
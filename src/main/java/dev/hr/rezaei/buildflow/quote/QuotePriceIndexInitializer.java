@@ -0,0 +1,35 @@
+package dev.hr.rezaei.buildflow.quote;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the quote price indexes at startup.
+ * <p>
+ * The in-memory regional index and the off-heap packed price table are always built. The materialized supplier index is only rebuilt
+ * when it is empty while valid quotes exist, e.g. on the first start after the table was introduced. Runs once every singleton is
+ * created, before the web server starts, so no request reads an index that is still being built.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QuotePriceIndexInitializer implements SmartInitializingSingleton {
+
+    private final QuoteRepository quoteRepository;
+    private final SupplierPriceIndexRepository supplierPriceIndexRepository;
+    private final SupplierPriceIndexService supplierPriceIndexService;
+    private final RegionalPriceIndexService regionalPriceIndexService;
+    private final QuotePriceTableService quotePriceTableService;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        regionalPriceIndexService.rebuild();
+        quotePriceTableService.rebuild();
+        if (supplierPriceIndexRepository.count() == 0 && quoteRepository.existsByValidTrue()) {
+            log.info("Supplier price index is empty, rebuilding from valid quotes");
+            supplierPriceIndexService.rebuild();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package dev.hr.rezaei.buildflow.quote;
+
+import java.util.Currency;
+import java.util.UUID;
+
+/**
+ * The pricing-relevant identity of a quote: what was priced, by whom, in which unit, currency and region.
+ * Used by the price indexes to find the aggregates a quote contributes to.
+ */
+public record QuotePriceKey(UUID workItemId,
+                            UUID supplierId,
+                            QuoteUnit unit,
+                            Currency currency,
+                            String city,
+                            String stateOrProvince,
+                            String country) {
+
+    public static QuotePriceKey of(Quote quote) {
+        QuoteLocation location = quote.getLocation();
+        return new QuotePriceKey(
+                quote.getWorkItem().getId(),
+                quote.getSupplier().getId(),
+                quote.getUnit(),
+                quote.getCurrency(),
+                location != null ? location.getCity() : null,
+                location != null ? location.getStateOrProvince() : null,
+                location != null ? location.getCountry() : null);
+    }
+}
@@ -0,0 +1,32 @@
+package dev.hr.rezaei.buildflow.quote;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Daily aggregated quote price point")
+public class QuotePricePointDto {
+    @Schema(description = "Day of the bucket (UTC)", example = "2025-01-15")
+    private LocalDate date;
+
+    @Schema(description = "Lowest unit price quoted on that day", example = "12.50")
+    private BigDecimal minPrice;
+
+    @Schema(description = "Average unit price quoted on that day", example = "14.75")
+    private BigDecimal avgPrice;
+
+    @Schema(description = "Highest unit price quoted on that day", example = "17.00")
+    private BigDecimal maxPrice;
+
+    @Schema(description = "Number of quotes observed on that day", example = "4")
+    private long count;
+}
@@ -0,0 +1,13 @@
+package dev.hr.rezaei.buildflow.quote;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection of the stored unit price and validity of a quote, read before an update to decide whether the
+ * update adds a point to the price history.
+ */
+public interface QuotePriceStateView {
+    BigDecimal getUnitPrice();
+
+    boolean isValid();
+}
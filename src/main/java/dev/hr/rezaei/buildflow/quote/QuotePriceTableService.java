@@ -0,0 +1,172 @@
+package dev.hr.rezaei.buildflow.quote;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static dev.hr.rezaei.buildflow.util.TransactionUtil.afterCommit;
+
+/**
+ * Keeps the off-heap {@link PackedPriceTable} of valid quotes in step with the database.
+ * <p>
+ * The table is rebuilt at startup by streaming the valid quotes into a fresh table that is then
+ * swapped in. Quote writes are applied after their transaction commits; writes applied while a rebuild
+ * is streaming are also buffered and replayed onto the fresh table before the swap, so none is lost.
+ * Price reads return minor units (cents) or {@link PackedPriceTable#NO_PRICE} and allocate nothing.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class QuotePriceTableService {
+
+    private final QuoteRepository quoteRepository;
+
+    private volatile PackedPriceTable table = new PackedPriceTable();
+    private List<Consumer<PackedPriceTable>> pendingWrites;
+
+    /**
+     * Add a newly created valid quote once the surrounding transaction commits.
+     */
+    public void onQuoteCreated(@NonNull Quote quote) {
+        if (!quote.isValid()) {
+            return;
+        }
+        Consumer<PackedPriceTable> put = putAction(quote);
+        afterCommit(() -> apply(put));
+    }
+
+    /**
+     * Replace the record of an updated quote once the surrounding transaction commits.
+     * @param previous the price key of the quote before the update
+     */
+    public void onQuoteUpdated(@NonNull QuotePriceKey previous, @NonNull Quote quote) {
+        UUID quoteId = quote.getId();
+        Consumer<PackedPriceTable> put = quote.isValid() ? putAction(quote) : null;
+        afterCommit(() -> apply(target -> {
+            target.remove(quoteId, previous.workItemId());
+            if (put != null) {
+                put.accept(target);
+            }
+        }));
+    }
+
+    /**
+     * Drop an invalidated or deleted quote once the surrounding transaction commits.
+     */
+    public void onQuoteRemoved(@NonNull Quote quote) {
+        UUID quoteId = quote.getId();
+        UUID workItemId = quote.getWorkItem().getId();
+        afterCommit(() -> apply(target -> target.remove(quoteId, workItemId)));
+    }
+
+    /**
+     * Lowest unit price of a work item in minor units, or {@link PackedPriceTable#NO_PRICE}.
+     * @param unit unit to match, or null for any unit
+     */
+    public long lowestPriceMinor(@NonNull UUID workItemId, QuoteUnit unit, @NonNull Currency currency) {
+        return table.lowestPriceMinor(workItemId, unit, currency);
+    }
+
+    /**
+     * Unit price of a work item's most recently updated quote in minor units, or {@link PackedPriceTable#NO_PRICE}.
+     * @param unit unit to match, or null for any unit
+     */
+    public long latestPriceMinor(@NonNull UUID workItemId, QuoteUnit unit, @NonNull Currency currency) {
+        return table.latestPriceMinor(workItemId, unit, currency);
+    }
+
+    /**
+     * Average unit price of a work item in minor units, or {@link PackedPriceTable#NO_PRICE}.
+     * @param unit unit to match, or null for any unit
+     */
+    public long averagePriceMinor(@NonNull UUID workItemId, QuoteUnit unit, @NonNull Currency currency) {
+        return table.averagePriceMinor(workItemId, unit, currency);
+    }
+
+    /**
+     * Rebuild the table from the valid quotes and swap it in. Writes applied while the rebuild streams are
+     * replayed onto the new table first, whether or not the stream already saw them.
+     * @return number of quotes in the new table
+     */
+    @Transactional(readOnly = true)
+    public int rebuild() {
+        synchronized (this) {
+            pendingWrites = new ArrayList<>();
+        }
+        PackedPriceTable next = new PackedPriceTable();
+        try (Stream<PackedPriceRecordView> rows = quoteRepository.streamValidPriceRecords()) {
+            rows.forEach(row -> next.put(row.getId(), row.getWorkItemId(), row.getSupplierId(), row.getUnit(),
+                    row.getCurrency(), toMinor(row.getUnitPrice()), toMillis(row.getLastUpdatedAt())));
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pendingWrites = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            pendingWrites.forEach(write -> write.accept(next));
+            pendingWrites = null;
+            table = next;
+        }
+        log.info("Rebuilt packed price table with {} quotes ({} bytes off-heap)", next.size(), next.reservedBytes());
+        return next.size();
+    }
+
+    /**
+     * Convert a price to minor units (cents), rounding half up.
+     */
+    public static long toMinor(@NonNull BigDecimal price) {
+        return price.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Convert minor units (cents) back to a price.
+     */
+    public static BigDecimal fromMinor(long minor) {
+        return BigDecimal.valueOf(minor, 2);
+    }
+
+    /**
+     * Apply a write to the live table, and buffer it for replay while a rebuild is streaming.
+     */
+    private synchronized void apply(Consumer<PackedPriceTable> write) {
+        write.accept(table);
+        if (pendingWrites != null) {
+            pendingWrites.add(write);
+        }
+    }
+
+    /**
+     * Put the record of a valid quote, replacing any record it already has, so a replayed write never
+     * duplicates a quote the rebuild stream already loaded.
+     */
+    private static Consumer<PackedPriceTable> putAction(Quote quote) {
+        UUID quoteId = quote.getId();
+        UUID workItemId = quote.getWorkItem().getId();
+        UUID supplierId = quote.getSupplier().getId();
+        QuoteUnit unit = quote.getUnit();
+        Currency currency = quote.getCurrency();
+        long priceMinor = toMinor(quote.getUnitPrice());
+        long updatedAt = toMillis(quote.getLastUpdatedAt());
+        return target -> {
+            target.remove(quoteId, workItemId);
+            target.put(quoteId, workItemId, supplierId, unit, currency, priceMinor, updatedAt);
+        };
+    }
+
+    private static long toMillis(Instant instant) {
+        return instant != null ? instant.toEpochMilli() : 0L;
+    }
+}
@@ -0,0 +1,93 @@
+package dev.hr.rezaei.buildflow.quote;
+
+import dev.hr.rezaei.buildflow.config.mvc.PaginationHelper;
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
+
+/**
+ * Centralized query configuration for Quote listing endpoints.
+ * 
+ * Usage in controllers:
+ * <pre>
+ * Pageable pageable = QuoteQueryConfig.PAGINATION_HELPER.createPageable(
+ *     page, size, sort, orderBy, direction
+ * );
+ * Page&lt;QuoteDto&gt; results = quoteService.getQuoteDtosByCreator(userId, pageable);
+ * </pre>
+ */
+public final class QuoteQueryConfig {
+
+    /**
+     * Fields that are allowed for sorting in quote queries.
+     * Prevents SQL injection by whitelisting valid sort fields.
+     */
+    public static final Set<String> SORTABLE_FIELDS = Set.of(
+        "createdAt",
+        "lastUpdatedAt",
+        "unitPrice"
+    );
+
+    /**
+     * Default field to sort by when no sort parameter is provided.
+     */
+    public static final String DEFAULT_SORT_FIELD = "createdAt";
+
+    /**
+     * Default sort direction when no direction is specified.
+     */
+    public static final Sort.Direction DEFAULT_SORT_DIRECTION = Sort.Direction.DESC;
+
+    /**
+     * Default page size for paginated queries.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 25;
+
+    /**
+     * Shared PaginationHelper instance configured with quote-specific defaults.
+     */
+    public static final PaginationHelper PAGINATION_HELPER = new PaginationHelper(
+        SORTABLE_FIELDS,
+        DEFAULT_SORT_FIELD,
+        DEFAULT_SORT_DIRECTION
+    );
+
+    // ========================================
+    // Supplier Leaderboard Configuration
+    // ========================================
+
+    /**
+     * Fields that are allowed for sorting the supplier price leaderboard of a work item.
+     */
+    public static final Set<String> LEADERBOARD_SORTABLE_FIELDS = Set.of(
+        "avgPrice",
+        "priceVariance",
+        "latestPrice",
+        "latestQuotedAt",
+        "quoteCount"
+    );
+
+    /**
+     * Cheapest suppliers first by default.
+     */
+    public static final String LEADERBOARD_DEFAULT_SORT_FIELD = "avgPrice";
+
+    public static final Sort.Direction LEADERBOARD_DEFAULT_SORT_DIRECTION = Sort.Direction.ASC;
+
+    /**
+     * Shared PaginationHelper instance for the supplier leaderboard.
+     */
+    public static final PaginationHelper LEADERBOARD_PAGINATION_HELPER = new PaginationHelper(
+        LEADERBOARD_SORTABLE_FIELDS,
+        LEADERBOARD_DEFAULT_SORT_FIELD,
+        LEADERBOARD_DEFAULT_SORT_DIRECTION
+    );
+
+    /**
+     * Private constructor prevents instantiation.
+     * This is a utility class with only static members.
+     */
+    private QuoteQueryConfig() {
+        throw new AssertionError("QuoteQueryConfig is a utility class and should not be instantiated");
+    }
+}
@@ -1,14 +1,64 @@
 package dev.hr.rezaei.buildflow.quote;
 
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface QuoteRepository extends JpaRepository<Quote, UUID> {
+
+    String VIEW_SELECT = """
+            select q.id as id,
+                   q.workItem.id as workItemId,
+                   q.createdBy.id as createdById,
+                   q.supplier.id as supplierId,
+                   q.unit as unit,
+                   q.unitPrice as unitPrice,
+                   q.currency as currency,
+                   q.domain as domain,
+                   q.valid as valid,
+                   q.createdAt as createdAt,
+                   q.lastUpdatedAt as lastUpdatedAt,
+                   l.id as locationId,
+                   l.unitNumber as unitNumber,
+                   l.streetNumberAndName as streetNumberAndName,
+                   l.city as city,
+                   l.stateOrProvince as stateOrProvince,
+                   l.postalOrZipCode as postalOrZipCode,
+                   l.country as country
+              from Quote q
+              join q.location l
+            """;
+
+    /**
+     * Find quote views created by a specific user, selecting only the columns needed for the DTO in one query.
+     * @param createdById the UUID of the user who created the quotes
+     * @param pageable pagination information
+     * @return paginated list of quote views
+     */
+    @Query(value = VIEW_SELECT + " where q.createdBy.id = :createdById",
+            countQuery = "select count(q) from Quote q where q.createdBy.id = :createdById")
+    Page<QuoteView> findViewsByCreatedById(@Param("createdById") UUID createdById, Pageable pageable);
+
+    /**
+     * Find quote views supplied by a specific user, selecting only the columns needed for the DTO in one query.
+     * @param supplierId the UUID of the supplier user
+     * @param pageable pagination information
+     * @return paginated list of quote views
+     */
+    @Query(value = VIEW_SELECT + " where q.supplier.id = :supplierId",
+            countQuery = "select count(q) from Quote q where q.supplier.id = :supplierId")
+    Page<QuoteView> findViewsBySupplierId(@Param("supplierId") UUID supplierId, Pageable pageable);
     
     /**
      * Find all quotes created by a specific user.
@@ -39,5 +89,94 @@ public interface QuoteRepository extends JpaRepository<Quote, UUID> {
      * @return count of quotes supplied by the user
      */
     long countBySupplierId(UUID supplierId);
-}
 
+    /**
+     * Compute every dashboard counter for a user in one grouped pass over their quotes.
+     * Validity and domain counters refer to quotes created by the user.
+     * @param userId the UUID of the user
+     * @return created, supplied, valid and per-domain counts
+     */
+    @Query("""
+            select sum(case when q.createdBy.id = :userId then 1 else 0 end) as createdCount,
+                   sum(case when q.supplier.id = :userId then 1 else 0 end) as suppliedCount,
+                   sum(case when q.createdBy.id = :userId and q.valid = true then 1 else 0 end) as validCount,
+                   sum(case when q.createdBy.id = :userId
+                            and q.domain = dev.hr.rezaei.buildflow.quote.QuoteDomain.PUBLIC then 1 else 0 end) as publicCount,
+                   sum(case when q.createdBy.id = :userId
+                            and q.domain = dev.hr.rezaei.buildflow.quote.QuoteDomain.PRIVATE then 1 else 0 end) as privateCount
+              from Quote q
+             where q.createdBy.id = :userId or q.supplier.id = :userId
+            """)
+    QuoteCountsView countStatisticsByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Read the price key of a quote as currently stored in the database. Does not flush pending
+     * changes first, so it returns the pre-update key even when the managed quote was already modified.
+     * @param id the UUID of the quote
+     * @return the stored price key, if the quote exists
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.flushMode", value = "COMMIT"))
+    @Query("""
+            select new dev.hr.rezaei.buildflow.quote.QuotePriceKey(
+                   q.workItem.id, q.supplier.id, q.unit, q.currency, l.city, l.stateOrProvince, l.country)
+              from Quote q
+              join q.location l
+             where q.id = :id
+            """)
+    Optional<QuotePriceKey> findPriceKeyById(@Param("id") UUID id);
+
+    /**
+     * Read the unit price and validity of a quote as currently stored in the database, without flushing
+     * pending changes.
+     * @param id the UUID of the quote
+     * @return the stored price state, if the quote exists
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.flushMode", value = "COMMIT"))
+    @Query("select q.unitPrice as unitPrice, q.valid as valid from Quote q where q.id = :id")
+    Optional<QuotePriceStateView> findPriceStateById(@Param("id") UUID id);
+
+    /**
+     * Check whether any valid quote exists.
+     */
+    boolean existsByValidTrue();
+
+    /**
+     * Aggregate valid quote prices per work item, unit, currency and city, optionally for one work item only.
+     * @param workItemId the work item to aggregate, or null for all work items
+     */
+    @Query("""
+            select q.workItem.id as workItemId,
+                   q.unit as unit,
+                   q.currency as currency,
+                   l.country as country,
+                   l.stateOrProvince as stateOrProvince,
+                   l.city as city,
+                   count(q) as quoteCount,
+                   sum(q.unitPrice) as priceSum,
+                   min(q.unitPrice) as minPrice,
+                   max(q.unitPrice) as maxPrice
+              from Quote q
+              join q.location l
+             where q.valid = true
+               and (:workItemId is null or q.workItem.id = :workItemId)
+             group by q.workItem.id, q.unit, q.currency, l.country, l.stateOrProvince, l.city
+            """)
+    List<RegionalPriceView> aggregateValidPricesByCity(@Param("workItemId") UUID workItemId);
+
+    /**
+     * Stream the pricing fields of all valid quotes. Must be consumed inside a transaction and closed.
+     */
+    @Query("""
+            select q.id as id,
+                   q.workItem.id as workItemId,
+                   q.supplier.id as supplierId,
+                   q.unit as unit,
+                   q.currency as currency,
+                   q.unitPrice as unitPrice,
+                   q.lastUpdatedAt as lastUpdatedAt
+              from Quote q
+             where q.valid = true
+            """)
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    Stream<PackedPriceRecordView> streamValidPriceRecords();
+}
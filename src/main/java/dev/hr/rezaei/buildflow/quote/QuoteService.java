@@ -1,17 +1,122 @@
 package dev.hr.rezaei.buildflow.quote;
 
+import dev.hr.rezaei.buildflow.util.TransactionUtil;
+import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class QuoteService {
     
     private final QuoteRepository quoteRepository;
+    private final QuotePriceHistoryService quotePriceHistoryService;
+    private final QuoteCountsCache quoteCountsCache;
+    private final SupplierPriceIndexService supplierPriceIndexService;
+    private final RegionalPriceIndexService regionalPriceIndexService;
+    private final QuotePriceTableService quotePriceTableService;
+
+    /**
+     * Create a new quote and record its price in the price history when it is valid.
+     * @param quote the quote to persist, must not have an ID
+     * @return the persisted quote
+     */
+    @Transactional
+    public Quote createQuote(@NonNull Quote quote) {
+        if (quote.getId() != null) {
+            throw new IllegalArgumentException("Quote must not have an ID when being created.");
+        }
+        Instant now = Instant.now();
+        quote.setCreatedAt(now);
+        quote.setLastUpdatedAt(now);
+
+        Quote saved = quoteRepository.save(quote);
+        quotePriceHistoryService.record(saved);
+        supplierPriceIndexService.onQuoteCreated(saved);
+        regionalPriceIndexService.onQuoteCreated(saved);
+        quotePriceTableService.onQuoteCreated(saved);
+        evictCounts(saved);
+        log.info("Created quote with ID {} for work item ID {}", saved.getId(), saved.getWorkItem().getId());
+        return saved;
+    }
+
+    /**
+     * Update an existing quote. The new price is appended to the price history when the quote is valid
+     * and it was invalid before, or its unit price, unit or currency changed.
+     * @param quote the persisted quote with updated fields
+     * @return the updated quote
+     */
+    @Transactional
+    public Quote updateQuote(@NonNull Quote quote) {
+        if (quote.getId() == null) {
+            throw new QuoteNotFoundException("Quote must have an ID when being updated.");
+        }
+        QuotePriceKey previousKey = quoteRepository.findPriceKeyById(quote.getId())
+                .orElseThrow(() -> new QuoteNotFoundException("Quote with ID " + quote.getId() + " does not exist."));
+        QuotePriceStateView previousState = quoteRepository.findPriceStateById(quote.getId()).orElse(null);
+        quote.setLastUpdatedAt(Instant.now());
+
+        Quote updated = quoteRepository.save(quote);
+        if (priceChanged(previousKey, previousState, updated)) {
+            quotePriceHistoryService.record(updated);
+        }
+        supplierPriceIndexService.onQuoteUpdated(previousKey, updated);
+        regionalPriceIndexService.onQuotesChanged(previousKey.workItemId(), updated.getWorkItem().getId());
+        quotePriceTableService.onQuoteUpdated(previousKey, updated);
+        evictCounts(updated, previousKey.supplierId());
+        log.info("Updated quote with ID {}", updated.getId());
+        return updated;
+    }
+
+    /**
+     * Mark a quote as no longer valid. Its past prices stay in the price history.
+     * @param quoteId the UUID of the quote
+     * @return the invalidated quote
+     */
+    @Transactional
+    public Quote invalidateQuote(@NonNull UUID quoteId) {
+        Quote quote = quoteRepository.findById(quoteId)
+                .orElseThrow(() -> new QuoteNotFoundException("Quote with ID " + quoteId + " does not exist."));
+        quote.setValid(false);
+        quote.setLastUpdatedAt(Instant.now());
+
+        Quote invalidated = quoteRepository.save(quote);
+        supplierPriceIndexService.onQuoteRemoved(invalidated);
+        regionalPriceIndexService.onQuotesChanged(invalidated.getWorkItem().getId());
+        quotePriceTableService.onQuoteRemoved(invalidated);
+        evictCounts(invalidated);
+        log.info("Invalidated quote with ID {}", quoteId);
+        return invalidated;
+    }
+
+    /**
+     * Delete a quote. Its past prices stay in the price history.
+     * @param quoteId the UUID of the quote
+     */
+    @Transactional
+    public void deleteQuote(@NonNull UUID quoteId) {
+        Quote quote = quoteRepository.findById(quoteId)
+                .orElseThrow(() -> new QuoteNotFoundException("Quote with ID " + quoteId + " does not exist."));
+        quoteRepository.delete(quote);
+        supplierPriceIndexService.onQuoteRemoved(quote);
+        regionalPriceIndexService.onQuotesChanged(quote.getWorkItem().getId());
+        quotePriceTableService.onQuoteRemoved(quote);
+        evictCounts(quote);
+        log.info("Deleted quote with ID {}", quoteId);
+    }
     
     /**
      * Get all quotes created by a specific user.
@@ -33,6 +138,28 @@ public class QuoteService {
         return quoteRepository.findBySupplierId(supplierId, pageable);
     }
     
+    /**
+     * Get quote DTOs created by a specific user, read through a single projection query.
+     * @param createdById the UUID of the user who created the quotes
+     * @param pageable pagination information
+     * @return paginated list of quote DTOs
+     */
+    @Transactional(readOnly = true)
+    public Page<QuoteDto> getQuoteDtosByCreator(UUID createdById, Pageable pageable) {
+        return quoteRepository.findViewsByCreatedById(createdById, pageable).map(QuoteDtoMapper::fromQuoteView);
+    }
+
+    /**
+     * Get quote DTOs supplied by a specific user, read through a single projection query.
+     * @param supplierId the UUID of the supplier user
+     * @param pageable pagination information
+     * @return paginated list of quote DTOs
+     */
+    @Transactional(readOnly = true)
+    public Page<QuoteDto> getQuoteDtosBySupplier(UUID supplierId, Pageable pageable) {
+        return quoteRepository.findViewsBySupplierId(supplierId, pageable).map(QuoteDtoMapper::fromQuoteView);
+    }
+
     /**
      * Count quotes created by a specific user.
      * @param createdById the UUID of the user who created the quotes
@@ -50,5 +177,52 @@ public class QuoteService {
     public long countQuotesBySupplier(UUID supplierId) {
         return quoteRepository.countBySupplierId(supplierId);
     }
-}
 
+    /**
+     * Get the dashboard quote counters of a user: created, supplied, valid (created) and per domain (created).
+     * Served from a short-TTL cache backed by a single grouped query.
+     * @param userId the UUID of the user
+     * @return counters keyed by createdCount, suppliedCount, validCount, publicCount and privateCount
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Long> getQuoteCounts(@NonNull UUID userId) {
+        return quoteCountsCache.get(userId, this::loadQuoteCounts);
+    }
+
+    private Map<String, Long> loadQuoteCounts(UUID userId) {
+        QuoteCountsView view = quoteRepository.countStatisticsByUserId(userId);
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("createdCount", orZero(view != null ? view.getCreatedCount() : null));
+        counts.put("suppliedCount", orZero(view != null ? view.getSuppliedCount() : null));
+        counts.put("validCount", orZero(view != null ? view.getValidCount() : null));
+        counts.put("publicCount", orZero(view != null ? view.getPublicCount() : null));
+        counts.put("privateCount", orZero(view != null ? view.getPrivateCount() : null));
+        return counts;
+    }
+
+    private static boolean priceChanged(QuotePriceKey previousKey, QuotePriceStateView previousState, Quote quote) {
+        if (previousState == null || !previousState.isValid()) {
+            return true;
+        }
+        BigDecimal previousPrice = previousState.getUnitPrice();
+        return previousKey.unit() != quote.getUnit()
+                || !Objects.equals(previousKey.currency(), quote.getCurrency())
+                || previousPrice == null || quote.getUnitPrice() == null
+                || previousPrice.compareTo(quote.getUnitPrice()) != 0;
+    }
+
+    /**
+     * Evict the cached counters of the quote's creator and supplier, plus any other affected users, once the
+     * transaction commits, so a concurrent read cannot cache counts from before the write.
+     */
+    private void evictCounts(Quote quote, UUID... otherUserIds) {
+        UUID[] userIds = Arrays.copyOf(otherUserIds, otherUserIds.length + 2);
+        userIds[otherUserIds.length] = quote.getCreatedBy().getId();
+        userIds[otherUserIds.length + 1] = quote.getSupplier().getId();
+        TransactionUtil.afterCommit(() -> quoteCountsCache.evict(userIds));
+    }
+
+    private static long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
+}
@@ -0,0 +1,50 @@
+package dev.hr.rezaei.buildflow.quote;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.UUID;
+
+/**
+ * Flat read projection of a {@link Quote} and its location.
+ * <p>
+ * Selected in a single query so listing quotes never initializes the lazy work item, user or
+ * location associations.
+ */
+public interface QuoteView {
+    UUID getId();
+
+    UUID getWorkItemId();
+
+    UUID getCreatedById();
+
+    UUID getSupplierId();
+
+    QuoteUnit getUnit();
+
+    BigDecimal getUnitPrice();
+
+    Currency getCurrency();
+
+    QuoteDomain getDomain();
+
+    boolean isValid();
+
+    Instant getCreatedAt();
+
+    Instant getLastUpdatedAt();
+
+    UUID getLocationId();
+
+    String getUnitNumber();
+
+    String getStreetNumberAndName();
+
+    String getCity();
+
+    String getStateOrProvince();
+
+    String getPostalOrZipCode();
+
+    String getCountry();
+}
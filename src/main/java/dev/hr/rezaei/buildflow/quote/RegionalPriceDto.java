@@ -0,0 +1,44 @@
+package dev.hr.rezaei.buildflow.quote;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Regional market price of a work item from valid quotes")
+public class RegionalPriceDto {
+    private UUID workItemId;
+
+    @Schema(example = "SQUARE_METER")
+    private String unit;
+
+    @Schema(example = "CAD")
+    private String currency;
+
+    @Schema(description = "Most specific region with quotes: CITY, STATE_OR_PROVINCE or COUNTRY", example = "CITY")
+    private String level;
+
+    @Schema(description = "Country of the matched region", example = "canada")
+    private String country;
+
+    @Schema(description = "State or province of the matched region, empty at country level", example = "on")
+    private String stateOrProvince;
+
+    @Schema(description = "City of the matched region, empty above city level", example = "toronto")
+    private String city;
+
+    @Schema(description = "Number of valid quotes in the region", example = "12")
+    private long quoteCount;
+
+    private BigDecimal avgPrice;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+}
@@ -0,0 +1,25 @@
+package dev.hr.rezaei.buildflow.quote;
+
+import java.util.UUID;
+
+public class RegionalPriceDtoMapper {
+
+    public static RegionalPriceDto fromMatch(UUID workItemId, RegionalPriceIndexService.RegionalPriceMatch match) {
+        if (match == null) return null;
+        RegionalPriceIndexService.RegionKey region = match.region();
+        RegionalPriceStats stats = match.stats();
+        return RegionalPriceDto.builder()
+                .workItemId(workItemId)
+                .unit(region.unit().name())
+                .currency(region.currency().getCurrencyCode())
+                .level(region.level().name())
+                .country(region.country())
+                .stateOrProvince(region.stateOrProvince())
+                .city(region.city())
+                .quoteCount(stats.count())
+                .avgPrice(stats.average())
+                .minPrice(stats.min())
+                .maxPrice(stats.max())
+                .build();
+    }
+}
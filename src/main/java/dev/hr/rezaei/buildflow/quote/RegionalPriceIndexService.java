@@ -0,0 +1,180 @@
+package dev.hr.rezaei.buildflow.quote;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static dev.hr.rezaei.buildflow.util.TransactionUtil.afterCommit;
+
+/**
+ * In-memory regional market price index of valid quotes.
+ * <p>
+ * For every work item, prices are aggregated per unit and currency at three levels: city,
+ * state/province and country. Each work item's aggregates are an immutable map that is replaced
+ * atomically, so readers always see a consistent snapshot and a lookup costs at most three hash
+ * probes. Every quote write reloads the affected work items from the database after its transaction
+ * commits. Each read is stamped with a version taken before it starts, and a work item's entry is only
+ * replaced by a read with a newer version, so a slow read never overwrites a fresher one. The whole index
+ * is built before the web server starts.
+ */
+@Slf4j
+@Service
+public class RegionalPriceIndexService {
+
+    public enum Level {
+        CITY, STATE_OR_PROVINCE, COUNTRY
+    }
+
+    /**
+     * Region of a work item's price aggregate. Region names are trimmed and lower-cased;
+     * coarser levels leave the finer fields empty.
+     */
+    public record RegionKey(QuoteUnit unit, Currency currency, String country, String stateOrProvince, String city) {
+
+        public Level level() {
+            if (!city.isEmpty()) return Level.CITY;
+            if (!stateOrProvince.isEmpty()) return Level.STATE_OR_PROVINCE;
+            return Level.COUNTRY;
+        }
+    }
+
+    /**
+     * The most specific region with quotes for a lookup, and its aggregate.
+     */
+    public record RegionalPriceMatch(RegionKey region, RegionalPriceStats stats) {
+    }
+
+    /**
+     * A work item's aggregates and the version of the read they came from. Work items without valid quotes
+     * keep an empty entry, so an older read cannot bring their aggregates back.
+     */
+    private record Entry(long version, Map<RegionKey, RegionalPriceStats> regions) {
+    }
+
+    private final QuoteRepository quoteRepository;
+    private final TransactionTemplate readTransaction;
+
+    private final ConcurrentHashMap<UUID, Entry> snapshot = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+
+    public RegionalPriceIndexService(QuoteRepository quoteRepository, PlatformTransactionManager transactionManager) {
+        this.quoteRepository = quoteRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Find the regional price of a work item, falling back from city to state/province to country.
+     */
+    public Optional<RegionalPriceMatch> lookup(@NonNull UUID workItemId, @NonNull QuoteUnit unit, @NonNull Currency currency,
+                                               String country, String stateOrProvince, String city) {
+        Entry entry = snapshot.get(workItemId);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        for (RegionKey key : keysOf(unit, currency, country, stateOrProvince, city)) {
+            RegionalPriceStats stats = entry.regions().get(key);
+            if (stats != null) {
+                return Optional.of(new RegionalPriceMatch(key, stats));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Reload the work item of a newly created valid quote once the surrounding transaction commits.
+     */
+    public void onQuoteCreated(@NonNull Quote quote) {
+        if (!quote.isValid()) {
+            return;
+        }
+        onQuotesChanged(quote.getWorkItem().getId());
+    }
+
+    /**
+     * Reload the given work items from the database once the surrounding transaction commits.
+     * Used whenever a quote is created, updated, invalidated or deleted.
+     */
+    public void onQuotesChanged(@NonNull UUID... workItemIds) {
+        Set<UUID> ids = new LinkedHashSet<>(Arrays.asList(workItemIds));
+        afterCommit(() -> ids.forEach(this::reload));
+    }
+
+    /**
+     * Replace one work item's aggregates with a fresh read of its valid quotes.
+     * <p>
+     * The version is taken before the read, so a read with a newer version started after every commit an
+     * older one could have seen. The result is dropped when the entry already holds a newer read.
+     */
+    public void reload(@NonNull UUID workItemId) {
+        long version = versions.incrementAndGet();
+        List<RegionalPriceView> rows = readTransaction.execute(status ->
+                quoteRepository.aggregateValidPricesByCity(workItemId));
+        install(workItemId, version, aggregate(rows).getOrDefault(workItemId, Map.of()));
+    }
+
+    /**
+     * Rebuild the whole index from the valid quotes. Entries reloaded while the rebuild was reading are kept.
+     * @return number of work items indexed
+     */
+    public int rebuild() {
+        long version = versions.incrementAndGet();
+        List<RegionalPriceView> rows = readTransaction.execute(status ->
+                quoteRepository.aggregateValidPricesByCity(null));
+        Map<UUID, Map<RegionKey, RegionalPriceStats>> next = aggregate(rows);
+        next.forEach((id, regions) -> install(id, version, regions));
+        snapshot.keySet().stream()
+                .filter(id -> !next.containsKey(id))
+                .forEach(id -> install(id, version, Map.of()));
+        log.info("Rebuilt regional price index for {} work items", next.size());
+        return next.size();
+    }
+
+    private void install(UUID workItemId, long version, Map<RegionKey, RegionalPriceStats> regions) {
+        snapshot.compute(workItemId, (id, current) ->
+                current != null && current.version() > version ? current : new Entry(version, regions));
+    }
+
+    private static Map<UUID, Map<RegionKey, RegionalPriceStats>> aggregate(List<RegionalPriceView> rows) {
+        Map<UUID, Map<RegionKey, RegionalPriceStats>> building = new HashMap<>();
+        if (rows == null) {
+            return building;
+        }
+        for (RegionalPriceView row : rows) {
+            RegionalPriceStats stats = new RegionalPriceStats(row.getQuoteCount(), row.getPriceSum(),
+                    row.getMinPrice(), row.getMaxPrice());
+            Map<RegionKey, RegionalPriceStats> regions = building.computeIfAbsent(row.getWorkItemId(), id -> new HashMap<>());
+            keysOf(row.getUnit(), row.getCurrency(), row.getCountry(), row.getStateOrProvince(), row.getCity())
+                    .forEach(region -> regions.merge(region, stats, RegionalPriceStats::merge));
+        }
+        Map<UUID, Map<RegionKey, RegionalPriceStats>> result = new HashMap<>();
+        building.forEach((id, regions) -> result.put(id, Map.copyOf(regions)));
+        return result;
+    }
+
+    /**
+     * Region keys from most to least specific. Levels with an empty name collapse into the next
+     * coarser key, so a quote is never counted twice in the same region.
+     */
+    private static Set<RegionKey> keysOf(QuoteUnit unit, Currency currency, String country, String stateOrProvince, String city) {
+        String c = normalize(country);
+        String s = normalize(stateOrProvince);
+        Set<RegionKey> keys = new LinkedHashSet<>(3);
+        keys.add(new RegionKey(unit, currency, c, s, normalize(city)));
+        keys.add(new RegionKey(unit, currency, c, s, ""));
+        keys.add(new RegionKey(unit, currency, c, "", ""));
+        return keys;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
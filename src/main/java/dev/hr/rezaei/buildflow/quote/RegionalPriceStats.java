@@ -0,0 +1,25 @@
+package dev.hr.rezaei.buildflow.quote;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Immutable price aggregate of one region of the {@link RegionalPriceIndexService}.
+ */
+public record RegionalPriceStats(long count, BigDecimal sum, BigDecimal min, BigDecimal max) {
+
+    public RegionalPriceStats merge(RegionalPriceStats other) {
+        if (other == null) {
+            return this;
+        }
+        return new RegionalPriceStats(
+                count + other.count,
+                sum.add(other.sum),
+                min.min(other.min),
+                max.max(other.max));
+    }
+
+    public BigDecimal average() {
+        return sum.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+    }
+}
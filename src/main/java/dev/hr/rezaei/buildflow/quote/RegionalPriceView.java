@@ -0,0 +1,30 @@
+package dev.hr.rezaei.buildflow.quote;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.UUID;
+
+/**
+ * Projection of valid quote prices aggregated per work item, unit, currency and city.
+ */
+public interface RegionalPriceView {
+    UUID getWorkItemId();
+
+    QuoteUnit getUnit();
+
+    Currency getCurrency();
+
+    String getCountry();
+
+    String getStateOrProvince();
+
+    String getCity();
+
+    Long getQuoteCount();
+
+    BigDecimal getPriceSum();
+
+    BigDecimal getMinPrice();
+
+    BigDecimal getMaxPrice();
+}
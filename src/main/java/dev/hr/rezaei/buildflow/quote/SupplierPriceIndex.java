@@ -0,0 +1,74 @@
+package dev.hr.rezaei.buildflow.quote;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.UUID;
+
+/**
+ * Materialized price statistics of one supplier for one work item, unit and currency,
+ * over the supplier's currently valid quotes.
+ * <p>
+ * Rows are folded in incrementally when valid quotes are created and recomputed for the
+ * affected key when quotes are updated, invalidated or deleted. Work items and suppliers are
+ * referenced by plain ids, like {@link QuotePriceHistory}.
+ */
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "supplier_price_index",
+        uniqueConstraints = @UniqueConstraint(name = "uk_supplier_price_index_key",
+                columnNames = {"work_item_id", "unit", "currency", "supplier_id"}),
+        indexes = @Index(name = "idx_supplier_price_index_work_item", columnList = "work_item_id, unit, currency, avg_price"))
+public class SupplierPriceIndex {
+    @EqualsAndHashCode.Include
+    @Id
+    @GeneratedValue
+    @Column(nullable = false, updatable = false)
+    private UUID id;
+
+    @NonNull
+    @Column(name = "work_item_id", nullable = false, updatable = false)
+    private UUID workItemId;
+
+    @NonNull
+    @Column(name = "supplier_id", nullable = false, updatable = false)
+    private UUID supplierId;
+
+    @NonNull
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30, nullable = false, updatable = false)
+    private QuoteUnit unit;
+
+    @NonNull
+    @Column(nullable = false, updatable = false)
+    private Currency currency;
+
+    @Column(nullable = false)
+    private long quoteCount;
+
+    @Column(precision = 24, scale = 2, nullable = false)
+    private BigDecimal priceSum;
+
+    @Column(precision = 38, scale = 4, nullable = false)
+    private BigDecimal priceSumOfSquares;
+
+    @Column(name = "avg_price", precision = 17, scale = 2, nullable = false)
+    private BigDecimal avgPrice;
+
+    // Population variance of the valid quoted prices.
+    @Column(precision = 34, scale = 4, nullable = false)
+    private BigDecimal priceVariance;
+
+    @Column(precision = 17, scale = 2, nullable = false)
+    private BigDecimal latestPrice;
+
+    @Column(nullable = false)
+    private Instant latestQuotedAt;
+}
@@ -0,0 +1,41 @@
+package dev.hr.rezaei.buildflow.quote;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Price statistics of one supplier for a work item, unit and currency")
+public class SupplierPriceIndexDto {
+    private UUID workItemId;
+    private UUID supplierId;
+
+    @Schema(example = "SQUARE_METER")
+    private String unit;
+
+    @Schema(example = "CAD")
+    private String currency;
+
+    @Schema(description = "Number of valid quotes", example = "6")
+    private long quoteCount;
+
+    @Schema(description = "Average valid quoted price", example = "14.25")
+    private BigDecimal avgPrice;
+
+    @Schema(description = "Population variance of valid quoted prices; lower is more consistent", example = "1.5625")
+    private BigDecimal priceVariance;
+
+    @Schema(description = "Most recently quoted valid price", example = "13.90")
+    private BigDecimal latestPrice;
+
+    @Schema(description = "When the latest price was quoted (ISO 8601)")
+    private String latestQuotedAt;
+}
@@ -0,0 +1,21 @@
+package dev.hr.rezaei.buildflow.quote;
+
+import dev.hr.rezaei.buildflow.base.UpdatableEntityDtoMapper;
+
+public class SupplierPriceIndexDtoMapper {
+
+    public static SupplierPriceIndexDto fromSupplierPriceIndex(SupplierPriceIndex index) {
+        if (index == null) return null;
+        return SupplierPriceIndexDto.builder()
+                .workItemId(index.getWorkItemId())
+                .supplierId(index.getSupplierId())
+                .unit(index.getUnit().name())
+                .currency(index.getCurrency().getCurrencyCode())
+                .quoteCount(index.getQuoteCount())
+                .avgPrice(index.getAvgPrice())
+                .priceVariance(index.getPriceVariance())
+                .latestPrice(index.getLatestPrice())
+                .latestQuotedAt(UpdatableEntityDtoMapper.toString(index.getLatestQuotedAt()))
+                .build();
+    }
+}
@@ -0,0 +1,198 @@
+package dev.hr.rezaei.buildflow.quote;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.UUID;
+
+@Repository
+public interface SupplierPriceIndexRepository extends JpaRepository<SupplierPriceIndex, UUID> {
+
+    /**
+     * Folds one valid quote price into the row of its key, creating the row on first use. A single MERGE, so
+     * concurrent first quotes of a key never race on {@code uk_supplier_price_index_key}. Averages and variances
+     * are recomputed from the running sums in the same statement.
+     * @return number of rows written (always 1)
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            MERGE INTO supplier_price_index s
+            USING (VALUES (CAST(:workItemId AS UUID), CAST(:supplierId AS UUID), CAST(:unit AS VARCHAR(30)),
+                           CAST(:currency AS VARCHAR(3)), CAST(:price AS DECIMAL(17, 2)),
+                           CAST(:quotedAt AS TIMESTAMP(6) WITH TIME ZONE)))
+                  AS q(work_item_id, supplier_id, unit, currency, price, quoted_at)
+               ON s.work_item_id = q.work_item_id
+              AND s.supplier_id = q.supplier_id
+              AND s.unit = q.unit
+              AND s.currency = q.currency
+            WHEN MATCHED THEN UPDATE SET
+                   quote_count = s.quote_count + 1,
+                   price_sum = s.price_sum + q.price,
+                   price_sum_of_squares = s.price_sum_of_squares + q.price * q.price,
+                   avg_price = ROUND(CAST(s.price_sum + q.price AS DECIMAL(38, 10)) / (s.quote_count + 1), 2),
+                   price_variance = GREATEST(ROUND(
+                           (CAST(s.price_sum_of_squares + q.price * q.price AS DECIMAL(38, 10))
+                            - CAST(s.price_sum + q.price AS DECIMAL(38, 10)) * (s.price_sum + q.price)
+                              / (s.quote_count + 1)) / (s.quote_count + 1), 4), 0),
+                   latest_price = CASE WHEN q.quoted_at >= s.latest_quoted_at THEN q.price ELSE s.latest_price END,
+                   latest_quoted_at = GREATEST(s.latest_quoted_at, q.quoted_at)
+            WHEN NOT MATCHED THEN INSERT
+                   (id, work_item_id, supplier_id, unit, currency, quote_count, price_sum, price_sum_of_squares,
+                    avg_price, price_variance, latest_price, latest_quoted_at)
+                   VALUES (RANDOM_UUID(), q.work_item_id, q.supplier_id, q.unit, q.currency, 1, q.price,
+                           q.price * q.price, q.price, 0, q.price, q.quoted_at)
+            """)
+    int foldPrice(@Param("workItemId") UUID workItemId,
+                  @Param("supplierId") UUID supplierId,
+                  @Param("unit") String unit,
+                  @Param("currency") String currency,
+                  @Param("price") BigDecimal price,
+                  @Param("quotedAt") Instant quotedAt);
+
+    /**
+     * Recomputes the row of one key from its valid quotes with a single MERGE, creating the row when missing,
+     * so concurrent writers of a key never race on {@code uk_supplier_price_index_key}. The latest price is taken
+     * from the most recently written valid quote. Does nothing when the key has no valid quote left.
+     * @return number of rows written (0 or 1)
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            MERGE INTO supplier_price_index s
+            USING (SELECT g.work_item_id, g.supplier_id, g.unit, g.currency, g.quote_count, g.price_sum,
+                          g.price_sum_of_squares, l.unit_price AS latest_price,
+                          COALESCE(l.last_updated_at, CURRENT_TIMESTAMP) AS latest_quoted_at
+                     FROM (SELECT work_item_id, supplier_id, unit, currency,
+                                  COUNT(*) AS quote_count,
+                                  SUM(unit_price) AS price_sum,
+                                  SUM(unit_price * unit_price) AS price_sum_of_squares
+                             FROM quotes
+                            WHERE valid = TRUE
+                              AND work_item_id = CAST(:workItemId AS UUID)
+                              AND supplier_id = CAST(:supplierId AS UUID)
+                              AND unit = :unit
+                              AND currency = :currency
+                            GROUP BY work_item_id, supplier_id, unit, currency) g
+                    CROSS JOIN (SELECT unit_price, last_updated_at
+                                  FROM quotes
+                                 WHERE valid = TRUE
+                                   AND work_item_id = CAST(:workItemId AS UUID)
+                                   AND supplier_id = CAST(:supplierId AS UUID)
+                                   AND unit = :unit
+                                   AND currency = :currency
+                                 ORDER BY last_updated_at DESC NULLS LAST, created_at DESC NULLS LAST
+                                 FETCH FIRST 1 ROW ONLY) l) q
+               ON s.work_item_id = q.work_item_id
+              AND s.supplier_id = q.supplier_id
+              AND s.unit = q.unit
+              AND s.currency = q.currency
+            WHEN MATCHED THEN UPDATE SET
+                   quote_count = q.quote_count,
+                   price_sum = q.price_sum,
+                   price_sum_of_squares = q.price_sum_of_squares,
+                   avg_price = ROUND(CAST(q.price_sum AS DECIMAL(38, 10)) / q.quote_count, 2),
+                   price_variance = GREATEST(ROUND((CAST(q.price_sum_of_squares AS DECIMAL(38, 10))
+                                                    - CAST(q.price_sum AS DECIMAL(38, 10)) * q.price_sum
+                                                      / q.quote_count) / q.quote_count, 4), 0),
+                   latest_price = q.latest_price,
+                   latest_quoted_at = q.latest_quoted_at
+            WHEN NOT MATCHED THEN INSERT
+                   (id, work_item_id, supplier_id, unit, currency, quote_count, price_sum, price_sum_of_squares,
+                    avg_price, price_variance, latest_price, latest_quoted_at)
+                   VALUES (RANDOM_UUID(), q.work_item_id, q.supplier_id, q.unit, q.currency, q.quote_count,
+                           q.price_sum, q.price_sum_of_squares,
+                           ROUND(CAST(q.price_sum AS DECIMAL(38, 10)) / q.quote_count, 2),
+                           GREATEST(ROUND((CAST(q.price_sum_of_squares AS DECIMAL(38, 10))
+                                           - CAST(q.price_sum AS DECIMAL(38, 10)) * q.price_sum
+                                             / q.quote_count) / q.quote_count, 4), 0),
+                           q.latest_price, q.latest_quoted_at)
+            """)
+    int upsertFromValidQuotes(@Param("workItemId") UUID workItemId,
+                              @Param("supplierId") UUID supplierId,
+                              @Param("unit") String unit,
+                              @Param("currency") String currency);
+
+    /**
+     * Deletes the row of one key when it has no valid quote left.
+     * @return number of rows deleted (0 or 1)
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            DELETE FROM supplier_price_index s
+             WHERE s.work_item_id = CAST(:workItemId AS UUID)
+               AND s.supplier_id = CAST(:supplierId AS UUID)
+               AND s.unit = :unit
+               AND s.currency = :currency
+               AND NOT EXISTS (SELECT 1
+                                 FROM quotes q
+                                WHERE q.valid = TRUE
+                                  AND q.work_item_id = s.work_item_id
+                                  AND q.supplier_id = s.supplier_id
+                                  AND q.unit = s.unit
+                                  AND q.currency = s.currency)
+            """)
+    int deleteIfNoValidQuotes(@Param("workItemId") UUID workItemId,
+                              @Param("supplierId") UUID supplierId,
+                              @Param("unit") String unit,
+                              @Param("currency") String currency);
+
+    /**
+     * Writes one row per (work item, supplier, unit, currency) of the valid quotes with a single grouped
+     * INSERT ... SELECT. The latest price is taken from the most recently written quote of each key.
+     * Expects the table to be empty.
+     * @return number of rows written
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO supplier_price_index
+                   (id, work_item_id, supplier_id, unit, currency, quote_count, price_sum, price_sum_of_squares,
+                    avg_price, price_variance, latest_price, latest_quoted_at)
+            SELECT RANDOM_UUID(), g.work_item_id, g.supplier_id, g.unit, g.currency, g.quote_count, g.price_sum,
+                   g.price_sum_of_squares,
+                   ROUND(CAST(g.price_sum AS DECIMAL(38, 10)) / g.quote_count, 2),
+                   GREATEST(ROUND((CAST(g.price_sum_of_squares AS DECIMAL(38, 10))
+                                   - CAST(g.price_sum AS DECIMAL(38, 10)) * g.price_sum / g.quote_count)
+                                  / g.quote_count, 4), 0),
+                   l.unit_price, COALESCE(l.last_updated_at, CURRENT_TIMESTAMP)
+              FROM (SELECT work_item_id, supplier_id, unit, currency,
+                           COUNT(*) AS quote_count,
+                           SUM(unit_price) AS price_sum,
+                           SUM(unit_price * unit_price) AS price_sum_of_squares
+                      FROM quotes
+                     WHERE valid = TRUE
+                     GROUP BY work_item_id, supplier_id, unit, currency) g
+              JOIN (SELECT work_item_id, supplier_id, unit, currency, unit_price, last_updated_at,
+                           ROW_NUMBER() OVER (PARTITION BY work_item_id, supplier_id, unit, currency
+                                              ORDER BY last_updated_at DESC NULLS LAST, created_at DESC NULLS LAST)
+                               AS latest_rank
+                      FROM quotes
+                     WHERE valid = TRUE) l
+                ON l.work_item_id = g.work_item_id
+               AND l.supplier_id = g.supplier_id
+               AND l.unit = g.unit
+               AND l.currency = g.currency
+               AND l.latest_rank = 1
+            """)
+    int insertAllFromValidQuotes();
+
+    /**
+     * Page through the supplier ranking of a work item, optionally narrowed to a unit and currency.
+     */
+    @Query("""
+            select s from SupplierPriceIndex s
+             where s.workItemId = :workItemId
+               and (:unit is null or s.unit = :unit)
+               and (:currency is null or s.currency = :currency)
+            """)
+    Page<SupplierPriceIndex> findLeaderboard(@Param("workItemId") UUID workItemId,
+                                             @Param("unit") QuoteUnit unit,
+                                             @Param("currency") Currency currency,
+                                             Pageable pageable);
+}
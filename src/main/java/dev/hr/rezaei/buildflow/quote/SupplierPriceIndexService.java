@@ -0,0 +1,105 @@
+package dev.hr.rezaei.buildflow.quote;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Currency;
+import java.util.UUID;
+
+/**
+ * Maintains the materialized supplier ranking per work item and serves it page by page.
+ * <p>
+ * Creating a valid quote folds its price into the supplier's row in O(1) with a single upsert. Updates,
+ * invalidations and deletions recompute only the affected rows from the quotes of that key, also with a single
+ * upsert, since the removed price cannot be subtracted from the latest-price column.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SupplierPriceIndexService {
+
+    private final SupplierPriceIndexRepository supplierPriceIndexRepository;
+
+    /**
+     * Fold a newly created quote into its supplier row. Invalid quotes are ignored.
+     */
+    @Transactional
+    public void onQuoteCreated(@NonNull Quote quote) {
+        if (!quote.isValid()) {
+            return;
+        }
+        Instant quotedAt = quote.getLastUpdatedAt() != null ? quote.getLastUpdatedAt() : Instant.now();
+        supplierPriceIndexRepository.foldPrice(quote.getWorkItem().getId(), quote.getSupplier().getId(),
+                quote.getUnit().name(), quote.getCurrency().getCurrencyCode(), quote.getUnitPrice(), quotedAt);
+    }
+
+    /**
+     * Refresh the rows a quote contributed to before and after an update.
+     * @param previous the price key stored before the update
+     * @param current the updated quote
+     */
+    @Transactional
+    public void onQuoteUpdated(@NonNull QuotePriceKey previous, @NonNull Quote current) {
+        QuotePriceKey key = QuotePriceKey.of(current);
+        recompute(previous);
+        if (!sameRow(previous, key)) {
+            recompute(key);
+        }
+    }
+
+    /**
+     * Refresh the row of a quote that was invalidated or deleted.
+     */
+    @Transactional
+    public void onQuoteRemoved(@NonNull Quote quote) {
+        recompute(QuotePriceKey.of(quote));
+    }
+
+    /**
+     * Recompute one row from the valid quotes of its key with a single upsert, deleting it when none remain.
+     */
+    @Transactional
+    public void recompute(@NonNull QuotePriceKey key) {
+        String unit = key.unit().name();
+        String currency = key.currency().getCurrencyCode();
+        if (supplierPriceIndexRepository.upsertFromValidQuotes(key.workItemId(), key.supplierId(), unit, currency) == 0) {
+            supplierPriceIndexRepository.deleteIfNoValidQuotes(key.workItemId(), key.supplierId(), unit, currency);
+        }
+    }
+
+    /**
+     * Rebuild the whole index from the valid quotes.
+     * @return number of rows written
+     */
+    @Transactional
+    public int rebuild() {
+        supplierPriceIndexRepository.deleteAllInBatch();
+        int rows = supplierPriceIndexRepository.insertAllFromValidQuotes();
+        log.info("Rebuilt supplier price index with {} rows", rows);
+        return rows;
+    }
+
+    /**
+     * Page through the supplier ranking of a work item.
+     * @param unit optional unit filter
+     * @param currency optional currency filter
+     */
+    @Transactional(readOnly = true)
+    public Page<SupplierPriceIndex> getLeaderboard(@NonNull UUID workItemId, QuoteUnit unit, Currency currency,
+                                                   @NonNull Pageable pageable) {
+        return supplierPriceIndexRepository.findLeaderboard(workItemId, unit, currency, pageable);
+    }
+
+    private static boolean sameRow(QuotePriceKey a, QuotePriceKey b) {
+        return a.workItemId().equals(b.workItemId())
+                && a.supplierId().equals(b.supplierId())
+                && a.unit() == b.unit()
+                && a.currency().equals(b.currency());
+    }
+}
@@ -1,8 +1,11 @@
 package dev.hr.rezaei.buildflow.user;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -12,5 +15,11 @@ public interface ContactRepository extends JpaRepository<Contact, UUID> {
     boolean existsByEmail(String email);
 
     Optional<Contact> findByEmail(String email);
+
+    /**
+     * Contacts with any of the given emails, with their labels and address, in one query.
+     */
+    @EntityGraph(attributePaths = {"labels", "address"})
+    List<Contact> findByEmailIn(Collection<String> emails);
 }
 
@@ -5,8 +5,7 @@ import lombok.NonNull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
 
 /**
  * ContactService providing business logic for contact management operations.
@@ -51,6 +50,40 @@ public class ContactService {
         return contactRepository.save(contact);
     }
 
+    /**
+     * Resolve contacts by email: a contact whose email is already stored is replaced by the stored contact, and
+     * the others are saved. Stored contacts are found with one IN query and the new ones are saved together, so
+     * their inserts are batched.
+     * Throws IllegalArgumentException if two contacts share an email or a new contact already has an ID.
+     * @return the persisted contacts keyed by email
+     */
+    @Transactional
+    public Map<String, Contact> findOrCreateByEmail(@NonNull Collection<Contact> contacts) {
+        Map<String, Contact> requested = new LinkedHashMap<>();
+        for (Contact contact : contacts) {
+            if (requested.putIfAbsent(contact.getEmail(), contact) != null) {
+                throw new IllegalArgumentException("Duplicate contact email: " + contact.getEmail());
+            }
+        }
+        Map<String, Contact> resolved = new HashMap<>();
+        for (Contact existing : contactRepository.findByEmailIn(requested.keySet())) {
+            resolved.put(existing.getEmail(), existing);
+        }
+        List<Contact> missing = new ArrayList<>();
+        for (Contact contact : requested.values()) {
+            if (!resolved.containsKey(contact.getEmail())) {
+                if (contact.getId() != null) {
+                    throw new IllegalArgumentException("Contact is already persisted.");
+                }
+                missing.add(contact);
+            }
+        }
+        for (Contact saved : contactRepository.saveAll(missing)) {
+            resolved.put(saved.getEmail(), saved);
+        }
+        return resolved;
+    }
+
     /**
      * Update an already persisted Contact.
      * Throws IllegalArgumentException if the contact is not persisted.
@@ -0,0 +1,62 @@
+package dev.hr.rezaei.buildflow.util;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed array of reentrant locks that keys hash onto.
+ * <p>
+ * Work on different keys only contends when their keys share a stripe, and the number of locks stays bounded
+ * however many keys exist, so no lock has to be created or evicted per key. Locks for several keys are handed out
+ * in stripe order, so callers taking them in that order cannot deadlock each other.
+ */
+public final class StripedLocks {
+
+    private final ReentrantLock[] stripes;
+
+    /**
+     * @param stripeCount number of locks, rounded up to a power of two
+     */
+    public StripedLocks(int stripeCount) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("Stripe count must be positive.");
+        }
+        int size = Integer.highestOneBit(stripeCount - 1) << 1;
+        stripes = new ReentrantLock[Math.max(1, size)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public int stripeCount() {
+        return stripes.length;
+    }
+
+    /**
+     * The lock of the key's stripe.
+     */
+    public ReentrantLock get(Object key) {
+        return stripes[indexOf(key)];
+    }
+
+    /**
+     * The distinct locks of the keys' stripes, in stripe order.
+     */
+    public List<ReentrantLock> getAll(Collection<?> keys) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (Object key : keys) {
+            indexes.add(indexOf(key));
+        }
+        return indexes.stream().map(i -> stripes[i]).toList();
+    }
+
+    int indexOf(Object key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x45D9F3B;
+        h ^= h >>> 16;
+        return h & (stripes.length - 1);
+    }
+}
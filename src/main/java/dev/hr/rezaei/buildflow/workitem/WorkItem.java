@@ -10,7 +10,9 @@ import java.util.UUID;
 
 @EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = false)
 @Entity
-@Table(name = "work_items")
+@Table(name = "work_items", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_work_items_user_code", columnNames = {"user_id", "code"})
+}, indexes = @Index(name = "idx_work_items_category", columnList = "category_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -49,6 +51,12 @@ public class WorkItem extends UpdatableEntity {
     @Column(nullable = false)
     private String defaultGroupName = UNASSIGNED_GROUP_NAME;
 
+    // Unidirectional relationship: Many WorkItems can belong to one WorkItemCategory.
+    // Table: work_items, Foreign Key: category_id
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", foreignKey = @ForeignKey(name = "fk_work_items_category"))
+    private WorkItemCategory category;
+
     @NonNull
     @Builder.Default
     @Enumerated(EnumType.STRING)
@@ -81,6 +89,7 @@ public class WorkItem extends UpdatableEntity {
                 ", optional=" + optional +
                 ", user.id=" + user.getId() +
                 ", defaultGroupName='" + defaultGroupName + '\'' +
+                ", category.id=" + (category != null ? category.getId() : null) +
                 ", domain=" + domain +
                 '}';
     }
@@ -0,0 +1,210 @@
+package dev.hr.rezaei.buildflow.workitem;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import dev.hr.rezaei.buildflow.user.UserNotFoundException;
+import dev.hr.rezaei.buildflow.user.UserService;
+import dev.hr.rezaei.buildflow.workitem.dto.WorkItemImportResponse;
+import dev.hr.rezaei.buildflow.workitem.dto.WorkItemImportRow;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static dev.hr.rezaei.buildflow.util.EnumUtil.fromString;
+import static dev.hr.rezaei.buildflow.util.EnumUtil.fromStringOrDefault;
+import static dev.hr.rezaei.buildflow.util.StringUtil.orDefault;
+import static dev.hr.rezaei.buildflow.util.TransactionUtil.afterCommit;
+
+/**
+ * Bulk import and export of a user's work items.
+ * <p>
+ * Imports stream the JSON array row by row and upsert by {@code (user_id, code)} in JDBC batches,
+ * so a catalog of thousands of work items costs one user lookup and a handful of round trips
+ * instead of one lookup and one insert per item. Exports stream the rows back in the same format.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WorkItemBulkService {
+
+    public static final int BATCH_SIZE = 500;
+    public static final int MAX_IMPORT_ROWS = 50_000;
+
+    private static final String UPSERT_SQL = """
+            MERGE INTO work_items w
+            USING (VALUES (CAST(? AS UUID), CAST(? AS UUID), ?, ?, ?, ?, ?, ?, CAST(? AS TIMESTAMP WITH TIME ZONE)))
+                AS s(id, user_id, code, name, description, optional, default_group_name, domain, updated_at)
+            ON w.user_id = s.user_id AND w.code = s.code
+            WHEN MATCHED THEN UPDATE SET
+                name = s.name,
+                description = s.description,
+                optional = s.optional,
+                default_group_name = s.default_group_name,
+                domain = s.domain,
+                last_updated_at = s.updated_at
+            WHEN NOT MATCHED THEN INSERT
+                (id, user_id, code, name, description, optional, default_group_name, domain, created_at, last_updated_at)
+                VALUES (s.id, s.user_id, s.code, s.name, s.description, s.optional, s.default_group_name, s.domain,
+                        s.updated_at, s.updated_at)
+            """;
+
+    private final UserService userService;
+    private final WorkItemRepository workItemRepository;
+    private final WorkItemService workItemService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Verify the user exists before a streamed export starts writing the response.
+     */
+    public void requireUser(@NonNull UUID userId) {
+        if (!userService.existsById(userId)) {
+            throw new UserNotFoundException("User with ID " + userId + " does not exist or is not persisted.");
+        }
+    }
+
+    /**
+     * Create or update the user's work items from a JSON array of {@link WorkItemImportRow}, matching by code.
+     * The whole import is one transaction; an invalid row rejects it.
+     * @param json the request body, read as a stream
+     */
+    @Transactional
+    public WorkItemImportResponse importWorkItems(@NonNull UUID userId, @NonNull InputStream json) {
+        requireUser(userId);
+        Set<String> existing = new HashSet<>(workItemRepository.findCodesByUserId(userId));
+        Set<String> seen = new HashSet<>();
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+
+        int created = 0;
+        int updated = 0;
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Work item import must be a JSON array.");
+            }
+            int index = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                if (index == MAX_IMPORT_ROWS) {
+                    throw new IllegalArgumentException("Work item import is limited to " + MAX_IMPORT_ROWS + " rows.");
+                }
+                WorkItemImportRow row = objectMapper.readValue(parser, WorkItemImportRow.class);
+                validate(row, index++);
+                if (!seen.add(row.getCode())) {
+                    throw new IllegalArgumentException("Duplicate work item code in import: " + row.getCode());
+                }
+                if (existing.contains(row.getCode())) {
+                    updated++;
+                } else {
+                    created++;
+                }
+                batch.add(toParameters(userId, row, now));
+                if (batch.size() == BATCH_SIZE) {
+                    flush(batch);
+                }
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                throw new IllegalArgumentException("Work item import must be a JSON array of objects.");
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed work item import: " + e.getOriginalMessage(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        flush(batch);
+
+        log.info("Imported work items for user {}: {} created, {} updated", userId, created, updated);
+        afterCommit(() -> workItemService.reindexUser(userId));
+        return WorkItemImportResponse.builder()
+                .createdCount(created)
+                .updatedCount(updated)
+                .build();
+    }
+
+    /**
+     * Write the user's work items to the stream as a JSON array of {@link WorkItemImportRow}, ordered by code.
+     */
+    @Transactional(readOnly = true)
+    public void exportWorkItems(@NonNull UUID userId, @NonNull OutputStream out) throws IOException {
+        requireUser(userId);
+        try (Stream<WorkItemExportView> rows = workItemRepository.streamExportByUserId(userId);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            ObjectWriter rowWriter = objectMapper.writerFor(WorkItemImportRow.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            generator.writeStartArray();
+            for (WorkItemExportView view : (Iterable<WorkItemExportView>) rows::iterator) {
+                rowWriter.writeValue(generator, WorkItemImportRow.builder()
+                        .code(view.getCode())
+                        .name(view.getName())
+                        .description(view.getDescription())
+                        .optional(view.isOptional())
+                        .defaultGroupName(view.getDefaultGroupName())
+                        .domain(view.getDomain().name())
+                        .build());
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private void flush(List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+        batch.clear();
+    }
+
+    private static Object[] toParameters(UUID userId, WorkItemImportRow row, OffsetDateTime now) {
+        return new Object[]{
+                UUID.randomUUID(),
+                userId,
+                row.getCode(),
+                row.getName(),
+                row.getDescription(),
+                row.isOptional(),
+                orDefault(row.getDefaultGroupName(), WorkItem.UNASSIGNED_GROUP_NAME),
+                fromStringOrDefault(WorkItemDomain.class, row.getDomain(), WorkItemDomain.PUBLIC).name(),
+                now
+        };
+    }
+
+    private static void validate(WorkItemImportRow row, int index) {
+        if (row.getCode() == null || row.getCode().isBlank() || row.getCode().length() > 50) {
+            throw new IllegalArgumentException("Row " + index + ": code must be 1 to 50 characters.");
+        }
+        if (row.getName() == null || row.getName().isBlank() || row.getName().length() > 250) {
+            throw new IllegalArgumentException("Row " + index + ": name must be 1 to 250 characters.");
+        }
+        if (row.getDescription() != null && row.getDescription().length() > 1000) {
+            throw new IllegalArgumentException("Row " + index + ": description must be at most 1000 characters.");
+        }
+        if (row.getDefaultGroupName() != null && row.getDefaultGroupName().length() > 255) {
+            throw new IllegalArgumentException("Row " + index + ": default group name must be at most 255 characters.");
+        }
+        // Unlike single creates, a misspelled domain must not silently publish a private catalog
+        if (row.getDomain() != null && fromString(WorkItemDomain.class, row.getDomain()) == null) {
+            throw new IllegalArgumentException("Row " + index + ": invalid domain " + row.getDomain());
+        }
+    }
+}
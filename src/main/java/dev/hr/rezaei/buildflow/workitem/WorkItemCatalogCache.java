@@ -0,0 +1,90 @@
+package dev.hr.rezaei.buildflow.workitem;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Shared read-through cache of the PUBLIC work item catalog.
+ * <p>
+ * The catalog is identical for every user, so it is loaded once into an immutable snapshot holding
+ * the DTOs, their pre-serialized JSON and a content based ETag. Any write to a PUBLIC work item bumps
+ * the version; a snapshot is only served while its version is current, so a load racing with a write
+ * is never served after the write.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WorkItemCatalogCache {
+
+    /**
+     * Immutable view of the catalog at one version.
+     * @param json the items serialized as a JSON array
+     * @param etag strong ETag derived from the JSON content
+     */
+    public record Snapshot(long version, List<WorkItemDto> items, byte[] json, String etag) {
+    }
+
+    private final ObjectMapper objectMapper;
+
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    /**
+     * Current snapshot, loading and serializing the catalog when there is none for the current version.
+     * @param loader reads the catalog from the database
+     */
+    public Snapshot get(@NonNull Supplier<List<WorkItemDto>> loader) {
+        Snapshot current = snapshot;
+        if (current != null && current.version() == version.get()) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            long loadVersion = version.get();
+            if (current != null && current.version() == loadVersion) {
+                return current;
+            }
+            List<WorkItemDto> items = List.copyOf(loader.get());
+            byte[] json = serialize(items);
+            Snapshot loaded = new Snapshot(loadVersion, items, json, etagOf(json));
+            snapshot = loaded;
+            log.debug("Loaded PUBLIC work item catalog version {} with {} items", loadVersion, items.size());
+            return loaded;
+        }
+    }
+
+    /**
+     * Invalidate the catalog after a PUBLIC work item was created, updated or deleted.
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+    }
+
+    private byte[] serialize(List<WorkItemDto> items) {
+        try {
+            return objectMapper.writeValueAsBytes(items);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize the PUBLIC work item catalog", e);
+        }
+    }
+
+    private static String etagOf(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
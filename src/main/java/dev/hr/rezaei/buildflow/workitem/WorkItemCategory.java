@@ -0,0 +1,53 @@
+package dev.hr.rezaei.buildflow.workitem;
+
+import dev.hr.rezaei.buildflow.user.User;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * A node of a user's work item category tree, such as Structure &gt; Framing &gt; Walls.
+ * <p>
+ * The tree is stored twice: {@code parentId} gives the direct parent, and
+ * {@link WorkItemCategoryClosure} holds every ancestor-descendant path so subtree queries
+ * are a single join.
+ */
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "work_item_categories",
+        indexes = @Index(name = "idx_work_item_categories_user", columnList = "user_id"))
+public class WorkItemCategory {
+    @EqualsAndHashCode.Include
+    @Id
+    @GeneratedValue
+    @Column(nullable = false, updatable = false)
+    private UUID id;
+
+    @NonNull
+    @Column(length = 100, nullable = false)
+    private String name;
+
+    // Null for a root category
+    @Column(name = "parent_id", updatable = false)
+    private UUID parentId;
+
+    @NonNull
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false, updatable = false,
+            foreignKey = @ForeignKey(name = "fk_work_item_categories_user"))
+    private User user;
+
+    @Override
+    public String toString() {
+        return "WorkItemCategory{" +
+                "id=" + id +
+                ", name='" + name + '\'' +
+                ", parentId=" + parentId +
+                '}';
+    }
+}
@@ -0,0 +1,48 @@
+package dev.hr.rezaei.buildflow.workitem;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * One ancestor-descendant path of the work item category tree, including the path of length 0
+ * from every category to itself.
+ * <p>
+ * The primary key leads with the ancestor, so "everything under a category" is an index range
+ * scan; the descendant index serves "all ancestors of a category".
+ */
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@IdClass(WorkItemCategoryClosure.Key.class)
+@Table(name = "work_item_category_closure",
+        indexes = @Index(name = "idx_work_item_category_closure_descendant", columnList = "descendant_id, ancestor_id"))
+public class WorkItemCategoryClosure {
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID ancestorId;
+        private UUID descendantId;
+    }
+
+    @EqualsAndHashCode.Include
+    @Id
+    @Column(name = "ancestor_id", nullable = false, updatable = false)
+    private UUID ancestorId;
+
+    @EqualsAndHashCode.Include
+    @Id
+    @Column(name = "descendant_id", nullable = false, updatable = false)
+    private UUID descendantId;
+
+    // Number of edges from the ancestor down to the descendant
+    @Column(nullable = false, updatable = false)
+    private int depth;
+}
@@ -0,0 +1,26 @@
+package dev.hr.rezaei.buildflow.workitem;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface WorkItemCategoryClosureRepository extends JpaRepository<WorkItemCategoryClosure, WorkItemCategoryClosure.Key> {
+
+    /**
+     * Add the paths from every ancestor of the parent, the parent included, to a new child category.
+     * @return number of paths added
+     */
+    @Modifying
+    @Query("""
+            insert into WorkItemCategoryClosure (ancestorId, descendantId, depth)
+            select c.ancestorId, :childId, c.depth + 1
+              from WorkItemCategoryClosure c
+             where c.descendantId = :parentId
+            """)
+    int insertPathsToChild(@Param("parentId") UUID parentId, @Param("childId") UUID childId);
+}
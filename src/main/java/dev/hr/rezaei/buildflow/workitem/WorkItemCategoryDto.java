@@ -0,0 +1,22 @@
+package dev.hr.rezaei.buildflow.workitem;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A work item category with its subcategories.
+ */
+@Schema(description = "Work item category with its subcategories")
+public record WorkItemCategoryDto(
+        @Schema(description = "ID of the category")
+        UUID id,
+        @Schema(description = "Name of the category", example = "Framing")
+        String name,
+        @Schema(description = "ID of the parent category, null for a root category")
+        UUID parentId,
+        @Schema(description = "Subcategories, ordered by name")
+        List<WorkItemCategoryDto> children
+) {
+}
@@ -0,0 +1,15 @@
+package dev.hr.rezaei.buildflow.workitem;
+
+public class WorkItemCategoryNotFoundException extends RuntimeException {
+    public WorkItemCategoryNotFoundException(String message) {
+        super(message);
+    }
+
+    public WorkItemCategoryNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public WorkItemCategoryNotFoundException(Throwable cause) {
+        super(cause);
+    }
+}
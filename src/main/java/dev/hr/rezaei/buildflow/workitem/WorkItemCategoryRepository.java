@@ -0,0 +1,13 @@
+package dev.hr.rezaei.buildflow.workitem;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface WorkItemCategoryRepository extends JpaRepository<WorkItemCategory, UUID> {
+
+    List<WorkItemCategory> findByUserIdOrderByName(UUID userId);
+}
@@ -0,0 +1,145 @@
+package dev.hr.rezaei.buildflow.workitem;
+
+import dev.hr.rezaei.buildflow.user.User;
+import dev.hr.rezaei.buildflow.user.UserNotFoundException;
+import dev.hr.rezaei.buildflow.user.UserService;
+import dev.hr.rezaei.buildflow.workitem.dto.CreateWorkItemCategoryRequest;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+import static dev.hr.rezaei.buildflow.util.TransactionUtil.afterCommit;
+import static dev.hr.rezaei.buildflow.workitem.WorkItemDtoMapper.toWorkItemDto;
+
+/**
+ * Hierarchical work item categories backed by a closure table.
+ * <p>
+ * Creating a category writes its path to itself and copies the paths of its parent with one
+ * {@code INSERT ... SELECT}, so "all work items under a category" and per-category cost rollups
+ * are one indexed join on {@link WorkItemCategoryClosure} instead of a recursive walk.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WorkItemCategoryService {
+
+    private final UserService userService;
+    private final WorkItemService workItemService;
+    private final WorkItemRepository workItemRepository;
+    private final WorkItemCategoryRepository workItemCategoryRepository;
+    private final WorkItemCategoryClosureRepository workItemCategoryClosureRepository;
+    private final WorkItemCategoryTreeCache workItemCategoryTreeCache;
+
+    /**
+     * Create a category under the given parent, or a root category when no parent is given.
+     * @throws WorkItemCategoryNotFoundException when the parent does not exist
+     * @throws IllegalArgumentException when the parent belongs to another user
+     */
+    @Transactional
+    public WorkItemCategoryDto createCategory(@NonNull CreateWorkItemCategoryRequest request) {
+        User user = userService.findById(request.getUserId())
+                .orElseThrow(() -> new UserNotFoundException("User with ID " + request.getUserId() + " does not exist or is not persisted."));
+        if (request.getName() == null || request.getName().isBlank()) {
+            throw new IllegalArgumentException("Category name cannot be null or empty.");
+        }
+        if (request.getParentId() != null) {
+            WorkItemCategory parent = getCategory(request.getParentId());
+            if (!parent.getUser().getId().equals(user.getId())) {
+                throw new IllegalArgumentException("Parent category " + parent.getId() + " belongs to another user.");
+            }
+        }
+
+        WorkItemCategory category = workItemCategoryRepository.save(WorkItemCategory.builder()
+                .name(request.getName().trim())
+                .parentId(request.getParentId())
+                .user(user)
+                .build());
+        workItemCategoryClosureRepository.save(WorkItemCategoryClosure.builder()
+                .ancestorId(category.getId())
+                .descendantId(category.getId())
+                .depth(0)
+                .build());
+        if (category.getParentId() != null) {
+            // The self path must be flushed first, since the copy reads the parent's paths in SQL
+            workItemCategoryClosureRepository.flush();
+            workItemCategoryClosureRepository.insertPathsToChild(category.getParentId(), category.getId());
+        }
+        log.info("Created work item category: {}", category);
+
+        afterCommit(workItemCategoryTreeCache::invalidate);
+        return new WorkItemCategoryDto(category.getId(), category.getName(), category.getParentId(), List.of());
+    }
+
+    /**
+     * The user's category tree from the in-memory cache, roots and children ordered by name.
+     */
+    public List<WorkItemCategoryDto> getCategoryTree(@NonNull UUID userId) {
+        return workItemCategoryTreeCache.get(userId, () -> loadTree(userId));
+    }
+
+    /**
+     * Place a work item in a category, or take it out of its category when {@code categoryId} is null.
+     * @throws WorkItemCategoryNotFoundException when the category does not exist
+     * @throws IllegalArgumentException when the work item does not exist or the category belongs to another user
+     */
+    @Transactional
+    public WorkItemDto assignCategory(@NonNull UUID workItemId, UUID categoryId) {
+        WorkItem workItem = workItemService.findById(workItemId)
+                .orElseThrow(() -> new IllegalArgumentException("Work item with ID " + workItemId + " does not exist."));
+        WorkItemCategory category = null;
+        if (categoryId != null) {
+            category = getCategory(categoryId);
+            if (!category.getUser().getId().equals(workItem.getUser().getId())) {
+                throw new IllegalArgumentException("Category " + categoryId + " belongs to another user.");
+            }
+        }
+        workItem.setCategory(category);
+        return toWorkItemDto(workItemService.update(workItem));
+    }
+
+    /**
+     * All work items in the category or any of its subcategories, ordered by code.
+     * @throws WorkItemCategoryNotFoundException when the category does not exist
+     */
+    @Transactional(readOnly = true)
+    public List<WorkItemDto> getWorkItemsInCategory(@NonNull UUID categoryId) {
+        if (!workItemCategoryRepository.existsById(categoryId)) {
+            throw new WorkItemCategoryNotFoundException("Work item category with ID " + categoryId + " does not exist.");
+        }
+        return workItemRepository.findInCategorySubtree(categoryId).stream()
+                .map(WorkItemDtoMapper::toWorkItemDto)
+                .toList();
+    }
+
+    private WorkItemCategory getCategory(UUID categoryId) {
+        return workItemCategoryRepository.findById(categoryId)
+                .orElseThrow(() -> new WorkItemCategoryNotFoundException("Work item category with ID " + categoryId + " does not exist."));
+    }
+
+    private List<WorkItemCategoryDto> loadTree(UUID userId) {
+        if (!userService.existsById(userId)) {
+            throw new UserNotFoundException("User with ID " + userId + " does not exist or is not persisted.");
+        }
+        Map<UUID, List<WorkItemCategory>> childrenByParent = new HashMap<>();
+        List<WorkItemCategory> roots = new ArrayList<>();
+        for (WorkItemCategory category : workItemCategoryRepository.findByUserIdOrderByName(userId)) {
+            if (category.getParentId() == null) {
+                roots.add(category);
+            } else {
+                childrenByParent.computeIfAbsent(category.getParentId(), id -> new ArrayList<>()).add(category);
+            }
+        }
+        return toTree(roots, childrenByParent);
+    }
+
+    private static List<WorkItemCategoryDto> toTree(List<WorkItemCategory> categories, Map<UUID, List<WorkItemCategory>> childrenByParent) {
+        return categories.stream()
+                .map(category -> new WorkItemCategoryDto(category.getId(), category.getName(), category.getParentId(),
+                        toTree(childrenByParent.getOrDefault(category.getId(), List.of()), childrenByParent)))
+                .toList();
+    }
+}
@@ -0,0 +1,54 @@
+package dev.hr.rezaei.buildflow.workitem;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of each user's work item category tree.
+ * <p>
+ * Trees are immutable and change rarely, so each is built once and shared by every read until a
+ * category write bumps the version. As in {@link WorkItemCatalogCache}, a tree is only served while
+ * the version it was loaded at is current, so a load racing with a write is never served after it.
+ */
+@Slf4j
+@Component
+public class WorkItemCategoryTreeCache {
+
+    private record Snapshot(long version, List<WorkItemCategoryDto> roots) {
+    }
+
+    private final AtomicLong version = new AtomicLong();
+    private final Map<UUID, Snapshot> trees = new ConcurrentHashMap<>();
+
+    /**
+     * The user's category roots, loading the tree when there is none for the current version.
+     * @param loader reads and assembles the tree from the database
+     */
+    public List<WorkItemCategoryDto> get(@NonNull UUID userId, @NonNull Supplier<List<WorkItemCategoryDto>> loader) {
+        Snapshot current = trees.get(userId);
+        if (current != null && current.version() == version.get()) {
+            return current.roots();
+        }
+        long loadVersion = version.get();
+        List<WorkItemCategoryDto> roots = List.copyOf(loader.get());
+        trees.put(userId, new Snapshot(loadVersion, roots));
+        log.debug("Loaded work item category tree of user {} at version {}", userId, loadVersion);
+        return roots;
+    }
+
+    /**
+     * Invalidate the cached trees after a category was created.
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+        trees.clear();
+    }
+}
@@ -0,0 +1,111 @@
+package dev.hr.rezaei.buildflow.workitem;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Code autocomplete over an immutable {@link WorkItemCodeTrie} per user and a shared trie for the
+ * PUBLIC domain.
+ * <p>
+ * Readers take the current tries without locking. Writers are serialized and publish new trie
+ * versions that share every unchanged node with the previous ones. The code, owner and domain of
+ * every indexed work item are remembered, so updates and deletions can remove the old entry
+ * without a database query.
+ */
+@Slf4j
+@Component
+public class WorkItemCodeAutocomplete {
+
+    private record Entry(UUID userId, String code, boolean isPublic) {
+    }
+
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private final Map<UUID, WorkItemCodeTrie> userTries = new ConcurrentHashMap<>();
+    private volatile WorkItemCodeTrie publicTrie = WorkItemCodeTrie.EMPTY;
+
+    /**
+     * Replace all tries with the codes of the given work items.
+     */
+    public synchronized void rebuild(@NonNull Collection<WorkItemDto> workItems) {
+        entries.clear();
+        userTries.clear();
+        publicTrie = WorkItemCodeTrie.EMPTY;
+        workItems.forEach(this::add);
+        log.info("Built work item code tries for {} users", userTries.size());
+    }
+
+    /**
+     * Index a created or updated work item, replacing its previous code.
+     */
+    public synchronized void put(@NonNull WorkItemDto workItem) {
+        remove(workItem.getId());
+        add(workItem);
+    }
+
+    /**
+     * Remove a deleted work item's code.
+     */
+    public synchronized void remove(@NonNull UUID workItemId) {
+        Entry entry = entries.remove(workItemId);
+        if (entry == null) {
+            return;
+        }
+        userTries.computeIfPresent(entry.userId(), (id, trie) -> {
+            WorkItemCodeTrie next = trie.without(entry.code());
+            return next.size() == 0 ? null : next;
+        });
+        if (entry.isPublic()) {
+            publicTrie = publicTrie.without(entry.code());
+        }
+    }
+
+    /**
+     * Codes starting with the prefix among the user's own and the PUBLIC work items, in lexicographic order.
+     * @param prefix case-insensitive code prefix
+     * @param userId the user whose own codes to include, or null for PUBLIC codes only
+     * @param limit maximum number of codes
+     */
+    public List<String> complete(@NonNull String prefix, UUID userId, int limit) {
+        List<String> publicCodes = publicTrie.complete(prefix, limit);
+        WorkItemCodeTrie userTrie = userId != null ? userTries.get(userId) : null;
+        if (userTrie == null) {
+            return publicCodes;
+        }
+        return merge(userTrie.complete(prefix, limit), publicCodes, limit);
+    }
+
+    private void add(WorkItemDto workItem) {
+        Entry entry = new Entry(workItem.getUserId(), workItem.getCode(),
+                WorkItemDomain.PUBLIC.name().equals(workItem.getDomain()));
+        entries.put(workItem.getId(), entry);
+        userTries.compute(entry.userId(), (id, trie) -> (trie != null ? trie : WorkItemCodeTrie.EMPTY).with(entry.code()));
+        if (entry.isPublic()) {
+            publicTrie = publicTrie.with(entry.code());
+        }
+    }
+
+    /**
+     * Merge two lexicographically sorted code lists, dropping codes present in both.
+     */
+    private static List<String> merge(List<String> left, List<String> right, int limit) {
+        List<String> merged = new ArrayList<>(Math.min(limit, left.size() + right.size()));
+        int i = 0, j = 0;
+        while (merged.size() < limit && (i < left.size() || j < right.size())) {
+            int cmp = i == left.size() ? 1 : j == right.size() ? -1
+                    : WorkItemCodeTrie.key(left.get(i)).compareTo(WorkItemCodeTrie.key(right.get(j)));
+            if (cmp < 0) {
+                merged.add(left.get(i++));
+            } else if (cmp > 0) {
+                merged.add(right.get(j++));
+            } else {
+                merged.add(left.get(i++));
+                j++;
+            }
+        }
+        return merged;
+    }
+}
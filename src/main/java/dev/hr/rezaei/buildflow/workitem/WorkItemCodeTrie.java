@@ -0,0 +1,168 @@
+package dev.hr.rezaei.buildflow.workitem;
+
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Immutable prefix trie of work item codes.
+ * <p>
+ * Each node stores its child edges as a sorted {@code char[]} with a parallel child array, so a
+ * lookup costs one binary search per character. {@link #with} and {@link #without} copy only the
+ * path to the changed code and share every other node, which keeps updates cheap while readers
+ * keep using the version they started with. Keys are upper-cased; a node keeps the original code
+ * and the number of work items sharing it.
+ */
+public final class WorkItemCodeTrie {
+
+    public static final WorkItemCodeTrie EMPTY = new WorkItemCodeTrie(Node.EMPTY, 0);
+
+    private final Node root;
+    private final int size;
+
+    private WorkItemCodeTrie(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Number of distinct codes.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * A trie that also contains the code, counting one more work item for it.
+     */
+    public WorkItemCodeTrie with(@NonNull String code) {
+        String key = key(code);
+        Node node = find(key);
+        boolean isNew = node == null || node.refs == 0;
+        return new WorkItemCodeTrie(root.with(key, 0, code), isNew ? size + 1 : size);
+    }
+
+    /**
+     * A trie with one work item fewer for the code; the code is dropped with its last work item.
+     */
+    public WorkItemCodeTrie without(@NonNull String code) {
+        String key = key(code);
+        Node node = find(key);
+        if (node == null || node.refs == 0) {
+            return this;
+        }
+        Node next = root.without(key, 0);
+        return new WorkItemCodeTrie(next == null ? Node.EMPTY : next, node.refs == 1 ? size - 1 : size);
+    }
+
+    /**
+     * Codes starting with the prefix, case-insensitively, in lexicographic order.
+     * @param limit maximum number of codes
+     */
+    public List<String> complete(@NonNull String prefix, int limit) {
+        List<String> codes = new ArrayList<>(Math.min(limit, 16));
+        Node node = find(key(prefix));
+        if (node != null && limit > 0) {
+            node.collect(codes, limit);
+        }
+        return codes;
+    }
+
+    private Node find(String key) {
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        return node;
+    }
+
+    static String key(String code) {
+        return code.toUpperCase(Locale.ROOT);
+    }
+
+    private static final class Node {
+        static final Node EMPTY = new Node(new char[0], new Node[0], null, 0);
+
+        final char[] keys;
+        final Node[] children;
+        final String code;
+        final int refs;
+
+        Node(char[] keys, Node[] children, String code, int refs) {
+            this.keys = keys;
+            this.children = children;
+            this.code = code;
+            this.refs = refs;
+        }
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node with(String key, int depth, String original) {
+            if (depth == key.length()) {
+                return new Node(keys, children, code != null ? code : original, refs + 1);
+            }
+            char c = key.charAt(depth);
+            int i = Arrays.binarySearch(keys, c);
+            if (i >= 0) {
+                Node[] nextChildren = children.clone();
+                nextChildren[i] = children[i].with(key, depth + 1, original);
+                return new Node(keys, nextChildren, code, refs);
+            }
+            int at = -i - 1;
+            char[] nextKeys = new char[keys.length + 1];
+            Node[] nextChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, nextKeys, 0, at);
+            System.arraycopy(children, 0, nextChildren, 0, at);
+            nextKeys[at] = c;
+            nextChildren[at] = EMPTY.with(key, depth + 1, original);
+            System.arraycopy(keys, at, nextKeys, at + 1, keys.length - at);
+            System.arraycopy(children, at, nextChildren, at + 1, children.length - at);
+            return new Node(nextKeys, nextChildren, code, refs);
+        }
+
+        /**
+         * @return the node without one reference to the key, or null when the node becomes empty
+         */
+        Node without(String key, int depth) {
+            if (depth == key.length()) {
+                int nextRefs = refs - 1;
+                if (nextRefs == 0 && keys.length == 0) {
+                    return null;
+                }
+                return new Node(keys, children, nextRefs == 0 ? null : code, nextRefs);
+            }
+            int i = Arrays.binarySearch(keys, key.charAt(depth));
+            Node child = children[i].without(key, depth + 1);
+            if (child != null) {
+                Node[] nextChildren = children.clone();
+                nextChildren[i] = child;
+                return new Node(keys, nextChildren, code, refs);
+            }
+            if (keys.length == 1 && code == null) {
+                return null;
+            }
+            char[] nextKeys = new char[keys.length - 1];
+            Node[] nextChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, nextKeys, 0, i);
+            System.arraycopy(children, 0, nextChildren, 0, i);
+            System.arraycopy(keys, i + 1, nextKeys, i, keys.length - i - 1);
+            System.arraycopy(children, i + 1, nextChildren, i, children.length - i - 1);
+            return new Node(nextKeys, nextChildren, code, refs);
+        }
+
+        void collect(List<String> codes, int limit) {
+            if (code != null) {
+                codes.add(code);
+            }
+            for (int i = 0; i < children.length && codes.size() < limit; i++) {
+                children[i].collect(codes, limit);
+            }
+        }
+    }
+}
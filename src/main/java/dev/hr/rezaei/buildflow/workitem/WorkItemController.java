@@ -1,12 +1,18 @@
 package dev.hr.rezaei.buildflow.workitem;
 
+import dev.hr.rezaei.buildflow.config.mvc.DateFilter;
+import dev.hr.rezaei.buildflow.config.mvc.DateFilterHelper;
 import dev.hr.rezaei.buildflow.user.UserNotFoundException;
 import dev.hr.rezaei.buildflow.config.mvc.dto.ErrorResponse;
+import dev.hr.rezaei.buildflow.workitem.dto.CreateWorkItemCategoryRequest;
 import dev.hr.rezaei.buildflow.workitem.dto.CreateWorkItemRequest;
 import dev.hr.rezaei.buildflow.workitem.dto.CreateWorkItemResponse;
+import dev.hr.rezaei.buildflow.workitem.dto.WorkItemImportResponse;
+import dev.hr.rezaei.buildflow.workitem.dto.WorkItemImportRow;
 import io.swagger.v3.oas.annotations.Hidden;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -15,13 +21,23 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.UUID;
 
+import static dev.hr.rezaei.buildflow.config.mvc.PagedResponseBuilder.build;
+import static dev.hr.rezaei.buildflow.workitem.WorkItemQueryConfig.PAGINATION_HELPER;
+
 
 @Slf4j
 @RestController
@@ -32,6 +48,8 @@ import java.util.UUID;
 public class WorkItemController {
 
     private final WorkItemService workItemService;
+    private final WorkItemBulkService workItemBulkService;
+    private final WorkItemCategoryService workItemCategoryService;
 
     @Operation(summary = "Create a new work item", description = "Creates a new work item with code, name, description, and user assignment")
     @ApiResponses(value = {
@@ -62,10 +80,12 @@ public class WorkItemController {
         }
     }
 
-    @Operation(summary = "Get work items by user ID", description = "Retrieves all work items assigned to a specific user")
+    @Operation(summary = "Get work items by user ID", description = "Retrieves the work items assigned to a specific user with pagination and optional date filtering support")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Work items retrieved successfully",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = WorkItemDto.class))),
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = WorkItemDto.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid pagination or date filter parameters",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = "User not found",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error",
@@ -74,26 +94,108 @@ public class WorkItemController {
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<WorkItemDto>> getWorkItemsByUserId(
             @Parameter(description = "ID of the user whose work items to retrieve")
-            @PathVariable UUID userId
+            @PathVariable UUID userId,
+            @Parameter(description = "Page number (0-based, default: 0)")
+            @RequestParam(required = false) Integer page,
+            @Parameter(description = "Page size (default: 25)")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Sort specification (e.g., 'code,ASC'); sortable by code, name, createdAt, lastUpdatedAt")
+            @RequestParam(required = false) String[] sort,
+            @Parameter(description = "Order by field (alternative to sort)")
+            @RequestParam(required = false) String orderBy,
+            @Parameter(description = "Sort direction (ASC or DESC, used with orderBy)")
+            @RequestParam(required = false) String direction,
+            @Parameter(description = "Filter work items created after this date (ISO 8601 format, e.g., '2024-01-01T00:00:00Z')")
+            @RequestParam(required = false) String createdAfter,
+            @Parameter(description = "Filter work items created before this date (ISO 8601 format)")
+            @RequestParam(required = false) String createdBefore,
+            @Parameter(description = "Filter work items updated after this date (ISO 8601 format)")
+            @RequestParam(required = false) String updatedAfter,
+            @Parameter(description = "Filter work items updated before this date (ISO 8601 format)")
+            @RequestParam(required = false) String updatedBefore
     ) {
-        log.info("Getting work items for user ID: {}", userId);
+        log.info("Getting work items for user ID: {} with pagination and date filters", userId);
 
         try {
-            List<WorkItemDto> workItemDtos = workItemService.getByUserId(userId);
-            log.info("Found {} work items for user ID: {}", workItemDtos.size(), userId);
-            return ResponseEntity.ok(workItemDtos);
+            Pageable pageable = PAGINATION_HELPER.createPageable(page, size, sort, orderBy, direction);
+            DateFilter dateFilter = DateFilterHelper.createDateFilter(
+                createdAfter, createdBefore, updatedAfter, updatedBefore
+            );
+            Page<WorkItemDto> workItemDtoPage = workItemService.getByUserId(userId, pageable, dateFilter);
+            log.info("Found {} work items for user ID: {}", workItemDtoPage.getTotalElements(), userId);
+            return build(workItemDtoPage, "/api/v1/work-items/user/" + userId);
+        } catch (UserNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Import work items", description = "Creates or updates a user's work items from a JSON array, matching existing work items by code; the array is read as a stream and written in batches")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Work items imported successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = WorkItemImportResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Malformed body or invalid row",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "User not found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping(value = "/user/{userId}/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<WorkItemImportResponse> importWorkItems(
+            @Parameter(description = "ID of the user owning the imported work items")
+            @PathVariable UUID userId,
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "JSON array of work items",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = WorkItemImportRow.class))))
+            InputStream body
+    ) {
+        log.info("Importing work items for user ID: {}", userId);
+
+        try {
+            WorkItemImportResponse response = workItemBulkService.importWorkItems(userId, body);
+            return ResponseEntity.ok(response);
         } catch (UserNotFoundException e) {
             return ResponseEntity.notFound().build();
         } catch (IllegalArgumentException e) {
+            log.warn("Rejected work item import for user ID {}: {}", userId, e.getMessage());
             return ResponseEntity.badRequest().build();
         }
     }
 
-    @Operation(summary = "Get work items by domain", description = "Retrieves all work items within a specific domain (PUBLIC or PRIVATE)")
+    @Operation(summary = "Export work items", description = "Streams all work items of a user as a JSON array ordered by code, in the format accepted by the import endpoint")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Work items exported successfully",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = WorkItemImportRow.class)))),
+            @ApiResponse(responseCode = "404", description = "User not found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/user/{userId}/export")
+    public ResponseEntity<StreamingResponseBody> exportWorkItems(
+            @Parameter(description = "ID of the user whose work items to export")
+            @PathVariable UUID userId
+    ) {
+        log.info("Exporting work items for user ID: {}", userId);
+
+        try {
+            // Checked up front: once streaming starts, the status can no longer change
+            workItemBulkService.requireUser(userId);
+        } catch (UserNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+        StreamingResponseBody body = out -> workItemBulkService.exportWorkItems(userId, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    @Operation(summary = "Get work items by domain", description = "Retrieves the work items within a specific domain (PUBLIC or PRIVATE) with pagination and optional date filtering support")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Work items retrieved successfully",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = WorkItemDto.class))),
-            @ApiResponse(responseCode = "400", description = "Invalid domain parameter",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = WorkItemDto.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid domain, pagination or date filter parameters",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
@@ -101,17 +203,210 @@ public class WorkItemController {
     @GetMapping("/domain/{domain}")
     public ResponseEntity<List<WorkItemDto>> getWorkItemsByDomain(
             @Parameter(description = "Domain to filter work items by (PUBLIC or PRIVATE)")
-            @PathVariable String domain
+            @PathVariable String domain,
+            @Parameter(description = "Page number (0-based, default: 0)")
+            @RequestParam(required = false) Integer page,
+            @Parameter(description = "Page size (default: 25)")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Sort specification (e.g., 'code,ASC'); sortable by code, name, createdAt, lastUpdatedAt")
+            @RequestParam(required = false) String[] sort,
+            @Parameter(description = "Order by field (alternative to sort)")
+            @RequestParam(required = false) String orderBy,
+            @Parameter(description = "Sort direction (ASC or DESC, used with orderBy)")
+            @RequestParam(required = false) String direction,
+            @Parameter(description = "Filter work items created after this date (ISO 8601 format, e.g., '2024-01-01T00:00:00Z')")
+            @RequestParam(required = false) String createdAfter,
+            @Parameter(description = "Filter work items created before this date (ISO 8601 format)")
+            @RequestParam(required = false) String createdBefore,
+            @Parameter(description = "Filter work items updated after this date (ISO 8601 format)")
+            @RequestParam(required = false) String updatedAfter,
+            @Parameter(description = "Filter work items updated before this date (ISO 8601 format)")
+            @RequestParam(required = false) String updatedBefore
     ) {
-        log.info("Getting work items for domain: {}", domain);
+        log.info("Getting work items for domain: {} with pagination and date filters", domain);
 
         try {
-            List<WorkItemDto> workItemDtos = workItemService.getByDomain(domain);
+            Pageable pageable = PAGINATION_HELPER.createPageable(page, size, sort, orderBy, direction);
+            DateFilter dateFilter = DateFilterHelper.createDateFilter(
+                createdAfter, createdBefore, updatedAfter, updatedBefore
+            );
+            Page<WorkItemDto> workItemDtoPage = workItemService.getByDomain(domain, pageable, dateFilter);
+            log.info("Found {} work items for domain: {}", workItemDtoPage.getTotalElements(), domain);
+            return build(workItemDtoPage, "/api/v1/work-items/domain/" + domain);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
 
-            log.info("Found {} work items for domain: {}", workItemDtos.size(), domain);
+    @Operation(summary = "Get the PUBLIC work item catalog", description = "Returns every PUBLIC work item from a shared snapshot with an ETag; send If-None-Match to receive 304 when the catalog has not changed")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Catalog retrieved successfully",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = WorkItemDto.class)))),
+            @ApiResponse(responseCode = "304", description = "Catalog not modified since the given ETag"),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/public")
+    public ResponseEntity<byte[]> getPublicCatalog(WebRequest webRequest) {
+        WorkItemCatalogCache.Snapshot catalog = workItemService.getPublicCatalog();
+        if (webRequest.checkNotModified(catalog.etag())) {
+            return null; // Spring answers 304 Not Modified
+        }
+        return ResponseEntity.ok()
+                .eTag(catalog.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(catalog.json());
+    }
+
+    @Operation(summary = "Search work items", description = "Ranked full-text search over code, name and description of PUBLIC work items and, when a user ID is given, that user's own work items")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching work items, best match first",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = WorkItemDto.class))),
+            @ApiResponse(responseCode = "400", description = "Blank query or invalid limit",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/search")
+    public ResponseEntity<List<WorkItemDto>> searchWorkItems(
+            @Parameter(description = "Search text; the last word may be partially typed")
+            @RequestParam("q") String query,
+            @Parameter(description = "ID of the searching user, to include their own work items")
+            @RequestParam(required = false) UUID userId,
+            @Parameter(description = "Maximum number of results (1-" + WorkItemService.MAX_SEARCH_LIMIT + ")")
+            @RequestParam(defaultValue = "" + WorkItemService.DEFAULT_SEARCH_LIMIT) int limit
+    ) {
+        try {
+            List<WorkItemDto> workItemDtos = workItemService.search(query, userId, limit);
+            log.debug("Found {} work items for query: {}", workItemDtos.size(), query);
             return ResponseEntity.ok(workItemDtos);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
     }
+
+    @Operation(summary = "Autocomplete work item codes", description = "Returns PUBLIC work item codes and, when a user ID is given, that user's own codes starting with the prefix, in lexicographic order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching codes",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = String.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid limit",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<String>> autocompleteCodes(
+            @Parameter(description = "Case-insensitive code prefix")
+            @RequestParam String prefix,
+            @Parameter(description = "ID of the user, to include their own codes")
+            @RequestParam(required = false) UUID userId,
+            @Parameter(description = "Maximum number of codes (1-" + WorkItemService.MAX_AUTOCOMPLETE_LIMIT + ")")
+            @RequestParam(defaultValue = "" + WorkItemService.DEFAULT_AUTOCOMPLETE_LIMIT) int limit
+    ) {
+        try {
+            return ResponseEntity.ok(workItemService.autocompleteCode(prefix, userId, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Create a work item category", description = "Creates a category owned by a user, under the given parent category or as a root")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Category created successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = WorkItemCategoryDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request data or parent category of another user",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "User or parent category not found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/categories")
+    public ResponseEntity<WorkItemCategoryDto> createCategory(
+            @Parameter(description = "Category creation request containing owner, name and optional parent")
+            @Valid @RequestBody CreateWorkItemCategoryRequest request
+    ) {
+        log.info("Creating work item category with request: {}", request);
+
+        try {
+            WorkItemCategoryDto category = workItemCategoryService.createCategory(request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(category);
+        } catch (UserNotFoundException | WorkItemCategoryNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Get a user's category tree", description = "Returns the user's work item categories as a tree of roots with nested children, ordered by name, from an in-memory cache")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Category tree retrieved successfully",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = WorkItemCategoryDto.class)))),
+            @ApiResponse(responseCode = "404", description = "User not found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/categories/user/{userId}")
+    public ResponseEntity<List<WorkItemCategoryDto>> getCategoryTree(
+            @Parameter(description = "ID of the user whose categories to retrieve")
+            @PathVariable UUID userId
+    ) {
+        try {
+            return ResponseEntity.ok(workItemCategoryService.getCategoryTree(userId));
+        } catch (UserNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @Operation(summary = "Get work items under a category", description = "Returns the work items in the category or any of its subcategories, ordered by code")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Work items retrieved successfully",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = WorkItemDto.class)))),
+            @ApiResponse(responseCode = "404", description = "Category not found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/categories/{categoryId}/work-items")
+    public ResponseEntity<List<WorkItemDto>> getWorkItemsInCategory(
+            @Parameter(description = "ID of the category")
+            @PathVariable UUID categoryId
+    ) {
+        try {
+            return ResponseEntity.ok(workItemCategoryService.getWorkItemsInCategory(categoryId));
+        } catch (WorkItemCategoryNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @Operation(summary = "Assign a work item to a category", description = "Places the work item in a category of its owner, or takes it out of its category when no category ID is given")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Work item category updated successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = WorkItemDto.class))),
+            @ApiResponse(responseCode = "400", description = "Work item not found or category of another user",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Category not found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PutMapping("/{workItemId}/category")
+    public ResponseEntity<WorkItemDto> assignCategory(
+            @Parameter(description = "ID of the work item")
+            @PathVariable UUID workItemId,
+            @Parameter(description = "ID of the category, omitted to clear the category")
+            @RequestParam(required = false) UUID categoryId
+    ) {
+        log.info("Assigning work item ID: {} to category ID: {}", workItemId, categoryId);
+
+        try {
+            return ResponseEntity.ok(workItemCategoryService.assignCategory(workItemId, categoryId));
+        } catch (WorkItemCategoryNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
 }
@@ -22,4 +22,5 @@ public class WorkItemDto extends UpdatableEntityDto implements Dto<WorkItem> {
     private UUID userId;
     private String defaultGroupName;
     private String domain;
+    private UUID categoryId;
 }
@@ -21,6 +21,7 @@ public class WorkItemDtoMapper {
                 .userId(workItem.getUser().getId())
                 .defaultGroupName(workItem.getDefaultGroupName())
                 .domain(workItem.getDomain().name())
+                .categoryId(workItem.getCategory() != null ? workItem.getCategory().getId() : null)
                 .createdAt(UpdatableEntityDtoMapper.toString(workItem.getCreatedAt()))
                 .lastUpdatedAt(UpdatableEntityDtoMapper.toString(workItem.getLastUpdatedAt()))
                 .build();
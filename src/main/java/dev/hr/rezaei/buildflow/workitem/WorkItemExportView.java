@@ -0,0 +1,18 @@
+package dev.hr.rezaei.buildflow.workitem;
+
+/**
+ * Projection of the exported fields of a work item, streamed by {@link WorkItemBulkService}.
+ */
+public interface WorkItemExportView {
+    String getCode();
+
+    String getName();
+
+    String getDescription();
+
+    boolean isOptional();
+
+    String getDefaultGroupName();
+
+    WorkItemDomain getDomain();
+}
@@ -0,0 +1,90 @@
+package dev.hr.rezaei.buildflow.workitem;
+
+import dev.hr.rezaei.buildflow.config.mvc.PaginationHelper;
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
+
+/**
+ * Centralized query configuration for WorkItem listing endpoints.
+ * 
+ * Combines pagination and date filtering configuration:
+ * - Sortable fields (prevents SQL injection by whitelisting)
+ * - Default sort field and direction
+ * - Default page size
+ * - Shared PaginationHelper instance
+ * - Date filtering support via UpdatableEntitySpecification
+ * 
+ * Usage in controllers:
+ * <pre>
+ * Pageable pageable = WorkItemQueryConfig.PAGINATION_HELPER.createPageable(
+ *     page, size, sort, orderBy, direction
+ * );
+ * DateFilter dateFilter = DateFilterHelper.createDateFilter(
+ *     createdAfter, createdBefore, updatedAfter, updatedBefore
+ * );
+ * Page&lt;WorkItemDto&gt; results = workItemService.getByDomain(domain, pageable, dateFilter);
+ * </pre>
+ */
+public final class WorkItemQueryConfig {
+
+    // ========================================
+    // Pagination Configuration
+    // ========================================
+
+    /**
+     * Fields that are allowed for sorting in work item queries.
+     * Prevents SQL injection by whitelisting valid sort fields.
+     */
+    public static final Set<String> SORTABLE_FIELDS = Set.of(
+        "code",
+        "name",
+        "lastUpdatedAt",
+        "createdAt"
+    );
+
+    /**
+     * Default field to sort by when no sort parameter is provided.
+     * Catalogs are browsed by code.
+     */
+    public static final String DEFAULT_SORT_FIELD = "code";
+
+    /**
+     * Default sort direction when no direction is specified.
+     */
+    public static final Sort.Direction DEFAULT_SORT_DIRECTION = Sort.Direction.ASC;
+
+    /**
+     * Default page size for paginated queries.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 25;
+
+    /**
+     * Shared PaginationHelper instance configured with work item defaults.
+     */
+    public static final PaginationHelper PAGINATION_HELPER = new PaginationHelper(
+        SORTABLE_FIELDS,
+        DEFAULT_SORT_FIELD,
+        DEFAULT_SORT_DIRECTION
+    );
+
+    // ========================================
+    // Date Filtering Configuration
+    // ========================================
+
+    /**
+     * Note: Date filtering is handled through UpdatableEntitySpecification on the
+     * createdAt and lastUpdatedAt fields inherited from UpdatableEntity.
+     * 
+     * Example usage:
+     * GET /api/v1/work-items/domain/PUBLIC?updatedAfter=2024-11-01T00:00:00Z&orderBy=name
+     */
+
+    /**
+     * Private constructor prevents instantiation.
+     * This is a utility class with only static members.
+     */
+    private WorkItemQueryConfig() {
+        throw new AssertionError("WorkItemQueryConfig is a utility class and should not be instantiated");
+    }
+}
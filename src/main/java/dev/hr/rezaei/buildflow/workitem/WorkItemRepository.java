@@ -1,18 +1,59 @@
 package dev.hr.rezaei.buildflow.workitem;
 
 import dev.hr.rezaei.buildflow.user.User;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface WorkItemRepository extends JpaRepository<WorkItem, UUID> {
+public interface WorkItemRepository extends JpaRepository<WorkItem, UUID>, JpaSpecificationExecutor<WorkItem> {
     List<WorkItem> findByUser(User user);
     List<WorkItem> findByUserId(UUID userId);
     List<WorkItem> findByDomain(WorkItemDomain domain);
     Optional<WorkItem> findByUserIdAndCode(UUID userId, String code);
     List<WorkItem> findByUserIdAndDomain(UUID userId, WorkItemDomain domain);
+
+    /**
+     * Codes of all work items of a user.
+     */
+    @Query("select w.code from WorkItem w where w.user.id = :userId")
+    List<String> findCodesByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Stream the exported fields of a user's work items ordered by code.
+     * Must be consumed inside a transaction and closed.
+     */
+    @Query("""
+            select w.code as code,
+                   w.name as name,
+                   w.description as description,
+                   w.optional as optional,
+                   w.defaultGroupName as defaultGroupName,
+                   w.domain as domain
+              from WorkItem w
+             where w.user.id = :userId
+             order by w.code
+            """)
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    Stream<WorkItemExportView> streamExportByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Work items in the category or any of its subcategories, ordered by code, by one join on the closure table.
+     */
+    @Query("""
+            select w from WorkItem w
+              join WorkItemCategoryClosure c on c.descendantId = w.category.id
+             where c.ancestorId = :categoryId
+             order by w.code
+            """)
+    List<WorkItem> findInCategorySubtree(@Param("categoryId") UUID categoryId);
 }
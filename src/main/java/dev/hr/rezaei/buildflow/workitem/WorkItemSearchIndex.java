@@ -0,0 +1,309 @@
+package dev.hr.rezaei.buildflow.workitem;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the {@code code}, {@code name} and {@code description} of work items.
+ * <p>
+ * Every indexed work item gets an int document id. Each term keeps a posting list of document ids and
+ * field weights in primitive arrays; document ids only grow, so posting lists stay sorted and are
+ * intersected with a linear merge. Updates add a new document and tombstone the old one; the index
+ * compacts itself when tombstones outnumber live documents.
+ * <p>
+ * Query tokens match terms by prefix, so the last token can be partially typed. A work item matches
+ * when every query token matches one of its terms. Results are ranked by the summed field weight of
+ * the matched terms, with exact term matches counting double.
+ */
+@Slf4j
+@Component
+public class WorkItemSearchIndex {
+
+    static final int CODE_WEIGHT = 3;
+    static final int NAME_WEIGHT = 2;
+    static final int DESCRIPTION_WEIGHT = 1;
+    private static final int MAX_PREFIX_TERMS = 256;
+    private static final int MIN_COMPACT_TOMBSTONES = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final Map<UUID, Integer> docIdByWorkItemId = new HashMap<>();
+    private WorkItemDto[] docs = new WorkItemDto[64];
+    private int docCount;
+    private int liveCount;
+
+    /**
+     * Replace the whole index with the given work items.
+     */
+    public void rebuild(@NonNull Collection<WorkItemDto> workItems) {
+        lock.writeLock().lock();
+        try {
+            clear();
+            workItems.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Built work item search index with {} work items", workItems.size());
+    }
+
+    /**
+     * Index a created or updated work item, replacing its previous version.
+     */
+    public void put(@NonNull WorkItemDto workItem) {
+        lock.writeLock().lock();
+        try {
+            tombstone(workItem.getId());
+            add(workItem);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a deleted work item.
+     */
+    public void remove(@NonNull UUID workItemId) {
+        lock.writeLock().lock();
+        try {
+            tombstone(workItemId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Number of indexed work items.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Search the work items visible to a user: all PUBLIC work items plus the user's own.
+     * @param query free text; blank queries match nothing
+     * @param userId the searching user, or null to search PUBLIC work items only
+     * @param limit maximum number of results
+     * @return matching work items, best match first
+     */
+    public List<WorkItemDto> search(@NonNull String query, UUID userId, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            int[][] matched = null;
+            for (String token : tokens) {
+                int[][] tokenMatches = matchToken(token);
+                matched = matched == null ? tokenMatches : intersect(matched, tokenMatches);
+                if (matched[0].length == 0) {
+                    return List.of();
+                }
+            }
+            return topResults(matched, userId, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private void add(WorkItemDto workItem) {
+        int docId = docCount++;
+        if (docId == docs.length) {
+            docs = Arrays.copyOf(docs, docs.length * 2);
+        }
+        docs[docId] = workItem;
+        docIdByWorkItemId.put(workItem.getId(), docId);
+        liveCount++;
+
+        Map<String, Integer> weights = new HashMap<>();
+        addTerms(weights, workItem.getCode(), CODE_WEIGHT);
+        addTerms(weights, workItem.getName(), NAME_WEIGHT);
+        addTerms(weights, workItem.getDescription(), DESCRIPTION_WEIGHT);
+        weights.forEach((term, weight) -> terms.computeIfAbsent(term, t -> new Postings()).add(docId, weight));
+    }
+
+    private static void addTerms(Map<String, Integer> weights, String text, int weight) {
+        for (String token : tokenize(text)) {
+            weights.merge(token, weight, Math::max);
+        }
+    }
+
+    private void tombstone(UUID workItemId) {
+        Integer docId = docIdByWorkItemId.remove(workItemId);
+        if (docId != null) {
+            docs[docId] = null;
+            liveCount--;
+        }
+    }
+
+    private void compactIfNeeded() {
+        int tombstones = docCount - liveCount;
+        if (tombstones < MIN_COMPACT_TOMBSTONES || tombstones <= liveCount) {
+            return;
+        }
+        List<WorkItemDto> live = new ArrayList<>(liveCount);
+        for (int i = 0; i < docCount; i++) {
+            if (docs[i] != null) {
+                live.add(docs[i]);
+            }
+        }
+        clear();
+        live.forEach(this::add);
+        log.debug("Compacted work item search index, dropped {} tombstones", tombstones);
+    }
+
+    private void clear() {
+        terms.clear();
+        docIdByWorkItemId.clear();
+        docs = new WorkItemDto[64];
+        docCount = 0;
+        liveCount = 0;
+    }
+
+    /**
+     * Union of the postings of all terms starting with the token, as parallel sorted arrays
+     * of document ids and best weights.
+     */
+    private int[][] matchToken(String token) {
+        SortedMap<String, Postings> expansions = terms.subMap(token, token + Character.MAX_VALUE);
+        if (expansions.isEmpty()) {
+            return new int[][]{new int[0], new int[0]};
+        }
+        Postings exact = expansions.get(token);
+        if (expansions.size() == 1 && exact != null) {
+            int[] weights = Arrays.copyOf(exact.weights, exact.size);
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] *= 2;
+            }
+            return new int[][]{Arrays.copyOf(exact.docs, exact.size), weights};
+        }
+        int total = 0;
+        int expanded = 0;
+        for (Postings postings : expansions.values()) {
+            total += postings.size;
+            if (++expanded == MAX_PREFIX_TERMS) {
+                break;
+            }
+        }
+        long[] packed = new long[total];
+        int n = 0;
+        expanded = 0;
+        for (Map.Entry<String, Postings> entry : expansions.entrySet()) {
+            Postings postings = entry.getValue();
+            int factor = entry.getKey().length() == token.length() ? 2 : 1;
+            for (int i = 0; i < postings.size; i++) {
+                packed[n++] = ((long) postings.docs[i] << 32) | (postings.weights[i] * factor);
+            }
+            if (++expanded == MAX_PREFIX_TERMS) {
+                break;
+            }
+        }
+        Arrays.sort(packed);
+        int[] docIds = new int[n];
+        int[] weights = new int[n];
+        int size = 0;
+        for (long entry : packed) {
+            int docId = (int) (entry >>> 32);
+            int weight = (int) entry;
+            if (size > 0 && docIds[size - 1] == docId) {
+                weights[size - 1] = Math.max(weights[size - 1], weight);
+            } else {
+                docIds[size] = docId;
+                weights[size] = weight;
+                size++;
+            }
+        }
+        return new int[][]{Arrays.copyOf(docIds, size), Arrays.copyOf(weights, size)};
+    }
+
+    private static int[][] intersect(int[][] left, int[][] right) {
+        int[] leftDocs = left[0];
+        int[] rightDocs = right[0];
+        int[] docIds = new int[Math.min(leftDocs.length, rightDocs.length)];
+        int[] weights = new int[docIds.length];
+        int i = 0, j = 0, size = 0;
+        while (i < leftDocs.length && j < rightDocs.length) {
+            if (leftDocs[i] < rightDocs[j]) {
+                i++;
+            } else if (leftDocs[i] > rightDocs[j]) {
+                j++;
+            } else {
+                docIds[size] = leftDocs[i];
+                weights[size] = left[1][i] + right[1][j];
+                size++;
+                i++;
+                j++;
+            }
+        }
+        return new int[][]{Arrays.copyOf(docIds, size), Arrays.copyOf(weights, size)};
+    }
+
+    private List<WorkItemDto> topResults(int[][] matched, UUID userId, int limit) {
+        int[] docIds = matched[0];
+        int[] weights = matched[1];
+        Comparator<Integer> worstFirst = Comparator.<Integer>comparingInt(i -> weights[i])
+                .thenComparing(i -> docs[docIds[i]].getCode(), Comparator.reverseOrder());
+        PriorityQueue<Integer> best = new PriorityQueue<>(limit + 1, worstFirst);
+        for (int i = 0; i < docIds.length; i++) {
+            WorkItemDto doc = docs[docIds[i]];
+            if (doc == null || !isVisible(doc, userId)) {
+                continue;
+            }
+            best.add(i);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        WorkItemDto[] results = new WorkItemDto[best.size()];
+        for (int k = results.length - 1; k >= 0; k--) {
+            results[k] = docs[docIds[best.poll()]];
+        }
+        return List.of(results);
+    }
+
+    private static boolean isVisible(WorkItemDto doc, UUID userId) {
+        return WorkItemDomain.PUBLIC.name().equals(doc.getDomain())
+                || (userId != null && userId.equals(doc.getUserId()));
+    }
+
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int[] weights = new int[4];
+        private int size;
+
+        void add(int docId, int weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = docId;
+            weights[size] = weight;
+            size++;
+        }
+    }
+}
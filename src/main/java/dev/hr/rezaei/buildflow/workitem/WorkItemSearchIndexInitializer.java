@@ -0,0 +1,23 @@
+package dev.hr.rezaei.buildflow.workitem;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the in-memory work item search index and code autocomplete tries at startup.
+ */
+@Component
+@RequiredArgsConstructor
+@Order(4) // Runs after AdminUserInitializer (1) and MockDataInitializer (2)
+public class WorkItemSearchIndexInitializer implements ApplicationRunner {
+
+    private final WorkItemService workItemService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        workItemService.rebuildSearchIndex();
+    }
+}
@@ -1,5 +1,7 @@
 package dev.hr.rezaei.buildflow.workitem;
 
+import dev.hr.rezaei.buildflow.config.mvc.DateFilter;
+import dev.hr.rezaei.buildflow.config.mvc.UpdatableEntitySpecification;
 import dev.hr.rezaei.buildflow.user.UserNotFoundException;
 import dev.hr.rezaei.buildflow.user.User;
 import dev.hr.rezaei.buildflow.user.UserService;
@@ -7,7 +9,11 @@ import dev.hr.rezaei.buildflow.workitem.dto.CreateWorkItemRequest;
 import dev.hr.rezaei.buildflow.workitem.dto.CreateWorkItemResponse;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
@@ -16,19 +22,34 @@ import java.util.UUID;
 
 import static dev.hr.rezaei.buildflow.util.EnumUtil.fromStringOrDefault;
 import static dev.hr.rezaei.buildflow.util.StringUtil.orDefault;
+import static dev.hr.rezaei.buildflow.util.TransactionUtil.afterCommit;
 import static dev.hr.rezaei.buildflow.workitem.WorkItemDtoMapper.toWorkItemDto;
 
 @Slf4j
 @Service
 public class WorkItemService {
 
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+    public static final int MAX_SEARCH_LIMIT = 100;
+    public static final int DEFAULT_AUTOCOMPLETE_LIMIT = 10;
+    public static final int MAX_AUTOCOMPLETE_LIMIT = 50;
+
     private final UserService userService;
     private final WorkItemRepository workItemRepository;
+    private final WorkItemSearchIndex workItemSearchIndex;
+    private final WorkItemCatalogCache workItemCatalogCache;
+    private final WorkItemCodeAutocomplete workItemCodeAutocomplete;
 
     public WorkItemService(UserService userService,
-                           WorkItemRepository workItemRepository) {
+                           WorkItemRepository workItemRepository,
+                           WorkItemSearchIndex workItemSearchIndex,
+                           WorkItemCatalogCache workItemCatalogCache,
+                           WorkItemCodeAutocomplete workItemCodeAutocomplete) {
         this.userService = userService;
         this.workItemRepository = workItemRepository;
+        this.workItemSearchIndex = workItemSearchIndex;
+        this.workItemCatalogCache = workItemCatalogCache;
+        this.workItemCodeAutocomplete = workItemCodeAutocomplete;
     }
 
     public WorkItem update(@NonNull WorkItem workItem) {
@@ -39,7 +60,15 @@ public class WorkItemService {
         workItem.setLastUpdatedAt(Instant.now());
 
         log.info("Updating work item: {}", workItem);
-        return workItemRepository.save(workItem);
+        WorkItem updated = workItemRepository.save(workItem);
+        WorkItemDto indexed = toWorkItemDto(updated);
+        afterCommit(() -> {
+            workItemSearchIndex.put(indexed);
+            workItemCodeAutocomplete.put(indexed);
+            // The domain may have changed, so any update can affect the PUBLIC catalog
+            workItemCatalogCache.invalidate();
+        });
+        return updated;
     }
 
     public void delete(@NonNull WorkItem workItem) {
@@ -48,6 +77,15 @@ public class WorkItemService {
         }
         log.info("Deleting work item: {}", workItem);
         workItemRepository.delete(workItem);
+        UUID workItemId = workItem.getId();
+        boolean isPublic = workItem.getDomain() == WorkItemDomain.PUBLIC;
+        afterCommit(() -> {
+            workItemSearchIndex.remove(workItemId);
+            workItemCodeAutocomplete.remove(workItemId);
+            if (isPublic) {
+                workItemCatalogCache.invalidate();
+            }
+        });
     }
 
     public boolean isPersisted(@NonNull WorkItem workItem) {
@@ -94,6 +132,49 @@ public class WorkItemService {
                 .toList();
     }
 
+    /**
+     * Get a page of a user's work items with optional date filtering, read by a single specification query.
+     * @param userId the owner of the work items
+     * @param pageable pagination and sorting parameters
+     * @param dateFilter optional date filter (createdAfter, createdBefore, updatedAfter, updatedBefore)
+     * @return paginated work item DTOs
+     */
+    @Transactional(readOnly = true)
+    public Page<WorkItemDto> getByUserId(@NonNull UUID userId, @NonNull Pageable pageable, DateFilter dateFilter) {
+        // Verify user exists and is persisted
+        Optional<User> persistedUser = userService.findById(userId);
+        if (persistedUser.isEmpty()) {
+            throw new UserNotFoundException("User with ID " + userId + " does not exist or is not persisted.");
+        }
+
+        Specification<WorkItem> userSpec = (root, query, cb) ->
+            cb.equal(root.get("user").get("id"), userId);
+
+        return workItemRepository.findAll(userSpec.and(UpdatableEntitySpecification.withDateFilter(dateFilter)), pageable)
+                .map(WorkItemDtoMapper::toWorkItemDto);
+    }
+
+    /**
+     * Get a page of the work items of a domain with optional date filtering, read by a single specification query.
+     * @param domain the domain name (PUBLIC or PRIVATE)
+     * @param pageable pagination and sorting parameters
+     * @param dateFilter optional date filter (createdAfter, createdBefore, updatedAfter, updatedBefore)
+     * @return paginated work item DTOs
+     */
+    @Transactional(readOnly = true)
+    public Page<WorkItemDto> getByDomain(@NonNull String domain, @NonNull Pageable pageable, DateFilter dateFilter) {
+        WorkItemDomain workItemDomain = fromStringOrDefault(WorkItemDomain.class, domain, null);
+        if (workItemDomain == null) {
+            throw new IllegalArgumentException("Invalid domain value: " + domain);
+        }
+
+        Specification<WorkItem> domainSpec = (root, query, cb) ->
+            cb.equal(root.get("domain"), workItemDomain);
+
+        return workItemRepository.findAll(domainSpec.and(UpdatableEntitySpecification.withDateFilter(dateFilter)), pageable)
+                .map(WorkItemDtoMapper::toWorkItemDto);
+    }
+
     public List<WorkItem> findByDomain(@NonNull WorkItemDomain domain) {
         return workItemRepository.findByDomain(domain);
     }
@@ -103,11 +184,24 @@ public class WorkItemService {
         if (workItemDomain == null) {
             throw new IllegalArgumentException("Invalid domain value: " + domain);
         }
+        if (workItemDomain == WorkItemDomain.PUBLIC) {
+            return getPublicCatalog().items();
+        }
         return workItemRepository.findByDomain(workItemDomain).stream()
                 .map(WorkItemDtoMapper::toWorkItemDto)
                 .toList();
     }
 
+    /**
+     * Get the whole PUBLIC catalog from the shared snapshot cache, loading it on the first read after a write.
+     * @return immutable snapshot with the catalog DTOs, their JSON and ETag
+     */
+    public WorkItemCatalogCache.Snapshot getPublicCatalog() {
+        return workItemCatalogCache.get(() -> workItemRepository.findByDomain(WorkItemDomain.PUBLIC).stream()
+                .map(WorkItemDtoMapper::toWorkItemDto)
+                .toList());
+    }
+
     public Optional<WorkItemDto> getByUserIdAndCode(@NonNull UUID userId, @NonNull String code) {
         if (code.isBlank()) {
             throw new IllegalArgumentException("Code cannot be null or empty.");
@@ -135,6 +229,67 @@ public class WorkItemService {
                 .toList();
     }
 
+    /**
+     * Full-text search over code, name and description of the work items visible to a user,
+     * served from the in-memory search index.
+     * @param query free text, the last token may be partially typed
+     * @param userId the searching user, or null to search PUBLIC work items only
+     * @param limit maximum number of results, between 1 and {@link #MAX_SEARCH_LIMIT}
+     * @return matching work items, best match first
+     */
+    public List<WorkItemDto> search(@NonNull String query, UUID userId, int limit) {
+        if (query.isBlank()) {
+            throw new IllegalArgumentException("Search query cannot be null or empty.");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new IllegalArgumentException("Search limit must be between 1 and " + MAX_SEARCH_LIMIT + ".");
+        }
+        return workItemSearchIndex.search(query, userId, limit);
+    }
+
+    /**
+     * Complete a work item code prefix among the user's own and the PUBLIC work items, served from in-memory tries.
+     * @param prefix case-insensitive code prefix
+     * @param userId the user whose own codes to include, or null for PUBLIC codes only
+     * @param limit maximum number of codes, between 1 and {@link #MAX_AUTOCOMPLETE_LIMIT}
+     * @return matching codes in lexicographic order
+     */
+    public List<String> autocompleteCode(@NonNull String prefix, UUID userId, int limit) {
+        if (limit < 1 || limit > MAX_AUTOCOMPLETE_LIMIT) {
+            throw new IllegalArgumentException("Autocomplete limit must be between 1 and " + MAX_AUTOCOMPLETE_LIMIT + ".");
+        }
+        return workItemCodeAutocomplete.complete(prefix.trim(), userId, limit);
+    }
+
+    /**
+     * Refresh the search index, code tries and PUBLIC catalog after a user's work items were written in bulk.
+     * @param userId the owner of the written work items
+     */
+    @Transactional(readOnly = true)
+    public void reindexUser(@NonNull UUID userId) {
+        workItemRepository.findByUserId(userId).stream()
+                .map(WorkItemDtoMapper::toWorkItemDto)
+                .forEach(workItemDto -> {
+                    workItemSearchIndex.put(workItemDto);
+                    workItemCodeAutocomplete.put(workItemDto);
+                });
+        workItemCatalogCache.invalidate();
+    }
+
+    /**
+     * Rebuild the search index and the code autocomplete tries from all persisted work items.
+     * @return number of indexed work items
+     */
+    @Transactional(readOnly = true)
+    public int rebuildSearchIndex() {
+        List<WorkItemDto> workItems = workItemRepository.findAll().stream()
+                .map(WorkItemDtoMapper::toWorkItemDto)
+                .toList();
+        workItemSearchIndex.rebuild(workItems);
+        workItemCodeAutocomplete.rebuild(workItems);
+        return workItems.size();
+    }
+
     public long count() {
         return workItemRepository.count();
     }
@@ -161,6 +316,13 @@ public class WorkItemService {
 
         WorkItem savedWorkItem = workItemRepository.save(workItem);
         WorkItemDto workItemDto = toWorkItemDto(savedWorkItem);
+        afterCommit(() -> {
+            workItemSearchIndex.put(workItemDto);
+            workItemCodeAutocomplete.put(workItemDto);
+            if (savedWorkItem.getDomain() == WorkItemDomain.PUBLIC) {
+                workItemCatalogCache.invalidate();
+            }
+        });
 
         return CreateWorkItemResponse.builder()
                 .workItemDto(workItemDto)
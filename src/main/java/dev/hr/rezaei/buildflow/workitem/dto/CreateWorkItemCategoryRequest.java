@@ -0,0 +1,34 @@
+package dev.hr.rezaei.buildflow.workitem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import java.util.UUID;
+
+/**
+ * CreateWorkItemCategoryRequest representing request object for creating a work item category.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+@Schema(description = "Request object for creating a work item category")
+public class CreateWorkItemCategoryRequest {
+    @Schema(description = "ID of the user who owns the category", example = "123e4567-e89b-12d3-a456-426614174000")
+    @NotNull(message = "User ID is required")
+    private UUID userId;
+
+    @Schema(description = "Name of the category", example = "Framing")
+    @NotBlank(message = "Name is required and cannot be blank")
+    @Size(max = 100, message = "Name must be at most 100 characters")
+    private String name;
+
+    @Schema(description = "ID of the parent category, omitted for a root category", example = "123e4567-e89b-12d3-a456-426614174001")
+    private UUID parentId;
+}
@@ -0,0 +1,23 @@
+package dev.hr.rezaei.buildflow.workitem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * WorkItemImportResponse representing the outcome of a bulk work item import.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+@Schema(description = "Outcome of a bulk work item import")
+public class WorkItemImportResponse {
+    @Schema(description = "Number of work items created", example = "1200")
+    private int createdCount;
+
+    @Schema(description = "Number of existing work items updated by code", example = "35")
+    private int updatedCount;
+}
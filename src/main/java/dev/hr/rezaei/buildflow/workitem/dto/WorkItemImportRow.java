@@ -0,0 +1,36 @@
+package dev.hr.rezaei.buildflow.workitem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * WorkItemImportRow representing one work item of a bulk import or export file.
+ * Rows are matched to existing work items of the owner by code.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+@Schema(description = "One work item of a bulk import or export, matched to the owner's existing work items by code")
+public class WorkItemImportRow {
+    @Schema(description = "Code identifier of the work item, unique per owner", example = "S1-001")
+    private String code;
+
+    @Schema(description = "Display name of the work item", example = "Foundation Preparation")
+    private String name;
+
+    @Schema(description = "Detailed description of the work item", example = "Prepare the foundation area including excavation and leveling")
+    private String description;
+
+    @Schema(description = "Whether this work item is optional", example = "false")
+    private boolean optional;
+
+    @Schema(description = "Default group name for organizing work items", example = "Site Preparation")
+    private String defaultGroupName;
+
+    @Schema(description = "Domain/category of the work item", example = "PUBLIC", allowableValues = {"PUBLIC", "PRIVATE"})
+    private String domain;
+}
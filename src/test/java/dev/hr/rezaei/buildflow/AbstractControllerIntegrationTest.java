@@ -11,8 +11,10 @@ import dev.hr.rezaei.buildflow.config.security.dto.SignUpRequest;
 import dev.hr.rezaei.buildflow.estimate.EstimateGroupRepository;
 import dev.hr.rezaei.buildflow.estimate.EstimateLineRepository;
 import dev.hr.rezaei.buildflow.estimate.EstimateRepository;
+import dev.hr.rezaei.buildflow.estimate.EstimateTemplateRepository;
 import dev.hr.rezaei.buildflow.project.ProjectDto;
 import dev.hr.rezaei.buildflow.project.ProjectLocationRepository;
+import dev.hr.rezaei.buildflow.project.ProjectParticipantRepository;
 import dev.hr.rezaei.buildflow.project.ProjectRepository;
 import dev.hr.rezaei.buildflow.project.dto.CreateProjectRequest;
 import dev.hr.rezaei.buildflow.project.dto.CreateProjectResponse;
@@ -20,6 +22,9 @@ import dev.hr.rezaei.buildflow.project.dto.ProjectLocationRequestDto;
 import dev.hr.rezaei.buildflow.quote.QuoteLocationRepository;
 import dev.hr.rezaei.buildflow.quote.QuoteRepository;
 import dev.hr.rezaei.buildflow.user.*;
+import dev.hr.rezaei.buildflow.workitem.WorkItemCategoryClosureRepository;
+import dev.hr.rezaei.buildflow.workitem.WorkItemCategoryRepository;
+import dev.hr.rezaei.buildflow.workitem.WorkItemRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -74,18 +79,33 @@ public abstract class AbstractControllerIntegrationTest extends AbstractDtoTest
     @Autowired
     private EstimateLineRepository estimateLineRepository;
 
+    @Autowired
+    private EstimateTemplateRepository estimateTemplateRepository;
+
     @Autowired
     private QuoteRepository quoteRepository;
 
     @Autowired
     private QuoteLocationRepository quoteLocationRepository;
 
+    @Autowired
+    private WorkItemRepository workItemRepository;
+
+    @Autowired
+    private WorkItemCategoryRepository workItemCategoryRepository;
+
+    @Autowired
+    private WorkItemCategoryClosureRepository workItemCategoryClosureRepository;
+
     @Autowired
     private ProjectRepository projectRepository;
 
     @Autowired
     private ProjectLocationRepository projectLocationRepository;
 
+    @Autowired
+    private ProjectParticipantRepository projectParticipantRepository;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -113,8 +133,13 @@ public abstract class AbstractControllerIntegrationTest extends AbstractDtoTest
         estimateRepository.deleteAll();
         estimateGroupRepository.deleteAll();
         estimateLineRepository.deleteAll();
+        estimateTemplateRepository.deleteAll();
         quoteRepository.deleteAll();
         quoteLocationRepository.deleteAll();
+        workItemRepository.deleteAll();
+        workItemCategoryClosureRepository.deleteAll();
+        workItemCategoryRepository.deleteAll();
+        projectParticipantRepository.deleteAll();
         projectRepository.deleteAll();
         projectLocationRepository.deleteAll();
         userRepository.deleteAll();
@@ -19,6 +19,7 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.UUID;
 
 import static dev.hr.rezaei.buildflow.workitem.WorkItem.UNASSIGNED_GROUP_NAME;
 import static dev.hr.rezaei.buildflow.workitem.WorkItemDomain.PUBLIC;
@@ -194,7 +195,7 @@ public abstract class AbstractModelTest {
                 .lastName("Last " + (int) (Math.random() * 100))
                 .address(createRandomContactAddress())
                 .labels(new ArrayList<>())
-                .email("email" + (int) (Math.random() * 1000) + "@example.com")
+                .email("email" + UUID.randomUUID().toString().substring(0, 8) + "@example.com")
                 .phone(String.valueOf((int) (Math.random() * 1000000000)))
                 .build();
     }
@@ -204,7 +205,7 @@ public abstract class AbstractModelTest {
         contact.getLabels().add(ContactLabel.BUILDER);
         
         // Generate a single email to use for both user and contact to ensure consistency
-        String email = "builder" + (int) (Math.random() * 1000) + "@example.com";
+        String email = "builder" + UUID.randomUUID().toString().substring(0, 8) + "@example.com";
         contact.setEmail(email);
         
         User builder = User.builder()
@@ -221,7 +222,7 @@ public abstract class AbstractModelTest {
         contact.getLabels().add(ContactLabel.OWNER);
         
         // Generate a single email to use for both user and contact to ensure consistency
-        String email = "owner" + (int) (Math.random() * 1000) + "@example.com";
+        String email = "owner" + UUID.randomUUID().toString().substring(0, 8) + "@example.com";
         contact.setEmail(email);
         
         User owner = User.builder()
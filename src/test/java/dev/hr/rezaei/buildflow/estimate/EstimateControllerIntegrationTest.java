@@ -1,16 +1,45 @@
 package dev.hr.rezaei.buildflow.estimate;
 
+import com.jayway.jsonpath.JsonPath;
 import dev.hr.rezaei.buildflow.AbstractControllerIntegrationTest;
 import dev.hr.rezaei.buildflow.project.Project;
 import dev.hr.rezaei.buildflow.project.ProjectLocation;
+import dev.hr.rezaei.buildflow.project.ProjectParticipant;
+import dev.hr.rezaei.buildflow.project.ProjectParticipantService;
 import dev.hr.rezaei.buildflow.project.ProjectService;
 import dev.hr.rezaei.buildflow.project.ProjectRole;
+import dev.hr.rezaei.buildflow.quote.Quote;
+import dev.hr.rezaei.buildflow.quote.QuoteDomain;
+import dev.hr.rezaei.buildflow.quote.QuotePriceTableService;
+import dev.hr.rezaei.buildflow.quote.QuoteUnit;
+import dev.hr.rezaei.buildflow.user.Contact;
 import dev.hr.rezaei.buildflow.user.User;
+import dev.hr.rezaei.buildflow.workitem.WorkItem;
+import dev.hr.rezaei.buildflow.workitem.WorkItemCategoryDto;
+import dev.hr.rezaei.buildflow.workitem.WorkItemCategoryService;
+import dev.hr.rezaei.buildflow.workitem.WorkItemDomain;
+import dev.hr.rezaei.buildflow.workitem.WorkItemService;
+import dev.hr.rezaei.buildflow.workitem.dto.CreateWorkItemCategoryRequest;
+import dev.hr.rezaei.buildflow.workitem.dto.CreateWorkItemRequest;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -20,12 +49,47 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @SpringBootTest
 public class EstimateControllerIntegrationTest extends AbstractControllerIntegrationTest {
 
+    private static final Currency CAD = Currency.getInstance("CAD");
+
     @Autowired
     private EstimateService estimateService;
 
+    @Autowired
+    private ProjectParticipantService projectParticipantService;
+
     @Autowired
     private ProjectService projectService;
 
+    @Autowired
+    private EstimateLineService estimateLineService;
+
+    @Autowired
+    private EstimateGroupRepository estimateGroupRepository;
+
+    @Autowired
+    private WorkItemService workItemService;
+
+    @Autowired
+    private WorkItemCategoryService workItemCategoryService;
+
+    @Autowired
+    private EstimateTemplateService estimateTemplateService;
+
+    @Autowired
+    private QuantityFormulaService quantityFormulaService;
+
+    @Autowired
+    private EstimateLineRepository estimateLineRepository;
+
+    @Autowired
+    private EstimateLineMergeService estimateLineMergeService;
+
+    @Autowired
+    private EstimateOperationRepository estimateOperationRepository;
+
+    @Autowired
+    private QuotePriceTableService quotePriceTableService;
+
     /**
      * Helper method to create and save a project for testing.
      */
@@ -83,6 +147,43 @@ public class EstimateControllerIntegrationTest extends AbstractControllerIntegra
                 .andExpect(jsonPath("$.length()").value(3));
     }
 
+    @Test
+    void estimateAccess_shouldFollowOwnershipAndParticipation() throws Exception {
+        User builder = registerBuilder();
+        User owner = registerOwner();
+        String ownerToken = login(owner);
+        Project project = createTestProject(builder);
+        estimateService.createEstimate(project.getId(), 1.0);
+        String estimatesPath = "/api/v1/projects/" + project.getId() + "/estimates";
+
+        mockMvc.perform(get(estimatesPath).header("Authorization", "Bearer " + ownerToken))
+                .andExpect(status().isForbidden());
+
+        ProjectParticipant participant = projectParticipantService.createParticipants(project.getId(), List.of(
+                new ProjectParticipantService.NewParticipant(Contact.builder()
+                        .firstName("Owner")
+                        .lastName("User")
+                        .email(owner.getContact().getEmail())
+                        .labels(new ArrayList<>())
+                        .build(), ProjectRole.OWNER.name()))).get(0);
+
+        mockMvc.perform(get(estimatesPath).header("Authorization", "Bearer " + ownerToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+        // Participants may look, but only the owner may change estimates
+        mockMvc.perform(post(estimatesPath)
+                        .header("Authorization", "Bearer " + ownerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"overallMultiplier\": 1.0}"))
+                .andExpect(status().isForbidden());
+
+        projectParticipantService.deleteParticipant(participant.getId());
+        mockMvc.perform(get(estimatesPath).header("Authorization", "Bearer " + ownerToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get(estimatesPath).header("Authorization", "Bearer " + login(builder)))
+                .andExpect(status().isOk());
+    }
+
     @Test
     void getEstimate_shouldReturnEstimate_whenExists() throws Exception {
         User builder = registerBuilder();
@@ -147,4 +248,728 @@ public class EstimateControllerIntegrationTest extends AbstractControllerIntegra
                         .header("Authorization", "Bearer " + token))
                 .andExpect(status().is4xxClientError());
     }
+
+    @Test
+    void recommendWorkItems_shouldSuggestItemsSharingEstimates() throws Exception {
+        User builder = registerBuilder();
+        String token = login(builder);
+        Project project = createTestProject(builder);
+        estimateLineService.rebuildIndexes(); // the database is cleared between tests, bypassing the indexes
+        WorkItem framing = createTestWorkItem(builder, "FR-1");
+        WorkItem drywall = createTestWorkItem(builder, "DW-1");
+        WorkItem painting = createTestWorkItem(builder, "PT-1");
+        addTestLines(estimateService.createEstimate(project.getId(), 1.0), framing, drywall, painting);
+        addTestLines(estimateService.createEstimate(project.getId(), 1.0), framing, drywall);
+
+        mockMvc.perform(get("/api/v1/projects/" + project.getId() + "/estimates/recommendations")
+                        .param("workItemId", framing.getId().toString())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].workItemId").value(drywall.getId().toString()))
+                .andExpect(jsonPath("$[0].score").value(2))
+                .andExpect(jsonPath("$[1].workItemId").value(painting.getId().toString()))
+                .andExpect(jsonPath("$[1].score").value(1));
+    }
+
+    @Test
+    void findSimilarEstimates_shouldReturnOwnEstimatesWithOverlappingWorkItems() throws Exception {
+        User builder = registerBuilder();
+        String token = login(builder);
+        Project project = createTestProject(builder);
+        Project otherProject = createTestProject(builder);
+        estimateLineService.rebuildIndexes(); // the database is cleared between tests, bypassing the indexes
+        WorkItem framing = createTestWorkItem(builder, "FR-1");
+        WorkItem drywall = createTestWorkItem(builder, "DW-1");
+        WorkItem painting = createTestWorkItem(builder, "PT-1");
+        WorkItem roofing = createTestWorkItem(builder, "RF-1");
+        Estimate estimate = estimateService.createEstimate(project.getId(), 1.0);
+        addTestLines(estimate, framing, drywall, painting);
+        Estimate similar = estimateService.createEstimate(otherProject.getId(), 1.0);
+        addTestLines(similar, framing, drywall, painting, roofing);
+
+        mockMvc.perform(get("/api/v1/projects/" + project.getId() + "/estimates/" + estimate.getId() + "/similar")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].estimateId").value(similar.getId().toString()))
+                .andExpect(jsonPath("$[0].projectId").value(otherProject.getId().toString()))
+                .andExpect(jsonPath("$[0].similarity").value(0.75));
+    }
+
+    @Test
+    void deleteProject_shouldRemoveEstimatesWithTheirChildrenAndIndexEntries() throws Exception {
+        User builder = registerBuilder();
+        Project project = createTestProject(builder);
+        Project otherProject = createTestProject(builder);
+        estimateLineService.rebuildIndexes(); // the database is cleared between tests, bypassing the indexes
+        WorkItem framing = createTestWorkItem(builder, "FR-1");
+        WorkItem drywall = createTestWorkItem(builder, "DW-1");
+        Estimate estimate = estimateService.createEstimate(project.getId(), 1.0);
+        EstimateGroup group = createTestGroup(estimate);
+        EstimateLine line = addTestLine(group, framing, new BigDecimal("100.00"));
+        addTestLine(group, drywall, null);
+        estimateLineMergeService.mergeLines(project.getId(), estimate.getId(),
+                List.of(new EstimateLineEdit(line.getId(), 0L, 2.0, null, null)));
+        quantityFormulaService.setVariable(project.getId(), "wall_area", 12.0);
+        Estimate kept = estimateService.createEstimate(otherProject.getId(), 1.0);
+        addTestLines(kept, framing, drywall);
+        assertThat(estimateService.findSimilarEstimates(otherProject.getId(), kept.getId(), 10)).hasSize(1);
+
+        projectService.delete(projectService.findById(project.getId()).orElseThrow());
+
+        assertThat(projectService.findById(project.getId())).isEmpty();
+        assertThat(estimateService.findById(estimate.getId())).isEmpty();
+        assertThat(estimateGroupRepository.findById(group.getId())).isEmpty();
+        assertThat(estimateLineRepository.findById(line.getId())).isEmpty();
+        assertThat(estimateOperationRepository.countSteps(estimate.getId(), false)).isZero();
+        assertThat(estimateService.findSimilarEstimates(otherProject.getId(), kept.getId(), 10)).isEmpty();
+        assertThat(estimateService.findById(kept.getId())).isPresent();
+        assertThat(estimateLineRepository.findAll()).hasSize(2);
+    }
+
+    @Test
+    void getCategoryCosts_shouldRollLineCostsUpTheCategoryTree() throws Exception {
+        User builder = registerBuilder();
+        String token = login(builder);
+        Project project = createTestProject(builder);
+        WorkItemCategoryDto structure = createTestCategory(builder, "Structure", null);
+        WorkItemCategoryDto framing = createTestCategory(builder, "Framing", structure.id());
+        WorkItem walls = createTestWorkItem(builder, "FR-1");
+        WorkItem roof = createTestWorkItem(builder, "RF-1");
+        WorkItem painting = createTestWorkItem(builder, "PT-1");
+        workItemCategoryService.assignCategory(walls.getId(), framing.id());
+        workItemCategoryService.assignCategory(roof.getId(), structure.id());
+        Estimate estimate = estimateService.createEstimate(project.getId(), 1.0);
+        EstimateGroup group = createTestGroup(estimate);
+        addTestLine(group, walls, new BigDecimal("100.00"));
+        addTestLine(group, walls, new BigDecimal("20.00"));
+        addTestLine(group, roof, new BigDecimal("50.00"));
+        addTestLine(group, painting, new BigDecimal("30.00"));
+
+        mockMvc.perform(get("/api/v1/projects/" + project.getId() + "/estimates/" + estimate.getId() + "/category-costs")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].categoryId").value(framing.id().toString()))
+                .andExpect(jsonPath("$[0].parentId").value(structure.id().toString()))
+                .andExpect(jsonPath("$[0].totalCost").value(120.0))
+                .andExpect(jsonPath("$[0].lineCount").value(2))
+                .andExpect(jsonPath("$[1].name").value("Structure"))
+                .andExpect(jsonPath("$[1].totalCost").value(170.0))
+                .andExpect(jsonPath("$[1].lineCount").value(3));
+    }
+
+    @Test
+    void instantiateTemplate_shouldCopyGroupsAndLinesOfTheSavedEstimate() throws Exception {
+        User builder = registerBuilder();
+        String token = login(builder);
+        Project project = createTestProject(builder);
+        Project newProject = createTestProject(builder);
+        estimateLineService.rebuildIndexes(); // the database is cleared between tests, bypassing the indexes
+        WorkItem framing = createTestWorkItem(builder, "FR-1");
+        WorkItem drywall = createTestWorkItem(builder, "DW-1");
+        WorkItem painting = createTestWorkItem(builder, "PT-1");
+        Estimate estimate = estimateService.createEstimate(project.getId(), 1.2);
+        addTestLines(estimate, framing, drywall);
+        addTestLines(estimate, painting);
+
+        String templateId = JsonPath.read(mockMvc.perform(post("/api/v1/projects/" + project.getId() + "/estimates/" + estimate.getId() + "/templates")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"name": "Two-storey house"}
+                                """))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.groupCount").value(2))
+                .andExpect(jsonPath("$.lineCount").value(3))
+                .andReturn().getResponse().getContentAsString(), "$.id");
+
+        mockMvc.perform(get("/api/v1/projects/" + newProject.getId() + "/estimates/templates")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Two-storey house"));
+
+        String copyId = JsonPath.read(mockMvc.perform(post("/api/v1/projects/" + newProject.getId() + "/estimates/templates/" + templateId + "/instantiate")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.projectId").value(newProject.getId().toString()))
+                .andExpect(jsonPath("$.overallMultiplier").value(1.2))
+                .andExpect(jsonPath("$.groups.length()").value(2))
+                .andExpect(jsonPath("$.groups[*].estimateLines[*].workItemId", hasSize(3)))
+                .andReturn().getResponse().getContentAsString(), "$.id");
+
+        // The copied lines are indexed: the copy has exactly the work items of the original
+        mockMvc.perform(get("/api/v1/projects/" + project.getId() + "/estimates/" + estimate.getId() + "/similar")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].estimateId").value(copyId))
+                .andExpect(jsonPath("$[0].similarity").value(1.0));
+    }
+
+    @Test
+    void instantiateTemplate_shouldKeepNamesAndFormulasAndReevaluateThemInTheNewProject() throws Exception {
+        User builder = registerBuilder();
+        String token = login(builder);
+        Project project = createTestProject(builder);
+        Project newProject = createTestProject(builder);
+        Estimate estimate = estimateService.createEstimate(project.getId(), 1.0);
+        EstimateGroup group = createTestGroup(estimate);
+        EstimateLine drywall = addTestLine(group, createTestWorkItem(builder, "DW-1"), null);
+        EstimateLine screws = addTestLine(group, createTestWorkItem(builder, "SC-1"), null);
+        quantityFormulaService.setVariable(project.getId(), "wall_area", 10.0);
+        quantityFormulaService.setLineQuantity(project.getId(), estimate.getId(), drywall.getId(), "drywall", "wall_area * 2", null);
+        quantityFormulaService.setLineQuantity(project.getId(), estimate.getId(), screws.getId(), null, "@drywall * 3", null);
+        UUID templateId = estimateTemplateService.createTemplate(project.getId(), estimate.getId(), "Walls").id();
+        quantityFormulaService.setVariable(newProject.getId(), "wall_area", 50.0);
+
+        mockMvc.perform(post("/api/v1/projects/" + newProject.getId() + "/estimates/templates/" + templateId + "/instantiate")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.groups[0].estimateLines[?(@.name == 'drywall')].quantityFormula").value("wall_area * 2"))
+                .andExpect(jsonPath("$.groups[0].estimateLines[?(@.name == 'drywall')].quantity").value(100.0))
+                .andExpect(jsonPath("$.groups[0].estimateLines[?(@.quantityFormula == '@drywall * 3')].quantity").value(300.0));
+    }
+
+    @Test
+    void instantiateTemplate_shouldRejectTemplateOfAnotherUser() throws Exception {
+        User builder = registerBuilder();
+        User other = registerBuilder();
+        String token = login(other);
+        Project project = createTestProject(builder);
+        Estimate estimate = estimateService.createEstimate(project.getId(), 1.0);
+        addTestLines(estimate, createTestWorkItem(builder, "FR-1"));
+        UUID templateId = estimateTemplateService.createTemplate(project.getId(), estimate.getId(), "Private").id();
+
+        mockMvc.perform(post("/api/v1/projects/" + createTestProject(other).getId() + "/estimates/templates/" + templateId + "/instantiate")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void setVariable_shouldReevaluateTheFormulaLinesDependingOnIt() throws Exception {
+        User builder = registerBuilder();
+        String token = login(builder);
+        Project project = createTestProject(builder);
+        Estimate estimate = estimateService.createEstimate(project.getId(), 1.0);
+        EstimateGroup group = createTestGroup(estimate);
+        EstimateLine drywall = addTestLine(group, createTestWorkItem(builder, "DW-1"), new BigDecimal("10.00"));
+        EstimateLine screws = addTestLine(group, createTestWorkItem(builder, "SC-1"), null);
+        EstimateLine roofing = addTestLine(group, createTestWorkItem(builder, "RF-1"), null);
+        String base = "/api/v1/projects/" + project.getId() + "/estimates";
+
+        mockMvc.perform(put(base + "/variables/wall_area")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"value": 100}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("wall_area"))
+                .andExpect(jsonPath("$.value").value(100.0));
+        mockMvc.perform(put(base + "/variables/roof_area")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"value": 80}
+                                """))
+                .andExpect(status().isOk());
+        mockMvc.perform(put(base + "/" + estimate.getId() + "/lines/" + drywall.getId() + "/quantity")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"name": "drywall", "formula": "wall_area * 1.5"}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("drywall"))
+                .andExpect(jsonPath("$.quantityFormula").value("wall_area * 1.5"))
+                .andExpect(jsonPath("$.quantity").value(150.0))
+                .andExpect(jsonPath("$.computedCost").value(1500.0));
+        mockMvc.perform(put(base + "/" + estimate.getId() + "/lines/" + screws.getId() + "/quantity")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"formula": "ceil(@drywall / 32) * 40"}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity").value(200.0));
+        mockMvc.perform(put(base + "/" + estimate.getId() + "/lines/" + roofing.getId() + "/quantity")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"formula": "roof_area"}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity").value(80.0));
+        Instant roofingUpdatedAt = estimateLineRepository.findById(roofing.getId()).orElseThrow().getLastUpdatedAt();
+
+        mockMvc.perform(put(base + "/variables/wall_area")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"value": 64}
+                                """))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(base + "/" + estimate.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.groups[0].estimateLines[?(@.id == '" + drywall.getId() + "')].quantity").value(96.0))
+                .andExpect(jsonPath("$.groups[0].estimateLines[?(@.id == '" + drywall.getId() + "')].computedCost").value(960.0))
+                .andExpect(jsonPath("$.groups[0].estimateLines[?(@.id == '" + screws.getId() + "')].quantity").value(120.0))
+                .andExpect(jsonPath("$.groups[0].estimateLines[?(@.id == '" + roofing.getId() + "')].quantity").value(80.0));
+        // Lines not depending on the variable are not re-evaluated
+        assertThat(estimateLineRepository.findById(roofing.getId()).orElseThrow().getLastUpdatedAt()).isEqualTo(roofingUpdatedAt);
+        mockMvc.perform(get(base + "/variables")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", contains("roof_area", "wall_area")));
+    }
+
+    @Test
+    void setLineQuantity_shouldPriceLineAgain_whenPreviousQuantityWasZero() throws Exception {
+        User builder = registerBuilder();
+        String token = login(builder);
+        Project project = createTestProject(builder);
+        Estimate estimate = estimateService.createEstimate(project.getId(), 1.0);
+        EstimateGroup group = createTestGroup(estimate);
+        WorkItem workItem = createTestWorkItem(builder, "TL-1");
+        addTestQuote(builder, workItem, "12.50");
+        EstimateLine tiles = addPricedTestLine(group, workItem, 0.0);
+        assertThat(tiles.getComputedCost()).isEqualByComparingTo("0.00");
+        String base = "/api/v1/projects/" + project.getId() + "/estimates";
+
+        mockMvc.perform(put(base + "/" + estimate.getId() + "/lines/" + tiles.getId() + "/quantity")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"quantity": 4}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity").value(4.0))
+                .andExpect(jsonPath("$.computedCost").value(50.0));
+        assertThat(projectService.findById(project.getId()).orElseThrow().getEstimateTotal()).isEqualByComparingTo("50.00");
+    }
+
+    @Test
+    void setLineQuantity_shouldRejectCyclesUnknownReferencesAndRenamingReferencedLines() throws Exception {
+        User builder = registerBuilder();
+        String token = login(builder);
+        Project project = createTestProject(builder);
+        Estimate estimate = estimateService.createEstimate(project.getId(), 1.0);
+        EstimateGroup group = createTestGroup(estimate);
+        EstimateLine first = addTestLine(group, createTestWorkItem(builder, "A-1"), null);
+        EstimateLine second = addTestLine(group, createTestWorkItem(builder, "B-1"), null);
+        String lines = "/api/v1/projects/" + project.getId() + "/estimates/" + estimate.getId() + "/lines/";
+        quantityFormulaService.setLineQuantity(project.getId(), estimate.getId(), first.getId(), "first", null, 2.0);
+        quantityFormulaService.setLineQuantity(project.getId(), estimate.getId(), second.getId(), "second", "@first * 3", null);
+
+        mockMvc.perform(put(lines + first.getId() + "/quantity")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"name": "first", "formula": "@second + 1"}
+                                """))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(put(lines + first.getId() + "/quantity")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"name": "renamed", "quantity": 2}
+                                """))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(put(lines + second.getId() + "/quantity")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"name": "second", "formula": "undefined_area * 2"}
+                                """))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(put(lines + second.getId() + "/quantity")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"name": "second", "formula": "@first *"}
+                                """))
+                .andExpect(status().isBadRequest());
+
+        // Changing the referenced line's literal quantity updates its dependents
+        mockMvc.perform(put(lines + first.getId() + "/quantity")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"name": "first", "quantity": 5}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity").value(5.0));
+        EstimateLine updated = estimateLineRepository.findById(second.getId()).orElseThrow();
+        assertThat(updated.getQuantity()).isEqualTo(15.0);
+        assertThat(updated.getQuantityFormula()).isEqualTo("@first * 3");
+    }
+
+    @Test
+    void updateEstimate_shouldReturnConflict_whenVersionIsStale() throws Exception {
+        User builder = registerBuilder();
+        String token = login(builder);
+        Project project = createTestProject(builder);
+        Estimate estimate = estimateService.createEstimate(project.getId(), 1.0);
+        long version = estimate.getVersion();
+        String url = "/api/v1/projects/" + project.getId() + "/estimates/" + estimate.getId();
+
+        mockMvc.perform(put(url)
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"overallMultiplier\": 1.5, \"version\": " + version + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(version + 1));
+        mockMvc.perform(put(url)
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"overallMultiplier\": 2.0, \"version\": " + version + "}"))
+                .andExpect(status().isConflict());
+
+        assertThat(estimateService.findById(estimate.getId()).orElseThrow().getOverallMultiplier()).isEqualTo(1.5);
+    }
+
+    @Test
+    void mergeLines_shouldApplyEditsOfUnchangedLinesAndReportStaleOnes() throws Exception {
+        User builder = registerBuilder();
+        String token = login(builder);
+        Project project = createTestProject(builder);
+        Estimate estimate = estimateService.createEstimate(project.getId(), 1.0);
+        EstimateGroup group = createTestGroup(estimate);
+        EstimateLine framing = addTestLine(group, createTestWorkItem(builder, "FR-1"), new BigDecimal("100.00"));
+        EstimateLine drywall = addTestLine(group, createTestWorkItem(builder, "DW-1"), null);
+        String url = "/api/v1/projects/" + project.getId() + "/estimates/" + estimate.getId() + "/lines";
+
+        // Two editors change different lines from the same snapshot: both edits apply
+        mockMvc.perform(patch(url)
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(lineEdits(lineEdit(framing.getId(), 0, "\"quantity\": 3"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied[0].quantity").value(3.0))
+                .andExpect(jsonPath("$.applied[0].computedCost").value(300.0))
+                .andExpect(jsonPath("$.applied[0].version").value(1))
+                .andExpect(jsonPath("$.conflicts", hasSize(0)));
+        mockMvc.perform(patch(url)
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(lineEdits(lineEdit(drywall.getId(), 0, "\"multiplier\": 1.5"))))
+                .andExpect(status().isOk());
+
+        // The second editor's stale edit of the first line conflicts; the fresh edit still applies
+        mockMvc.perform(patch(url)
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(lineEdits(
+                                lineEdit(framing.getId(), 0, "\"quantity\": 7"),
+                                lineEdit(drywall.getId(), 1, "\"estimateStrategy\": \"AVERAGE\""))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.applied[0].id").value(drywall.getId().toString()))
+                .andExpect(jsonPath("$.applied[0].estimateStrategy").value("AVERAGE"))
+                .andExpect(jsonPath("$.conflicts[0].lineId").value(framing.getId().toString()))
+                .andExpect(jsonPath("$.conflicts[0].expectedVersion").value(0))
+                .andExpect(jsonPath("$.conflicts[0].current.quantity").value(3.0))
+                .andExpect(jsonPath("$.conflicts[0].current.version").value(1));
+
+        EstimateLine current = estimateLineRepository.findById(framing.getId()).orElseThrow();
+        assertThat(current.getQuantity()).isEqualTo(3.0);
+        assertThat(estimateService.findById(estimate.getId()).orElseThrow().getVersion()).isEqualTo(estimate.getVersion());
+    }
+
+    @Test
+    void mergeLines_shouldPriceLineAgain_whenMultiplierWasZeroOrStrategyChanges() throws Exception {
+        User builder = registerBuilder();
+        Project project = createTestProject(builder);
+        Estimate estimate = estimateService.createEstimate(project.getId(), 1.0);
+        EstimateGroup group = createTestGroup(estimate);
+        WorkItem workItem = createTestWorkItem(builder, "TL-1");
+        addTestQuote(builder, workItem, "10.00");
+        addTestQuote(builder, workItem, "30.00");
+        EstimateLine tiles = addPricedTestLine(group, workItem, 2.0);
+        assertThat(tiles.getComputedCost()).isEqualByComparingTo("20.00");
+
+        estimateLineMergeService.mergeLines(project.getId(), estimate.getId(),
+                List.of(new EstimateLineEdit(tiles.getId(), 0L, null, 0.0, null)));
+        assertThat(estimateLineRepository.findById(tiles.getId()).orElseThrow().getComputedCost()).isEqualByComparingTo("0.00");
+
+        estimateLineMergeService.mergeLines(project.getId(), estimate.getId(),
+                List.of(new EstimateLineEdit(tiles.getId(), 1L, null, 1.5, null)));
+        assertThat(estimateLineRepository.findById(tiles.getId()).orElseThrow().getComputedCost()).isEqualByComparingTo("30.00");
+
+        estimateLineMergeService.mergeLines(project.getId(), estimate.getId(),
+                List.of(new EstimateLineEdit(tiles.getId(), 2L, null, null, EstimateLineStrategy.AVERAGE.name())));
+        assertLine(tiles.getId(), null, 2.0, 1.5, "60.00");
+        int step = estimateOperationRepository.findLastStep(estimate.getId());
+        assertThat(estimateOperationRepository.findByEstimateIdAndStepOrderByIdAsc(estimate.getId(), step))
+                .filteredOn(operation -> operation.getField() == EstimateOperationField.COMPUTED_COST)
+                .singleElement()
+                .satisfies(operation -> {
+                    assertThat(operation.getOldValue()).isEqualTo("30");
+                    assertThat(operation.getNewValue()).isEqualTo("60");
+                });
+        assertThat(projectService.findById(project.getId()).orElseThrow().getEstimateTotal()).isEqualByComparingTo("60.00");
+    }
+
+    @Test
+    void mergeLines_shouldRejectInvalidEditsWithoutApplyingAny() throws Exception {
+        User builder = registerBuilder();
+        String token = login(builder);
+        Project project = createTestProject(builder);
+        Estimate estimate = estimateService.createEstimate(project.getId(), 1.0);
+        EstimateGroup group = createTestGroup(estimate);
+        EstimateLine line = addTestLine(group, createTestWorkItem(builder, "FR-1"), null);
+
+        mockMvc.perform(patch("/api/v1/projects/" + project.getId() + "/estimates/" + estimate.getId() + "/lines")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(lineEdits(
+                                lineEdit(line.getId(), 0, "\"quantity\": 4"),
+                                lineEdit(UUID.randomUUID(), 0, "\"estimateStrategy\": \"CHEAPEST\""))))
+                .andExpect(status().isBadRequest());
+
+        assertThat(estimateLineRepository.findById(line.getId()).orElseThrow().getQuantity()).isEqualTo(1.0);
+    }
+
+    @Test
+    void mergeLines_shouldNotLoseEditsOfConcurrentEditorsOfOneEstimate() throws Exception {
+        User builder = registerBuilder();
+        Project project = createTestProject(builder);
+        Estimate estimate = estimateService.createEstimate(project.getId(), 1.0);
+        EstimateGroup group = createTestGroup(estimate);
+        List<EstimateLine> lines = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            lines.add(addTestLine(group, createTestWorkItem(builder, "CC-" + i), null));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(lines.size());
+        try {
+            List<Future<EstimateLineMergeResult>> results = new ArrayList<>();
+            for (int i = 0; i < lines.size(); i++) {
+                EstimateLineEdit edit = new EstimateLineEdit(lines.get(i).getId(), 0L, i + 2.0, null, null);
+                results.add(executor.submit(() -> estimateLineMergeService.mergeLines(project.getId(), estimate.getId(), List.of(edit))));
+            }
+            for (Future<EstimateLineMergeResult> result : results) {
+                assertThat(result.get(30, TimeUnit.SECONDS).conflicts()).isEmpty();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (int i = 0; i < lines.size(); i++) {
+            EstimateLine line = estimateLineRepository.findById(lines.get(i).getId()).orElseThrow();
+            assertThat(line.getQuantity()).isEqualTo(i + 2.0);
+            assertThat(line.getVersion()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void undoAndRedo_shouldStepThroughEditsOfTheEstimateAndItsLines() throws Exception {
+        User builder = registerBuilder();
+        String token = login(builder);
+        Project project = createTestProject(builder);
+        Estimate estimate = estimateService.createEstimate(project.getId(), 1.0);
+        EstimateGroup group = createTestGroup(estimate);
+        EstimateLine line = addTestLine(group, createTestWorkItem(builder, "FR-1"), new BigDecimal("100.00"));
+        String url = "/api/v1/projects/" + project.getId() + "/estimates/" + estimate.getId();
+
+        estimateService.updateEstimate(estimate.getId(), 1.5);
+        estimateLineMergeService.mergeLines(project.getId(), estimate.getId(),
+                List.of(new EstimateLineEdit(line.getId(), 0L, 3.0, 2.0, null)));
+        quantityFormulaService.setLineQuantity(project.getId(), estimate.getId(), line.getId(), "framing", "2 + 2", null);
+        assertLine(line.getId(), "framing", 4.0, 2.0, "800.00");
+        mockMvc.perform(get(url + "/history").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.undoSteps").value(3))
+                .andExpect(jsonPath("$.redoSteps").value(0));
+
+        mockMvc.perform(post(url + "/undo").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.overallMultiplier").value(1.5));
+        assertLine(line.getId(), null, 3.0, 2.0, "600.00");
+        assertThat(estimateLineRepository.findById(line.getId()).orElseThrow().getQuantityFormula()).isNull();
+        mockMvc.perform(post(url + "/undo").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        assertLine(line.getId(), null, 1.0, 1.0, "100.00");
+        mockMvc.perform(post(url + "/undo").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.overallMultiplier").value(1.0));
+        mockMvc.perform(post(url + "/undo").header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post(url + "/redo").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.overallMultiplier").value(1.5));
+        mockMvc.perform(post(url + "/redo").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        assertLine(line.getId(), null, 3.0, 2.0, "600.00");
+
+        // A new edit discards the step that could still be redone
+        estimateService.updateEstimate(estimate.getId(), 2.0);
+        mockMvc.perform(get(url + "/history").header("Authorization", "Bearer " + token))
+                .andExpect(jsonPath("$.undoSteps").value(3))
+                .andExpect(jsonPath("$.redoSteps").value(0));
+        mockMvc.perform(post(url + "/redo").header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void undo_shouldReturnConflict_whenLineWasRemovedSince() throws Exception {
+        User builder = registerBuilder();
+        String token = login(builder);
+        Project project = createTestProject(builder);
+        Estimate estimate = estimateService.createEstimate(project.getId(), 1.0);
+        EstimateGroup group = createTestGroup(estimate);
+        EstimateLine line = addTestLine(group, createTestWorkItem(builder, "FR-1"), null);
+        estimateLineMergeService.mergeLines(project.getId(), estimate.getId(),
+                List.of(new EstimateLineEdit(line.getId(), 0L, 5.0, null, null)));
+        estimateLineRepository.deleteById(line.getId());
+
+        String url = "/api/v1/projects/" + project.getId() + "/estimates/" + estimate.getId();
+        mockMvc.perform(post(url + "/undo").header("Authorization", "Bearer " + token))
+                .andExpect(status().isConflict());
+        mockMvc.perform(get(url + "/history").header("Authorization", "Bearer " + token))
+                .andExpect(jsonPath("$.undoSteps").value(1));
+    }
+
+    @Test
+    void journal_shouldGrowWithEditsNotEstimateSizeAndDropStepsBeforeCheckpoints() throws Exception {
+        User builder = registerBuilder();
+        Project project = createTestProject(builder);
+        Estimate estimate = estimateService.createEstimate(project.getId(), 1.0);
+        EstimateGroup group = createTestGroup(estimate);
+        for (int i = 0; i < 20; i++) {
+            addTestLine(group, createTestWorkItem(builder, "JR-" + i), null);
+        }
+
+        int edits = EstimateJournal.MAX_UNDO_STEPS + EstimateJournal.CHECKPOINT_INTERVAL + 10;
+        for (int i = 1; i <= edits; i++) {
+            estimateService.updateEstimate(estimate.getId(), 1.0 + i / 100.0);
+        }
+
+        long steps = estimateOperationRepository.countSteps(estimate.getId(), false);
+        assertThat(steps).isBetween((long) EstimateJournal.MAX_UNDO_STEPS,
+                (long) EstimateJournal.MAX_UNDO_STEPS + EstimateJournal.CHECKPOINT_INTERVAL);
+        // One operation per edit, however many lines the estimate has
+        assertThat(estimateOperationRepository.findByEstimateIdAndStepOrderByIdAsc(estimate.getId(), edits)).hasSize(1);
+        assertThat(estimateOperationRepository.findLastStep(estimate.getId())).isEqualTo(edits);
+    }
+
+    @Test
+    void projectEstimateTotal_shouldFollowLineCostChanges() throws Exception {
+        User builder = registerBuilder();
+        Project project = createTestProject(builder);
+        Estimate estimate = estimateService.createEstimate(project.getId(), 1.0);
+        EstimateGroup group = createTestGroup(estimate);
+        EstimateLine framing = addTestLine(group, createTestWorkItem(builder, "FR-1"), new BigDecimal("100.00"));
+        EstimateLine drywall = addTestLine(group, createTestWorkItem(builder, "DW-1"), new BigDecimal("40.00"));
+        assertThat(projectService.findById(project.getId()).orElseThrow().getEstimateTotal()).isEqualByComparingTo("140.00");
+
+        estimateLineMergeService.mergeLines(project.getId(), estimate.getId(),
+                List.of(new EstimateLineEdit(framing.getId(), 0L, 3.0, null, null)));
+        assertThat(projectService.findById(project.getId()).orElseThrow().getEstimateTotal()).isEqualByComparingTo("340.00");
+
+        estimateLineService.removeLine(drywall);
+        Project summarized = projectService.findById(project.getId()).orElseThrow();
+        assertThat(summarized.getEstimateTotal()).isEqualByComparingTo("300.00");
+        assertThat(summarized.getEstimateCount()).isEqualTo(1);
+
+        estimateService.deleteEstimate(estimate.getId());
+        summarized = projectService.findById(project.getId()).orElseThrow();
+        assertThat(summarized.getEstimateTotal()).isEqualByComparingTo("0");
+        assertThat(summarized.getEstimateCount()).isZero();
+    }
+
+    private void assertLine(UUID lineId, String name, double quantity, double multiplier, String computedCost) {
+        EstimateLine line = estimateLineRepository.findById(lineId).orElseThrow();
+        assertThat(line.getName()).isEqualTo(name);
+        assertThat(line.getQuantity()).isEqualTo(quantity);
+        assertThat(line.getMultiplier()).isEqualTo(multiplier);
+        assertThat(line.getComputedCost()).isEqualByComparingTo(computedCost);
+    }
+
+    private static String lineEdits(String... edits) {
+        return "{\"lines\": [" + String.join(", ", edits) + "]}";
+    }
+
+    private static String lineEdit(UUID lineId, long version, String changes) {
+        return "{\"id\": \"" + lineId + "\", \"version\": " + version + ", " + changes + "}";
+    }
+
+    private WorkItemCategoryDto createTestCategory(User user, String name, UUID parentId) {
+        return workItemCategoryService.createCategory(CreateWorkItemCategoryRequest.builder()
+                .userId(user.getId())
+                .name(name)
+                .parentId(parentId)
+                .build());
+    }
+
+    private WorkItem createTestWorkItem(User user, String code) {
+        UUID id = workItemService.createWorkItem(CreateWorkItemRequest.builder()
+                .code(code)
+                .name("Work item " + code)
+                .userId(user.getId())
+                .domain(WorkItemDomain.PRIVATE.name())
+                .build()).getWorkItemDto().getId();
+        return workItemService.findById(id).orElseThrow();
+    }
+
+    private void addTestLines(Estimate estimate, WorkItem... workItems) {
+        EstimateGroup group = createTestGroup(estimate);
+        for (WorkItem workItem : workItems) {
+            addTestLine(group, workItem, null);
+        }
+    }
+
+    private EstimateGroup createTestGroup(Estimate estimate) {
+        return estimateGroupRepository.save(EstimateGroup.builder()
+                .name("Group")
+                .estimate(estimate)
+                .build());
+    }
+
+    private void addTestQuote(User user, WorkItem workItem, String unitPrice) {
+        quotePriceTableService.onQuoteCreated(Quote.builder()
+                .id(UUID.randomUUID())
+                .workItem(workItem)
+                .createdBy(user)
+                .supplier(user)
+                .unit(QuoteUnit.EACH)
+                .unitPrice(new BigDecimal(unitPrice))
+                .currency(CAD)
+                .domain(QuoteDomain.PRIVATE)
+                .lastUpdatedAt(Instant.now())
+                .build());
+    }
+
+    private EstimateLine addPricedTestLine(EstimateGroup group, WorkItem workItem, double quantity) {
+        Instant now = Instant.now();
+        return estimateLineService.addLine(EstimateLine.builder()
+                .estimate(group.getEstimate())
+                .group(group)
+                .workItem(workItem)
+                .quantity(quantity)
+                .estimateStrategy(EstimateLineStrategy.LOWEST)
+                .unit(QuoteUnit.EACH)
+                .currency(CAD)
+                .createdAt(now)
+                .lastUpdatedAt(now)
+                .build());
+    }
+
+    private EstimateLine addTestLine(EstimateGroup group, WorkItem workItem, BigDecimal computedCost) {
+        Instant now = Instant.now();
+        return estimateLineService.addLine(EstimateLine.builder()
+                .estimate(group.getEstimate())
+                .group(group)
+                .workItem(workItem)
+                .quantity(1.0)
+                .estimateStrategy(EstimateLineStrategy.LOWEST)
+                .computedCost(computedCost)
+                .createdAt(now)
+                .lastUpdatedAt(now)
+                .build());
+    }
 }
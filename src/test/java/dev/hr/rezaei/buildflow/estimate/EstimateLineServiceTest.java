@@ -0,0 +1,168 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+import dev.hr.rezaei.buildflow.project.ProjectSummaryService;
+import dev.hr.rezaei.buildflow.quote.Quote;
+import dev.hr.rezaei.buildflow.quote.QuotePriceTableService;
+import dev.hr.rezaei.buildflow.quote.QuoteRepository;
+import dev.hr.rezaei.buildflow.quote.QuoteUnit;
+import dev.hr.rezaei.buildflow.workitem.WorkItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EstimateLineServiceTest {
+
+    private static final Currency CAD = Currency.getInstance("CAD");
+
+    @Spy
+    private QuotePriceTableService quotePriceTableService = new QuotePriceTableService(mock(QuoteRepository.class));
+
+    @Mock
+    private EstimateLineRepository estimateLineRepository;
+
+    @Mock
+    private WorkItemCooccurrenceIndex workItemCooccurrenceIndex;
+
+    @Mock
+    private EstimateSimilarityIndex estimateSimilarityIndex;
+
+    @Mock
+    private ProjectSummaryService projectSummaryService;
+
+    @InjectMocks
+    private EstimateLineService estimateLineService;
+
+    private UUID workItemId;
+    private EstimateLine line;
+
+    @BeforeEach
+    void setUp() {
+        workItemId = UUID.randomUUID();
+        WorkItem workItem = mock(WorkItem.class);
+        lenient().when(workItem.getId()).thenReturn(workItemId);
+        line = EstimateLine.builder()
+                .estimate(mock(Estimate.class))
+                .workItem(workItem)
+                .quantity(3.0)
+                .multiplier(1.5)
+                .estimateStrategy(EstimateLineStrategy.LOWEST)
+                .unit(QuoteUnit.EACH)
+                .currency(CAD)
+                .build();
+    }
+
+    @Test
+    void priceLine_shouldUseStrategyPriceTimesQuantityAndMultiplier() {
+        addQuote(QuoteUnit.EACH, "12.50");
+        addQuote(QuoteUnit.EACH, "20.00");
+
+        BigDecimal cost = estimateLineService.priceLine(line);
+
+        assertThat(cost).isEqualByComparingTo("56.25");
+        assertThat(line.getComputedCost()).isEqualByComparingTo("56.25");
+        verify(quotePriceTableService, never()).averagePriceMinor(any(), any(), any());
+    }
+
+    @Test
+    void priceLine_shouldOnlyUseQuotesInTheLineUnit() {
+        addQuote(QuoteUnit.EACH, "40.00");
+        addQuote(QuoteUnit.SQUARE_METER, "2.00");
+        line.setEstimateStrategy(EstimateLineStrategy.AVERAGE);
+        line.setQuantity(2.0);
+        line.setMultiplier(1.0);
+
+        assertThat(estimateLineService.priceLine(line)).isEqualByComparingTo("80.00");
+
+        line.setUnit(QuoteUnit.SQUARE_METER);
+        assertThat(estimateLineService.priceLine(line)).isEqualByComparingTo("4.00");
+    }
+
+    @Test
+    void priceLine_shouldClearCost_whenNoQuoteMatchesTheLineUnit() {
+        addQuote(QuoteUnit.SQUARE_METER, "2.00");
+        line.setEstimateStrategy(EstimateLineStrategy.AVERAGE);
+        line.setComputedCost(BigDecimal.TEN);
+
+        assertThat(estimateLineService.priceLine(line)).isNull();
+        assertThat(line.getComputedCost()).isNull();
+    }
+
+    @Test
+    void priceLine_shouldClearCost_whenLineHasNoUnit() {
+        addQuote(QuoteUnit.EACH, "12.50");
+        line.setUnit(null);
+        line.setComputedCost(BigDecimal.TEN);
+
+        assertThat(estimateLineService.priceLine(line)).isNull();
+        verifyNoInteractions(quotePriceTableService);
+    }
+
+    @Test
+    void applyQuantity_shouldRescaleCostToTheSameUnitPrice() {
+        line.setComputedCost(new BigDecimal("45.00"));
+
+        estimateLineService.applyQuantity(line, 5.0, Instant.now());
+
+        assertThat(line.getQuantity()).isEqualTo(5.0);
+        assertThat(line.getComputedCost()).isEqualByComparingTo("75.00");
+        verifyNoInteractions(quotePriceTableService);
+    }
+
+    @Test
+    void applyQuantity_shouldPriceLineAgain_whenPreviousQuantityWasZero() {
+        addQuote(QuoteUnit.EACH, "10.00");
+        line.setQuantity(0.0);
+        line.setComputedCost(new BigDecimal("0.00"));
+
+        estimateLineService.applyQuantity(line, 4.0, Instant.now());
+
+        assertThat(line.getComputedCost()).isEqualByComparingTo("60.00");
+    }
+
+    @Test
+    void addLine_shouldPriceLineBeforeSaving() {
+        addQuote(QuoteUnit.EACH, "10.00");
+        Estimate estimate = mock(Estimate.class, RETURNS_DEEP_STUBS);
+        WorkItem workItem = mock(WorkItem.class, RETURNS_DEEP_STUBS);
+        when(workItem.getId()).thenReturn(workItemId);
+        line.setEstimate(estimate);
+        line.setWorkItem(workItem);
+        when(estimateLineRepository.save(line)).thenAnswer(invocation -> {
+            assertThat(line.getComputedCost()).isEqualByComparingTo("45.00");
+            return line;
+        });
+
+        EstimateLine saved = estimateLineService.addLine(line);
+
+        assertThat(saved.getComputedCost()).isEqualByComparingTo("45.00");
+        verify(projectSummaryService).refreshBeforeCommit(estimate.getProject().getId());
+        verify(workItemCooccurrenceIndex).addLine(any());
+    }
+
+    private void addQuote(QuoteUnit unit, String price) {
+        Quote quote = mock(Quote.class, RETURNS_DEEP_STUBS);
+        when(quote.isValid()).thenReturn(true);
+        when(quote.getId()).thenReturn(UUID.randomUUID());
+        when(quote.getWorkItem().getId()).thenReturn(workItemId);
+        when(quote.getSupplier().getId()).thenReturn(UUID.randomUUID());
+        when(quote.getUnit()).thenReturn(unit);
+        when(quote.getCurrency()).thenReturn(CAD);
+        when(quote.getUnitPrice()).thenReturn(new BigDecimal(price));
+        when(quote.getLastUpdatedAt()).thenReturn(Instant.now());
+        quotePriceTableService.onQuoteCreated(quote);
+        clearInvocations(quotePriceTableService);
+    }
+}
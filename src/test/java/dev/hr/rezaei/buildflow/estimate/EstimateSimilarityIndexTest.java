@@ -0,0 +1,95 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+import dev.hr.rezaei.buildflow.util.LongIntHashMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EstimateSimilarityIndexTest {
+
+    private EstimateSimilarityIndex index;
+    private UUID ownerId;
+    private List<UUID> workItems;
+
+    @BeforeEach
+    void setUp() {
+        index = new EstimateSimilarityIndex();
+        ownerId = UUID.randomUUID();
+        workItems = IntStream.range(0, 40).mapToObj(i -> UUID.randomUUID()).toList();
+    }
+
+    @Test
+    void similar_shouldFindEstimatesWithOverlappingWorkItems_withExactJaccardSimilarity() {
+        EstimateSimilarityIndex.EstimateRef query = estimate(ownerId);
+        EstimateSimilarityIndex.EstimateRef close = estimate(ownerId);
+        EstimateSimilarityIndex.EstimateRef unrelated = estimate(ownerId);
+        index.rebuild(Stream.of(
+                lines(query, 0, 20),
+                lines(close, 2, 20),   // 18 shared of 20 distinct: 0.9
+                lines(unrelated, 20, 40)).flatMap(s -> s));
+
+        List<SimilarEstimate> similar = index.similar(query.estimateId(), ownerId, 10);
+
+        assertThat(similar).containsExactly(new SimilarEstimate(close.estimateId(), close.projectId(), 0.9));
+    }
+
+    @Test
+    void similar_shouldOnlyReturnEstimatesOfTheOwner() {
+        EstimateSimilarityIndex.EstimateRef query = estimate(ownerId);
+        EstimateSimilarityIndex.EstimateRef othersCopy = estimate(UUID.randomUUID());
+        index.rebuild(Stream.concat(lines(query, 0, 10), lines(othersCopy, 0, 10)));
+
+        assertThat(index.similar(query.estimateId(), ownerId, 10)).isEmpty();
+        assertThat(index.similar(othersCopy.estimateId(), othersCopy.ownerId(), 10)).isEmpty();
+    }
+
+    @Test
+    void addAndRemoveLine_shouldResignTheEstimate() {
+        EstimateSimilarityIndex.EstimateRef query = estimate(ownerId);
+        EstimateSimilarityIndex.EstimateRef other = estimate(ownerId);
+        lines(query, 0, 5).forEach(line -> index.addLine(line.estimate(), line.workItemId()));
+        lines(other, 10, 15).forEach(line -> index.addLine(line.estimate(), line.workItemId()));
+        assertThat(index.similar(query.estimateId(), ownerId, 10)).isEmpty();
+
+        // Make other identical to query
+        for (int i = 0; i < 5; i++) {
+            index.addLine(other, workItems.get(i));
+            index.removeLine(other.estimateId(), workItems.get(10 + i));
+        }
+        assertThat(index.similar(query.estimateId(), ownerId, 10))
+                .containsExactly(new SimilarEstimate(other.estimateId(), other.projectId(), 1.0));
+
+        index.removeEstimate(other.estimateId());
+        assertThat(index.similar(query.estimateId(), ownerId, 10)).isEmpty();
+    }
+
+    @Test
+    void signature_shouldAgreeOnAboutAsManyPositionsAsTheJaccardSimilarity() {
+        LongIntHashMap left = new LongIntHashMap();
+        LongIntHashMap right = new LongIntHashMap();
+        IntStream.range(0, 300).forEach(key -> left.put(key, 1));
+        IntStream.range(100, 400).forEach(key -> right.put(key, 1)); // Jaccard 200 / 400 = 0.5
+
+        long[] leftSignature = EstimateSimilarityIndex.signature(left);
+        long[] rightSignature = EstimateSimilarityIndex.signature(right);
+        long agreeing = IntStream.range(0, EstimateSimilarityIndex.SIGNATURE_LENGTH)
+                .filter(i -> leftSignature[i] == rightSignature[i])
+                .count();
+
+        assertThat((double) agreeing / EstimateSimilarityIndex.SIGNATURE_LENGTH).isBetween(0.3, 0.7);
+    }
+
+    private EstimateSimilarityIndex.EstimateRef estimate(UUID owner) {
+        return new EstimateSimilarityIndex.EstimateRef(UUID.randomUUID(), UUID.randomUUID(), owner);
+    }
+
+    private Stream<EstimateSimilarityIndex.Line> lines(EstimateSimilarityIndex.EstimateRef estimate, int from, int to) {
+        return workItems.subList(from, to).stream().map(workItem -> new EstimateSimilarityIndex.Line(estimate, workItem));
+    }
+}
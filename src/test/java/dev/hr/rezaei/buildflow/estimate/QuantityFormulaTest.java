@@ -0,0 +1,104 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+import dev.hr.rezaei.buildflow.estimate.QuantityFormula.Symbol;
+import dev.hr.rezaei.buildflow.estimate.QuantityFormula.SymbolKind;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QuantityFormulaTest {
+
+    @Test
+    void evaluate_shouldRespectPrecedenceAndAssociativity() {
+        assertThat(constant("1 + 2 * 3")).isEqualTo(7.0);
+        assertThat(constant("(1 + 2) * 3")).isEqualTo(9.0);
+        assertThat(constant("10 - 4 - 3")).isEqualTo(3.0);
+        assertThat(constant("2 ^ 3 ^ 2")).isEqualTo(512.0);
+        assertThat(constant("-2 ^ 2")).isEqualTo(-4.0);
+        assertThat(constant("2 ^ -1")).isEqualTo(0.5);
+        assertThat(constant(".5 * 4")).isEqualTo(2.0);
+    }
+
+    @Test
+    void evaluate_shouldApplyFunctions() {
+        assertThat(constant("ceil(10 / 3)")).isEqualTo(4.0);
+        assertThat(constant("floor(10 / 3)")).isEqualTo(3.0);
+        assertThat(constant("round(2.5)")).isEqualTo(3.0);
+        assertThat(constant("abs(1 - 3)")).isEqualTo(2.0);
+        assertThat(constant("min(4, 2, 3)")).isEqualTo(2.0);
+        assertThat(constant("max(4, 2, 3)")).isEqualTo(4.0);
+    }
+
+    @Test
+    void compile_shouldGiveEachDistinctReferenceOneSlot() {
+        QuantityFormula formula = QuantityFormula.compile("wall_area * 1.1 + @trim / wall_area - trim");
+
+        assertThat(formula.getSymbols()).containsExactly(
+                new Symbol(SymbolKind.VARIABLE, "wall_area"),
+                new Symbol(SymbolKind.LINE, "trim"),
+                new Symbol(SymbolKind.VARIABLE, "trim"));
+        assertThat(formula.evaluate(new double[]{10, 20, 2})).isEqualTo(10 * 1.1 + 20.0 / 10 - 2);
+    }
+
+    @Test
+    void evaluate_shouldResolveReferencesByName() {
+        QuantityFormula formula = QuantityFormula.compile("ceil(wall_area * 1.1 / @sheet_area)");
+        Map<String, Double> values = Map.of("wall_area", 100.0, "@sheet_area", 32.0);
+
+        assertThat(formula.evaluate(symbol -> values.get(symbol.toString()))).isEqualTo(4.0);
+    }
+
+    @Test
+    void compile_shouldReportThePositionOfSyntaxErrors() {
+        assertThatThrownBy(() -> QuantityFormula.compile("1 + * 2"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid formula at position 5: unexpected '*'");
+        assertThatThrownBy(() -> QuantityFormula.compile("(1 + 2"))
+                .hasMessageContaining("expected ')' before end of formula");
+        assertThatThrownBy(() -> QuantityFormula.compile("1 2"))
+                .hasMessageContaining("position 3");
+        assertThatThrownBy(() -> QuantityFormula.compile("@ 1"))
+                .hasMessageContaining("expected a line name after '@'");
+        assertThatThrownBy(() -> QuantityFormula.compile("1..2"))
+                .hasMessageContaining("invalid number '1..2'");
+    }
+
+    @Test
+    void compile_shouldRejectUnknownFunctionsAndWrongArity() {
+        assertThatThrownBy(() -> QuantityFormula.compile("sqrt(4)"))
+                .hasMessageContaining("unknown function 'sqrt'");
+        assertThatThrownBy(() -> QuantityFormula.compile("ceil(1, 2)"))
+                .hasMessageContaining("function 'ceil' takes one argument");
+    }
+
+    @Test
+    void compile_shouldRejectBlankLongAndDeeplyNestedFormulas() {
+        assertThatThrownBy(() -> QuantityFormula.compile(" ")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> QuantityFormula.compile("1+".repeat(250) + "1"))
+                .hasMessageContaining("at most " + QuantityFormula.MAX_LENGTH);
+        assertThatThrownBy(() -> QuantityFormula.compile("(".repeat(100) + "1" + ")".repeat(100)))
+                .hasMessageContaining("nested too deeply");
+        assertThatThrownBy(() -> QuantityFormula.compile("-".repeat(100) + "1"))
+                .hasMessageContaining("nested too deeply");
+    }
+
+    @Test
+    void cache_shouldCompileEachDistinctFormulaOnce() {
+        QuantityFormulaCache cache = new QuantityFormulaCache();
+
+        QuantityFormula first = cache.compile("wall_area * 1.1");
+
+        assertThat(cache.compile(" wall_area * 1.1 ")).isSameAs(first);
+        assertThat(cache.compile("wall_area * 1.2")).isNotSameAs(first);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    private static double constant(String source) {
+        QuantityFormula formula = QuantityFormula.compile(source);
+        assertThat(formula.getSymbols()).isEmpty();
+        return formula.evaluate(new double[0]);
+    }
+}
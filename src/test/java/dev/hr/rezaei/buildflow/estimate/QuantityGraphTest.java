@@ -0,0 +1,78 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QuantityGraphTest {
+
+    private final UUID estimateId = UUID.randomUUID();
+
+    @Test
+    void affectedByVariable_shouldReturnTransitiveDependentsInEvaluationOrder() {
+        QuantityGraph.Line screws = line("screws", "@drywall * 8");
+        QuantityGraph.Line tape = line("tape", "@drywall + @screws");
+        QuantityGraph.Line drywall = line("drywall", "wall_area * 1.1");
+        QuantityGraph.Line roof = line("roof", "roof_area");
+        QuantityGraph graph = new QuantityGraph(List.of(screws, tape, drywall, roof));
+
+        assertThat(graph.affectedByVariable("wall_area")).containsExactly(drywall, screws, tape);
+        assertThat(graph.affectedByVariable("roof_area")).containsExactly(roof);
+        assertThat(graph.affectedByVariable("unused")).isEmpty();
+    }
+
+    @Test
+    void affectedByLine_shouldStartWithTheLineItselfWhenItHasAFormula() {
+        QuantityGraph.Line base = line("base", null);
+        QuantityGraph.Line derived = line("derived", "@base * 2");
+        QuantityGraph.Line total = line("total", "@derived + 1");
+        QuantityGraph graph = new QuantityGraph(List.of(total, derived, base));
+
+        assertThat(graph.affectedByLine(base.id())).containsExactly(derived, total);
+        assertThat(graph.affectedByLine(derived.id())).containsExactly(derived, total);
+        assertThat(graph.hasDependents(base.id())).isTrue();
+        assertThat(graph.hasDependents(total.id())).isFalse();
+    }
+
+    @Test
+    void lineReferences_shouldOnlyResolveWithinTheSameEstimate() {
+        QuantityGraph.Line base = line("base", null);
+        QuantityGraph.Line elsewhere = new QuantityGraph.Line(UUID.randomUUID(), UUID.randomUUID(), "other",
+                QuantityFormula.compile("@base"));
+        QuantityGraph graph = new QuantityGraph(List.of(base, elsewhere));
+
+        assertThat(graph.resolve(estimateId, "base")).isEqualTo(base.id());
+        assertThat(graph.resolve(elsewhere.estimateId(), "base")).isNull();
+        assertThat(graph.affectedByLine(base.id())).isEmpty();
+    }
+
+    @Test
+    void constructor_shouldRejectCycles() {
+        QuantityGraph.Line a = line("a", "@c + 1");
+        QuantityGraph.Line b = line("b", "@a");
+        QuantityGraph.Line c = line("c", "@b");
+        QuantityGraph.Line self = line("self", "@self");
+
+        assertThatThrownBy(() -> new QuantityGraph(List.of(a, b, c)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("@a, @b, @c");
+        assertThatThrownBy(() -> new QuantityGraph(List.of(self)))
+                .hasMessageContaining("cycle");
+    }
+
+    @Test
+    void constructor_shouldRejectDuplicateNamesInAnEstimate() {
+        assertThatThrownBy(() -> new QuantityGraph(List.of(line("a", null), line("a", "1"))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("already named 'a'");
+    }
+
+    private QuantityGraph.Line line(String name, String formula) {
+        return new QuantityGraph.Line(UUID.randomUUID(), estimateId, name,
+                formula == null ? null : QuantityFormula.compile(formula));
+    }
+}
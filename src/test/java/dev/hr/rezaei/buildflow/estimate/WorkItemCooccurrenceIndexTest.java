@@ -0,0 +1,94 @@
+package dev.hr.rezaei.buildflow.estimate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkItemCooccurrenceIndexTest {
+
+    private WorkItemCooccurrenceIndex index;
+    private UUID ownerId;
+    private UUID framing;
+    private UUID drywall;
+    private UUID painting;
+    private UUID roofing;
+
+    @BeforeEach
+    void setUp() {
+        index = new WorkItemCooccurrenceIndex();
+        ownerId = UUID.randomUUID();
+        framing = UUID.randomUUID();
+        drywall = UUID.randomUUID();
+        painting = UUID.randomUUID();
+        roofing = UUID.randomUUID();
+    }
+
+    @Test
+    void recommend_shouldRankByNumberOfSharedEstimates() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        index.rebuild(Stream.of(
+                line(first, framing), line(first, drywall), line(first, painting),
+                line(second, framing), line(second, drywall), line(second, roofing)));
+
+        assertThat(index.recommend(List.of(framing), null, 10)).containsExactly(
+                new WorkItemRecommendation(drywall, 2),
+                new WorkItemRecommendation(painting, 1),
+                new WorkItemRecommendation(roofing, 1));
+        assertThat(index.recommend(List.of(framing), null, 1)).containsExactly(new WorkItemRecommendation(drywall, 2));
+        assertThat(index.recommend(List.of(framing, drywall), null, 10))
+                .extracting(WorkItemRecommendation::score).containsExactly(2, 2);
+    }
+
+    @Test
+    void count_shouldCountEstimatesNotLines() {
+        UUID estimate = UUID.randomUUID();
+        index.addLine(line(estimate, framing));
+        index.addLine(line(estimate, framing));
+        index.addLine(line(estimate, drywall));
+
+        assertThat(index.count(framing, drywall)).isEqualTo(1);
+
+        index.removeLine(estimate, framing);
+        assertThat(index.count(framing, drywall)).isEqualTo(1);
+
+        index.removeLine(estimate, framing);
+        assertThat(index.count(framing, drywall)).isZero();
+        assertThat(index.recommend(List.of(drywall), null, 10)).isEmpty();
+    }
+
+    @Test
+    void removeEstimate_shouldUncountAllItsPairs() {
+        UUID kept = UUID.randomUUID();
+        UUID deleted = UUID.randomUUID();
+        index.rebuild(Stream.of(
+                line(kept, framing), line(kept, drywall),
+                line(deleted, framing), line(deleted, drywall), line(deleted, painting)));
+
+        index.removeEstimate(deleted);
+
+        assertThat(index.count(framing, drywall)).isEqualTo(1);
+        assertThat(index.count(framing, painting)).isZero();
+        assertThat(index.recommend(List.of(painting), null, 10)).isEmpty();
+    }
+
+    @Test
+    void recommend_shouldOnlySuggestPrivateItemsToTheirOwner() {
+        UUID estimate = UUID.randomUUID();
+        index.addLine(line(estimate, framing));
+        index.addLine(new WorkItemCooccurrenceIndex.LineItem(estimate, drywall, ownerId, false));
+
+        assertThat(index.recommend(List.of(framing), null, 10)).isEmpty();
+        assertThat(index.recommend(List.of(framing), UUID.randomUUID(), 10)).isEmpty();
+        assertThat(index.recommend(List.of(framing), ownerId, 10)).containsExactly(new WorkItemRecommendation(drywall, 1));
+    }
+
+    private WorkItemCooccurrenceIndex.LineItem line(UUID estimateId, UUID workItemId) {
+        return new WorkItemCooccurrenceIndex.LineItem(estimateId, workItemId, ownerId, true);
+    }
+}
@@ -0,0 +1,95 @@
+package dev.hr.rezaei.buildflow.project;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectAccessIndexTest {
+
+    private ProjectAccessIndex index;
+    private UUID owner;
+    private UUID participant;
+    private UUID project;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProjectAccessIndex();
+        owner = UUID.randomUUID();
+        participant = UUID.randomUUID();
+        project = UUID.randomUUID();
+    }
+
+    @Test
+    void rebuild_shouldGrantOwnersAndParticipants() {
+        UUID other = UUID.randomUUID();
+        index.rebuild(
+                Stream.of(new ProjectAccessIndex.Grant(project, owner), new ProjectAccessIndex.Grant(other, participant)),
+                Stream.of(new ProjectAccessIndex.Grant(project, participant)));
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.isOwner(owner, project)).isTrue();
+        assertThat(index.canView(owner, project)).isTrue();
+        assertThat(index.isOwner(participant, project)).isFalse();
+        assertThat(index.canView(participant, project)).isTrue();
+        assertThat(index.canView(owner, other)).isFalse();
+        assertThat(index.canView(participant, other)).isTrue();
+    }
+
+    @Test
+    void rebuild_shouldReplaceEarlierContent() {
+        index.putOwner(project, owner);
+
+        index.rebuild(Stream.empty(), Stream.empty());
+
+        assertThat(index.size()).isZero();
+        assertThat(index.canView(owner, project)).isFalse();
+    }
+
+    @Test
+    void putOwner_shouldMoveOwnershipToTheNewOwner() {
+        index.putOwner(project, owner);
+        index.putOwner(project, participant);
+
+        assertThat(index.isOwner(owner, project)).isFalse();
+        assertThat(index.canView(owner, project)).isFalse();
+        assertThat(index.isOwner(participant, project)).isTrue();
+    }
+
+    @Test
+    void revokeParticipant_shouldKeepOwnership() {
+        index.putOwner(project, owner);
+        index.grantParticipant(project, owner);
+        index.grantParticipant(project, participant);
+
+        index.revokeParticipant(project, owner);
+        index.revokeParticipant(project, participant);
+
+        assertThat(index.isOwner(owner, project)).isTrue();
+        assertThat(index.canView(participant, project)).isFalse();
+    }
+
+    @Test
+    void removeProject_shouldDenyEveryoneAndNeverReuseItsOrdinal() {
+        index.putOwner(project, owner);
+        index.grantParticipant(project, participant);
+
+        index.removeProject(project);
+        UUID next = UUID.randomUUID();
+        index.putOwner(next, UUID.randomUUID());
+
+        assertThat(index.canView(owner, project)).isFalse();
+        assertThat(index.canView(participant, project)).isFalse();
+        // The stale participant bit of the removed project must not leak into the next project
+        assertThat(index.canView(participant, next)).isFalse();
+    }
+
+    @Test
+    void checks_shouldDenyUnknownProjects() {
+        assertThat(index.canView(owner, project)).isFalse();
+        assertThat(index.isOwner(owner, project)).isFalse();
+    }
+}
@@ -1,15 +1,28 @@
 package dev.hr.rezaei.buildflow.project;
 
 import dev.hr.rezaei.buildflow.AbstractControllerIntegrationTest;
+import dev.hr.rezaei.buildflow.estimate.Estimate;
+import dev.hr.rezaei.buildflow.estimate.EstimateService;
+import dev.hr.rezaei.buildflow.project.dto.CreateProjectParticipantRequest;
+import dev.hr.rezaei.buildflow.project.dto.CreateProjectParticipantsRequest;
 import dev.hr.rezaei.buildflow.project.dto.CreateProjectRequest;
 import dev.hr.rezaei.buildflow.project.dto.ProjectLocationRequestDto;
+import dev.hr.rezaei.buildflow.user.Contact;
 import dev.hr.rezaei.buildflow.user.User;
+import dev.hr.rezaei.buildflow.user.dto.ContactRequestDto;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
 
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -17,6 +30,15 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @SpringBootTest
 public class ProjectControllerIntegrationTest extends AbstractControllerIntegrationTest {
 
+    @Autowired
+    private EstimateService estimateService;
+
+    @Autowired
+    private ProjectParticipantService projectParticipantService;
+
+    @Autowired
+    private ProjectService projectService;
+
     @Test
     void createProject_shouldReturnCreated_whenAdminUser() throws Exception {
         User admin = registerAdmin();
@@ -830,4 +852,314 @@ public class ProjectControllerIntegrationTest extends AbstractControllerIntegrat
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(3));
     }
+
+    @Test
+    void getProjectsByUserId_shouldSortAndFilterBySummaryColumns() throws Exception {
+        User admin = registerAdmin();
+        String adminToken = login(admin);
+        User builder = registerBuilder();
+        List<ProjectDto> projects = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            var location = ProjectLocationRequestDto.builder()
+                    .streetNumberAndName("Street " + i)
+                    .city("City")
+                    .stateOrProvince("ST")
+                    .postalOrZipCode("12345")
+                    .country("Country")
+                    .build();
+            projects.add(createProject(adminToken, builder.getId(), true, location));
+        }
+        UUID busiest = projects.get(1).getId();
+        UUID quiet = projects.get(2).getId();
+
+        for (int i = 0; i < 3; i++) {
+            estimateService.createEstimate(busiest, 1.0);
+        }
+        Estimate removed = estimateService.createEstimate(busiest, 1.0);
+        estimateService.deleteEstimate(removed.getId());
+        estimateService.createEstimate(quiet, 1.0);
+        for (int i = 0; i < 2; i++) {
+            projectParticipantService.createParticipant(quiet, Contact.builder()
+                    .firstName("Participant" + i)
+                    .lastName("User")
+                    .email("participant-" + UUID.randomUUID() + "@example.com")
+                    .labels(new ArrayList<>())
+                    .build(), ProjectRole.OWNER.name());
+        }
+
+        String builderToken = login(builder);
+        mockMvc.perform(get("/api/v1/projects/user/{userId}", builder.getId())
+                        .header("Authorization", "Bearer " + builderToken)
+                        .param("sort", "estimateCount,DESC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(busiest.toString()))
+                .andExpect(jsonPath("$[0].estimateCount").value(3))
+                .andExpect(jsonPath("$[0].participantCount").value(0))
+                .andExpect(jsonPath("$[1].id").value(quiet.toString()))
+                .andExpect(jsonPath("$[2].estimateCount").value(0));
+        mockMvc.perform(get("/api/v1/projects/user/{userId}", builder.getId())
+                        .header("Authorization", "Bearer " + builderToken)
+                        .param("minParticipantCount", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(quiet.toString()))
+                .andExpect(jsonPath("$[0].participantCount").value(2));
+        mockMvc.perform(get("/api/v1/projects/user/{userId}", builder.getId())
+                        .header("Authorization", "Bearer " + builderToken)
+                        .param("minEstimateCount", "3")
+                        .param("maxEstimateCount", "1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getProjectSummariesByUserId_shouldReturnCountsTotalsAndLastActivity() throws Exception {
+        User admin = registerAdmin();
+        String adminToken = login(admin);
+        User builder = registerBuilder();
+        List<ProjectDto> projects = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            var location = ProjectLocationRequestDto.builder()
+                    .streetNumberAndName("Summary Street " + i)
+                    .city("City")
+                    .stateOrProvince("ST")
+                    .postalOrZipCode("12345")
+                    .country("Country")
+                    .build();
+            projects.add(createProject(adminToken, builder.getId(), true, location));
+        }
+        UUID active = projects.get(0).getId();
+        estimateService.createEstimate(active, 1.0);
+        Estimate latest = estimateService.createEstimate(active, 1.0);
+        projectParticipantService.createParticipant(active, Contact.builder()
+                .firstName("Participant")
+                .lastName("User")
+                .email("participant-" + UUID.randomUUID() + "@example.com")
+                .labels(new ArrayList<>())
+                .build(), ProjectRole.OWNER.name());
+
+        String builderToken = login(builder);
+        mockMvc.perform(get("/api/v1/projects/user/{userId}/summary", builder.getId())
+                        .header("Authorization", "Bearer " + builderToken)
+                        .param("sort", "estimateCount,DESC"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "2"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(active.toString()))
+                .andExpect(jsonPath("$[0].location.streetNumberAndName").value("Summary Street 0"))
+                .andExpect(jsonPath("$[0].estimateCount").value(2))
+                .andExpect(jsonPath("$[0].estimateTotal").value(0))
+                .andExpect(jsonPath("$[0].participantCount").value(1))
+                .andExpect(jsonPath("$[0].lastActivityAt").value(
+                        estimateService.findById(latest.getId()).orElseThrow().getLastUpdatedAt().toString()))
+                .andExpect(jsonPath("$[1].id").value(projects.get(1).getId().toString()))
+                .andExpect(jsonPath("$[1].estimateCount").value(0))
+                .andExpect(jsonPath("$[1].lastActivityAt").value(
+                        projectService.findById(projects.get(1).getId()).orElseThrow().getLastUpdatedAt().toString()));
+    }
+
+    @Test
+    void getProjectSummariesByUserId_shouldReturnForbidden_forOtherUser() throws Exception {
+        User builder = registerBuilder();
+        User other = registerBuilder();
+        String otherToken = login(other);
+
+        mockMvc.perform(get("/api/v1/projects/user/{userId}/summary", builder.getId())
+                        .header("Authorization", "Bearer " + otherToken))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void searchProjectsByUserId_shouldMatchAddressPrefixes() throws Exception {
+        User admin = registerAdmin();
+        String adminToken = login(admin);
+        User builder = registerBuilder();
+        ProjectDto maple = createProject(adminToken, builder.getId(), true, ProjectLocationRequestDto.builder()
+                .streetNumberAndName("12 Maple Avenue")
+                .city("Toronto")
+                .stateOrProvince("ON")
+                .postalOrZipCode("M5V 3L9")
+                .country("Canada")
+                .build());
+        ProjectDto edouard = createProject(adminToken, builder.getId(), true, ProjectLocationRequestDto.builder()
+                .streetNumberAndName("40 Rue Saint-Édouard")
+                .city("Montréal")
+                .stateOrProvince("QC")
+                .postalOrZipCode("H2X 1Y4")
+                .country("Canada")
+                .build());
+        createProject(adminToken, builder.getId(), true, ProjectLocationRequestDto.builder()
+                .streetNumberAndName("7 Maple Drive")
+                .city("Vancouver")
+                .stateOrProvince("BC")
+                .postalOrZipCode("V6B 1A1")
+                .country("Canada")
+                .build());
+
+        String builderToken = login(builder);
+        String path = "/api/v1/projects/user/{userId}/search";
+        mockMvc.perform(get(path, builder.getId())
+                        .header("Authorization", "Bearer " + builderToken)
+                        .param("q", "maple tor"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "1"))
+                .andExpect(jsonPath("$[0].id").value(maple.getId().toString()));
+        mockMvc.perform(get(path, builder.getId())
+                        .header("Authorization", "Bearer " + builderToken)
+                        .param("q", "MAPLE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+        mockMvc.perform(get(path, builder.getId())
+                        .header("Authorization", "Bearer " + builderToken)
+                        .param("city", "montre")
+                        .param("q", "edouard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(edouard.getId().toString()));
+        mockMvc.perform(get(path, builder.getId())
+                        .header("Authorization", "Bearer " + builderToken)
+                        .param("postalCode", "m5v3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(maple.getId().toString()));
+        // The city term only matches cities, not the street
+        mockMvc.perform(get(path, builder.getId())
+                        .header("Authorization", "Bearer " + builderToken)
+                        .param("city", "maple"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get(path, builder.getId())
+                        .header("Authorization", "Bearer " + builderToken)
+                        .param("q", "maple")
+                        .param("createdAfter", Instant.now().plusSeconds(3600).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get(path, builder.getId())
+                        .header("Authorization", "Bearer " + builderToken)
+                        .param("q", " - "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createParticipants_shouldReuseContactsByEmailAndCreateTheRest() throws Exception {
+        User admin = registerAdmin();
+        String adminToken = login(admin);
+        User builder = registerBuilder();
+        var location = ProjectLocationRequestDto.builder()
+                .streetNumberAndName("Crew Street")
+                .city("City")
+                .stateOrProvince("ST")
+                .postalOrZipCode("12345")
+                .country("Country")
+                .build();
+        UUID first = createProject(adminToken, builder.getId(), true, location).getId();
+        UUID second = createProject(adminToken, builder.getId(), true, location).getId();
+        String sharedEmail = "shared-" + UUID.randomUUID() + "@example.com";
+        projectParticipantService.createParticipant(first, Contact.builder()
+                .firstName("Stored")
+                .lastName("Contact")
+                .email(sharedEmail)
+                .labels(new ArrayList<>())
+                .build(), ProjectRole.OWNER.name());
+
+        List<CreateProjectParticipantRequest> crew = new ArrayList<>();
+        crew.add(participantRequest("Other", sharedEmail, ProjectRole.OWNER));
+        for (int i = 0; i < 2; i++) {
+            crew.add(participantRequest("Crew" + i, "crew-" + UUID.randomUUID() + "@example.com", ProjectRole.BUILDER));
+        }
+
+        String builderToken = login(builder);
+        mockMvc.perform(post("/api/v1/projects/{projectId}/participants/bulk", second)
+                        .header("Authorization", "Bearer " + builderToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateProjectParticipantsRequest(crew))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].role").value("OWNER"))
+                .andExpect(jsonPath("$[0].contact.firstName").value("Stored"))
+                .andExpect(jsonPath("$[1].role").value("BUILDER"))
+                .andExpect(jsonPath("$[1].contact.firstName").value("Crew0"));
+
+        List<ProjectParticipant> firstParticipants = projectParticipantService.findByProjectId(first);
+        List<ProjectParticipant> secondParticipants = projectParticipantService.findByProjectId(second);
+        assertEquals(3, secondParticipants.size());
+        assertTrue(secondParticipants.stream().anyMatch(p ->
+                p.getContact().getId().equals(firstParticipants.get(0).getContact().getId())));
+        assertEquals(3, projectService.findById(second).orElseThrow().getParticipantCount());
+
+        List<CreateProjectParticipantRequest> repeated = List.of(
+                participantRequest("Again", sharedEmail, ProjectRole.OWNER),
+                participantRequest("Again", sharedEmail, ProjectRole.BUILDER));
+        mockMvc.perform(post("/api/v1/projects/{projectId}/participants/bulk", second)
+                        .header("Authorization", "Bearer " + builderToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateProjectParticipantsRequest(repeated))))
+                .andExpect(status().isBadRequest());
+        assertEquals(3, projectParticipantService.countByProjectId(second));
+    }
+
+    @Test
+    void getParticipatingProjectsByUserId_shouldListProjectsOnceAndAllowParticipantsToView() throws Exception {
+        User admin = registerAdmin();
+        String adminToken = login(admin);
+        User builder = registerBuilder();
+        User owner = registerOwner();
+        List<UUID> projectIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            var location = ProjectLocationRequestDto.builder()
+                    .streetNumberAndName("Participating Street " + i)
+                    .city("City")
+                    .stateOrProvince("ST")
+                    .postalOrZipCode("12345")
+                    .country("Country")
+                    .build();
+            projectIds.add(createProject(adminToken, builder.getId(), true, location).getId());
+        }
+        String ownerEmail = owner.getContact().getEmail();
+        // Two roles in the first project, one in the second, none in the third
+        for (ProjectRole role : List.of(ProjectRole.OWNER, ProjectRole.BUILDER)) {
+            projectParticipantService.createParticipants(projectIds.get(0), List.of(new ProjectParticipantService.NewParticipant(
+                    Contact.builder().firstName("Owner").lastName("User").email(ownerEmail).labels(new ArrayList<>()).build(),
+                    role.name())));
+        }
+        projectParticipantService.createParticipants(projectIds.get(1), List.of(new ProjectParticipantService.NewParticipant(
+                Contact.builder().firstName("Owner").lastName("User").email(ownerEmail).labels(new ArrayList<>()).build(),
+                ProjectRole.OWNER.name())));
+
+        String ownerToken = login(owner);
+        mockMvc.perform(get("/api/v1/projects/user/{userId}/participating", owner.getId())
+                        .header("Authorization", "Bearer " + ownerToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "2"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[*].id").value(containsInAnyOrder(
+                        projectIds.get(0).toString(), projectIds.get(1).toString())));
+        mockMvc.perform(get("/api/v1/projects/user/{userId}/participating", owner.getId())
+                        .header("Authorization", "Bearer " + ownerToken)
+                        .param("createdAfter", "2100-01-01T00:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/api/v1/projects/user/{userId}/participating", owner.getId())
+                        .header("Authorization", "Bearer " + login(builder)))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/api/v1/projects/{projectId}", projectIds.get(1))
+                        .header("Authorization", "Bearer " + ownerToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(projectIds.get(1).toString()));
+        mockMvc.perform(get("/api/v1/projects/{projectId}", projectIds.get(2))
+                        .header("Authorization", "Bearer " + ownerToken))
+                .andExpect(status().isForbidden());
+    }
+
+    private CreateProjectParticipantRequest participantRequest(String firstName, String email, ProjectRole role) {
+        return CreateProjectParticipantRequest.builder()
+                .role(role.name())
+                .contactRequestDto(ContactRequestDto.builder()
+                        .firstName(firstName)
+                        .lastName("Participant")
+                        .email(email)
+                        .labels(List.of())
+                        .build())
+                .build();
+    }
 }
@@ -108,7 +108,7 @@ class ProjectControllerTest extends AbstractControllerTest {
     void getProjectsByUserId_shouldReturnOk_whenUserExists() throws Exception {
         // Given
         Page<Project> page = new PageImpl<>(List.of(testProject));
-        when(projectService.getProjectsByUserId(any(UUID.class), any(Pageable.class), any(DateFilter.class)))
+        when(projectService.getProjectsByUserId(any(UUID.class), any(Pageable.class), any(DateFilter.class), any(ProjectSummaryFilter.class)))
                 .thenReturn(page);
 
         // When & Then
@@ -127,7 +127,7 @@ class ProjectControllerTest extends AbstractControllerTest {
     void getProjectsByUserId_shouldReturnNotFound_whenUserNotFound() throws Exception {
         // Given
         UUID nonExistentUserId = UUID.randomUUID();
-        when(projectService.getProjectsByUserId(any(UUID.class), any(Pageable.class), any(DateFilter.class)))
+        when(projectService.getProjectsByUserId(any(UUID.class), any(Pageable.class), any(DateFilter.class), any(ProjectSummaryFilter.class)))
                 .thenThrow(new UserNotFoundException("User with ID " + nonExistentUserId + " does not exist."));
 
         // When & Then
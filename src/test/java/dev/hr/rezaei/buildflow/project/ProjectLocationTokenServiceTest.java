@@ -0,0 +1,50 @@
+package dev.hr.rezaei.buildflow.project;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ProjectLocationTokenServiceTest {
+
+    @Test
+    void words_shouldLowerCaseStripAccentsAndSplitOnPunctuation() {
+        assertThat(ProjectLocationTokenService.words("40 Rue Saint-Édouard, Apt. 5"))
+                .containsExactly("40", "rue", "saint", "edouard", "apt", "5");
+        assertThat(ProjectLocationTokenService.words("  -  ")).isEmpty();
+        assertThat(ProjectLocationTokenService.words(null)).isEmpty();
+    }
+
+    @Test
+    void compact_shouldRemoveSpacesAndDashes() {
+        assertThat(ProjectLocationTokenService.compact("m5v 3L9")).isEqualTo("m5v3l9");
+        assertThat(ProjectLocationTokenService.compact("12345-6789")).isEqualTo("123456789");
+    }
+
+    @Test
+    void tokens_shouldIndexEveryFieldAndTheCompactPostalCode() {
+        UUID projectId = UUID.randomUUID();
+        ProjectLocation location = ProjectLocation.builder()
+                .streetNumberAndName("12 Maple Ave")
+                .city("Toronto")
+                .stateOrProvince("ON")
+                .postalOrZipCode("M5V 3L9")
+                .country("Canada")
+                .build();
+
+        assertThat(ProjectLocationTokenService.tokens(projectId, location))
+                .extracting(ProjectLocationToken::getProjectId, ProjectLocationToken::getField, ProjectLocationToken::getToken)
+                .containsExactlyInAnyOrder(
+                        tuple(projectId, ProjectLocationField.STREET, "12"),
+                        tuple(projectId, ProjectLocationField.STREET, "maple"),
+                        tuple(projectId, ProjectLocationField.STREET, "ave"),
+                        tuple(projectId, ProjectLocationField.CITY, "toronto"),
+                        tuple(projectId, ProjectLocationField.STATE_OR_PROVINCE, "on"),
+                        tuple(projectId, ProjectLocationField.POSTAL_CODE, "m5v"),
+                        tuple(projectId, ProjectLocationField.POSTAL_CODE, "3l9"),
+                        tuple(projectId, ProjectLocationField.POSTAL_CODE, "m5v3l9"),
+                        tuple(projectId, ProjectLocationField.COUNTRY, "canada"));
+    }
+}
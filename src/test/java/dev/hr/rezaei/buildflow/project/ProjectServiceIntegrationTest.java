@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -38,10 +39,37 @@ class ProjectServiceIntegrationTest extends AbstractModelJpaTest implements User
             return new UserService(userRepository, contactService);
         }
 
+        @Bean
+        public ProjectLocationTokenService projectLocationTokenService(ProjectLocationTokenRepository projectLocationTokenRepository) {
+            return new ProjectLocationTokenService(projectLocationTokenRepository);
+        }
+
+        @Bean
+        public ProjectDeletionService projectDeletionService(ProjectRepository projectRepository,
+                                                             ApplicationEventPublisher applicationEventPublisher) {
+            return new ProjectDeletionService(projectRepository, applicationEventPublisher);
+        }
+
+        @Bean
+        public ProjectAccessIndex projectAccessIndex() {
+            return new ProjectAccessIndex();
+        }
+
+        @Bean
+        public ProjectAccessService projectAccessService(ProjectRepository projectRepository,
+                                                         ProjectParticipantRepository projectParticipantRepository,
+                                                         ProjectAccessIndex projectAccessIndex) {
+            return new ProjectAccessService(projectRepository, projectParticipantRepository, projectAccessIndex);
+        }
+
         @Bean
         public ProjectService projectService(ProjectRepository projectRepository,
-                                             UserService userService) {
-            return new ProjectService(projectRepository, userService);
+                                             UserService userService,
+                                             ProjectLocationTokenService projectLocationTokenService,
+                                             ProjectDeletionService projectDeletionService,
+                                             ProjectAccessService projectAccessService) {
+            return new ProjectService(projectRepository, userService, projectLocationTokenService, projectDeletionService,
+                    projectAccessService);
         }
     }
 
@@ -0,0 +1,92 @@
+package dev.hr.rezaei.buildflow.quote;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Currency;
+import java.util.UUID;
+
+import static dev.hr.rezaei.buildflow.quote.PackedPriceTable.NO_PRICE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the off-heap packed price table.
+ */
+class PackedPriceTableTest {
+
+    private static final Currency CAD = Currency.getInstance("CAD");
+    private static final Currency USD = Currency.getInstance("USD");
+
+    private PackedPriceTable table;
+    private UUID workItemId;
+    private UUID supplierId;
+
+    @BeforeEach
+    void setUp() {
+        table = new PackedPriceTable();
+        workItemId = UUID.randomUUID();
+        supplierId = UUID.randomUUID();
+    }
+
+    @Test
+    void reads_shouldAggregateLiveRecordsOfWorkItemAndCurrency() {
+        table.put(UUID.randomUUID(), workItemId, supplierId, QuoteUnit.SQUARE_METER, CAD, 1000, 300);
+        table.put(UUID.randomUUID(), workItemId, supplierId, QuoteUnit.SQUARE_METER, CAD, 2001, 100);
+        table.put(UUID.randomUUID(), workItemId, supplierId, QuoteUnit.SQUARE_METER, USD, 50, 900);
+        table.put(UUID.randomUUID(), UUID.randomUUID(), supplierId, QuoteUnit.SQUARE_METER, CAD, 10, 900);
+
+        assertThat(table.lowestPriceMinor(workItemId, null, CAD)).isEqualTo(1000);
+        assertThat(table.latestPriceMinor(workItemId, null, CAD)).isEqualTo(1000);
+        assertThat(table.averagePriceMinor(workItemId, null, CAD)).isEqualTo(1501);
+        assertThat(table.lowestPriceMinor(workItemId, null, USD)).isEqualTo(50);
+        assertThat(table.size()).isEqualTo(4);
+    }
+
+    @Test
+    void reads_shouldFilterByUnitWhenGiven() {
+        table.put(UUID.randomUUID(), workItemId, supplierId, QuoteUnit.SQUARE_METER, CAD, 1000, 1);
+        table.put(UUID.randomUUID(), workItemId, supplierId, QuoteUnit.EACH, CAD, 500, 2);
+
+        assertThat(table.lowestPriceMinor(workItemId, QuoteUnit.SQUARE_METER, CAD)).isEqualTo(1000);
+        assertThat(table.lowestPriceMinor(workItemId, null, CAD)).isEqualTo(500);
+    }
+
+    @Test
+    void reads_shouldReturnNoPriceWhenNothingMatches() {
+        table.put(UUID.randomUUID(), workItemId, supplierId, QuoteUnit.SQUARE_METER, CAD, 1000, 1);
+
+        assertThat(table.lowestPriceMinor(UUID.randomUUID(), null, CAD)).isEqualTo(NO_PRICE);
+        assertThat(table.averagePriceMinor(workItemId, null, USD)).isEqualTo(NO_PRICE);
+        assertThat(table.latestPriceMinor(workItemId, QuoteUnit.EACH, CAD)).isEqualTo(NO_PRICE);
+    }
+
+    @Test
+    void remove_shouldDropRecordAndReuseItsSlot() {
+        UUID cheapest = UUID.randomUUID();
+        table.put(cheapest, workItemId, supplierId, QuoteUnit.SQUARE_METER, CAD, 100, 1);
+        table.put(UUID.randomUUID(), workItemId, supplierId, QuoteUnit.SQUARE_METER, CAD, 900, 2);
+        long reserved = table.reservedBytes();
+
+        assertThat(table.remove(cheapest, workItemId)).isTrue();
+        assertThat(table.remove(cheapest, workItemId)).isFalse();
+        assertThat(table.lowestPriceMinor(workItemId, null, CAD)).isEqualTo(900);
+
+        table.put(UUID.randomUUID(), workItemId, supplierId, QuoteUnit.SQUARE_METER, CAD, 700, 3);
+        assertThat(table.lowestPriceMinor(workItemId, null, CAD)).isEqualTo(700);
+        assertThat(table.size()).isEqualTo(2);
+        assertThat(table.reservedBytes()).isEqualTo(reserved);
+    }
+
+    @Test
+    void put_shouldGrowAcrossSegments() {
+        int records = (1 << 16) + 10;
+        for (int i = 0; i < records; i++) {
+            table.put(UUID.randomUUID(), workItemId, supplierId, QuoteUnit.SQUARE_METER, CAD, i + 1, i);
+        }
+
+        assertThat(table.size()).isEqualTo(records);
+        assertThat(table.lowestPriceMinor(workItemId, null, CAD)).isEqualTo(1);
+        assertThat(table.latestPriceMinor(workItemId, null, CAD)).isEqualTo(records);
+        assertThat(table.reservedBytes()).isEqualTo(2L * (1 << 16) * PackedPriceTable.RECORD_BYTES);
+    }
+}
@@ -0,0 +1,168 @@
+package dev.hr.rezaei.buildflow.quote;
+
+import dev.hr.rezaei.buildflow.AbstractControllerIntegrationTest;
+import dev.hr.rezaei.buildflow.user.User;
+import dev.hr.rezaei.buildflow.workitem.WorkItem;
+import dev.hr.rezaei.buildflow.workitem.WorkItemDomain;
+import dev.hr.rezaei.buildflow.workitem.WorkItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Currency;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for QuoteController endpoints.
+ */
+@SpringBootTest
+public class QuoteControllerIntegrationTest extends AbstractControllerIntegrationTest {
+
+    @Autowired
+    private QuoteService quoteService;
+
+    @Autowired
+    private WorkItemRepository workItemRepository;
+
+    private WorkItem createTestWorkItem(User user) {
+        Instant now = Instant.now();
+        return workItemRepository.save(WorkItem.builder()
+                .code("WI-" + testCounter)
+                .name("Drywall")
+                .user(user)
+                .domain(WorkItemDomain.PUBLIC)
+                .createdAt(now)
+                .lastUpdatedAt(now)
+                .build());
+    }
+
+    private Quote createTestQuote(WorkItem workItem, User createdBy, User supplier, String price) {
+        return quoteService.createQuote(Quote.builder()
+                .workItem(workItem)
+                .createdBy(createdBy)
+                .supplier(supplier)
+                .unit(QuoteUnit.SQUARE_METER)
+                .unitPrice(new BigDecimal(price))
+                .currency(Currency.getInstance("CAD"))
+                .domain(QuoteDomain.PUBLIC)
+                .location(QuoteLocation.builder()
+                        .city("Toronto")
+                        .stateOrProvince("ON")
+                        .country("Canada")
+                        .build())
+                .build());
+    }
+
+    @Test
+    void getQuotesCreatedBy_shouldReturnDtosWithPaginationHeaders() throws Exception {
+        User builder = registerBuilder();
+        User supplier = registerBuilder();
+        String token = login(builder);
+        WorkItem workItem = createTestWorkItem(builder);
+        createTestQuote(workItem, builder, supplier, "10.00");
+        createTestQuote(workItem, builder, supplier, "12.50");
+
+        mockMvc.perform(get("/api/v1/quotes/creator/" + builder.getId())
+                        .param("size", "1")
+                        .param("orderBy", "unitPrice")
+                        .param("direction", "ASC")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("X-Total-Count", "2"))
+                .andExpect(header().string("Link", containsString("/api/v1/quotes/creator/" + builder.getId())))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].workItemId").value(workItem.getId().toString()))
+                .andExpect(jsonPath("$[0].createdByUserId").value(builder.getId().toString()))
+                .andExpect(jsonPath("$[0].supplierId").value(supplier.getId().toString()))
+                .andExpect(jsonPath("$[0].unitPrice").value(10.00))
+                .andExpect(jsonPath("$[0].currency").value("CAD"))
+                .andExpect(jsonPath("$[0].location.city").value("Toronto"));
+    }
+
+    @Test
+    void getQuotes_shouldFilterBySupplierParameter() throws Exception {
+        User builder = registerBuilder();
+        User supplier = registerBuilder();
+        String token = login(builder);
+        WorkItem workItem = createTestWorkItem(builder);
+        createTestQuote(workItem, builder, supplier, "10.00");
+
+        mockMvc.perform(get("/api/v1/quotes")
+                        .param("supplierId", supplier.getId().toString())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "1"))
+                .andExpect(jsonPath("$[0].supplierId").value(supplier.getId().toString()));
+    }
+
+    @Test
+    void getQuotes_shouldReturnBadRequest_whenNoFilterProvided() throws Exception {
+        User builder = registerBuilder();
+        String token = login(builder);
+
+        mockMvc.perform(get("/api/v1/quotes")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getSupplierLeaderboard_shouldRankSuppliersByAveragePrice() throws Exception {
+        User builder = registerBuilder();
+        User cheapSupplier = registerBuilder();
+        User pricierSupplier = registerBuilder();
+        String token = login(builder);
+        WorkItem workItem = createTestWorkItem(builder);
+        createTestQuote(workItem, builder, pricierSupplier, "20.00");
+        createTestQuote(workItem, builder, cheapSupplier, "9.00");
+        createTestQuote(workItem, builder, cheapSupplier, "11.00");
+
+        mockMvc.perform(get("/api/v1/quotes/work-items/" + workItem.getId() + "/suppliers")
+                        .param("currency", "cad")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "2"))
+                .andExpect(jsonPath("$[0].supplierId").value(cheapSupplier.getId().toString()))
+                .andExpect(jsonPath("$[0].quoteCount").value(2))
+                .andExpect(jsonPath("$[0].avgPrice").value(10.00))
+                .andExpect(jsonPath("$[0].latestPrice").value(11.00))
+                .andExpect(jsonPath("$[1].supplierId").value(pricierSupplier.getId().toString()));
+    }
+
+    @Test
+    void getRegionalPrice_shouldFallBackFromCityToProvince() throws Exception {
+        User builder = registerBuilder();
+        User supplier = registerBuilder();
+        String token = login(builder);
+        WorkItem workItem = createTestWorkItem(builder);
+        createTestQuote(workItem, builder, supplier, "10.00");
+        createTestQuote(workItem, builder, supplier, "14.00");
+
+        mockMvc.perform(get("/api/v1/quotes/work-items/" + workItem.getId() + "/regional-price")
+                        .param("unit", "SQUARE_METER")
+                        .param("currency", "CAD")
+                        .param("country", "Canada")
+                        .param("stateOrProvince", "on")
+                        .param("city", "Ottawa")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.level").value("STATE_OR_PROVINCE"))
+                .andExpect(jsonPath("$.quoteCount").value(2))
+                .andExpect(jsonPath("$.avgPrice").value(12.00))
+                .andExpect(jsonPath("$.minPrice").value(10.00))
+                .andExpect(jsonPath("$.maxPrice").value(14.00));
+
+        mockMvc.perform(get("/api/v1/quotes/work-items/" + workItem.getId() + "/regional-price")
+                        .param("unit", "SQUARE_METER")
+                        .param("currency", "CAD")
+                        .param("country", "France")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotFound());
+    }
+}
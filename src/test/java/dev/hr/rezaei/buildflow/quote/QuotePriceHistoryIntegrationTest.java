@@ -0,0 +1,176 @@
+package dev.hr.rezaei.buildflow.quote;
+
+import dev.hr.rezaei.buildflow.AbstractModelJpaTest;
+import dev.hr.rezaei.buildflow.user.User;
+import dev.hr.rezaei.buildflow.workitem.WorkItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Currency;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for the daily quote price history buckets and chart series.
+ */
+@DataJpaTest
+class QuotePriceHistoryIntegrationTest extends AbstractModelJpaTest {
+
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final LocalDate DAY_ONE = LocalDate.of(2025, 3, 1);
+    private static final LocalDate DAY_TWO = LocalDate.of(2025, 3, 2);
+
+    @Autowired
+    private QuoteRepository quoteRepository;
+
+    @Autowired
+    private QuotePriceHistoryRepository quotePriceHistoryRepository;
+
+    private QuotePriceHistoryService quotePriceHistoryService;
+
+    private User creator;
+    private User supplier;
+    private User otherSupplier;
+    private WorkItem workItem;
+
+    @BeforeEach
+    void setUp() {
+        quotePriceHistoryService = new QuotePriceHistoryService(quotePriceHistoryRepository);
+
+        creator = createRandomBuilderUser();
+        supplier = createRandomBuilderUser();
+        otherSupplier = createRandomBuilderUser();
+        persistUserDependencies(creator);
+        persistUserDependencies(supplier);
+        persistUserDependencies(otherSupplier);
+        userRepository.save(creator);
+        userRepository.save(supplier);
+        userRepository.save(otherSupplier);
+
+        workItem = createRandomWorkItem();
+        persistWorkItemDependencies(workItem);
+        workItemRepository.save(workItem);
+    }
+
+    @Test
+    void record_shouldAggregateSameDayPricesIntoOneBucket() {
+        quotePriceHistoryService.record(quote(supplier, "100.00", DAY_ONE, "ON"));
+        quotePriceHistoryService.record(quote(supplier, "80.00", DAY_ONE, "ON"));
+        quotePriceHistoryService.record(quote(supplier, "120.00", DAY_ONE, "ON"));
+
+        List<QuotePricePointDto> series = series(null, null);
+
+        assertThat(quotePriceHistoryRepository.count()).isEqualTo(1);
+        assertThat(series).hasSize(1);
+        QuotePricePointDto point = series.get(0);
+        assertThat(point.getDate()).isEqualTo(DAY_ONE);
+        assertThat(point.getMinPrice()).isEqualByComparingTo("80.00");
+        assertThat(point.getMaxPrice()).isEqualByComparingTo("120.00");
+        assertThat(point.getAvgPrice()).isEqualByComparingTo("100.00");
+        assertThat(point.getCount()).isEqualTo(3);
+    }
+
+    @Test
+    void getDailySeries_shouldReturnOnePointPerDay_acrossSuppliersAndRegions() {
+        quotePriceHistoryService.record(quote(supplier, "100.00", DAY_ONE, "ON"));
+        quotePriceHistoryService.record(quote(otherSupplier, "50.00", DAY_ONE, "BC"));
+        quotePriceHistoryService.record(quote(supplier, "70.00", DAY_TWO, "ON"));
+
+        List<QuotePricePointDto> series = series(null, null);
+
+        assertThat(series).extracting(QuotePricePointDto::getDate).containsExactly(DAY_ONE, DAY_TWO);
+        assertThat(series.get(0).getMinPrice()).isEqualByComparingTo("50.00");
+        assertThat(series.get(0).getMaxPrice()).isEqualByComparingTo("100.00");
+        assertThat(series.get(0).getCount()).isEqualTo(2);
+    }
+
+    @Test
+    void getDailySeries_shouldFilterBySupplierAndRegion() {
+        quotePriceHistoryService.record(quote(supplier, "100.00", DAY_ONE, "ON"));
+        quotePriceHistoryService.record(quote(otherSupplier, "50.00", DAY_ONE, "BC"));
+
+        assertThat(series(otherSupplier, null))
+                .singleElement()
+                .satisfies(p -> assertThat(p.getMaxPrice()).isEqualByComparingTo("50.00"));
+        assertThat(series(null, "ON"))
+                .singleElement()
+                .satisfies(p -> assertThat(p.getMinPrice()).isEqualByComparingTo("100.00"));
+    }
+
+    @Test
+    void history_shouldSurviveQuoteInvalidationAndDeletion() {
+        Quote quote = quoteRepository.save(quote(supplier, "100.00", DAY_ONE, "ON"));
+        quotePriceHistoryService.record(quote);
+
+        quote.setValid(false);
+        quoteRepository.save(quote);
+        quotePriceHistoryService.record(quote);
+        quoteRepository.delete(quote);
+        quoteRepository.flush();
+
+        assertThat(series(null, null))
+                .singleElement()
+                .satisfies(p -> assertThat(p.getCount()).isEqualTo(1));
+    }
+
+    @Test
+    void findPriceStateById_shouldReturnStoredState_beforePendingChangesAreFlushed() {
+        Quote quote = quote(supplier, "100.00", DAY_ONE, "ON");
+        quote.setValid(false);
+        quote = quoteRepository.saveAndFlush(quote);
+
+        quote.setValid(true);
+        quote.setUnitPrice(new BigDecimal("90.00"));
+
+        assertThat(quoteRepository.findPriceStateById(quote.getId()))
+                .hasValueSatisfying(state -> {
+                    assertThat(state.isValid()).isFalse();
+                    assertThat(state.getUnitPrice()).isEqualByComparingTo("100.00");
+                });
+    }
+
+    @Test
+    void getDailySeries_shouldThrow_whenRangeIsTooWide() {
+        LocalDate to = DAY_ONE;
+        LocalDate from = to.minusDays(QuotePriceHistoryService.MAX_RANGE_DAYS + 1);
+
+        assertThatThrownBy(() -> quotePriceHistoryService.getDailySeries(workItem.getId(), QuoteUnit.EACH, USD,
+                from, to, null, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<QuotePricePointDto> series(User supplierFilter, String stateOrProvince) {
+        return quotePriceHistoryService.getDailySeries(workItem.getId(), QuoteUnit.EACH, USD,
+                DAY_ONE.minusDays(1), DAY_TWO.plusDays(1),
+                supplierFilter != null ? supplierFilter.getId() : null, null, stateOrProvince);
+    }
+
+    private Quote quote(User quoteSupplier, String price, LocalDate day, String stateOrProvince) {
+        Instant observedAt = day.atTime(12, 0).toInstant(ZoneOffset.UTC);
+        return Quote.builder()
+                .workItem(workItem)
+                .createdBy(creator)
+                .supplier(quoteSupplier)
+                .unit(QuoteUnit.EACH)
+                .unitPrice(new BigDecimal(price))
+                .currency(USD)
+                .domain(QuoteDomain.PUBLIC)
+                .location(QuoteLocation.builder()
+                        .city("Test City")
+                        .stateOrProvince(stateOrProvince)
+                        .country("Canada")
+                        .build())
+                .createdAt(observedAt)
+                .lastUpdatedAt(observedAt)
+                .valid(true)
+                .build();
+    }
+}
@@ -0,0 +1,105 @@
+package dev.hr.rezaei.buildflow.quote;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static dev.hr.rezaei.buildflow.quote.PackedPriceTable.NO_PRICE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for keeping the packed price table in step with quote writes.
+ */
+@ExtendWith(MockitoExtension.class)
+class QuotePriceTableServiceTest {
+
+    private static final Currency CAD = Currency.getInstance("CAD");
+
+    @Mock
+    private QuoteRepository quoteRepository;
+
+    @InjectMocks
+    private QuotePriceTableService quotePriceTableService;
+
+    private UUID workItemId;
+
+    @BeforeEach
+    void setUp() {
+        workItemId = UUID.randomUUID();
+    }
+
+    @Test
+    void rebuild_shouldReplayWritesAppliedWhileStreaming() {
+        Quote removed = quote("10.00");
+        Quote created = quote("30.00");
+        PackedPriceRecordView removedRecord = record(removed);
+        PackedPriceRecordView createdRecord = record(created);
+        when(quoteRepository.streamValidPriceRecords()).thenAnswer(invocation -> {
+            // Both writes commit while the stream runs; the stream still sees the removed quote and
+            // already sees the created one.
+            quotePriceTableService.onQuoteRemoved(removed);
+            quotePriceTableService.onQuoteCreated(created);
+            return Stream.of(removedRecord, createdRecord);
+        });
+
+        int loaded = quotePriceTableService.rebuild();
+
+        assertThat(loaded).isEqualTo(1);
+        assertThat(quotePriceTableService.lowestPriceMinor(workItemId, QuoteUnit.EACH, CAD)).isEqualTo(3000);
+        assertThat(quotePriceTableService.averagePriceMinor(workItemId, QuoteUnit.EACH, CAD)).isEqualTo(3000);
+    }
+
+    @Test
+    void onQuoteUpdated_shouldReplaceRecord_whenQuoteMovesToAnotherWorkItem() {
+        Quote quote = quote("10.00");
+        quotePriceTableService.onQuoteCreated(quote);
+        QuotePriceKey previous = QuotePriceKey.of(quote);
+        UUID otherWorkItemId = UUID.randomUUID();
+        when(quote.getWorkItem().getId()).thenReturn(otherWorkItemId);
+
+        quotePriceTableService.onQuoteUpdated(previous, quote);
+
+        assertThat(quotePriceTableService.lowestPriceMinor(workItemId, QuoteUnit.EACH, CAD)).isEqualTo(NO_PRICE);
+        assertThat(quotePriceTableService.lowestPriceMinor(otherWorkItemId, QuoteUnit.EACH, CAD)).isEqualTo(1000);
+    }
+
+    private Quote quote(String price) {
+        Quote quote = mock(Quote.class, RETURNS_DEEP_STUBS);
+        lenient().when(quote.isValid()).thenReturn(true);
+        lenient().when(quote.getId()).thenReturn(UUID.randomUUID());
+        lenient().when(quote.getWorkItem().getId()).thenReturn(workItemId);
+        lenient().when(quote.getSupplier().getId()).thenReturn(UUID.randomUUID());
+        lenient().when(quote.getUnit()).thenReturn(QuoteUnit.EACH);
+        lenient().when(quote.getCurrency()).thenReturn(CAD);
+        lenient().when(quote.getUnitPrice()).thenReturn(new BigDecimal(price));
+        lenient().when(quote.getLastUpdatedAt()).thenReturn(Instant.now());
+        return quote;
+    }
+
+    private static PackedPriceRecordView record(Quote quote) {
+        UUID id = quote.getId();
+        UUID recordWorkItemId = quote.getWorkItem().getId();
+        UUID supplierId = quote.getSupplier().getId();
+        BigDecimal unitPrice = quote.getUnitPrice();
+        Instant lastUpdatedAt = quote.getLastUpdatedAt();
+        PackedPriceRecordView record = mock(PackedPriceRecordView.class);
+        when(record.getId()).thenReturn(id);
+        when(record.getWorkItemId()).thenReturn(recordWorkItemId);
+        when(record.getSupplierId()).thenReturn(supplierId);
+        when(record.getUnit()).thenReturn(QuoteUnit.EACH);
+        when(record.getCurrency()).thenReturn(CAD);
+        when(record.getUnitPrice()).thenReturn(unitPrice);
+        when(record.getLastUpdatedAt()).thenReturn(lastUpdatedAt);
+        return record;
+    }
+}
@@ -177,6 +177,29 @@ class QuoteRepositoryIntegrationTest extends AbstractModelJpaTest {
         assertThat(result.getContent()).isEmpty();
     }
 
+    @Test
+    void countStatisticsByUserId_shouldReturnAllCountersInOneQuery() {
+        // Given: creator has one valid public, one invalid private quote; creator also supplies one quote
+        Quote validPublic = createQuote(creator, supplier);
+        Quote invalidPrivate = createQuote(creator, supplier);
+        invalidPrivate.setValid(false);
+        invalidPrivate.setDomain(QuoteDomain.PRIVATE);
+        Quote suppliedByCreator = createQuote(anotherUser, creator);
+        quoteRepository.save(validPublic);
+        quoteRepository.save(invalidPrivate);
+        quoteRepository.save(suppliedByCreator);
+
+        // When
+        QuoteCountsView counts = quoteRepository.countStatisticsByUserId(creator.getId());
+
+        // Then
+        assertThat(counts.getCreatedCount()).isEqualTo(2);
+        assertThat(counts.getSuppliedCount()).isEqualTo(1);
+        assertThat(counts.getValidCount()).isEqualTo(1);
+        assertThat(counts.getPublicCount()).isEqualTo(1);
+        assertThat(counts.getPrivateCount()).isEqualTo(1);
+    }
+
     private Quote createQuote(User createdBy, User supplier) {
         return Quote.builder()
                 .workItem(workItem)
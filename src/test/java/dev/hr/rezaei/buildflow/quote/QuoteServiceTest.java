@@ -5,16 +5,22 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 /**
@@ -26,6 +32,21 @@ class QuoteServiceTest {
     @Mock
     private QuoteRepository quoteRepository;
 
+    @Mock
+    private QuotePriceHistoryService quotePriceHistoryService;
+
+    @Mock
+    private SupplierPriceIndexService supplierPriceIndexService;
+
+    @Mock
+    private RegionalPriceIndexService regionalPriceIndexService;
+
+    @Mock
+    private QuotePriceTableService quotePriceTableService;
+
+    @Spy
+    private QuoteCountsCache quoteCountsCache = new QuoteCountsCache();
+
     @InjectMocks
     private QuoteService quoteService;
 
@@ -103,4 +124,218 @@ class QuoteServiceTest {
         verify(quoteRepository, times(1)).countBySupplierId(supplierId);
         verifyNoMoreInteractions(quoteRepository);
     }
+
+    @Test
+    void createQuote_shouldSaveAndRecordPriceHistory() {
+        // Given
+        Quote quote = mock(Quote.class, RETURNS_DEEP_STUBS);
+        when(quote.getId()).thenReturn(null);
+        when(quoteRepository.save(quote)).thenReturn(quote);
+
+        // When
+        Quote result = quoteService.createQuote(quote);
+
+        // Then
+        assertThat(result).isSameAs(quote);
+        verify(quoteRepository).save(quote);
+        verify(quotePriceHistoryService).record(quote);
+        verify(supplierPriceIndexService).onQuoteCreated(quote);
+        verify(regionalPriceIndexService).onQuoteCreated(quote);
+        verify(quotePriceTableService).onQuoteCreated(quote);
+    }
+
+    @Test
+    void invalidateQuote_shouldNotTouchPriceHistory() {
+        // Given
+        UUID quoteId = UUID.randomUUID();
+        Quote quote = mock(Quote.class, RETURNS_DEEP_STUBS);
+        when(quoteRepository.findById(quoteId)).thenReturn(Optional.of(quote));
+        when(quoteRepository.save(quote)).thenReturn(quote);
+
+        // When
+        quoteService.invalidateQuote(quoteId);
+
+        // Then
+        verify(quote).setValid(false);
+        verify(supplierPriceIndexService).onQuoteRemoved(quote);
+        verify(quotePriceTableService).onQuoteRemoved(quote);
+        verifyNoInteractions(quotePriceHistoryService);
+    }
+
+    @Test
+    void deleteQuote_shouldThrowQuoteNotFoundException_whenQuoteDoesNotExist() {
+        // Given
+        UUID quoteId = UUID.randomUUID();
+        when(quoteRepository.findById(quoteId)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> quoteService.deleteQuote(quoteId))
+                .isInstanceOf(QuoteNotFoundException.class);
+        verify(quoteRepository, never()).delete(any());
+        verifyNoInteractions(quotePriceHistoryService);
+    }
+
+    @Test
+    void getQuoteCounts_shouldUseSingleGroupedQueryAndCacheResult() {
+        // Given
+        QuoteCountsView view = mock(QuoteCountsView.class);
+        when(view.getCreatedCount()).thenReturn(4L);
+        when(view.getSuppliedCount()).thenReturn(2L);
+        when(view.getValidCount()).thenReturn(3L);
+        when(view.getPublicCount()).thenReturn(1L);
+        when(view.getPrivateCount()).thenReturn(null);
+        when(quoteRepository.countStatisticsByUserId(creatorId)).thenReturn(view);
+
+        // When
+        Map<String, Long> first = quoteService.getQuoteCounts(creatorId);
+        Map<String, Long> second = quoteService.getQuoteCounts(creatorId);
+
+        // Then
+        assertThat(first).containsEntry("createdCount", 4L)
+                .containsEntry("suppliedCount", 2L)
+                .containsEntry("validCount", 3L)
+                .containsEntry("publicCount", 1L)
+                .containsEntry("privateCount", 0L);
+        assertThat(second).isEqualTo(first);
+        verify(quoteRepository, times(1)).countStatisticsByUserId(creatorId);
+        verifyNoMoreInteractions(quoteRepository);
+    }
+
+    @Test
+    void createQuote_shouldEvictCachedCountsOfCreatorAndSupplier() {
+        // Given
+        when(quoteRepository.countStatisticsByUserId(creatorId)).thenReturn(null);
+        quoteService.getQuoteCounts(creatorId);
+
+        Quote quote = mock(Quote.class, RETURNS_DEEP_STUBS);
+        when(quote.getId()).thenReturn(null);
+        when(quote.getCreatedBy().getId()).thenReturn(creatorId);
+        when(quote.getSupplier().getId()).thenReturn(supplierId);
+        when(quoteRepository.save(quote)).thenReturn(quote);
+
+        // When
+        quoteService.createQuote(quote);
+        Map<String, Long> counts = quoteService.getQuoteCounts(creatorId);
+
+        // Then
+        assertThat(counts).containsEntry("createdCount", 0L);
+        verify(quoteCountsCache).evict(creatorId, supplierId);
+        verify(quoteRepository, times(2)).countStatisticsByUserId(creatorId);
+    }
+
+    @Test
+    void updateQuote_shouldRefreshSupplierIndexWithPreviousKey() {
+        // Given
+        UUID quoteId = UUID.randomUUID();
+        Quote quote = mock(Quote.class, RETURNS_DEEP_STUBS);
+        when(quote.getId()).thenReturn(quoteId);
+        QuotePriceKey previousKey = new QuotePriceKey(UUID.randomUUID(), supplierId, QuoteUnit.EACH,
+                java.util.Currency.getInstance("USD"), null, null, null);
+        when(quoteRepository.findPriceKeyById(quoteId)).thenReturn(Optional.of(previousKey));
+        when(quoteRepository.save(quote)).thenReturn(quote);
+
+        // When
+        quoteService.updateQuote(quote);
+
+        // Then
+        verify(quotePriceHistoryService).record(quote);
+        verify(supplierPriceIndexService).onQuoteUpdated(previousKey, quote);
+        verify(quotePriceTableService).onQuoteUpdated(previousKey, quote);
+    }
+
+    @Test
+    void updateQuote_shouldNotRecordPriceHistory_whenPriceUnitAndCurrencyAreUnchanged() {
+        // Given
+        UUID quoteId = UUID.randomUUID();
+        Quote quote = mock(Quote.class, RETURNS_DEEP_STUBS);
+        when(quote.getId()).thenReturn(quoteId);
+        when(quote.getUnit()).thenReturn(QuoteUnit.EACH);
+        when(quote.getCurrency()).thenReturn(java.util.Currency.getInstance("USD"));
+        when(quote.getUnitPrice()).thenReturn(new java.math.BigDecimal("100.0"));
+        QuotePriceKey previousKey = new QuotePriceKey(UUID.randomUUID(), supplierId, QuoteUnit.EACH,
+                java.util.Currency.getInstance("USD"), null, null, null);
+        when(quoteRepository.findPriceKeyById(quoteId)).thenReturn(Optional.of(previousKey));
+        QuotePriceStateView previousState = priceState("100.00", true);
+        when(quoteRepository.findPriceStateById(quoteId)).thenReturn(Optional.of(previousState));
+        when(quoteRepository.save(quote)).thenReturn(quote);
+
+        // When
+        quoteService.updateQuote(quote);
+
+        // Then
+        verify(quotePriceHistoryService, never()).record(any());
+        verify(supplierPriceIndexService).onQuoteUpdated(previousKey, quote);
+    }
+
+    @Test
+    void updateQuote_shouldRecordPriceHistory_whenInvalidQuoteBecomesValidAtTheSamePrice() {
+        // Given
+        UUID quoteId = UUID.randomUUID();
+        Quote quote = mock(Quote.class, RETURNS_DEEP_STUBS);
+        when(quote.getId()).thenReturn(quoteId);
+        lenient().when(quote.getUnit()).thenReturn(QuoteUnit.EACH);
+        lenient().when(quote.getCurrency()).thenReturn(java.util.Currency.getInstance("USD"));
+        lenient().when(quote.getUnitPrice()).thenReturn(new java.math.BigDecimal("100.00"));
+        QuotePriceKey previousKey = new QuotePriceKey(UUID.randomUUID(), supplierId, QuoteUnit.EACH,
+                java.util.Currency.getInstance("USD"), null, null, null);
+        when(quoteRepository.findPriceKeyById(quoteId)).thenReturn(Optional.of(previousKey));
+        QuotePriceStateView previousState = priceState("100.00", false);
+        when(quoteRepository.findPriceStateById(quoteId)).thenReturn(Optional.of(previousState));
+        when(quoteRepository.save(quote)).thenReturn(quote);
+
+        // When
+        quoteService.updateQuote(quote);
+
+        // Then
+        verify(quotePriceHistoryService).record(quote);
+    }
+
+    @Test
+    void updateQuote_shouldEvictCountsOfPreviousSupplierAfterCommit() {
+        // Given
+        UUID quoteId = UUID.randomUUID();
+        UUID previousSupplierId = UUID.randomUUID();
+        Quote quote = mock(Quote.class, RETURNS_DEEP_STUBS);
+        when(quote.getId()).thenReturn(quoteId);
+        when(quote.getCreatedBy().getId()).thenReturn(creatorId);
+        when(quote.getSupplier().getId()).thenReturn(supplierId);
+        QuotePriceKey previousKey = new QuotePriceKey(UUID.randomUUID(), previousSupplierId, QuoteUnit.EACH,
+                java.util.Currency.getInstance("USD"), null, null, null);
+        when(quoteRepository.findPriceKeyById(quoteId)).thenReturn(Optional.of(previousKey));
+        when(quoteRepository.save(quote)).thenReturn(quote);
+
+        // When
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            quoteService.updateQuote(quote);
+            verify(quoteCountsCache, never()).evict(any(UUID[].class));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        verify(quoteCountsCache).evict(previousSupplierId, creatorId, supplierId);
+    }
+
+    @Test
+    void updateQuote_shouldThrowQuoteNotFoundException_whenQuoteDoesNotExist() {
+        // Given
+        UUID quoteId = UUID.randomUUID();
+        Quote quote = mock(Quote.class);
+        when(quote.getId()).thenReturn(quoteId);
+        when(quoteRepository.findPriceKeyById(quoteId)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> quoteService.updateQuote(quote))
+                .isInstanceOf(QuoteNotFoundException.class);
+        verify(quoteRepository, never()).save(any());
+    }
+
+    private static QuotePriceStateView priceState(String unitPrice, boolean valid) {
+        QuotePriceStateView state = mock(QuotePriceStateView.class);
+        lenient().when(state.getUnitPrice()).thenReturn(new java.math.BigDecimal(unitPrice));
+        when(state.isValid()).thenReturn(valid);
+        return state;
+    }
 }
@@ -0,0 +1,189 @@
+package dev.hr.rezaei.buildflow.quote;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the in-memory regional price index.
+ */
+@ExtendWith(MockitoExtension.class)
+class RegionalPriceIndexServiceTest {
+
+    private static final Currency CAD = Currency.getInstance("CAD");
+
+    @Mock
+    private QuoteRepository quoteRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RegionalPriceIndexService regionalPriceIndexService;
+
+    private UUID workItemId;
+
+    @BeforeEach
+    void setUp() {
+        regionalPriceIndexService = new RegionalPriceIndexService(quoteRepository, transactionManager);
+        workItemId = UUID.randomUUID();
+    }
+
+    @Test
+    void onQuoteCreated_shouldAggregateAtCityProvinceAndCountryLevels() {
+        List<RegionalPriceView> rows = List.of(view(1, "10.00", "10.00", "10.00", "Toronto", "ON"),
+                view(1, "20.00", "20.00", "20.00", "Ottawa", "ON"),
+                view(1, "60.00", "60.00", "60.00", "Vancouver", "BC"));
+        when(quoteRepository.aggregateValidPricesByCity(workItemId)).thenReturn(rows);
+
+        regionalPriceIndexService.onQuoteCreated(quote("60.00", "Vancouver", "BC"));
+
+        assertThat(lookup("Toronto", "ON")).hasValueSatisfying(match -> {
+            assertThat(match.region().level()).isEqualTo(RegionalPriceIndexService.Level.CITY);
+            assertThat(match.stats().count()).isEqualTo(1);
+        });
+        assertThat(lookup("Kingston", " on ")).hasValueSatisfying(match -> {
+            assertThat(match.region().level()).isEqualTo(RegionalPriceIndexService.Level.STATE_OR_PROVINCE);
+            assertThat(match.stats().average()).isEqualByComparingTo("15.00");
+        });
+        assertThat(lookup("Halifax", "NS")).hasValueSatisfying(match -> {
+            assertThat(match.region().level()).isEqualTo(RegionalPriceIndexService.Level.COUNTRY);
+            assertThat(match.stats().count()).isEqualTo(3);
+            assertThat(match.stats().min()).isEqualByComparingTo("10.00");
+            assertThat(match.stats().max()).isEqualByComparingTo("60.00");
+        });
+    }
+
+    @Test
+    void onQuoteCreated_shouldIgnoreInvalidQuotes() {
+        Quote quote = quote("10.00", "Toronto", "ON");
+        when(quote.isValid()).thenReturn(false);
+
+        regionalPriceIndexService.onQuoteCreated(quote);
+
+        assertThat(lookup("Toronto", "ON")).isEmpty();
+        verifyNoInteractions(quoteRepository);
+    }
+
+    @Test
+    void reload_shouldReplaceWorkItemAggregatesFromDatabase() {
+        List<RegionalPriceView> created = List.of(view(1, "10.00", "10.00", "10.00", "Toronto", "ON"));
+        List<RegionalPriceView> reloaded = List.of(view(2, "30.00", "12.00", "18.00", "Toronto", "ON"));
+        when(quoteRepository.aggregateValidPricesByCity(workItemId)).thenReturn(created).thenReturn(reloaded);
+        regionalPriceIndexService.onQuoteCreated(quote("10.00", "Toronto", "ON"));
+
+        regionalPriceIndexService.reload(workItemId);
+
+        assertThat(lookup("Toronto", "ON")).hasValueSatisfying(match ->
+                assertThat(match.stats().average()).isEqualByComparingTo("15.00"));
+    }
+
+    @Test
+    void reload_shouldDropWorkItem_whenNoValidQuotesRemain() {
+        List<RegionalPriceView> created = List.of(view(1, "10.00", "10.00", "10.00", "Toronto", "ON"));
+        when(quoteRepository.aggregateValidPricesByCity(workItemId)).thenReturn(created).thenReturn(List.of());
+        regionalPriceIndexService.onQuoteCreated(quote("10.00", "Toronto", "ON"));
+
+        regionalPriceIndexService.reload(workItemId);
+
+        assertThat(lookup("Toronto", "ON")).isEmpty();
+    }
+
+    @Test
+    void onQuoteCreated_shouldNotBeLostOrDoubleCounted_whenInterleavedWithReload() {
+        // The running reload read the database before the new quote committed, and the create's reload read
+        // it afterwards but finished first. The older read must not replace the newer one.
+        List<RegionalPriceView> beforeCreate = List.of(view(1, "10.00", "10.00", "10.00", "Toronto", "ON"));
+        List<RegionalPriceView> afterCreate = List.of(view(2, "30.00", "10.00", "20.00", "Toronto", "ON"));
+        Quote created = quote("20.00", "Toronto", "ON");
+        when(quoteRepository.aggregateValidPricesByCity(workItemId))
+                .thenAnswer(invocation -> {
+                    regionalPriceIndexService.onQuoteCreated(created);
+                    return beforeCreate;
+                })
+                .thenReturn(afterCreate);
+
+        regionalPriceIndexService.reload(workItemId);
+
+        assertThat(lookup("Toronto", "ON")).hasValueSatisfying(match -> {
+            assertThat(match.stats().count()).isEqualTo(2);
+            assertThat(match.stats().max()).isEqualByComparingTo("20.00");
+        });
+        verify(quoteRepository, times(2)).aggregateValidPricesByCity(workItemId);
+    }
+
+    @Test
+    void rebuild_shouldKeepReload_whenReloadFinishesWhileRebuildIsReading() {
+        List<RegionalPriceView> rebuilt = List.of(view(1, "10.00", "10.00", "10.00", "Toronto", "ON"));
+        List<RegionalPriceView> reloaded = List.of(view(2, "30.00", "10.00", "20.00", "Toronto", "ON"));
+        when(quoteRepository.aggregateValidPricesByCity(workItemId)).thenReturn(reloaded);
+        when(quoteRepository.aggregateValidPricesByCity(null)).thenAnswer(invocation -> {
+            regionalPriceIndexService.reload(workItemId);
+            return rebuilt;
+        });
+
+        regionalPriceIndexService.rebuild();
+
+        assertThat(lookup("Toronto", "ON")).hasValueSatisfying(match ->
+                assertThat(match.stats().count()).isEqualTo(2));
+    }
+
+    @Test
+    void rebuild_shouldSwapInWholeIndex() {
+        List<RegionalPriceView> rows = List.of(view(1, "10.00", "10.00", "10.00", "Toronto", "ON"),
+                view(1, "30.00", "30.00", "30.00", "Ottawa", "ON"));
+        when(quoteRepository.aggregateValidPricesByCity(null)).thenReturn(rows);
+
+        int indexed = regionalPriceIndexService.rebuild();
+
+        assertThat(indexed).isEqualTo(1);
+        assertThat(lookup("Ottawa", "ON")).hasValueSatisfying(match ->
+                assertThat(match.stats().average()).isEqualByComparingTo("30.00"));
+        assertThat(lookup(null, "ON")).hasValueSatisfying(match ->
+                assertThat(match.stats().average()).isEqualByComparingTo("20.00"));
+    }
+
+    private Optional<RegionalPriceIndexService.RegionalPriceMatch> lookup(String city, String stateOrProvince) {
+        return regionalPriceIndexService.lookup(workItemId, QuoteUnit.SQUARE_METER, CAD, "Canada", stateOrProvince, city);
+    }
+
+    private Quote quote(String price, String city, String stateOrProvince) {
+        Quote quote = mock(Quote.class, RETURNS_DEEP_STUBS);
+        lenient().when(quote.isValid()).thenReturn(true);
+        lenient().when(quote.getWorkItem().getId()).thenReturn(workItemId);
+        lenient().when(quote.getSupplier().getId()).thenReturn(UUID.randomUUID());
+        lenient().when(quote.getUnit()).thenReturn(QuoteUnit.SQUARE_METER);
+        lenient().when(quote.getCurrency()).thenReturn(CAD);
+        lenient().when(quote.getUnitPrice()).thenReturn(new BigDecimal(price));
+        lenient().when(quote.getLocation().getCity()).thenReturn(city);
+        lenient().when(quote.getLocation().getStateOrProvince()).thenReturn(stateOrProvince);
+        lenient().when(quote.getLocation().getCountry()).thenReturn("Canada");
+        return quote;
+    }
+
+    private RegionalPriceView view(long count, String sum, String min, String max, String city, String stateOrProvince) {
+        RegionalPriceView view = mock(RegionalPriceView.class);
+        when(view.getWorkItemId()).thenReturn(workItemId);
+        when(view.getUnit()).thenReturn(QuoteUnit.SQUARE_METER);
+        when(view.getCurrency()).thenReturn(CAD);
+        when(view.getCountry()).thenReturn("Canada");
+        when(view.getStateOrProvince()).thenReturn(stateOrProvince);
+        when(view.getCity()).thenReturn(city);
+        when(view.getQuoteCount()).thenReturn(count);
+        when(view.getPriceSum()).thenReturn(new BigDecimal(sum));
+        when(view.getMinPrice()).thenReturn(new BigDecimal(min));
+        when(view.getMaxPrice()).thenReturn(new BigDecimal(max));
+        return view;
+    }
+}
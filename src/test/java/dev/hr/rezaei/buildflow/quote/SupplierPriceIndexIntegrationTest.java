@@ -0,0 +1,196 @@
+package dev.hr.rezaei.buildflow.quote;
+
+import dev.hr.rezaei.buildflow.AbstractModelJpaTest;
+import dev.hr.rezaei.buildflow.user.User;
+import dev.hr.rezaei.buildflow.workitem.WorkItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Currency;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the materialized supplier price index.
+ */
+@DataJpaTest
+class SupplierPriceIndexIntegrationTest extends AbstractModelJpaTest {
+
+    private static final Currency USD = Currency.getInstance("USD");
+
+    @Autowired
+    private QuoteRepository quoteRepository;
+
+    @Autowired
+    private SupplierPriceIndexRepository supplierPriceIndexRepository;
+
+    private SupplierPriceIndexService supplierPriceIndexService;
+
+    private User creator;
+    private User cheapSupplier;
+    private User steadySupplier;
+    private WorkItem workItem;
+    private Instant clock;
+
+    @BeforeEach
+    void setUp() {
+        supplierPriceIndexService = new SupplierPriceIndexService(supplierPriceIndexRepository);
+
+        creator = createRandomBuilderUser();
+        cheapSupplier = createRandomBuilderUser();
+        steadySupplier = createRandomBuilderUser();
+        persistUserDependencies(creator);
+        persistUserDependencies(cheapSupplier);
+        persistUserDependencies(steadySupplier);
+        userRepository.save(creator);
+        userRepository.save(cheapSupplier);
+        userRepository.save(steadySupplier);
+
+        workItem = createRandomWorkItem();
+        persistWorkItemDependencies(workItem);
+        workItemRepository.save(workItem);
+
+        clock = Instant.now().minus(1, ChronoUnit.DAYS);
+    }
+
+    @Test
+    void onQuoteCreated_shouldFoldInCountAverageVarianceAndLatest() {
+        create(cheapSupplier, "10.00");
+        create(cheapSupplier, "20.00");
+        create(cheapSupplier, "30.00");
+
+        SupplierPriceIndex row = supplierPriceIndexRepository.findAll().get(0);
+        assertThat(row.getQuoteCount()).isEqualTo(3);
+        assertThat(row.getAvgPrice()).isEqualByComparingTo("20.00");
+        assertThat(row.getPriceVariance()).isEqualByComparingTo("66.6667");
+        assertThat(row.getLatestPrice()).isEqualByComparingTo("30.00");
+    }
+
+    @Test
+    void onQuoteRemoved_shouldRecomputeFromRemainingValidQuotes() {
+        create(cheapSupplier, "10.00");
+        Quote latest = create(cheapSupplier, "30.00");
+
+        latest.setValid(false);
+        quoteRepository.save(latest);
+        supplierPriceIndexService.onQuoteRemoved(latest);
+
+        SupplierPriceIndex row = supplierPriceIndexRepository.findAll().get(0);
+        assertThat(row.getQuoteCount()).isEqualTo(1);
+        assertThat(row.getAvgPrice()).isEqualByComparingTo("10.00");
+        assertThat(row.getPriceVariance()).isEqualByComparingTo("0");
+        assertThat(row.getLatestPrice()).isEqualByComparingTo("10.00");
+    }
+
+    @Test
+    void onQuoteRemoved_shouldDeleteRow_whenNoValidQuoteRemains() {
+        Quote quote = create(cheapSupplier, "10.00");
+
+        quoteRepository.delete(quote);
+        supplierPriceIndexService.onQuoteRemoved(quote);
+
+        assertThat(supplierPriceIndexRepository.count()).isZero();
+    }
+
+    @Test
+    void recompute_shouldCreateMissingRowFromValidQuotes() {
+        create(cheapSupplier, "10.00");
+        Quote latest = create(cheapSupplier, "30.00");
+        supplierPriceIndexRepository.deleteAll();
+
+        supplierPriceIndexService.recompute(QuotePriceKey.of(latest));
+        supplierPriceIndexService.recompute(QuotePriceKey.of(latest));
+
+        assertThat(supplierPriceIndexRepository.findAll()).singleElement()
+                .satisfies(row -> {
+                    assertThat(row.getQuoteCount()).isEqualTo(2);
+                    assertThat(row.getAvgPrice()).isEqualByComparingTo("20.00");
+                    assertThat(row.getPriceVariance()).isEqualByComparingTo("100");
+                    assertThat(row.getLatestPrice()).isEqualByComparingTo("30.00");
+                });
+    }
+
+    @Test
+    void onQuoteUpdated_shouldMoveQuoteBetweenRows_whenUnitChanges() {
+        Quote quote = create(cheapSupplier, "10.00");
+        QuotePriceKey previous = QuotePriceKey.of(quote);
+
+        quote.setUnit(QuoteUnit.SQUARE_METER);
+        quoteRepository.save(quote);
+        supplierPriceIndexService.onQuoteUpdated(previous, quote);
+
+        List<SupplierPriceIndex> rows = supplierPriceIndexRepository.findAll();
+        assertThat(rows).singleElement()
+                .satisfies(row -> assertThat(row.getUnit()).isEqualTo(QuoteUnit.SQUARE_METER));
+    }
+
+    @Test
+    void getLeaderboard_shouldRankByAverageOrVariance() {
+        create(cheapSupplier, "5.00");
+        create(cheapSupplier, "15.00");
+        create(steadySupplier, "12.00");
+        create(steadySupplier, "12.00");
+
+        var byAverage = supplierPriceIndexService.getLeaderboard(workItem.getId(), QuoteUnit.EACH, USD,
+                PageRequest.of(0, 10, Sort.by("avgPrice")));
+        var byVariance = supplierPriceIndexService.getLeaderboard(workItem.getId(), null, null,
+                PageRequest.of(0, 10, Sort.by("priceVariance")));
+
+        assertThat(byAverage.getContent()).extracting(SupplierPriceIndex::getSupplierId)
+                .containsExactly(cheapSupplier.getId(), steadySupplier.getId());
+        assertThat(byVariance.getContent()).extracting(SupplierPriceIndex::getSupplierId)
+                .containsExactly(steadySupplier.getId(), cheapSupplier.getId());
+    }
+
+    @Test
+    void rebuild_shouldRecreateRowsFromValidQuotes() {
+        create(cheapSupplier, "10.00");
+        create(cheapSupplier, "30.00");
+        create(steadySupplier, "12.00");
+        supplierPriceIndexRepository.deleteAll();
+
+        int rows = supplierPriceIndexService.rebuild();
+
+        assertThat(rows).isEqualTo(2);
+        assertThat(supplierPriceIndexRepository.findAll())
+                .filteredOn(row -> row.getSupplierId().equals(cheapSupplier.getId()))
+                .singleElement()
+                .satisfies(row -> {
+                    assertThat(row.getQuoteCount()).isEqualTo(2);
+                    assertThat(row.getAvgPrice()).isEqualByComparingTo("20.00");
+                    assertThat(row.getPriceVariance()).isEqualByComparingTo("100");
+                    assertThat(row.getLatestPrice()).isEqualByComparingTo("30.00");
+                });
+    }
+
+    private Quote create(User supplier, String price) {
+        clock = clock.plusSeconds(60);
+        Quote quote = quoteRepository.save(Quote.builder()
+                .workItem(workItem)
+                .createdBy(creator)
+                .supplier(supplier)
+                .unit(QuoteUnit.EACH)
+                .unitPrice(new BigDecimal(price))
+                .currency(USD)
+                .domain(QuoteDomain.PUBLIC)
+                .location(QuoteLocation.builder()
+                        .city("Test City")
+                        .stateOrProvince("TS")
+                        .country("Test Country")
+                        .build())
+                .createdAt(clock)
+                .lastUpdatedAt(clock)
+                .valid(true)
+                .build());
+        supplierPriceIndexService.onQuoteCreated(quote);
+        return quote;
+    }
+}
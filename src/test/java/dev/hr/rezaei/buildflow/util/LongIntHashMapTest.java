@@ -0,0 +1,59 @@
+package dev.hr.rezaei.buildflow.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongIntHashMapTest {
+
+    @Test
+    void addTo_shouldCountAndRemoveKeyWhenValueReachesZero() {
+        LongIntHashMap map = new LongIntHashMap();
+
+        assertEquals(1, map.addTo(42L, 1));
+        assertEquals(2, map.addTo(42L, 1));
+        assertEquals(1, map.addTo(42L, -1));
+        assertEquals(0, map.addTo(42L, -1));
+
+        assertFalse(map.containsKey(42L));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void put_shouldReturnPreviousValue_andGetShouldReturnZeroForAbsentKey() {
+        LongIntHashMap map = new LongIntHashMap();
+
+        assertEquals(0, map.put(Long.MIN_VALUE, 7));
+        assertEquals(7, map.put(Long.MIN_VALUE, 9));
+        assertEquals(9, map.get(Long.MIN_VALUE));
+        assertEquals(0, map.get(Long.MAX_VALUE));
+    }
+
+    @Test
+    void operations_shouldMatchHashMap_underRandomGrowthAndRemoval() {
+        LongIntHashMap map = new LongIntHashMap(4);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 20_000; i++) {
+            long key = random.nextInt(2_000) * 0x1_0000_0001L; // Keys sharing low bits stress the probe chains
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.getOrDefault(key, 0), map.remove(key));
+                expected.remove(key);
+            } else {
+                map.put(key, i);
+                expected.put(key, i);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+        Map<Long, Integer> iterated = new HashMap<>();
+        map.forEach(iterated::put);
+        assertEquals(expected, iterated);
+    }
+}
@@ -0,0 +1,59 @@
+package dev.hr.rezaei.buildflow.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StripedLocksTest {
+
+    @Test
+    void constructor_shouldRoundStripeCountUpToPowerOfTwo() {
+        assertEquals(1, new StripedLocks(1).stripeCount());
+        assertEquals(64, new StripedLocks(64).stripeCount());
+        assertEquals(128, new StripedLocks(65).stripeCount());
+        assertThrows(IllegalArgumentException.class, () -> new StripedLocks(0));
+    }
+
+    @Test
+    void get_shouldReturnTheSameLockForEqualKeys() {
+        StripedLocks locks = new StripedLocks(16);
+        UUID key = UUID.randomUUID();
+
+        assertSame(locks.get(key), locks.get(UUID.fromString(key.toString())));
+    }
+
+    @Test
+    void get_shouldSpreadKeysOverTheStripes() {
+        StripedLocks locks = new StripedLocks(16);
+        Set<Integer> used = new HashSet<>();
+        IntStream.range(0, 1000).forEach(i -> used.add(locks.indexOf(UUID.randomUUID())));
+
+        assertEquals(16, used.size());
+    }
+
+    @Test
+    void getAll_shouldReturnDistinctLocksInStripeOrder() {
+        StripedLocks locks = new StripedLocks(8);
+        List<UUID> keys = IntStream.range(0, 50).mapToObj(i -> UUID.randomUUID()).toList();
+
+        List<ReentrantLock> all = locks.getAll(keys);
+        List<ReentrantLock> reversed = locks.getAll(keys.reversed());
+
+        assertEquals(new HashSet<>(all).size(), all.size());
+        assertEquals(all, reversed);
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(indexOf(locks, all.get(i - 1), keys) < indexOf(locks, all.get(i), keys));
+        }
+    }
+
+    private static int indexOf(StripedLocks locks, ReentrantLock lock, List<UUID> keys) {
+        return keys.stream().filter(key -> locks.get(key) == lock).mapToInt(locks::indexOf).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,80 @@
+package dev.hr.rezaei.buildflow.workitem;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkItemCatalogCacheTest {
+
+    private WorkItemCatalogCache cache;
+    private AtomicInteger loads;
+    private List<WorkItemDto> catalog;
+    private Supplier<List<WorkItemDto>> loader;
+
+    @BeforeEach
+    void setUp() {
+        cache = new WorkItemCatalogCache(new ObjectMapper());
+        loads = new AtomicInteger();
+        catalog = List.of(workItem("A-100"));
+        loader = () -> {
+            loads.incrementAndGet();
+            return catalog;
+        };
+    }
+
+    @Test
+    void get_shouldLoadOnce_untilInvalidated() {
+        WorkItemCatalogCache.Snapshot first = cache.get(loader);
+        WorkItemCatalogCache.Snapshot second = cache.get(loader);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertTrue(new String(first.json(), StandardCharsets.UTF_8).contains("\"code\":\"A-100\""));
+
+        cache.invalidate();
+        cache.get(loader);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void etag_shouldOnlyChange_whenContentChanges() {
+        String etag = cache.get(loader).etag();
+
+        cache.invalidate();
+        assertEquals(etag, cache.get(loader).etag());
+
+        catalog = List.of(workItem("A-100"), workItem("B-200"));
+        cache.invalidate();
+        assertNotEquals(etag, cache.get(loader).etag());
+    }
+
+    @Test
+    void get_shouldNotServeSnapshotLoadedBeforeAnInvalidation() {
+        Supplier<List<WorkItemDto>> racingLoader = () -> {
+            loads.incrementAndGet();
+            cache.invalidate(); // a write commits while the catalog is being read
+            return catalog;
+        };
+        cache.get(racingLoader);
+
+        cache.get(loader);
+        assertEquals(2, loads.get());
+    }
+
+    private static WorkItemDto workItem(String code) {
+        return WorkItemDto.builder()
+                .id(UUID.nameUUIDFromBytes(code.getBytes(StandardCharsets.UTF_8)))
+                .code(code)
+                .name(code)
+                .domain(WorkItemDomain.PUBLIC.name())
+                .build();
+    }
+}
@@ -0,0 +1,47 @@
+package dev.hr.rezaei.buildflow.workitem;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkItemCodeTrieTest {
+
+    @Test
+    void complete_shouldReturnCodesWithPrefixInLexicographicOrder() {
+        WorkItemCodeTrie trie = WorkItemCodeTrie.EMPTY
+                .with("EL-200").with("DW-110").with("DW-100").with("DW-1").with("dw-2");
+
+        assertEquals(List.of("DW-1", "DW-100", "DW-110", "dw-2"), trie.complete("dw-", 10));
+        assertEquals(List.of("DW-1", "DW-100"), trie.complete("DW-1", 2));
+        assertTrue(trie.complete("PL", 10).isEmpty());
+        assertEquals(5, trie.size());
+    }
+
+    @Test
+    void with_shouldLeavePreviousVersionUnchanged() {
+        WorkItemCodeTrie before = WorkItemCodeTrie.EMPTY.with("DW-1");
+        WorkItemCodeTrie after = before.with("DW-2");
+
+        assertEquals(List.of("DW-1"), before.complete("DW", 10));
+        assertEquals(List.of("DW-1", "DW-2"), after.complete("DW", 10));
+    }
+
+    @Test
+    void without_shouldKeepCode_untilItsLastWorkItemIsRemoved() {
+        WorkItemCodeTrie trie = WorkItemCodeTrie.EMPTY.with("DW-1").with("DW-1").with("DW-10");
+        assertEquals(2, trie.size());
+
+        trie = trie.without("DW-1");
+        assertEquals(List.of("DW-1", "DW-10"), trie.complete("DW", 10));
+
+        trie = trie.without("DW-1");
+        assertEquals(List.of("DW-10"), trie.complete("DW", 10));
+        assertEquals(1, trie.size());
+
+        trie = trie.without("DW-10").without("DW-10").without("DW");
+        assertEquals(0, trie.size());
+        assertTrue(trie.complete("", 10).isEmpty());
+    }
+}
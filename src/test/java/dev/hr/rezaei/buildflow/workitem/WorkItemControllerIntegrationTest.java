@@ -0,0 +1,317 @@
+package dev.hr.rezaei.buildflow.workitem;
+
+import dev.hr.rezaei.buildflow.AbstractControllerIntegrationTest;
+import dev.hr.rezaei.buildflow.user.User;
+import dev.hr.rezaei.buildflow.workitem.dto.CreateWorkItemCategoryRequest;
+import dev.hr.rezaei.buildflow.workitem.dto.CreateWorkItemRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for WorkItemController listing, search and bulk endpoints.
+ */
+@SpringBootTest
+public class WorkItemControllerIntegrationTest extends AbstractControllerIntegrationTest {
+
+    @Autowired
+    private WorkItemService workItemService;
+
+    @Autowired
+    private WorkItemCategoryService workItemCategoryService;
+
+    private WorkItemDto createTestWorkItem(User user, String code, String name, WorkItemDomain domain) {
+        return workItemService.createWorkItem(CreateWorkItemRequest.builder()
+                .code(code)
+                .name(name)
+                .userId(user.getId())
+                .domain(domain.name())
+                .build()).getWorkItemDto();
+    }
+
+    private UUID createTestCategory(User user, String name, UUID parentId) {
+        return workItemCategoryService.createCategory(CreateWorkItemCategoryRequest.builder()
+                .userId(user.getId())
+                .name(name)
+                .parentId(parentId)
+                .build()).id();
+    }
+
+    @Test
+    void getWorkItemsByUserId_shouldReturnPageSortedByCodeWithPaginationHeaders() throws Exception {
+        User builder = registerBuilder();
+        String token = login(builder);
+        createTestWorkItem(builder, "C-300", "Painting", WorkItemDomain.PRIVATE);
+        createTestWorkItem(builder, "A-100", "Framing", WorkItemDomain.PUBLIC);
+        createTestWorkItem(builder, "B-200", "Drywall", WorkItemDomain.PUBLIC);
+
+        mockMvc.perform(get("/api/v1/work-items/user/" + builder.getId())
+                        .param("size", "2")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "3"))
+                .andExpect(header().string("Link", containsString("/api/v1/work-items/user/" + builder.getId())))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].code").value("A-100"))
+                .andExpect(jsonPath("$[1].code").value("B-200"));
+    }
+
+    @Test
+    void getWorkItemsByDomain_shouldReturnOnlyDomainItems_sortedByRequestedField() throws Exception {
+        User builder = registerBuilder();
+        String token = login(builder);
+        createTestWorkItem(builder, "A-100", "Framing", WorkItemDomain.PUBLIC);
+        createTestWorkItem(builder, "B-200", "Drywall", WorkItemDomain.PUBLIC);
+        createTestWorkItem(builder, "C-300", "Painting", WorkItemDomain.PRIVATE);
+
+        mockMvc.perform(get("/api/v1/work-items/domain/PUBLIC")
+                        .param("orderBy", "name")
+                        .param("direction", "ASC")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "2"))
+                .andExpect(jsonPath("$[0].name").value("Drywall"))
+                .andExpect(jsonPath("$[1].name").value("Framing"));
+    }
+
+    @Test
+    void getWorkItemsByDomain_shouldReturnBadRequest_whenDomainIsInvalid() throws Exception {
+        User builder = registerBuilder();
+        String token = login(builder);
+
+        mockMvc.perform(get("/api/v1/work-items/domain/NOPE")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchWorkItems_shouldReturnPublicAndOwnMatches() throws Exception {
+        User builder = registerBuilder();
+        User other = registerBuilder();
+        String token = login(builder);
+        workItemService.rebuildSearchIndex(); // the database is cleared between tests, bypassing the index
+        createTestWorkItem(builder, "DW-1", "Drywall hanging", WorkItemDomain.PRIVATE);
+        createTestWorkItem(other, "DW-2", "Drywall taping", WorkItemDomain.PRIVATE);
+        createTestWorkItem(other, "DW-3", "Drywall finishing", WorkItemDomain.PUBLIC);
+
+        mockMvc.perform(get("/api/v1/work-items/search")
+                        .param("q", "dryw")
+                        .param("userId", builder.getId().toString())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].code").value("DW-1"))
+                .andExpect(jsonPath("$[1].code").value("DW-3"));
+    }
+
+    @Test
+    void getPublicCatalog_shouldReturnNotModified_untilAPublicWorkItemIsWritten() throws Exception {
+        User builder = registerBuilder();
+        String token = login(builder);
+        createTestWorkItem(builder, "A-100", "Framing", WorkItemDomain.PUBLIC);
+        createTestWorkItem(builder, "P-100", "Private", WorkItemDomain.PRIVATE);
+
+        String etag = mockMvc.perform(get("/api/v1/work-items/public")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].code").value("A-100"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/work-items/public")
+                        .header("If-None-Match", etag)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotModified());
+
+        createTestWorkItem(builder, "B-200", "Drywall", WorkItemDomain.PUBLIC);
+
+        mockMvc.perform(get("/api/v1/work-items/public")
+                        .header("If-None-Match", etag)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void autocompleteCodes_shouldMergeOwnAndPublicCodes() throws Exception {
+        User builder = registerBuilder();
+        User other = registerBuilder();
+        String token = login(builder);
+        workItemService.rebuildSearchIndex(); // the database is cleared between tests, bypassing the tries
+        createTestWorkItem(builder, "DW-200", "Drywall hanging", WorkItemDomain.PRIVATE);
+        createTestWorkItem(other, "DW-300", "Drywall taping", WorkItemDomain.PRIVATE);
+        createTestWorkItem(other, "DW-100", "Drywall finishing", WorkItemDomain.PUBLIC);
+        createTestWorkItem(other, "EL-100", "Electrical", WorkItemDomain.PUBLIC);
+
+        mockMvc.perform(get("/api/v1/work-items/autocomplete")
+                        .param("prefix", "dw")
+                        .param("userId", builder.getId().toString())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0]").value("DW-100"))
+                .andExpect(jsonPath("$[1]").value("DW-200"));
+    }
+
+    @Test
+    void importWorkItems_shouldUpsertByCode_andExportShouldStreamThemBack() throws Exception {
+        User builder = registerBuilder();
+        String token = login(builder);
+        workItemService.rebuildSearchIndex(); // the database is cleared between tests, bypassing the index
+        createTestWorkItem(builder, "A-100", "Framing", WorkItemDomain.PUBLIC);
+
+        mockMvc.perform(post("/api/v1/work-items/user/" + builder.getId() + "/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [
+                                  {"code": "A-100", "name": "Framing and sheathing", "domain": "PRIVATE"},
+                                  {"code": "B-200", "name": "Drywall", "description": "Hang and tape", "optional": true},
+                                  {"code": "C-300", "name": "Painting", "defaultGroupName": "Finishes"}
+                                ]
+                                """)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.createdCount").value(2))
+                .andExpect(jsonPath("$.updatedCount").value(1));
+
+        assertEquals(3, workItemService.getByUserId(builder.getId()).size());
+        assertEquals(List.of("B-200"), workItemService.search("drywall", builder.getId(), 10).stream()
+                .map(WorkItemDto::getCode).toList());
+
+        MvcResult export = mockMvc.perform(get("/api/v1/work-items/user/" + builder.getId() + "/export")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(export))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].code").value("A-100"))
+                .andExpect(jsonPath("$[0].name").value("Framing and sheathing"))
+                .andExpect(jsonPath("$[0].domain").value("PRIVATE"))
+                .andExpect(jsonPath("$[1].optional").value(true))
+                .andExpect(jsonPath("$[1].defaultGroupName").value(WorkItem.UNASSIGNED_GROUP_NAME))
+                .andExpect(jsonPath("$[2].defaultGroupName").value("Finishes"));
+    }
+
+    @Test
+    void importWorkItems_shouldRejectWholeImport_whenARowIsInvalid() throws Exception {
+        User builder = registerBuilder();
+        String token = login(builder);
+
+        mockMvc.perform(post("/api/v1/work-items/user/" + builder.getId() + "/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [{"code": "A-100", "name": "Framing"}, {"code": "B-200", "name": " "}]
+                                """)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+
+        assertTrue(workItemService.getByUserId(builder.getId()).isEmpty());
+    }
+
+    @Test
+    void exportWorkItems_shouldReturnNotFound_whenUserDoesNotExist() throws Exception {
+        User builder = registerBuilder();
+        String token = login(builder);
+
+        mockMvc.perform(get("/api/v1/work-items/user/" + UUID.randomUUID() + "/export")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void createCategory_shouldNestUnderParent_andTreeShouldReflectIt() throws Exception {
+        User builder = registerBuilder();
+        String token = login(builder);
+        UUID structure = createTestCategory(builder, "Structure", null);
+        createTestCategory(builder, "Roofing", structure);
+        assertEquals(1, workItemCategoryService.getCategoryTree(builder.getId()).getFirst().children().size());
+
+        mockMvc.perform(post("/api/v1/work-items/categories")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"userId": "%s", "name": "Framing", "parentId": "%s"}
+                                """.formatted(builder.getId(), structure))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.name").value("Framing"))
+                .andExpect(jsonPath("$.parentId").value(structure.toString()));
+
+        mockMvc.perform(get("/api/v1/work-items/categories/user/" + builder.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Structure"))
+                .andExpect(jsonPath("$[0].children.length()").value(2))
+                .andExpect(jsonPath("$[0].children[0].name").value("Framing"))
+                .andExpect(jsonPath("$[0].children[1].name").value("Roofing"));
+    }
+
+    @Test
+    void getWorkItemsInCategory_shouldIncludeSubcategories() throws Exception {
+        User builder = registerBuilder();
+        String token = login(builder);
+        UUID structure = createTestCategory(builder, "Structure", null);
+        UUID framing = createTestCategory(builder, "Framing", structure);
+        UUID walls = createTestCategory(builder, "Walls", framing);
+        UUID finishes = createTestCategory(builder, "Finishes", null);
+        WorkItemDto studs = createTestWorkItem(builder, "FR-200", "Wall studs", WorkItemDomain.PRIVATE);
+        WorkItemDto joists = createTestWorkItem(builder, "FR-100", "Floor joists", WorkItemDomain.PRIVATE);
+        WorkItemDto paint = createTestWorkItem(builder, "PT-100", "Paint", WorkItemDomain.PRIVATE);
+        createTestWorkItem(builder, "MS-100", "Uncategorized", WorkItemDomain.PRIVATE);
+
+        mockMvc.perform(put("/api/v1/work-items/" + studs.getId() + "/category")
+                        .param("categoryId", walls.toString())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.categoryId").value(walls.toString()));
+        workItemCategoryService.assignCategory(joists.getId(), framing);
+        workItemCategoryService.assignCategory(paint.getId(), finishes);
+
+        mockMvc.perform(get("/api/v1/work-items/categories/" + structure + "/work-items")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].code").value("FR-100"))
+                .andExpect(jsonPath("$[1].code").value("FR-200"));
+
+        mockMvc.perform(get("/api/v1/work-items/categories/" + walls + "/work-items")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].code").value("FR-200"));
+    }
+
+    @Test
+    void assignCategory_shouldRejectCategoryOfAnotherUser() throws Exception {
+        User builder = registerBuilder();
+        User other = registerBuilder();
+        String token = login(builder);
+        UUID otherCategory = createTestCategory(other, "Structure", null);
+        WorkItemDto workItem = createTestWorkItem(builder, "FR-100", "Framing", WorkItemDomain.PRIVATE);
+
+        mockMvc.perform(put("/api/v1/work-items/" + workItem.getId() + "/category")
+                        .param("categoryId", otherCategory.toString())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(put("/api/v1/work-items/" + workItem.getId() + "/category")
+                        .param("categoryId", UUID.randomUUID().toString())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,87 @@
+package dev.hr.rezaei.buildflow.workitem;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkItemSearchIndexTest {
+
+    private WorkItemSearchIndex index;
+    private UUID ownerId;
+
+    @BeforeEach
+    void setUp() {
+        index = new WorkItemSearchIndex();
+        ownerId = UUID.randomUUID();
+    }
+
+    @Test
+    void search_shouldMatchPartiallyTypedLastToken() {
+        WorkItemDto drywall = workItem("DW-100", "Drywall installation", "Hang and tape gypsum board", WorkItemDomain.PUBLIC);
+        index.rebuild(List.of(drywall, workItem("PL-200", "Plumbing rough-in", null, WorkItemDomain.PUBLIC)));
+
+        assertEquals(List.of(drywall), index.search("dryw", null, 10));
+        assertEquals(List.of(drywall), index.search("gypsum bo", null, 10));
+        assertTrue(index.search("gypsum plumbing", null, 10).isEmpty());
+    }
+
+    @Test
+    void search_shouldRankCodeAboveNameAboveDescription() {
+        WorkItemDto inDescription = workItem("X-1", "Framing", "Includes tile prep", WorkItemDomain.PUBLIC);
+        WorkItemDto inName = workItem("X-2", "Tile setting", null, WorkItemDomain.PUBLIC);
+        WorkItemDto inCode = workItem("TILE-3", "Backsplash", null, WorkItemDomain.PUBLIC);
+        index.rebuild(List.of(inDescription, inName, inCode));
+
+        assertEquals(List.of(inCode, inName, inDescription), index.search("tile", null, 10));
+        assertEquals(List.of(inCode, inName), index.search("tile", null, 2));
+    }
+
+    @Test
+    void search_shouldOnlyReturnPrivateItemsToTheirOwner() {
+        WorkItemDto privateItem = workItem("RF-1", "Roofing", null, WorkItemDomain.PRIVATE);
+        index.rebuild(List.of(privateItem));
+
+        assertTrue(index.search("roof", null, 10).isEmpty());
+        assertTrue(index.search("roof", UUID.randomUUID(), 10).isEmpty());
+        assertEquals(List.of(privateItem), index.search("roof", ownerId, 10));
+    }
+
+    @Test
+    void put_shouldReplacePreviousVersion_andRemoveShouldDropItem() {
+        WorkItemDto item = workItem("EL-1", "Electrical panel", null, WorkItemDomain.PUBLIC);
+        index.put(item);
+
+        WorkItemDto renamed = workItem("EL-1", "Service upgrade", null, WorkItemDomain.PUBLIC);
+        renamed.setId(item.getId());
+        index.put(renamed);
+
+        assertTrue(index.search("panel", null, 10).isEmpty());
+        assertEquals(List.of(renamed), index.search("service", null, 10));
+        assertEquals(1, index.size());
+
+        index.remove(item.getId());
+        assertTrue(index.search("service", null, 10).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void tokenize_shouldLowercaseAndSplitOnPunctuation() {
+        assertEquals(List.of("dw", "100", "drywall"), WorkItemSearchIndex.tokenize("DW-100 / Drywall"));
+        assertTrue(WorkItemSearchIndex.tokenize("  ").isEmpty());
+    }
+
+    private WorkItemDto workItem(String code, String name, String description, WorkItemDomain domain) {
+        return WorkItemDto.builder()
+                .id(UUID.randomUUID())
+                .code(code)
+                .name(name)
+                .description(description)
+                .userId(ownerId)
+                .domain(domain.name())
+                .build();
+    }
+}
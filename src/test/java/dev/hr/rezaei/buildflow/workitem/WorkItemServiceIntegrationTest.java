@@ -5,6 +5,7 @@ import dev.hr.rezaei.buildflow.user.UserNotFoundException;
 import dev.hr.rezaei.buildflow.user.*;
 import dev.hr.rezaei.buildflow.workitem.dto.CreateWorkItemRequest;
 import dev.hr.rezaei.buildflow.workitem.dto.CreateWorkItemResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -36,7 +37,8 @@ class WorkItemServiceIntegrationTest extends AbstractModelJpaTest implements Use
 
         @Bean
         public WorkItemService workItemService(UserService userService, WorkItemRepository workItemRepository) {
-            return new WorkItemService(userService, workItemRepository);
+            return new WorkItemService(userService, workItemRepository, new WorkItemSearchIndex(),
+                    new WorkItemCatalogCache(new ObjectMapper()), new WorkItemCodeAutocomplete());
         }
     }
 